@@ -0,0 +1,140 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+
+/**
+ * Measures how {@link ConcurrentIntDisjointSet} scales with the number of threads performing random unions,
+ * against the sequential {@link IntDisjointSet}.
+ */
+@AxisRange( min = 0, max = 2 )
+@BenchmarkMethodChart( filePrefix = "concurrent-disjoint-set" )
+@BenchmarkOptions( benchmarkRounds = 10, warmupRounds = 5 )
+public final class ConcurrentDisjointSetBenchmarkTestCase
+{
+    private static final int ELEMENTS = 1000000;
+    private static final int UNIONS = 2000000;
+
+    private static int[] heads;
+
+    private static int[] tails;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        Random r = new Random();
+        heads = new int[UNIONS];
+        tails = new int[UNIONS];
+        for ( int i = 0; i < UNIONS; i++ )
+        {
+            heads[i] = r.nextInt( ELEMENTS );
+            tails[i] = r.nextInt( ELEMENTS );
+        }
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRun = new BenchmarkRule();
+
+    private static void performUnions( int threads )
+        throws InterruptedException
+    {
+        final ConcurrentIntDisjointSet disjointSet = new ConcurrentIntDisjointSet( ELEMENTS );
+
+        Thread[] workers = new Thread[threads];
+        for ( int t = 0; t < threads; t++ )
+        {
+            final int from = (int) ( (long) UNIONS * t / threads );
+            final int to = (int) ( (long) UNIONS * ( t + 1 ) / threads );
+            workers[t] = new Thread()
+            {
+
+                @Override
+                public void run()
+                {
+                    for ( int i = from; i < to; i++ )
+                    {
+                        disjointSet.union( heads[i], tails[i] );
+                    }
+                }
+
+            };
+            workers[t].start();
+        }
+        for ( Thread worker : workers )
+        {
+            worker.join();
+        }
+
+        assertTrue( disjointSet.getSetCount() < ELEMENTS );
+    }
+
+    @Test
+    public void testSequential()
+    {
+        IntDisjointSet disjointSet = new IntDisjointSet( ELEMENTS );
+        for ( int i = 0; i < UNIONS; i++ )
+        {
+            disjointSet.union( heads[i], tails[i] );
+        }
+
+        assertTrue( disjointSet.getSetCount() < ELEMENTS );
+    }
+
+    @Test
+    public void testOneThread()
+        throws InterruptedException
+    {
+        performUnions( 1 );
+    }
+
+    @Test
+    public void testTwoThreads()
+        throws InterruptedException
+    {
+        performUnions( 2 );
+    }
+
+    @Test
+    public void testFourThreads()
+        throws InterruptedException
+    {
+        performUnions( 4 );
+    }
+
+    @Test
+    public void testEightThreads()
+        throws InterruptedException
+    {
+        performUnions( 8 );
+    }
+
+}
@@ -0,0 +1,199 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.apache.commons.graph.CommonsGraph.newDirectedMutableGraph;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.builder.AbstractGraphConnection;
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.weight.OrderedMonoid;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+
+/**
+ * Compares the classic, the queue-based and the parallel Bellman-Ford algorithms, on graphs where only a few edges
+ * have negative weights.
+ */
+@AxisRange( min = 0, max = 2 )
+@BenchmarkMethodChart( filePrefix = "bellmannfords" )
+@BenchmarkOptions( benchmarkRounds = 10, warmupRounds = 5 )
+public final class BellmannFordBenchmarkTestCase
+{
+    private static final int NODES = 2000;
+    private static final int EDGES = 20000;
+
+    /**
+     * One vertex out of {@code HIGH_POTENTIAL_RATIO} gets a high potential, making its inbound edges negative.
+     */
+    private static final int HIGH_POTENTIAL_RATIO = 50;
+
+    private static DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph;
+
+    private static LinkedList<BaseLabeledVertex> sourceListClassic;
+
+    private static LinkedList<BaseLabeledVertex> sourceListQueue;
+
+    private static LinkedList<BaseLabeledVertex> sourceListParallel;
+
+    private static List<BaseLabeledVertex> vertices;
+
+    private static OrderedMonoid<Double> weightOperations;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        weightOperations = new DoubleWeightBaseOperations();
+
+        graph = newDirectedMutableGraph( new AbstractGraphConnection<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>()
+        {
+            Random r = new Random();
+
+            double[] potentials = new double[NODES];
+
+            private boolean addEdge( int src, int dst )
+            {
+                // reweighting by potentials changes no cycle weight, so no negative-weighted cycle can arise
+                double weight = 10.0 * r.nextDouble() + 1.0 + potentials[src] - potentials[dst];
+                try {
+                  addEdge( new BaseLabeledWeightedEdge<Double>( format( "%s -> %s", src, dst ), weight ) )
+                      .from( vertices.get( src ) ).to( vertices.get( dst ) );
+                  return true;
+              } catch (GraphException e) {
+                  // ignore duplicate edge exceptions
+                  return false;
+              }
+            }
+
+            public void connect()
+            {
+                vertices = new ArrayList<BaseLabeledVertex>();
+                for ( int i = 0; i < NODES; i++ )
+                {
+                    BaseLabeledVertex v = new BaseLabeledVertex( valueOf( i ) );
+                    addVertex( v );
+                    vertices.add( v );
+
+                    potentials[i] = r.nextInt( HIGH_POTENTIAL_RATIO ) == 0 ? 20.0 : 0.0;
+                }
+
+                // form a connected graph
+                for ( int i = 0; i < NODES - 1; i++ )
+                {
+                    addEdge( i, i + 1 );
+                }
+
+                addEdge( NODES - 1, 0 );
+
+                // we have already created #NODES edges
+                int maxEdges = Math.max(0, EDGES - NODES);
+                for ( int i = 0; i < maxEdges; i++)
+                {
+                    while ( ! addEdge( r.nextInt(NODES), r.nextInt(NODES) ) ) {
+                        // do nothing
+                    }
+                }
+            }
+        } );
+
+        sourceListClassic = new LinkedList<BaseLabeledVertex>();
+        sourceListQueue = new LinkedList<BaseLabeledVertex>();
+        sourceListParallel = new LinkedList<BaseLabeledVertex>();
+
+        Random r = new Random();
+
+        for ( int i = 0; i < 15; i++ )
+        {
+            BaseLabeledVertex s = vertices.get( r.nextInt( vertices.size() ) );
+            sourceListClassic.add( s );
+            sourceListQueue.add( s );
+            sourceListParallel.add( s );
+        }
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    public void testPerformClassicBellmannFord() {
+        BaseLabeledVertex source = sourceListClassic.removeFirst();
+
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> shortestPaths =
+                findShortestPath( graph )
+                            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                            .from( source )
+                            .applyingBelmannFord( weightOperations );
+
+        // the graph is strongly connected
+        BaseLabeledVertex target = vertices.get( ( vertices.indexOf( source ) + 1 ) % NODES );
+        assertTrue( shortestPaths.findShortestPath( source, target ).getSize() > 0 );
+    }
+
+    @Test
+    public void testPerformQueueBasedBellmannFord() {
+        BaseLabeledVertex source = sourceListQueue.removeFirst();
+
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> shortestPaths =
+                findShortestPath( graph )
+                            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                            .from( source )
+                            .applyingShortestPathFaster( weightOperations );
+
+        // the graph is strongly connected
+        BaseLabeledVertex target = vertices.get( ( vertices.indexOf( source ) + 1 ) % NODES );
+        assertTrue( shortestPaths.findShortestPath( source, target ).getSize() > 0 );
+    }
+
+    @Test
+    public void testPerformParallelBellmannFord() {
+        BaseLabeledVertex source = sourceListParallel.removeFirst();
+
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> shortestPaths =
+                findShortestPath( graph )
+                            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                            .from( source )
+                            .applyingParallelBelmannFord( weightOperations );
+
+        // the graph is strongly connected
+        BaseLabeledVertex target = vertices.get( ( vertices.indexOf( source ) + 1 ) % NODES );
+        assertTrue( shortestPaths.findShortestPath( source, target ).getSize() > 0 );
+    }
+
+}
@@ -0,0 +1,251 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.apache.commons.graph.CommonsGraph.newDirectedMutableGraph;
+import static org.apache.commons.graph.collections.AddressableQueues.daryHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.pairingHeaps;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.builder.AbstractGraphConnection;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.weight.OrderedMonoid;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+
+/**
+ * Compares Dijkstra's algorithm backed by the available priority queues on two typical graph shapes:
+ * a sparse random graph, where many keys are decreased, and a grid, where the frontier stays small.
+ */
+@AxisRange( min = 0, max = 2 )
+@BenchmarkMethodChart( filePrefix = "priority-queues" )
+@BenchmarkOptions( benchmarkRounds = 10, warmupRounds = 5 )
+public final class PriorityQueuesBenchmarkTestCase
+{
+    private static final int NODES = 5000;
+    private static final int EDGES = 50000;
+    private static final int SIDE = 70;
+    private static final int QUERIES = 15;
+
+    private static DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> randomGraph;
+
+    private static List<BaseLabeledVertex> randomVertices;
+
+    private static DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> gridGraph;
+
+    private static List<BaseLabeledVertex> gridVertices;
+
+    private static int[] sources;
+
+    private static int[] targets;
+
+    private static OrderedMonoid<Double> weightOperations;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        weightOperations = new DoubleWeightBaseOperations();
+
+        randomVertices = new ArrayList<BaseLabeledVertex>();
+        randomGraph = newDirectedMutableGraph( new AbstractGraphConnection<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>()
+        {
+            Random r = new Random();
+
+            private boolean addEdge( BaseLabeledVertex src, BaseLabeledVertex dst )
+            {
+                try {
+                  addEdge( new BaseLabeledWeightedEdge<Double>( format( "%s -> %s", src, dst ), 10.0 * r.nextDouble() ) ).from( src ).to( dst );
+                  return true;
+              } catch (GraphException e) {
+                  // ignore duplicate edge exceptions
+                  return false;
+              }
+            }
+
+            public void connect()
+            {
+                for ( int i = 0; i < NODES; i++ )
+                {
+                    BaseLabeledVertex v = new BaseLabeledVertex( valueOf( i ) );
+                    addVertex( v );
+                    randomVertices.add( v );
+                }
+
+                // form a connected graph
+                for ( int i = 0; i < NODES; i++ )
+                {
+                    addEdge( randomVertices.get( i ), randomVertices.get( ( i + 1 ) % NODES ) );
+                }
+
+                for ( int i = 0; i < EDGES - NODES; i++ )
+                {
+                    while ( ! addEdge( randomVertices.get( r.nextInt( NODES ) ), randomVertices.get( r.nextInt( NODES ) ) ) ) {
+                        // do nothing
+                    }
+                }
+            }
+        } );
+
+        gridVertices = new ArrayList<BaseLabeledVertex>();
+        gridGraph = newDirectedMutableGraph( new AbstractGraphConnection<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>()
+        {
+            Random r = new Random();
+
+            private void addEdges( BaseLabeledVertex src, BaseLabeledVertex dst )
+            {
+                addEdge( new BaseLabeledWeightedEdge<Double>( format( "%s -> %s", src, dst ), 1.0 + r.nextDouble() ) ).from( src ).to( dst );
+                addEdge( new BaseLabeledWeightedEdge<Double>( format( "%s -> %s", dst, src ), 1.0 + r.nextDouble() ) ).from( dst ).to( src );
+            }
+
+            public void connect()
+            {
+                for ( int i = 0; i < SIDE * SIDE; i++ )
+                {
+                    BaseLabeledVertex v = new BaseLabeledVertex( valueOf( i ) );
+                    addVertex( v );
+                    gridVertices.add( v );
+                }
+
+                for ( int row = 0; row < SIDE; row++ )
+                {
+                    for ( int column = 0; column < SIDE; column++ )
+                    {
+                        BaseLabeledVertex v = gridVertices.get( row * SIDE + column );
+                        if ( column + 1 < SIDE )
+                        {
+                            addEdges( v, gridVertices.get( row * SIDE + column + 1 ) );
+                        }
+                        if ( row + 1 < SIDE )
+                        {
+                            addEdges( v, gridVertices.get( ( row + 1 ) * SIDE + column ) );
+                        }
+                    }
+                }
+            }
+        } );
+
+        Random r = new Random();
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for ( int i = 0; i < QUERIES; i++ )
+        {
+            sources[i] = r.nextInt( SIDE * SIDE );
+            targets[i] = r.nextInt( SIDE * SIDE );
+        }
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRun = new BenchmarkRule();
+
+    private static void performDijkstra( DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph,
+                                         List<BaseLabeledVertex> vertices, AddressableQueueFactory queueFactory )
+    {
+        for ( int i = 0; i < QUERIES; i++ )
+        {
+            BaseLabeledVertex source = vertices.get( sources[i] );
+            BaseLabeledVertex target = vertices.get( targets[i] );
+            if ( source.equals( target ) )
+            {
+                continue;
+            }
+
+            WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> path =
+                    findShortestPath( graph )
+                                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                                .from( source )
+                                .to( target )
+                                .usingQueue( queueFactory )
+                                .applyingDijkstra( weightOperations );
+
+            assertTrue( path.getSize() > 0 );
+        }
+    }
+
+    @Test
+    public void testRandomGraphFibonacciHeap()
+    {
+        performDijkstra( randomGraph, randomVertices, fibonacciHeaps() );
+    }
+
+    @Test
+    public void testRandomGraphPairingHeap()
+    {
+        performDijkstra( randomGraph, randomVertices, pairingHeaps() );
+    }
+
+    @Test
+    public void testRandomGraphBinaryHeap()
+    {
+        performDijkstra( randomGraph, randomVertices, daryHeaps( 2 ) );
+    }
+
+    @Test
+    public void testRandomGraphFourAryHeap()
+    {
+        performDijkstra( randomGraph, randomVertices, daryHeaps( 4 ) );
+    }
+
+    @Test
+    public void testGridFibonacciHeap()
+    {
+        performDijkstra( gridGraph, gridVertices, fibonacciHeaps() );
+    }
+
+    @Test
+    public void testGridPairingHeap()
+    {
+        performDijkstra( gridGraph, gridVertices, pairingHeaps() );
+    }
+
+    @Test
+    public void testGridBinaryHeap()
+    {
+        performDijkstra( gridGraph, gridVertices, daryHeaps( 2 ) );
+    }
+
+    @Test
+    public void testGridFourAryHeap()
+    {
+        performDijkstra( gridGraph, gridVertices, daryHeaps( 4 ) );
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static org.apache.commons.graph.CommonsGraph.newUndirectedMutableGraph;
+import static org.apache.commons.graph.CommonsGraph.visit;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.builder.AbstractGraphConnection;
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+
+/**
+ * Compares 64 single-source breadth-first searches against a single bit-parallel search from the same sources.
+ */
+@AxisRange( min = 0, max = 2 )
+@BenchmarkMethodChart( filePrefix = "multi-source-bfs" )
+@BenchmarkOptions( benchmarkRounds = 10, warmupRounds = 3 )
+public final class MultiSourceBreadthFirstSearchBenchmarkTestCase
+{
+    private static final int NODES = 20000;
+    private static final int EDGES = 100000;
+    private static final int SOURCES = 64;
+
+    private static UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph;
+
+    private static List<BaseLabeledVertex> sources;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        sources = new ArrayList<BaseLabeledVertex>();
+        graph = newUndirectedMutableGraph( new AbstractGraphConnection<BaseLabeledVertex, BaseLabeledEdge>()
+        {
+            public void connect()
+            {
+                List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+                for ( int i = 0; i < NODES; i++ )
+                {
+                    BaseLabeledVertex v = new BaseLabeledVertex( valueOf( i ) );
+                    addVertex( v );
+                    vertices.add( v );
+                }
+
+                Random r = new Random( 42 );
+                for ( int i = 0; i < EDGES; i++ )
+                {
+                    int v1 = r.nextInt( NODES );
+                    int v2 = r.nextInt( NODES );
+
+                    try
+                    {
+                        addEdge( new BaseLabeledEdge( format( "%s -> %s", v1, v2 ) ) ).from( vertices.get( v1 ) ).to( vertices.get( v2 ) );
+                    }
+                    catch ( GraphException e )
+                    {
+                        // ignore duplicate edge exceptions
+                    }
+                }
+
+                for ( int i = 0; i < SOURCES; i++ )
+                {
+                    sources.add( vertices.get( r.nextInt( NODES ) ) );
+                }
+            }
+        } );
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    public void testSingleSourceSearches()
+    {
+        for ( BaseLabeledVertex source : sources )
+        {
+            BreadthFirstTree<BaseLabeledVertex> tree = visit( graph ).from( source ).applyingParallelBreadthFirstSearch();
+            assertTrue( tree.getLevel( source ) == 0 );
+        }
+    }
+
+    @Test
+    public void testBitParallelSearch()
+    {
+        BreadthFirstDistances<BaseLabeledVertex> distances = visit( graph ).from( sources ).applyingBitParallelBreadthFirstSearch();
+        assertTrue( distances.getDistance( sources.get( 0 ), sources.get( 0 ) ) == 0 );
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static org.apache.commons.graph.CommonsGraph.newUndirectedMutableGraph;
+import static org.apache.commons.graph.CommonsGraph.visit;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.VertexPair;
+import org.apache.commons.graph.builder.AbstractGraphConnection;
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+
+/**
+ * Compares the id based {@link SearchEngine} against the former search loop, which allocated a {@link VertexPair}
+ * per queued edge and kept pending and visited vertices in a {@link LinkedList} and a {@link HashSet}.
+ */
+@AxisRange( min = 0, max = 2 )
+@BenchmarkMethodChart( filePrefix = "visit" )
+@BenchmarkOptions( benchmarkRounds = 10, warmupRounds = 5 )
+public final class VisitBenchmarkTestCase
+{
+    private static final int NODES = 100000;
+    private static final int EDGES = 500000;
+
+    private static UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph;
+
+    private static BaseLabeledVertex source;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        graph = newUndirectedMutableGraph( new AbstractGraphConnection<BaseLabeledVertex, BaseLabeledEdge>()
+        {
+            public void connect()
+            {
+                List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+                for ( int i = 0; i < NODES; i++ )
+                {
+                    BaseLabeledVertex v = new BaseLabeledVertex( valueOf( i ) );
+                    addVertex( v );
+                    vertices.add( v );
+                }
+
+                Random r = new Random( 42 );
+                for ( int i = 0; i < EDGES; i++ )
+                {
+                    int v1 = r.nextInt( NODES );
+                    int v2 = r.nextInt( NODES );
+
+                    try
+                    {
+                        addEdge( new BaseLabeledEdge( format( "%s -> %s", v1, v2 ) ) ).from( vertices.get( v1 ) ).to( vertices.get( v2 ) );
+                    }
+                    catch ( GraphException e )
+                    {
+                        // ignore duplicate edge exceptions
+                    }
+                }
+            }
+        } );
+        source = graph.getVertices().iterator().next();
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    public void testLegacyBreadthFirstSearch()
+    {
+        EdgeCounter counter = new EdgeCounter();
+        legacySearch( counter );
+        assertTrue( counter.edges > 0 );
+    }
+
+    @Test
+    public void testBreadthFirstSearch()
+    {
+        EdgeCounter counter = new EdgeCounter();
+        visit( graph ).from( source ).applyingBreadthFirstSearch( counter );
+        assertTrue( counter.edges > 0 );
+    }
+
+    @Test
+    public void testDepthFirstSearch()
+    {
+        EdgeCounter counter = new EdgeCounter();
+        visit( graph ).from( source ).applyingDepthFirstSearch( counter );
+        assertTrue( counter.edges > 0 );
+    }
+
+    @Test
+    public void testParallelBreadthFirstSearch()
+    {
+        BreadthFirstTree<BaseLabeledVertex> tree = visit( graph ).from( source ).applyingParallelBreadthFirstSearch();
+        assertTrue( tree.getLevel( source ) == 0 );
+    }
+
+    @Test
+    public void testAllocationsPerDiscoveredEdge()
+    {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue( threads instanceof com.sun.management.ThreadMXBean );
+
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue( allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled() );
+
+        long threadId = Thread.currentThread().getId();
+
+        EdgeCounter legacyCounter = new EdgeCounter();
+        long allocated = allocations.getThreadAllocatedBytes( threadId );
+        legacySearch( legacyCounter );
+        long legacyBytesPerEdge = ( allocations.getThreadAllocatedBytes( threadId ) - allocated ) / legacyCounter.edges;
+
+        EdgeCounter counter = new EdgeCounter();
+        allocated = allocations.getThreadAllocatedBytes( threadId );
+        visit( graph ).from( source ).applyingBreadthFirstSearch( counter );
+        long bytesPerEdge = ( allocations.getThreadAllocatedBytes( threadId ) - allocated ) / counter.edges;
+
+        assertTrue( format( "SearchEngine allocated %s bytes per discovered edge, the legacy loop %s",
+                            bytesPerEdge, legacyBytesPerEdge ),
+                    bytesPerEdge < legacyBytesPerEdge );
+    }
+
+    /**
+     * The breadth-first search loop as it was before {@link SearchEngine}, stripped of the visit states handling.
+     */
+    private static void legacySearch( EdgeCounter counter )
+    {
+        LinkedList<VertexPair<BaseLabeledVertex>> vertexList = new LinkedList<VertexPair<BaseLabeledVertex>>();
+        vertexList.addLast( new VertexPair<BaseLabeledVertex>( source, source ) );
+
+        Set<BaseLabeledVertex> visitedVertices = new HashSet<BaseLabeledVertex>();
+        visitedVertices.add( source );
+
+        while ( !vertexList.isEmpty() )
+        {
+            VertexPair<BaseLabeledVertex> pair = vertexList.removeFirst();
+            BaseLabeledVertex v = pair.getHead();
+            BaseLabeledVertex prevHead = pair.getTail();
+            BaseLabeledEdge e = prevHead.equals( v ) ? null : graph.getEdge( prevHead, v );
+
+            if ( e != null )
+            {
+                if ( visitedVertices.contains( v ) )
+                {
+                    continue;
+                }
+                counter.discoverEdge( prevHead, e, v );
+            }
+
+            visitedVertices.add( v );
+            for ( BaseLabeledVertex w : graph.getConnectedVertices( v ) )
+            {
+                if ( !visitedVertices.contains( w ) )
+                {
+                    vertexList.addLast( new VertexPair<BaseLabeledVertex>( w, v ) );
+                }
+            }
+        }
+    }
+
+    private static final class EdgeCounter
+        extends BaseGraphVisitHandler<BaseLabeledVertex, BaseLabeledEdge, UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>, Void>
+    {
+
+        private int edges;
+
+        @Override
+        public VisitState discoverEdge( BaseLabeledVertex head, BaseLabeledEdge edge, BaseLabeledVertex tail )
+        {
+            edges++;
+            return VisitState.CONTINUE;
+        }
+
+    }
+
+}
@@ -39,11 +39,15 @@ import org.apache.commons.graph.model.DirectedMutableGraph;
 import org.apache.commons.graph.model.UndirectedMutableGraph;
 import org.apache.commons.graph.scc.DefaultSccAlgorithmSelector;
 import org.apache.commons.graph.scc.SccAlgorithmSelector;
+import org.apache.commons.graph.shortestpath.DefaultImplicitWeightedEdgesSelector;
 import org.apache.commons.graph.shortestpath.DefaultWeightedEdgesSelector;
+import org.apache.commons.graph.shortestpath.ImplicitPathWeightedEdgesBuilder;
 import org.apache.commons.graph.shortestpath.PathWeightedEdgesBuilder;
 import org.apache.commons.graph.spanning.DefaultSpanningWeightedEdgeMapperBuilder;
 import org.apache.commons.graph.spanning.SpanningWeightedEdgeMapperBuilder;
+import org.apache.commons.graph.visit.DefaultImplicitVisitSourceSelector;
 import org.apache.commons.graph.visit.DefaultVisitSourceSelector;
+import org.apache.commons.graph.visit.ImplicitVisitSourceSelector;
 import org.apache.commons.graph.visit.VisitSourceSelector;
 
 /**
@@ -142,6 +146,21 @@ public final class CommonsGraph
         return new DefaultWeightedEdgesSelector<V, WE>( graph );
     }
 
+    /**
+     * Find the shortest path on the input {@link ImplicitGraph}, using the algorithms
+     * that only follow the successors of the expanded vertices.
+     *
+     * @param <V> The Graph vertices type
+     * @param <WE> the Graph edges type
+     * @param graph The input edge-weighted implicit graph
+     * @return The shortest path weighted edges selector
+     */
+    public static <V, WE> ImplicitPathWeightedEdgesBuilder<V, WE> findShortestPath( ImplicitGraph<V, WE> graph )
+    {
+        graph = checkNotNull( graph, "Shortest path can not be calculated on null graph" );
+        return new DefaultImplicitWeightedEdgesSelector<V, WE>( graph );
+    }
+
     /**
      * Calculates the input graph Strongly Connected Component.
      *
@@ -345,6 +364,20 @@ public final class CommonsGraph
         return new DefaultVisitSourceSelector<V, E, G>( graph );
     }
 
+    /**
+     * Allows select the lazy visits of the input implicit graph.
+     *
+     * @param <V> The Graph vertices type
+     * @param <E> The Graph edges type
+     * @param graph The ImplicitGraph instance to be visited
+     * @return The implicit graph visits selector
+     */
+    public static <V, E> ImplicitVisitSourceSelector<V, E> visit( ImplicitGraph<V, E> graph )
+    {
+        graph = checkNotNull( graph, "No algorithm can be applied on null graph!" );
+        return new DefaultImplicitVisitSourceSelector<V, E>( graph );
+    }
+
     /**
      * Hidden constructor, this class cannot be instantiated.
      */
@@ -0,0 +1,53 @@
+package org.apache.commons.graph;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A directed graph known only through its successor function, such as the state space of a planner:
+ * vertices and edges are generated on demand while a search expands them, so the graph is never materialized.
+ *
+ * Only the searches that follow the successors of the expanded vertices apply to an implicit graph:
+ * A* and Dijkstra's algorithm, through {@link CommonsGraph#findShortestPath(ImplicitGraph)}, and the lazy
+ * breadth-first and depth-first visits, through {@link CommonsGraph#visit(ImplicitGraph)}.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+public interface ImplicitGraph<V, E>
+{
+
+    /**
+     * Returns the vertices reachable from the input vertex through a single edge.
+     *
+     * @param v The vertex to be expanded
+     * @return The successors of the input vertex
+     */
+    Iterable<V> getSuccessors( V v );
+
+    /**
+     * Returns the edge from the head vertex to the tail vertex, where tail is one of the head successors.
+     *
+     * @param head The edge head vertex
+     * @param tail The edge tail vertex
+     * @return The edge from the head vertex to the tail vertex
+     */
+    E getEdge( V head, V tail );
+
+}
@@ -0,0 +1,84 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Queue;
+
+/**
+ * A priority queue which returns a handle for every inserted element, so that the element can be moved
+ * towards the head of the queue, once its key has decreased, in place of being queued again.
+ *
+ * Elements are ordered by the queue comparator, so keys are usually kept outside the queue, in a map read by the
+ * comparator; such keys must only be decreased through {@link #decreaseKey(Handle)} while their element is queued.
+ *
+ * @param <E> The type of elements held in this queue.
+ */
+public interface AddressableQueue<E>
+    extends Queue<E>
+{
+
+    /**
+     * Inserts the input element and returns its handle.
+     *
+     * @param element The element to insert
+     * @return The handle of the inserted element, valid until the element leaves the queue
+     */
+    Handle<E> insert( E element );
+
+    /**
+     * Restores the queue order after the key of the element referenced by the input handle decreased.
+     *
+     * @param handle The handle of a queued element whose key decreased
+     */
+    void decreaseKey( Handle<E> handle );
+
+    /**
+     * Replaces the element referenced by the input handle with one that is not greater, then restores the queue order.
+     *
+     * @param handle The handle of a queued element
+     * @param element The replacing element, not greater than the replaced one
+     */
+    void decreaseKey( Handle<E> handle, E element );
+
+    /**
+     * A reference to an element inserted in an {@link AddressableQueue}.
+     *
+     * @param <E> The type of the referenced element.
+     */
+    interface Handle<E>
+    {
+
+        /**
+         * Returns the referenced element.
+         *
+         * @return The referenced element
+         */
+        E getElement();
+
+        /**
+         * Checks if the referenced element is still in the queue.
+         *
+         * @return true if the referenced element has not been removed yet, false otherwise
+         */
+        boolean isQueued();
+
+    }
+
+}
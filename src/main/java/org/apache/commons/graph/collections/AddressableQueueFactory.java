@@ -0,0 +1,43 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Comparator;
+
+/**
+ * Creates the {@link AddressableQueue}s used by graph algorithms, so that the priority queue implementation
+ * can be chosen according to the graph shape.
+ *
+ * @see AddressableQueues
+ */
+public interface AddressableQueueFactory
+{
+
+    /**
+     * Creates a new empty queue that orders its elements according to the specified comparator.
+     *
+     * @param <E> The type of elements held in the queue.
+     * @param comparator The comparator that will be used to order the queue.
+     *                   If null, the natural ordering of the elements will be used.
+     * @return A new empty queue
+     */
+    <E> AddressableQueue<E> newQueue( /* @Nullable */Comparator<? super E> comparator );
+
+}
@@ -0,0 +1,118 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+
+import java.util.Comparator;
+
+/**
+ * The available {@link AddressableQueueFactory} implementations.
+ */
+public final class AddressableQueues
+{
+
+    private static final AddressableQueueFactory FIBONACCI_HEAPS = new AddressableQueueFactory()
+    {
+
+        public <E> AddressableQueue<E> newQueue( Comparator<? super E> comparator )
+        {
+            return new FibonacciHeap<E>( comparator );
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Fibonacci heaps";
+        }
+
+    };
+
+    private static final AddressableQueueFactory PAIRING_HEAPS = new AddressableQueueFactory()
+    {
+
+        public <E> AddressableQueue<E> newQueue( Comparator<? super E> comparator )
+        {
+            return new PairingHeap<E>( comparator );
+        }
+
+        @Override
+        public String toString()
+        {
+            return "pairing heaps";
+        }
+
+    };
+
+    /**
+     * Hidden constructor, this class can't be instantiated.
+     */
+    private AddressableQueues()
+    {
+        // do nothing
+    }
+
+    /**
+     * Returns the factory of {@link FibonacciHeap}s, the default one.
+     *
+     * @return The factory of {@link FibonacciHeap}s
+     */
+    public static AddressableQueueFactory fibonacciHeaps()
+    {
+        return FIBONACCI_HEAPS;
+    }
+
+    /**
+     * Returns the factory of {@link PairingHeap}s.
+     *
+     * @return The factory of {@link PairingHeap}s
+     */
+    public static AddressableQueueFactory pairingHeaps()
+    {
+        return PAIRING_HEAPS;
+    }
+
+    /**
+     * Returns the factory of {@link DaryHeap}s with the input arity; 4-ary heaps are usually a good choice.
+     *
+     * @param arity The number of children of every heap entry, at least 2
+     * @return The factory of {@link DaryHeap}s with the input arity
+     */
+    public static AddressableQueueFactory daryHeaps( final int arity )
+    {
+        checkArgument( arity >= 2, "Heap arity must be at least 2, was %s", arity );
+        return new AddressableQueueFactory()
+        {
+
+            public <E> AddressableQueue<E> newQueue( Comparator<? super E> comparator )
+            {
+                return new DaryHeap<E>( arity, comparator );
+            }
+
+            @Override
+            public String toString()
+            {
+                return arity + "-ary heaps";
+            }
+
+        };
+    }
+
+}
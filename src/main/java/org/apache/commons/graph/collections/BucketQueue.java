@@ -0,0 +1,180 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+
+/**
+ * A bucket queue, as used by Dial's implementation of Dijkstra's algorithm: keys of the elements in the queue
+ * always lie in a window of {@code C + 1} consecutive values, where {@code C} is the maximum edge weight,
+ * so a circular array of {@code C + 1} buckets, one per key, is enough.
+ *
+ * Adding an element takes constant time, removing one takes {@code O(C)} time in the worst case.
+ *
+ * <p><b>Note 1</b>: this class is NOT thread safe!</p>
+ *
+ * <p><b>Note 2</b>: this class doesn't support {@code null} values</p>
+ *
+ * @param <E> The type of elements held in this collection.
+ */
+public final class BucketQueue<E>
+    implements MonotonePriorityQueue<E>
+{
+
+    /**
+     * The buckets, created when first needed; bucket {@code k % buckets.length} holds the elements with key {@code k}.
+     */
+    private final ArrayDeque<E>[] buckets;
+
+    /**
+     * The key of the last removed element, all keys in the queue lie in {@code [lastKey, lastKey + buckets.length)}.
+     */
+    private long lastKey;
+
+    /**
+     * The key the search for the smallest key starts from, never greater than the smallest key in the queue.
+     */
+    private long minimumKey;
+
+    private int size;
+
+    /**
+     * Creates a new bucket queue, for keys that always lie within {@code range} consecutive values.
+     *
+     * @param range The number of consecutive key values the queue keys can span, i.e. the maximum edge weight plus one
+     */
+    public BucketQueue( int range )
+    {
+        checkArgument( range > 0, "Bucket queue key range must be positive, was %s", range );
+        this.buckets = newBuckets( range );
+    }
+
+    @SuppressWarnings( "unchecked" ) // generic array creation
+    private static <E> ArrayDeque<E>[] newBuckets( int range )
+    {
+        return (ArrayDeque<E>[]) new ArrayDeque<?>[range];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void add( E element, long key )
+    {
+        checkNotNull( element, "Null elements not allowed in this BucketQueue implementation." );
+        checkArgument( key >= lastKey && key - lastKey < buckets.length,
+                       "Key %s out of the bucket queue range [%s, %s]", key, lastKey, lastKey + buckets.length - 1 );
+
+        if ( key < minimumKey )
+        {
+            minimumKey = key;
+        }
+
+        int index = (int) ( key % buckets.length );
+        ArrayDeque<E> bucket = buckets[index];
+        if ( bucket == null )
+        {
+            bucket = new ArrayDeque<E>();
+            buckets[index] = bucket;
+        }
+        bucket.addLast( element );
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear()
+    {
+        for ( ArrayDeque<E> bucket : buckets )
+        {
+            if ( bucket != null )
+            {
+                bucket.clear();
+            }
+        }
+        size = 0;
+        lastKey = 0;
+        minimumKey = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMinimumKey()
+    {
+        minimumBucket();
+        return minimumKey;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public E remove()
+    {
+        ArrayDeque<E> bucket = minimumBucket();
+        lastKey = minimumKey;
+        size--;
+        return bucket.removeFirst();
+    }
+
+    /**
+     * Scans the buckets, starting from the current minimum key, up to the first non-empty one.
+     *
+     * @return The bucket holding the elements with the smallest key
+     */
+    private ArrayDeque<E> minimumBucket()
+    {
+        if ( size == 0 )
+        {
+            throw new NoSuchElementException();
+        }
+
+        while ( true )
+        {
+            ArrayDeque<E> bucket = buckets[(int) ( minimumKey % buckets.length )];
+            if ( bucket != null && !bucket.isEmpty() )
+            {
+                return bucket;
+            }
+            minimumKey++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size()
+    {
+        return size;
+    }
+
+}
@@ -0,0 +1,274 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash set that stores its elements directly in an open addressing table, with linear probing,
+ * so that no entry object is allocated per element, as {@link java.util.HashSet} does.
+ *
+ * <p><b>Note 1</b>: this class is NOT thread safe!</p>
+ *
+ * <p><b>Note 2</b>: this class doesn't support {@code null} values</p>
+ *
+ * <p><b>Note 3</b>: the iterator doesn't support removal</p>
+ *
+ * @param <E> The type of elements held in this collection.
+ */
+public final class CompactHashSet<E>
+    extends AbstractSet<E>
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] table;
+
+    private int size;
+
+    /**
+     * The table is grown as soon as the number of elements exceeds this threshold.
+     */
+    private int threshold;
+
+    private int modifications;
+
+    /**
+     * Creates a new empty set.
+     */
+    public CompactHashSet()
+    {
+        this( DEFAULT_CAPACITY );
+    }
+
+    /**
+     * Creates a new empty set, able to hold the input number of elements without growing.
+     *
+     * @param expectedSize The expected number of elements
+     */
+    public CompactHashSet( int expectedSize )
+    {
+        checkArgument( expectedSize >= 0, "Expected size can not be negative, was %s", expectedSize );
+        int capacity = DEFAULT_CAPACITY;
+        while ( capacity / 4 * 3 < expectedSize )
+        {
+            capacity <<= 1;
+        }
+        allocate( capacity );
+    }
+
+    private void allocate( int capacity )
+    {
+        table = new Object[capacity];
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Returns the table slot the input element hashes to.
+     */
+    private int slotOf( Object o, int mask )
+    {
+        int h = o.hashCode() * 0x9E3779B9;
+        return ( h ^ ( h >>> 16 ) ) & mask;
+    }
+
+    /**
+     * Returns the slot holding the input element, or the empty slot where it would be stored.
+     */
+    private int find( Object o )
+    {
+        int mask = table.length - 1;
+        int slot = slotOf( o, mask );
+        while ( table[slot] != null && !table[slot].equals( o ) )
+        {
+            slot = ( slot + 1 ) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add( E e )
+    {
+        checkNotNull( e, "Null elements not allowed in this CompactHashSet implementation." );
+
+        int slot = find( e );
+        if ( table[slot] != null )
+        {
+            return false;
+        }
+
+        table[slot] = e;
+        size++;
+        modifications++;
+
+        if ( size > threshold )
+        {
+            rehash( table.length << 1 );
+        }
+        return true;
+    }
+
+    private void rehash( int capacity )
+    {
+        Object[] oldTable = table;
+        allocate( capacity );
+        for ( Object element : oldTable )
+        {
+            if ( element != null )
+            {
+                table[find( element )] = element;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear()
+    {
+        for ( int i = 0; i < table.length; i++ )
+        {
+            table[i] = null;
+        }
+        size = 0;
+        modifications++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains( Object o )
+    {
+        return o != null && table[find( o )] != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove( Object o )
+    {
+        if ( o == null )
+        {
+            return false;
+        }
+
+        int slot = find( o );
+        if ( table[slot] == null )
+        {
+            return false;
+        }
+
+        // backward shift deletion: move back the following elements of the probe sequence
+        int mask = table.length - 1;
+        int hole = slot;
+        int next = ( hole + 1 ) & mask;
+        while ( table[next] != null )
+        {
+            int home = slotOf( table[next], mask );
+            // the element can fill the hole only if its home slot is not within (hole, next]
+            if ( ( ( next - home ) & mask ) >= ( ( next - hole ) & mask ) )
+            {
+                table[hole] = table[next];
+                hole = next;
+            }
+            next = ( next + 1 ) & mask;
+        }
+        table[hole] = null;
+
+        size--;
+        modifications++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new Iterator<E>()
+        {
+
+            private final int expectedModifications = modifications;
+
+            private int slot = advance( 0 );
+
+            private int advance( int from )
+            {
+                int index = from;
+                while ( index < table.length && table[index] == null )
+                {
+                    index++;
+                }
+                return index;
+            }
+
+            public boolean hasNext()
+            {
+                return slot < table.length;
+            }
+
+            public E next()
+            {
+                if ( expectedModifications != modifications )
+                {
+                    throw new ConcurrentModificationException();
+                }
+                if ( !hasNext() )
+                {
+                    throw new NoSuchElementException();
+                }
+
+                @SuppressWarnings( "unchecked" ) // only E instances are stored
+                E element = (E) table[slot];
+                slot = advance( slot + 1 );
+                return element;
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException( "CompactHashSet iterator doesn't support removal" );
+            }
+
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+}
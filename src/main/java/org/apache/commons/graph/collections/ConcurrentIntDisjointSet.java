@@ -0,0 +1,197 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free disjoint-set forest over the integers from {@code 0} to {@code size - 1}, that many threads can
+ * update concurrently, following Jayanti and Tarjan <i>Randomized concurrent set union and generalized wake-up</i>.
+ *
+ * Roots are linked with a single compare-and-set on the parents array, always attaching the root with the lower
+ * priority to the other one, so that no cycle can ever be formed; priorities are a fixed pseudo-random permutation
+ * of the elements, which keeps trees shallow in expectation. {@code find} compresses paths by splitting,
+ * with compare-and-set operations that may fail harmlessly under contention.
+ *
+ * <p><b>Note</b>: this class is thread safe, and never blocks.</p>
+ */
+public final class ConcurrentIntDisjointSet
+{
+
+    private final AtomicIntegerArray parents;
+
+    private final AtomicInteger setCount;
+
+    /**
+     * Creates {@code size} singleton sets, one for each integer from {@code 0} to {@code size - 1}.
+     *
+     * @param size The number of elements
+     */
+    public ConcurrentIntDisjointSet( int size )
+    {
+        checkArgument( size >= 0, "Disjoint set size must not be negative, was %s", size );
+        int[] initialParents = new int[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            initialParents[i] = i;
+        }
+        parents = new AtomicIntegerArray( initialParents );
+        setCount = new AtomicInteger( size );
+    }
+
+    /**
+     * Returns the current representative of the set containing the input element;
+     * a concurrent union may change it as soon as this method returns.
+     *
+     * @param element The element whose set has to be found
+     * @return The representative of the set containing the input element
+     */
+    public int find( int element )
+    {
+        int parent = parents.get( element );
+        while ( parent != element )
+        {
+            int grandparent = parents.get( parent );
+            // path splitting, a failure just means another thread already moved the element up
+            parents.compareAndSet( element, parent, grandparent );
+            element = parent;
+            parent = grandparent;
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets containing the input elements.
+     *
+     * @param e1 The first element
+     * @param e2 The second element
+     * @return true if this call merged two different sets, false if the elements were already in the same set
+     */
+    public boolean union( int e1, int e2 )
+    {
+        while ( true )
+        {
+            int root1 = find( e1 );
+            int root2 = find( e2 );
+
+            if ( root1 == root2 )
+            {
+                return false;
+            }
+
+            // attach the lower priority root, the link fails if it is no longer a root
+            if ( precedes( root1, root2 ) )
+            {
+                if ( parents.compareAndSet( root1, root1, root2 ) )
+                {
+                    setCount.decrementAndGet();
+                    return true;
+                }
+            }
+            else if ( parents.compareAndSet( root2, root2, root1 ) )
+            {
+                setCount.decrementAndGet();
+                return true;
+            }
+
+            e1 = root1;
+            e2 = root2;
+        }
+    }
+
+    /**
+     * Checks if the input elements are in the same set; the answer is definitive when true,
+     * while a concurrent union may merge the sets right after false is returned.
+     *
+     * @param e1 The first element
+     * @param e2 The second element
+     * @return true if the elements are in the same set, false otherwise
+     */
+    public boolean connected( int e1, int e2 )
+    {
+        while ( true )
+        {
+            int root1 = find( e1 );
+            int root2 = find( e2 );
+
+            if ( root1 == root2 )
+            {
+                return true;
+            }
+
+            // root1 was still a root after root2 has been found, so the sets were disjoint at that moment
+            if ( parents.get( root1 ) == root1 )
+            {
+                return false;
+            }
+
+            e1 = root1;
+            e2 = root2;
+        }
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return The number of disjoint sets
+     */
+    public int getSetCount()
+    {
+        return setCount.get();
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return The number of elements
+     */
+    public int size()
+    {
+        return parents.length();
+    }
+
+    /**
+     * Compares the pseudo-random priorities of the input elements, ties are broken by element.
+     */
+    private static boolean precedes( int e1, int e2 )
+    {
+        int p1 = priority( e1 );
+        int p2 = priority( e2 );
+        return p1 < p2 || ( p1 == p2 && e1 < e2 );
+    }
+
+    /**
+     * A bijective mix of the element bits, the MurmurHash3 finalizer.
+     */
+    private static int priority( int element )
+    {
+        int h = element;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+}
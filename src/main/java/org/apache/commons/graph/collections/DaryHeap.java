@@ -0,0 +1,347 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed {@code d}-ary heap: an implicit heap in an array, where every entry knows its own position,
+ * so that it can be sifted up once its key decreased.
+ *
+ * Insertions and key decreases take {@code O(log_d n)} time, removals take {@code O(d log_d n)} time;
+ * the array layout is cache friendly, so binary and 4-ary heaps are often faster than pointer based heaps.
+ *
+ * <p><b>Note 1</b>: this class is NOT thread safe!</p>
+ *
+ * <p><b>Note 2</b>: this class doesn't support {@code null} values</p>
+ *
+ * @param <E> The type of elements held in this collection.
+ */
+public final class DaryHeap<E>
+    extends AbstractQueue<E>
+    implements AddressableQueue<E>
+{
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The comparator, or null if priority queue uses elements'
+     * natural ordering.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * The number of children of every entry.
+     */
+    private final int arity;
+
+    private Entry<E>[] entries;
+
+    private int size;
+
+    /**
+     * Creates a {@link DaryHeap} that orders its elements according to their natural ordering.
+     *
+     * @param arity The number of children of every entry, at least 2
+     */
+    public DaryHeap( int arity )
+    {
+        this( arity, null );
+    }
+
+    /**
+     * Creates a {@link DaryHeap} that orders its elements according to the specified comparator.
+     *
+     * @param arity The number of children of every entry, at least 2
+     * @param comparator The comparator that will be used to order this queue.
+     *                   If null, the natural ordering of the elements will be used.
+     */
+    public DaryHeap( int arity, /* @Nullable */Comparator<? super E> comparator )
+    {
+        checkArgument( arity >= 2, "Heap arity must be at least 2, was %s", arity );
+        this.arity = arity;
+        this.comparator = comparator;
+        this.entries = newEntries( INITIAL_CAPACITY );
+    }
+
+    @SuppressWarnings( "unchecked" ) // generic array creation
+    private static <E> Entry<E>[] newEntries( int capacity )
+    {
+        return (Entry<E>[]) new Entry<?>[capacity];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean offer( E e )
+    {
+        insert( e );
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Handle<E> insert( E e )
+    {
+        checkNotNull( e, "Null elements not allowed in this DaryHeap implementation." );
+
+        if ( size == entries.length )
+        {
+            entries = Arrays.copyOf( entries, size << 1 );
+        }
+
+        Entry<E> entry = new Entry<E>( e );
+        siftUp( entry, size++ );
+        return entry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void decreaseKey( Handle<E> handle )
+    {
+        Entry<E> entry = entry( handle );
+        siftUp( entry, entry.index );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void decreaseKey( Handle<E> handle, E element )
+    {
+        checkNotNull( element, "Null elements not allowed in this DaryHeap implementation." );
+        Entry<E> entry = entry( handle );
+        checkArgument( compare( element, entry.element ) <= 0,
+                       "Element %s is greater than the replaced element %s", element, entry.element );
+        entry.element = element;
+        siftUp( entry, entry.index );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public E peek()
+    {
+        return size == 0 ? null : entries[0].element;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public E poll()
+    {
+        if ( size == 0 )
+        {
+            return null;
+        }
+
+        Entry<E> minimum = entries[0];
+        minimum.index = -1;
+
+        Entry<E> last = entries[--size];
+        entries[size] = null;
+        if ( size > 0 )
+        {
+            siftDown( last, 0 );
+        }
+
+        return minimum.element;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear()
+    {
+        for ( int i = 0; i < size; i++ )
+        {
+            entries[i].index = -1;
+            entries[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue, in no particular order; removal is not supported.
+     *
+     * @return An iterator over the elements in this queue
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new Iterator<E>()
+        {
+
+            private int next;
+
+            public boolean hasNext()
+            {
+                return next < size;
+            }
+
+            public E next()
+            {
+                if ( !hasNext() )
+                {
+                    throw new NoSuchElementException();
+                }
+                return entries[next++].element;
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+
+        };
+    }
+
+    /**
+     * Moves the input entry from the input position towards the root, until its parent is not greater.
+     */
+    private void siftUp( Entry<E> entry, int index )
+    {
+        while ( index > 0 )
+        {
+            int parent = ( index - 1 ) / arity;
+            if ( compare( entries[parent].element, entry.element ) <= 0 )
+            {
+                break;
+            }
+            place( entries[parent], index );
+            index = parent;
+        }
+        place( entry, index );
+    }
+
+    /**
+     * Moves the input entry from the input position towards the leaves, until no child is smaller.
+     */
+    private void siftDown( Entry<E> entry, int index )
+    {
+        while ( true )
+        {
+            int first = index * arity + 1;
+            if ( first >= size )
+            {
+                break;
+            }
+
+            int smallest = first;
+            int last = Math.min( first + arity, size );
+            for ( int child = first + 1; child < last; child++ )
+            {
+                if ( compare( entries[child].element, entries[smallest].element ) < 0 )
+                {
+                    smallest = child;
+                }
+            }
+
+            if ( compare( entries[smallest].element, entry.element ) >= 0 )
+            {
+                break;
+            }
+            place( entries[smallest], index );
+            index = smallest;
+        }
+        place( entry, index );
+    }
+
+    private void place( Entry<E> entry, int index )
+    {
+        entries[index] = entry;
+        entry.index = index;
+    }
+
+    private Entry<E> entry( Handle<E> handle )
+    {
+        checkNotNull( handle, "Null handles not allowed in this DaryHeap implementation." );
+        checkArgument( handle instanceof Entry && handle.isQueued(),
+                       "Handle %s does not reference an element in this heap", handle );
+        return (Entry<E>) handle;
+    }
+
+    private int compare( E e1, E e2 )
+    {
+        if ( comparator != null )
+        {
+            return comparator.compare( e1, e2 );
+        }
+        @SuppressWarnings( "unchecked" ) // it will throw a ClassCastException at runtime
+        Comparable<? super E> e1Comparable = (Comparable<? super E>) e1;
+        return e1Comparable.compareTo( e2 );
+    }
+
+    /**
+     * A heap entry, aware of its position in the heap array.
+     */
+    private static final class Entry<E>
+        implements Handle<E>
+    {
+
+        private E element;
+
+        /**
+         * The position in the heap array, -1 once removed.
+         */
+        private int index;
+
+        public Entry( E element )
+        {
+            this.element = element;
+        }
+
+        public E getElement()
+        {
+            return element;
+        }
+
+        public boolean isQueued()
+        {
+            return index >= 0;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.valueOf( element );
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.graph.collections;
  * under the License.
  */
 
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
 
 import static java.lang.Math.floor;
@@ -28,12 +29,9 @@ import static java.lang.Math.sqrt;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Queue;
-import java.util.Set;
 import java.util.Stack;
 
 /**
@@ -45,10 +43,15 @@ import java.util.Stack;
  *
  * <p><b>Note 2</b>: this class doesn't support {@code null} values</p>
  *
+ * <p><b>Note 3</b>: {@link #insert(Object)} returns the node of the inserted element as its handle, so that
+ * {@link #decreaseKey(AddressableQueue.Handle)} runs in {@code O(1)} amortized time and callers never need to queue
+ * the same element twice; {@link #contains(Object)} walks the whole heap, callers holding handles should rely on
+ * {@link AddressableQueue.Handle#isQueued()} instead.</p>
+ *
  * @param <E> The type of elements held in this collection.
  */
 public final class FibonacciHeap<E>
-    implements Queue<E>
+    implements AddressableQueue<E>
 {
 
     /**
@@ -56,11 +59,6 @@ public final class FibonacciHeap<E>
      */
     private static final double LOG_PHI = log( ( 1 + sqrt( 5 ) ) / 2 );
 
-    /**
-     * A simple index of stored elements.
-     */
-    private final Set<E> elementsIndex = new HashSet<E>();
-
     /**
      * The comparator, or null if priority queue uses elements'
      * natural ordering.
@@ -87,6 +85,16 @@ public final class FibonacciHeap<E>
      */
     private FibonacciHeapNode<E> minimumNode;
 
+    /**
+     * When set, removed nodes are kept and reused by later insertions.
+     */
+    private final boolean pooling;
+
+    /**
+     * The pooled nodes, linked through their right references.
+     */
+    private FibonacciHeapNode<E> pooledNodes;
+
     /**
      * Creates a {@link FibonacciHeap} that orders its elements according to their natural ordering.
      */
@@ -102,8 +110,25 @@ public final class FibonacciHeap<E>
      *                   If null, the natural ordering of the elements will be used.
      */
     public FibonacciHeap( /* @Nullable */Comparator<? super E> comparator )
+    {
+        this( comparator, false );
+    }
+
+    /**
+     * Creates a {@link FibonacciHeap} that orders its elements according to the specified comparator,
+     * optionally reusing the nodes of removed elements in order to reduce allocations when the heap is refilled.
+     *
+     * <p>When pooling is enabled, handles must not be used once their element has been removed,
+     * since their node may already reference a different element.</p>
+     *
+     * @param comparator The comparator that will be used to order this queue.
+     *                   If null, the natural ordering of the elements will be used.
+     * @param pooling true if nodes of removed elements have to be reused, false otherwise
+     */
+    public FibonacciHeap( /* @Nullable */Comparator<? super E> comparator, boolean pooling )
     {
         this.comparator = comparator;
+        this.pooling = pooling;
     }
 
     /**
@@ -122,11 +147,32 @@ public final class FibonacciHeap<E>
      * 10  n[H] &larr; n[H] + 1</pre>
      */
     public boolean add( E e )
+    {
+        insert( e );
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see #add(Object)
+     */
+    public Handle<E> insert( E e )
     {
         checkNotNull( e, "Null elements not allowed in this FibonacciHeap implementation." );
 
         // 1-6 performed in the node initialization
-        FibonacciHeapNode<E> node = new FibonacciHeapNode<E>( e );
+        FibonacciHeapNode<E> node;
+        if ( pooledNodes != null )
+        {
+            node = pooledNodes;
+            pooledNodes = node.getRight();
+            node.reset( e );
+        }
+        else
+        {
+            node = new FibonacciHeapNode<E>( e );
+        }
 
         // 7-9 performed in the #moveToRoot( FibonacciHeapNode<E> ) method
         moveToRoot( node );
@@ -134,9 +180,7 @@ public final class FibonacciHeap<E>
         // 10  n[H] <- n[H] + 1
         size++;
 
-        elementsIndex.add( e );
-
-        return true;
+        return node;
     }
 
     /**
@@ -195,11 +239,64 @@ public final class FibonacciHeap<E>
      */
     public void clear()
     {
+        for ( FibonacciHeapNode<E> node : nodes() )
+        {
+            release( node );
+        }
+
         minimumNode = null;
         size = 0;
         trees = 0;
         markedNodes = 0;
-        elementsIndex.clear();
+    }
+
+    /**
+     * Marks the input node as removed, then pools it if pooling is enabled.
+     *
+     * @param node The node removed from the heap
+     */
+    private void release( FibonacciHeapNode<E> node )
+    {
+        node.release();
+        if ( pooling )
+        {
+            node.setElement( null );
+            node.setRight( pooledNodes );
+            pooledNodes = node;
+        }
+    }
+
+    /**
+     * Collects all the nodes of this heap, walking the root list and the child lists.
+     *
+     * @return All the nodes of this heap
+     */
+    private List<FibonacciHeapNode<E>> nodes()
+    {
+        List<FibonacciHeapNode<E>> nodes = new ArrayList<FibonacciHeapNode<E>>( size );
+        if ( minimumNode == null )
+        {
+            return nodes;
+        }
+
+        Stack<FibonacciHeapNode<E>> stack = new Stack<FibonacciHeapNode<E>>();
+        stack.push( minimumNode );
+        while ( !stack.empty() )
+        {
+            FibonacciHeapNode<E> start = stack.pop();
+            FibonacciHeapNode<E> current = start;
+            do
+            {
+                nodes.add( current );
+                if ( current.getChild() != null )
+                {
+                    stack.push( current.getChild() );
+                }
+                current = current.getRight();
+            }
+            while ( current != start );
+        }
+        return nodes;
     }
 
     /**
@@ -212,14 +309,28 @@ public final class FibonacciHeap<E>
      *         less than, equal to, or greater than the second
      */
     private int compare( FibonacciHeapNode<E> o1, FibonacciHeapNode<E> o2 )
+    {
+        return compare( o1.getElement(), o2.getElement() );
+    }
+
+    /**
+     * Compare the given elements according to the specified comparator if not null,
+     * according to their natural ordering otherwise.
+     *
+     * @param e1 The first element to be compared
+     * @param e2 The second element to be compared
+     * @return A negative integer, zero, or a positive integer as the first argument is
+     *         less than, equal to, or greater than the second
+     */
+    private int compare( E e1, E e2 )
     {
         if ( comparator != null )
         {
-            return comparator.compare( o1.getElement(), o2.getElement() );
+            return comparator.compare( e1, e2 );
         }
         @SuppressWarnings( "unchecked" ) // it will throw a ClassCastException at runtime
-        Comparable<? super E> o1Comparable = (Comparable<? super E>) o1.getElement();
-        return o1Comparable.compareTo( o2.getElement() );
+        Comparable<? super E> o1Comparable = (Comparable<? super E>) e1;
+        return o1Comparable.compareTo( e2 );
     }
 
     /**
@@ -256,7 +367,8 @@ public final class FibonacciHeap<E>
         // D( n[H] ) <= log_phi( n[H] )
         // -> log_phi( n[H] ) = log( n[H] ) / log( phi )
         // -> D( n[H] ) = log( n[H] ) / log( phi )
-        int arraySize = ( (int) floor( log( size ) / LOG_PHI ) );
+        // one more slot, degrees range from 0 to D( n[H] ) included
+        int arraySize = ( (int) floor( log( size ) / LOG_PHI ) ) + 1;
 
         // 1  for i <- 0 to D(n[H])
         List<FibonacciHeapNode<E>> nodeSequence = new ArrayList<FibonacciHeapNode<E>>( arraySize );
@@ -357,7 +469,14 @@ public final class FibonacciHeap<E>
             return false;
         }
 
-        return elementsIndex.contains( o );
+        for ( FibonacciHeapNode<E> node : nodes() )
+        {
+            if ( o.equals( node.getElement() ) )
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -395,17 +514,89 @@ public final class FibonacciHeap<E>
      */
     private void cut( FibonacciHeapNode<E> x, FibonacciHeapNode<E> y )
     {
+        // remove x from the child list of y, decrementing degree[y]
+        if ( y.getChild() == x )
+        {
+            y.setChild( x.getRight() != x ? x.getRight() : null );
+        }
+        y.decraeseDegree();
+
         // add x to the root list of H
         moveToRoot( x );
 
-        // remove x from the child list of y, decrementing degree[y]
-        y.decraeseDegree();
         // p[x] <- NIL
         x.setParent( null );
 
         // mark[x] <- FALSE
-        x.setMarked( false );
-        markedNodes--;
+        if ( x.isMarked() )
+        {
+            x.setMarked( false );
+            markedNodes--;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <pre>FIB-HEAP-DECREASE-KEY(H,x,k)
+     * 1  key[x] &larr; k
+     * 2  y &larr; p[x]
+     * 3  if y &ne; NIL and key[x] &lt; key[y]
+     * 4     then CUT(H,x,y)
+     * 5          CASCADING-CUT(H,y)
+     * 6  if key[x] &lt; key[min[H]]
+     * 7     then min[H] &larr; x</pre>
+     */
+    public void decreaseKey( Handle<E> handle )
+    {
+        // 1  key[x] <- k already performed by the caller
+        FibonacciHeapNode<E> x = node( handle );
+
+        // 2  y <- p[x]
+        FibonacciHeapNode<E> y = x.getParent();
+
+        // 3  if y != NIL and key[x] < key[y]
+        if ( y != null && compare( x, y ) < 0 )
+        {
+            // 4  CUT(H,x,y)
+            cut( x, y );
+            // 5  CASCADING-CUT(H,y)
+            cascadingCut( y );
+        }
+
+        // 6  if key[x] < key[min[H]]
+        if ( compare( x, minimumNode ) < 0 )
+        {
+            // 7  min[H] <- x
+            minimumNode = x;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void decreaseKey( Handle<E> handle, E element )
+    {
+        checkNotNull( element, "Null elements not allowed in this FibonacciHeap implementation." );
+        FibonacciHeapNode<E> node = node( handle );
+        checkArgument( compare( element, node.getElement() ) <= 0,
+                       "Element %s is greater than the replaced element %s", element, node.getElement() );
+        node.setElement( element );
+        decreaseKey( handle );
+    }
+
+    /**
+     * Checks that the input handle references an element still in the heap.
+     *
+     * @param handle The handle returned by {@link #insert(Object)}
+     * @return The node referenced by the handle
+     */
+    private FibonacciHeapNode<E> node( Handle<E> handle )
+    {
+        checkNotNull( handle, "Null handles not allowed in this FibonacciHeap implementation." );
+        checkArgument( handle instanceof FibonacciHeapNode && handle.isQueued(),
+                       "Handle %s does not reference an element in this heap", handle );
+        return (FibonacciHeapNode<E>) handle;
     }
 
     /**
@@ -603,7 +794,7 @@ public final class FibonacciHeap<E>
         size--;
 
         E minimum = z.getElement();
-        elementsIndex.remove( minimum );
+        release( z );
         // 12  return z
         return minimum;
     }
@@ -25,12 +25,13 @@ package org.apache.commons.graph.collections;
  * @param <E> The type of elements held in the {@link FibonacciHeap} collection.
  */
 final class FibonacciHeapNode<E>
+    implements AddressableQueue.Handle<E>
 {
 
     /**
      * The stored node value.
      */
-    private final E element;
+    private E element;
 
     /**
      * Reference to the parent node, if any.
@@ -63,12 +64,27 @@ final class FibonacciHeapNode<E>
      */
     private boolean marked;
 
+    /**
+     * Set while the node is in the heap, cleared once it is removed.
+     */
+    private boolean queued;
+
     /**
      * Build a new {@link FibonacciHeap} node with the given value.
      *
      * @param element The node value has to be stored.
      */
     public FibonacciHeapNode( E element )
+    {
+        reset( element );
+    }
+
+    /**
+     * Initializes this node with the given value, so that pooled nodes can be reused.
+     *
+     * @param element The node value has to be stored.
+     */
+    public void reset( E element )
     {
         // 1  degree[x] &larr; 0
         degree = 0;
@@ -85,6 +101,35 @@ final class FibonacciHeapNode<E>
 
         // set the adapted element
         this.element = element;
+        this.queued = true;
+    }
+
+    /**
+     * Detaches the node from the heap, once it has been removed.
+     */
+    public void release()
+    {
+        queued = false;
+        parent = null;
+        child = null;
+    }
+
+    /**
+     * Replaces the stored value.
+     *
+     * @param element The new node value.
+     */
+    public void setElement( E element )
+    {
+        this.element = element;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isQueued()
+    {
+        return queued;
     }
 
     /**
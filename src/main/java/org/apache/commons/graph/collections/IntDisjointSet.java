@@ -0,0 +1,146 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+
+/**
+ * A disjoint-set forest over the integers from {@code 0} to {@code size - 1}, backed by parent and rank arrays:
+ * union by rank and iterative path halving keep {@code find} and {@code union} almost constant time,
+ * without allocating nodes nor recursing.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+public final class IntDisjointSet
+{
+
+    private final int[] parents;
+
+    /**
+     * Ranks never exceed {@code log2(size)}, so they fit in a byte.
+     */
+    private final byte[] ranks;
+
+    private int setCount;
+
+    /**
+     * Creates {@code size} singleton sets, one for each integer from {@code 0} to {@code size - 1}.
+     *
+     * @param size The number of elements
+     */
+    public IntDisjointSet( int size )
+    {
+        checkArgument( size >= 0, "Disjoint set size must not be negative, was %s", size );
+        parents = new int[size];
+        ranks = new byte[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            parents[i] = i;
+        }
+        setCount = size;
+    }
+
+    /**
+     * Returns the representative of the set containing the input element,
+     * making every other visited element point to its grandparent.
+     *
+     * @param element The element whose set has to be found
+     * @return The representative of the set containing the input element
+     */
+    public int find( int element )
+    {
+        int[] parents = this.parents;
+        while ( parents[element] != element )
+        {
+            int grandparent = parents[parents[element]];
+            parents[element] = grandparent;
+            element = grandparent;
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets containing the input elements, attaching the lower rank tree to the other one.
+     *
+     * @param e1 The first element
+     * @param e2 The second element
+     * @return true if the elements were in different sets, false otherwise
+     */
+    public boolean union( int e1, int e2 )
+    {
+        int root1 = find( e1 );
+        int root2 = find( e2 );
+
+        if ( root1 == root2 )
+        {
+            return false;
+        }
+
+        if ( ranks[root1] < ranks[root2] )
+        {
+            parents[root1] = root2;
+        }
+        else if ( ranks[root1] > ranks[root2] )
+        {
+            parents[root2] = root1;
+        }
+        else
+        {
+            parents[root2] = root1;
+            ranks[root1]++;
+        }
+
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Checks if the input elements are in the same set.
+     *
+     * @param e1 The first element
+     * @param e2 The second element
+     * @return true if the elements are in the same set, false otherwise
+     */
+    public boolean connected( int e1, int e2 )
+    {
+        return find( e1 ) == find( e2 );
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     *
+     * @return The number of disjoint sets
+     */
+    public int getSetCount()
+    {
+        return setCount;
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return The number of elements
+     */
+    public int size()
+    {
+        return parents.length;
+    }
+
+}
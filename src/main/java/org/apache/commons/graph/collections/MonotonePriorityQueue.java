@@ -0,0 +1,76 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue whose elements have non-negative integer keys, where keys of added elements
+ * are never smaller than the key of the last removed one, as it happens in Dijkstra's algorithm.
+ *
+ * @param <E> The type of elements held in this queue.
+ */
+public interface MonotonePriorityQueue<E>
+{
+
+    /**
+     * Adds the input element with the input key.
+     *
+     * @param element The element to add
+     * @param key The element key, can't be smaller than the key of the last removed element
+     */
+    void add( E element, long key );
+
+    /**
+     * Removes all the elements from this queue, which then accepts any non-negative key again.
+     */
+    void clear();
+
+    /**
+     * Returns the smallest key of the elements in this queue.
+     *
+     * @return The smallest key of the elements in this queue
+     * @throws NoSuchElementException if this queue is empty
+     */
+    long getMinimumKey();
+
+    /**
+     * Checks if this queue contains no elements.
+     *
+     * @return true if this queue contains no elements, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Retrieves and removes an element with the smallest key.
+     *
+     * @return An element with the smallest key
+     * @throws NoSuchElementException if this queue is empty
+     */
+    E remove();
+
+    /**
+     * Returns the number of elements in this queue.
+     *
+     * @return The number of elements in this queue
+     */
+    int size();
+
+}
@@ -0,0 +1,227 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A radix heap, as described by Ahuja, Mehlhorn, Orlin and Tarjan in
+ * <i>Faster algorithms for the shortest path problem</i>.
+ *
+ * Elements are kept in 65 buckets: bucket {@code 0} holds the elements whose key is equal to the last removed key,
+ * bucket {@code i} the elements whose key differs from the last removed key first in bit {@code i - 1}.
+ * Each element moves to lower buckets only, so removing takes {@code O(log C)} amortized time,
+ * where {@code C} is the maximum key, while adding takes constant time.
+ *
+ * <p><b>Note 1</b>: this class is NOT thread safe!</p>
+ *
+ * <p><b>Note 2</b>: this class doesn't support {@code null} values</p>
+ *
+ * @param <E> The type of elements held in this collection.
+ */
+public final class RadixHeap<E>
+    implements MonotonePriorityQueue<E>
+{
+
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private final Bucket[] buckets = new Bucket[BUCKETS];
+
+    /**
+     * The key of the last removed element, which all the keys in the heap are compared to.
+     */
+    private long lastKey;
+
+    private int size;
+
+    /**
+     * Creates a new empty radix heap.
+     */
+    public RadixHeap()
+    {
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Returns the bucket index of the input key.
+     */
+    private int bucketOf( long key )
+    {
+        return key == lastKey ? 0 : Long.SIZE - numberOfLeadingZeros( key ^ lastKey );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void add( E element, long key )
+    {
+        checkNotNull( element, "Null elements not allowed in this RadixHeap implementation." );
+        checkArgument( key >= lastKey, "Key %s is smaller than the last removed key %s", key, lastKey );
+
+        buckets[bucketOf( key )].add( element, key );
+        size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear()
+    {
+        for ( Bucket bucket : buckets )
+        {
+            bucket.clear();
+        }
+        size = 0;
+        lastKey = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMinimumKey()
+    {
+        fillFirstBucket();
+        return lastKey;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public E remove()
+    {
+        fillFirstBucket();
+        size--;
+        @SuppressWarnings( "unchecked" ) // only E instances are stored
+        E element = (E) buckets[0].removeLast();
+        return element;
+    }
+
+    /**
+     * Ensures bucket {@code 0} is not empty, moving the smallest key of the first non-empty bucket
+     * to the last removed key and redistributing that bucket elements.
+     */
+    private void fillFirstBucket()
+    {
+        if ( size == 0 )
+        {
+            throw new NoSuchElementException();
+        }
+
+        if ( buckets[0].size > 0 )
+        {
+            return;
+        }
+
+        int index = 1;
+        while ( buckets[index].size == 0 )
+        {
+            index++;
+        }
+
+        Bucket bucket = buckets[index];
+        long minimum = bucket.keys[0];
+        for ( int i = 1; i < bucket.size; i++ )
+        {
+            minimum = Math.min( minimum, bucket.keys[i] );
+        }
+        lastKey = minimum;
+
+        // every element falls into a lower bucket, since its key now shares more leading bits with the last key
+        for ( int i = 0; i < bucket.size; i++ )
+        {
+            @SuppressWarnings( "unchecked" ) // only E instances are stored
+            E element = (E) bucket.elements[i];
+            buckets[bucketOf( bucket.keys[i] )].add( element, bucket.keys[i] );
+        }
+        bucket.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * A growable array of elements and their keys.
+     */
+    private static final class Bucket
+    {
+
+        private Object[] elements = new Object[0];
+
+        private long[] keys = new long[0];
+
+        private int size;
+
+        public void add( Object element, long key )
+        {
+            if ( size == elements.length )
+            {
+                int capacity = Math.max( 4, size * 2 );
+                Object[] newElements = new Object[capacity];
+                System.arraycopy( elements, 0, newElements, 0, size );
+                elements = newElements;
+                long[] newKeys = new long[capacity];
+                System.arraycopy( keys, 0, newKeys, 0, size );
+                keys = newKeys;
+            }
+            elements[size] = element;
+            keys[size] = key;
+            size++;
+        }
+
+        public Object removeLast()
+        {
+            size--;
+            Object element = elements[size];
+            elements[size] = null;
+            return element;
+        }
+
+        public void clear()
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                elements[i] = null;
+            }
+            size = 0;
+        }
+
+    }
+
+}
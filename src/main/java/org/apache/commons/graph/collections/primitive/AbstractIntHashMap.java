@@ -0,0 +1,234 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.fill;
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+
+/**
+ * The {@code int} keys of an open addressing table with linear probing,
+ * subclasses keep the values in a parallel array of their primitive type.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+abstract class AbstractIntHashMap
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+
+    private boolean[] used;
+
+    private int size;
+
+    /**
+     * The table is grown as soon as the number of entries exceeds this threshold.
+     */
+    private int threshold;
+
+    AbstractIntHashMap( int expectedSize )
+    {
+        checkArgument( expectedSize >= 0, "Expected size can not be negative, was %s", expectedSize );
+        int capacity = DEFAULT_CAPACITY;
+        while ( capacity / 4 * 3 < expectedSize )
+        {
+            capacity <<= 1;
+        }
+        keys = new int[capacity];
+        used = new boolean[capacity];
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Returns the number of slots of the table, subclasses size their values array accordingly.
+     */
+    final int capacity()
+    {
+        return keys.length;
+    }
+
+    /**
+     * Moves the values to a table of the input capacity.
+     *
+     * @param capacity The capacity of the new table
+     * @param slots The new slot of each old slot, -1 for the empty ones
+     */
+    abstract void relocateValues( int capacity, int[] slots );
+
+    /**
+     * Copies the value stored in a slot to another one.
+     */
+    abstract void moveValue( int from, int to );
+
+    private static int slotOf( int key, int mask )
+    {
+        int h = key * 0x9E3779B9;
+        return ( h ^ ( h >>> 16 ) ) & mask;
+    }
+
+    /**
+     * Returns the slot holding the input key, or the empty slot where it would be stored.
+     */
+    private int find( int key )
+    {
+        int mask = keys.length - 1;
+        int slot = slotOf( key, mask );
+        while ( used[slot] && keys[slot] != key )
+        {
+            slot = ( slot + 1 ) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot holding the input key.
+     *
+     * @return the slot holding the input key, -1 if the key is not in this map
+     */
+    final int slotOfKey( int key )
+    {
+        int slot = find( key );
+        return used[slot] ? slot : -1;
+    }
+
+    /**
+     * Returns the slot holding the input key, adding the key if it is not in this map.
+     *
+     * @return the slot of the key if it has been added, {@code -slot - 1} if the key was already in this map
+     */
+    final int insert( int key )
+    {
+        if ( size >= threshold )
+        {
+            rehash( keys.length << 1 );
+        }
+
+        int slot = find( key );
+        if ( used[slot] )
+        {
+            return -slot - 1;
+        }
+        keys[slot] = key;
+        used[slot] = true;
+        size++;
+        return slot;
+    }
+
+    private void rehash( int capacity )
+    {
+        int[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new int[capacity];
+        used = new boolean[capacity];
+        threshold = capacity / 4 * 3;
+
+        int[] slots = new int[oldKeys.length];
+        for ( int i = 0; i < oldKeys.length; i++ )
+        {
+            slots[i] = -1;
+            if ( oldUsed[i] )
+            {
+                int slot = find( oldKeys[i] );
+                keys[slot] = oldKeys[i];
+                used[slot] = true;
+                slots[i] = slot;
+            }
+        }
+        relocateValues( capacity, slots );
+    }
+
+    /**
+     * Checks if the input key is in this map.
+     *
+     * @param key The key to check
+     * @return true if the key is in this map, false otherwise
+     */
+    public final boolean containsKey( int key )
+    {
+        return used[find( key )];
+    }
+
+    /**
+     * Removes the input key, and its associated value, from this map.
+     *
+     * @param key The key to remove
+     * @return true if the key was in this map, false otherwise
+     */
+    public final boolean remove( int key )
+    {
+        int slot = find( key );
+        if ( !used[slot] )
+        {
+            return false;
+        }
+
+        // backward shift deletion: move back the following entries of the probe sequence
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = ( hole + 1 ) & mask;
+        while ( used[next] )
+        {
+            int home = slotOf( keys[next], mask );
+            // the entry can fill the hole only if its home slot is not within (hole, next]
+            if ( ( ( next - home ) & mask ) >= ( ( next - hole ) & mask ) )
+            {
+                keys[hole] = keys[next];
+                moveValue( next, hole );
+                hole = next;
+            }
+            next = ( next + 1 ) & mask;
+        }
+        used[hole] = false;
+
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes all the entries, keeping the allocated capacity.
+     */
+    public final void clear()
+    {
+        fill( used, false );
+        size = 0;
+    }
+
+    /**
+     * Checks if this map contains no entries.
+     *
+     * @return true if this map contains no entries, false otherwise
+     */
+    public final boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     *
+     * @return The number of entries in this map
+     */
+    public final int size()
+    {
+        return size;
+    }
+
+}
@@ -0,0 +1,177 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+/**
+ * A set of non-negative {@code int}s, backed by an array of words that grows as larger elements are added.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+public final class GrowableBitSet
+{
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private long[] words;
+
+    private int cardinality;
+
+    /**
+     * Creates an empty set, able to hold the elements from {@code 0} to {@code 63} without growing.
+     */
+    public GrowableBitSet()
+    {
+        this( Long.SIZE );
+    }
+
+    /**
+     * Creates an empty set, able to hold the elements from {@code 0} to {@code capacity - 1} without growing.
+     *
+     * @param capacity The initial capacity, in bits
+     */
+    public GrowableBitSet( int capacity )
+    {
+        words = new long[Math.max( 1, ( capacity + Long.SIZE - 1 ) >>> ADDRESS_BITS_PER_WORD )];
+    }
+
+    /**
+     * Adds the input element.
+     *
+     * @param element The non-negative element to add
+     * @return true if the element was not already in this set, false otherwise
+     */
+    public boolean add( int element )
+    {
+        int index = wordIndex( element );
+        if ( index >= words.length )
+        {
+            words = copyOf( words, Math.max( index + 1, words.length << 1 ) );
+        }
+
+        long mask = 1L << element;
+        if ( ( words[index] & mask ) != 0 )
+        {
+            return false;
+        }
+        words[index] |= mask;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Checks if the input element is in this set.
+     *
+     * @param element The non-negative element to check
+     * @return true if the element is in this set, false otherwise
+     */
+    public boolean contains( int element )
+    {
+        int index = wordIndex( element );
+        return index < words.length && ( words[index] & ( 1L << element ) ) != 0;
+    }
+
+    /**
+     * Removes the input element.
+     *
+     * @param element The non-negative element to remove
+     * @return true if the element was in this set, false otherwise
+     */
+    public boolean remove( int element )
+    {
+        if ( !contains( element ) )
+        {
+            return false;
+        }
+        words[wordIndex( element )] &= ~( 1L << element );
+        cardinality--;
+        return true;
+    }
+
+    /**
+     * Returns the smallest element not smaller than the input one.
+     *
+     * @param from The non-negative element to start from
+     * @return The smallest element not smaller than the input one, -1 if none
+     */
+    public int nextSetBit( int from )
+    {
+        int index = wordIndex( from );
+        if ( index >= words.length )
+        {
+            return -1;
+        }
+
+        long word = words[index] & ( -1L << from );
+        while ( true )
+        {
+            if ( word != 0 )
+            {
+                return ( index << ADDRESS_BITS_PER_WORD ) + Long.numberOfTrailingZeros( word );
+            }
+            if ( ++index == words.length )
+            {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    /**
+     * Removes all the elements, keeping the allocated capacity.
+     */
+    public void clear()
+    {
+        fill( words, 0L );
+        cardinality = 0;
+    }
+
+    /**
+     * Checks if this set contains no elements.
+     *
+     * @return true if this set contains no elements, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return cardinality == 0;
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return The number of elements in this set
+     */
+    public int size()
+    {
+        return cardinality;
+    }
+
+    private static int wordIndex( int element )
+    {
+        if ( element < 0 )
+        {
+            throw new IndexOutOfBoundsException( "Negative element: " + element );
+        }
+        return element >>> ADDRESS_BITS_PER_WORD;
+    }
+
+}
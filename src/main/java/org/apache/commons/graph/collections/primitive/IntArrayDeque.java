@@ -0,0 +1,193 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.NoSuchElementException;
+
+/**
+ * A double ended queue of {@code int}s, backed by a circular array whose length is a power of two.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+public final class IntArrayDeque
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+
+    /**
+     * The position of the first element.
+     */
+    private int head;
+
+    private int size;
+
+    /**
+     * Creates an empty deque with the default initial capacity.
+     */
+    public IntArrayDeque()
+    {
+        this( DEFAULT_CAPACITY );
+    }
+
+    /**
+     * Creates an empty deque with at least the input initial capacity.
+     *
+     * @param capacity The initial capacity
+     */
+    public IntArrayDeque( int capacity )
+    {
+        elements = new int[Integer.highestOneBit( Math.max( 2, capacity ) - 1 ) << 1];
+    }
+
+    /**
+     * Inserts the input element at the front of this deque.
+     *
+     * @param element The element to insert
+     */
+    public void addFirst( int element )
+    {
+        ensureCapacity();
+        head = ( head - 1 ) & ( elements.length - 1 );
+        elements[head] = element;
+        size++;
+    }
+
+    /**
+     * Inserts the input element at the end of this deque.
+     *
+     * @param element The element to insert
+     */
+    public void addLast( int element )
+    {
+        ensureCapacity();
+        elements[( head + size ) & ( elements.length - 1 )] = element;
+        size++;
+    }
+
+    /**
+     * Returns the first element of this deque.
+     *
+     * @return The first element of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int getFirst()
+    {
+        checkNotEmpty();
+        return elements[head];
+    }
+
+    /**
+     * Returns the last element of this deque.
+     *
+     * @return The last element of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int getLast()
+    {
+        checkNotEmpty();
+        return elements[( head + size - 1 ) & ( elements.length - 1 )];
+    }
+
+    /**
+     * Removes and returns the first element of this deque.
+     *
+     * @return The first element of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int removeFirst()
+    {
+        checkNotEmpty();
+        int element = elements[head];
+        head = ( head + 1 ) & ( elements.length - 1 );
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes and returns the last element of this deque.
+     *
+     * @return The last element of this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public int removeLast()
+    {
+        checkNotEmpty();
+        size--;
+        return elements[( head + size ) & ( elements.length - 1 )];
+    }
+
+    /**
+     * Removes all the elements, keeping the allocated capacity.
+     */
+    public void clear()
+    {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Checks if this deque contains no elements.
+     *
+     * @return true if this deque contains no elements, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in this deque.
+     *
+     * @return The number of elements in this deque
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    private void checkNotEmpty()
+    {
+        if ( size == 0 )
+        {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Doubles the circular array when full, unrolling the elements at its beginning.
+     */
+    private void ensureCapacity()
+    {
+        if ( size < elements.length )
+        {
+            return;
+        }
+
+        int[] grown = new int[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy( elements, head, grown, 0, firstPart );
+        System.arraycopy( elements, 0, grown, firstPart, head );
+        elements = grown;
+        head = 0;
+    }
+
+}
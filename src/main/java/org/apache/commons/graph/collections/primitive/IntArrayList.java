@@ -0,0 +1,190 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.copyOf;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A growable array of {@code int}s, which can be used as a stack as well.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+public final class IntArrayList
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+
+    private int size;
+
+    /**
+     * Creates an empty list with the default initial capacity.
+     */
+    public IntArrayList()
+    {
+        this( DEFAULT_CAPACITY );
+    }
+
+    /**
+     * Creates an empty list with the input initial capacity.
+     *
+     * @param capacity The initial capacity
+     */
+    public IntArrayList( int capacity )
+    {
+        elements = new int[Math.max( 1, capacity )];
+    }
+
+    /**
+     * Appends the input element at the end of this list.
+     *
+     * @param element The element to append
+     */
+    public void add( int element )
+    {
+        if ( size == elements.length )
+        {
+            elements = copyOf( elements, size << 1 );
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * Appends all the elements of the input list at the end of this list.
+     *
+     * @param other The list whose elements have to be appended
+     */
+    public void addAll( IntArrayList other )
+    {
+        if ( size + other.size > elements.length )
+        {
+            elements = copyOf( elements, Math.max( size + other.size, size << 1 ) );
+        }
+        System.arraycopy( other.elements, 0, elements, size, other.size );
+        size += other.size;
+    }
+
+    /**
+     * Returns the element at the input position.
+     *
+     * @param index The element position
+     * @return The element at the input position
+     */
+    public int get( int index )
+    {
+        checkIndex( index );
+        return elements[index];
+    }
+
+    /**
+     * Replaces the element at the input position.
+     *
+     * @param index The element position
+     * @param element The new element
+     * @return The replaced element
+     */
+    public int set( int index, int element )
+    {
+        checkIndex( index );
+        int previous = elements[index];
+        elements[index] = element;
+        return previous;
+    }
+
+    /**
+     * Returns the last element of this list.
+     *
+     * @return The last element of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public int getLast()
+    {
+        if ( size == 0 )
+        {
+            throw new NoSuchElementException();
+        }
+        return elements[size - 1];
+    }
+
+    /**
+     * Removes and returns the last element of this list.
+     *
+     * @return The last element of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public int removeLast()
+    {
+        if ( size == 0 )
+        {
+            throw new NoSuchElementException();
+        }
+        return elements[--size];
+    }
+
+    /**
+     * Removes all the elements, keeping the allocated capacity.
+     */
+    public void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Checks if this list contains no elements.
+     *
+     * @return true if this list contains no elements, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return The number of elements in this list
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the elements of this list.
+     *
+     * @return A copy of the elements of this list
+     */
+    public int[] toArray()
+    {
+        return copyOf( elements, size );
+    }
+
+    private void checkIndex( int index )
+    {
+        if ( index < 0 || index >= size )
+        {
+            throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A map from {@code int} keys to {@code double} values, stored in an open addressing table with linear probing,
+ * so that neither keys nor values are boxed.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+public final class IntDoubleHashMap
+    extends AbstractIntHashMap
+{
+
+    private double[] values;
+
+    /**
+     * Creates a new empty map.
+     */
+    public IntDoubleHashMap()
+    {
+        this( 0 );
+    }
+
+    /**
+     * Creates a new empty map, able to hold the input number of entries without growing.
+     *
+     * @param expectedSize The expected number of entries
+     */
+    public IntDoubleHashMap( int expectedSize )
+    {
+        super( expectedSize );
+        values = new double[capacity()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void relocateValues( int capacity, int[] slots )
+    {
+        double[] oldValues = values;
+        values = new double[capacity];
+        for ( int i = 0; i < slots.length; i++ )
+        {
+            if ( slots[i] >= 0 )
+            {
+                values[slots[i]] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void moveValue( int from, int to )
+    {
+        values[to] = values[from];
+    }
+
+    /**
+     * Returns the value associated to the input key.
+     *
+     * @param key The key whose value has to be returned
+     * @param defaultValue The value returned when the key is not in this map
+     * @return The value associated to the input key, {@code defaultValue} if the key is not in this map
+     */
+    public double get( int key, double defaultValue )
+    {
+        int slot = slotOfKey( key );
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Associates the input value to the input key.
+     *
+     * @param key The key
+     * @param value The value
+     * @return true if the key was not already in this map, false if its value has been replaced
+     */
+    public boolean put( int key, double value )
+    {
+        int slot = insert( key );
+        if ( slot < 0 )
+        {
+            values[-slot - 1] = value;
+            return false;
+        }
+        values[slot] = value;
+        return true;
+    }
+
+    /**
+     * Adds the input amount to the value associated to the input key,
+     * keys not in this map are added with the input amount as value.
+     *
+     * @param key The key
+     * @param amount The amount to add
+     * @return The value associated to the input key after the addition
+     */
+    public double addTo( int key, double amount )
+    {
+        int slot = insert( key );
+        if ( slot < 0 )
+        {
+            return values[-slot - 1] += amount;
+        }
+        return values[slot] = amount;
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+/**
+ * A set of non-negative {@code int}s that can be cleared in constant time, meant to be reused across many searches.
+ *
+ * Every element is stamped with the epoch it has been added in, and it is in the set only if its stamp matches
+ * the current epoch: clearing the set just starts a new epoch.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+public final class IntEpochSet
+{
+
+    private int[] stamps;
+
+    /**
+     * The current epoch, never {@code 0} so that fresh stamps don't match it.
+     */
+    private int epoch = 1;
+
+    private int size;
+
+    /**
+     * Creates an empty set.
+     */
+    public IntEpochSet()
+    {
+        this( 16 );
+    }
+
+    /**
+     * Creates an empty set, able to hold the elements from {@code 0} to {@code capacity - 1} without growing.
+     *
+     * @param capacity The initial capacity
+     */
+    public IntEpochSet( int capacity )
+    {
+        stamps = new int[Math.max( 1, capacity )];
+    }
+
+    /**
+     * Adds the input element.
+     *
+     * @param element The non-negative element to add
+     * @return true if the element was not already in this set, false otherwise
+     */
+    public boolean add( int element )
+    {
+        if ( element >= stamps.length )
+        {
+            stamps = copyOf( stamps, Math.max( element + 1, stamps.length << 1 ) );
+        }
+
+        if ( stamps[element] == epoch )
+        {
+            return false;
+        }
+        stamps[element] = epoch;
+        size++;
+        return true;
+    }
+
+    /**
+     * Checks if the input element is in this set.
+     *
+     * @param element The non-negative element to check
+     * @return true if the element is in this set, false otherwise
+     */
+    public boolean contains( int element )
+    {
+        return element < stamps.length && stamps[element] == epoch;
+    }
+
+    /**
+     * Removes all the elements, without touching the stamps unless the epochs are exhausted.
+     */
+    public void clear()
+    {
+        if ( ++epoch == 0 )
+        {
+            fill( stamps, 0 );
+            epoch = 1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Checks if this set contains no elements.
+     *
+     * @return true if this set contains no elements, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements added since the set has been created or cleared.
+     *
+     * @return The number of elements in this set
+     */
+    public int size()
+    {
+        return size;
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A map from {@code int} keys to {@code int} values, stored in an open addressing table with linear probing,
+ * so that neither keys nor values are boxed.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe!</p>
+ */
+public final class IntIntHashMap
+    extends AbstractIntHashMap
+{
+
+    private int[] values;
+
+    /**
+     * Creates a new empty map.
+     */
+    public IntIntHashMap()
+    {
+        this( 0 );
+    }
+
+    /**
+     * Creates a new empty map, able to hold the input number of entries without growing.
+     *
+     * @param expectedSize The expected number of entries
+     */
+    public IntIntHashMap( int expectedSize )
+    {
+        super( expectedSize );
+        values = new int[capacity()];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void relocateValues( int capacity, int[] slots )
+    {
+        int[] oldValues = values;
+        values = new int[capacity];
+        for ( int i = 0; i < slots.length; i++ )
+        {
+            if ( slots[i] >= 0 )
+            {
+                values[slots[i]] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void moveValue( int from, int to )
+    {
+        values[to] = values[from];
+    }
+
+    /**
+     * Returns the value associated to the input key.
+     *
+     * @param key The key whose value has to be returned
+     * @param defaultValue The value returned when the key is not in this map
+     * @return The value associated to the input key, {@code defaultValue} if the key is not in this map
+     */
+    public int get( int key, int defaultValue )
+    {
+        int slot = slotOfKey( key );
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Associates the input value to the input key.
+     *
+     * @param key The key
+     * @param value The value
+     * @return true if the key was not already in this map, false if its value has been replaced
+     */
+    public boolean put( int key, int value )
+    {
+        int slot = insert( key );
+        if ( slot < 0 )
+        {
+            values[-slot - 1] = value;
+            return false;
+        }
+        values[slot] = value;
+        return true;
+    }
+
+}
@@ -23,14 +23,15 @@ import static org.apache.commons.graph.visit.VisitState.ABORT;
 import static org.apache.commons.graph.visit.VisitState.CONTINUE;
 import static org.apache.commons.graph.visit.VisitState.SKIP;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.graph.DirectedGraph;
 import org.apache.commons.graph.Mapper;
 import org.apache.commons.graph.VertexPair;
-import org.apache.commons.graph.WeightedPath;
-import org.apache.commons.graph.shortestpath.PredecessorsList;
+import org.apache.commons.graph.collections.primitive.IntIntHashMap;
 import org.apache.commons.graph.visit.BaseGraphVisitHandler;
 import org.apache.commons.graph.visit.VisitState;
 import org.apache.commons.graph.weight.OrderedMonoid;
@@ -46,41 +47,70 @@ final class FlowNetworkHandler<V, E, W>
     extends BaseGraphVisitHandler<V, E, DirectedGraph<V, E>, W>
 {
 
-    private final DirectedGraph<V, E> flowNetwork;
-
-    private final V source;
-
     private final V target;
 
     private final OrderedMonoid<W> weightOperations;
 
-    private final Mapper<E, W> weightedEdges;
-
     private W maxFlow;
 
-    private final Map<E, W> residualEdgeCapacities = new HashMap<E, W>();
+    // vertices and edges are interned once, the augmenting paths are walked by id
+    private final int sourceId;
+
+    private final int targetId;
+
+    private final Map<E, Integer> edgeIds = new HashMap<E, Integer>();
+
+    private final int[] edgeHeads;
 
-    // these are new for each new visit of the graph
-    private PredecessorsList<V, E, W> predecessors;
+    private final int[] edgeTails;
+
+    private final int[] inverseEdges;
+
+    private final List<W> residualEdgeCapacities;
+
+    // the edge each vertex has been reached through, reset for each new visit of the graph
+    private final IntIntHashMap predecessorEdges = new IntIntHashMap();
 
     private boolean foundAugmentingPath;
 
     FlowNetworkHandler( DirectedGraph<V, E> flowNetwork, V source, V target, OrderedMonoid<W> weightOperations, Mapper<E, W> weightedEdges )
     {
-        this.flowNetwork = flowNetwork;
-        this.source = source;
         this.target = target;
         this.weightOperations = weightOperations;
-        this.weightedEdges = weightedEdges;
 
         maxFlow = weightOperations.identity();
 
+        Map<V, Integer> vertexIds = new HashMap<V, Integer>( flowNetwork.getOrder() * 2 );
+        for ( V vertex : flowNetwork.getVertices() )
+        {
+            vertexIds.put( vertex, vertexIds.size() );
+        }
+        sourceId = vertexIds.get( source );
+        targetId = vertexIds.get( target );
+
+        int size = flowNetwork.getSize();
+        edgeHeads = new int[size];
+        edgeTails = new int[size];
+        inverseEdges = new int[size];
+        residualEdgeCapacities = new ArrayList<W>( size );
         for ( E edge : flowNetwork.getEdges() )
         {
-            residualEdgeCapacities.put( edge, weightedEdges.map( edge ) );
+            int edgeId = edgeIds.size();
+            edgeIds.put( edge, edgeId );
+
+            VertexPair<V> vertexPair = flowNetwork.getVertices( edge );
+            edgeHeads[edgeId] = vertexIds.get( vertexPair.getHead() );
+            edgeTails[edgeId] = vertexIds.get( vertexPair.getTail() );
+            residualEdgeCapacities.add( weightedEdges.map( edge ) );
         }
 
-        predecessors = null;
+        // the flow network holds the inverse of every edge
+        for ( E edge : flowNetwork.getEdges() )
+        {
+            VertexPair<V> vertexPair = flowNetwork.getVertices( edge );
+            E inverseEdge = flowNetwork.getEdge( vertexPair.getTail(), vertexPair.getHead() );
+            inverseEdges[edgeIds.get( edge )] = edgeIds.get( inverseEdge );
+        }
     }
 
     /**
@@ -89,13 +119,14 @@ final class FlowNetworkHandler<V, E, W>
     @Override
     public VisitState discoverEdge( V head, E edge, V tail )
     {
-        W residualEdgeCapacity = residualEdgeCapacities.get( edge );
+        int edgeId = edgeIds.get( edge );
+        W residualEdgeCapacity = residualEdgeCapacities.get( edgeId );
         // avoid expanding the edge when it has no residual capacity
         if ( weightOperations.compare( residualEdgeCapacity, weightOperations.identity() ) <= 0 )
         {
             return SKIP;
         }
-        predecessors.addPredecessor( tail, head );
+        predecessorEdges.put( edgeTails[edgeId], edgeId );
         return CONTINUE;
     }
 
@@ -106,7 +137,7 @@ final class FlowNetworkHandler<V, E, W>
     public void discoverGraph( DirectedGraph<V, E> graph )
     {
         // reset ausiliary structures for a new graph visit
-        predecessors = new PredecessorsList<V, E, W>( graph, weightOperations, weightedEdges );
+        predecessorEdges.clear();
         foundAugmentingPath = false;
     }
 
@@ -155,34 +186,36 @@ final class FlowNetworkHandler<V, E, W>
      */
     void updateResidualNetworkWithCurrentAugmentingPath()
     {
-        // build actual augmenting path
-        WeightedPath<V, E, W> augmentingPath = predecessors.buildPath( source, target );
-
-        // find flow increment
+        // find flow increment, walking the augmenting path backwards
         W flowIncrement = null;
-        for ( E edge : augmentingPath.getEdges() )
+        for ( int vertex = targetId; vertex != sourceId; )
         {
+            int edge = predecessorEdges.get( vertex, -1 );
             W edgeCapacity = residualEdgeCapacities.get( edge );
             if ( flowIncrement == null
                      || weightOperations.compare( edgeCapacity, flowIncrement ) < 0 )
             {
                 flowIncrement = edgeCapacity;
             }
+            vertex = edgeHeads[edge];
         }
 
         // update max flow and capacities accordingly
         maxFlow = weightOperations.append( maxFlow, flowIncrement );
-        for ( E edge : augmentingPath.getEdges() )
+        for ( int vertex = targetId; vertex != sourceId; )
         {
+            int edge = predecessorEdges.get( vertex, -1 );
+
             // decrease capacity for direct edge
             W directCapacity = residualEdgeCapacities.get( edge );
-            residualEdgeCapacities.put( edge, weightOperations.append( directCapacity, weightOperations.inverse( flowIncrement ) ) );
+            residualEdgeCapacities.set( edge, weightOperations.append( directCapacity, weightOperations.inverse( flowIncrement ) ) );
 
             // increase capacity for inverse edge
-            VertexPair<V> vertexPair = flowNetwork.getVertices( edge );
-            E inverseEdge = flowNetwork.getEdge( vertexPair.getTail(), vertexPair.getHead() );
+            int inverseEdge = inverseEdges[edge];
             W inverseCapacity = residualEdgeCapacities.get( inverseEdge );
-            residualEdgeCapacities.put( inverseEdge, weightOperations.append( inverseCapacity, flowIncrement ) );
+            residualEdgeCapacities.set( inverseEdge, weightOperations.append( inverseCapacity, flowIncrement ) );
+
+            vertex = edgeHeads[edge];
         }
     }
 
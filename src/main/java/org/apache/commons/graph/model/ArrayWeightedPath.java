@@ -0,0 +1,368 @@
+package org.apache.commons.graph.model;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+import static org.apache.commons.graph.utils.Objects.eq;
+import static org.apache.commons.graph.utils.Objects.hash;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.VertexPair;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.weight.Monoid;
+
+/**
+ * Immutable {@link WeightedPath} implementation backed by plain vertex and edge arrays, suited to algorithms
+ * that return many paths: the indexes needed by vertex and edge lookups are built only on first use.
+ *
+ * Paths are compared by content, so an {@code ArrayWeightedPath} is equal to any other {@link WeightedPath}
+ * with the same source, target, vertices, edges and weight.
+ *
+ * @param <V> The Graph vertices type
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public final class ArrayWeightedPath<V, WE, W>
+    implements WeightedPath<V, WE, W>
+{
+
+    private static final long serialVersionUID = 2437912365836513062L;
+
+    private final V source;
+
+    private final V target;
+
+    /**
+     * The path vertices, in order; empty if the path has no edges.
+     */
+    private final Object[] vertices;
+
+    /**
+     * The path edges, in order; the i-th edge connects the i-th vertex to the next one.
+     */
+    private final Object[] edges;
+
+    private final W weight;
+
+    private transient volatile Map<V, Integer> vertexIndexes;
+
+    private transient volatile Map<WE, Integer> edgeIndexes;
+
+    /**
+     * Creates a new instance of {@link ArrayWeightedPath} from {@code source} vertex to {@code target} vertex.
+     *
+     * @param source The source vertex
+     * @param target The target vertex
+     * @param vertices The path vertices, in order, from source to target; empty if the path has no edges
+     * @param edges The path edges, in order
+     * @param weightOperations The weight operations used to sum the edge weights
+     * @param weightedEdges The edge weight mapper
+     */
+    public ArrayWeightedPath( V source, V target, List<? extends V> vertices, List<? extends WE> edges,
+                              Monoid<W> weightOperations, Mapper<WE, W> weightedEdges )
+    {
+        this.source = checkNotNull( source, "Path source cannot be null" );
+        this.target = checkNotNull( target, "Path target cannot be null" );
+        checkNotNull( weightOperations, "Weight operations cannot be null" );
+        checkNotNull( weightedEdges, "Edge weight mapper cannot be null" );
+
+        this.vertices = checkNotNull( vertices, "Path vertices cannot be null" ).toArray();
+        this.edges = checkNotNull( edges, "Path edges cannot be null" ).toArray();
+
+        if ( this.edges.length == 0 )
+        {
+            checkArgument( this.vertices.length == 0, "A path with no edges cannot have vertices" );
+        }
+        else
+        {
+            checkArgument( this.vertices.length == this.edges.length + 1,
+                           "A path with %s edges must have %s vertices, %s found",
+                           this.edges.length, this.edges.length + 1, this.vertices.length );
+            checkArgument( source.equals( this.vertices[0] ), "Path must start from %s", source );
+            checkArgument( target.equals( this.vertices[this.vertices.length - 1] ), "Path must end in %s", target );
+        }
+
+        W weight = weightOperations.identity();
+        for ( WE edge : edges )
+        {
+            weight = weightOperations.append( weight, weightedEdges.map( edge ) );
+        }
+        this.weight = weight;
+    }
+
+    @SuppressWarnings( "unchecked" ) // only V instances are stored
+    private V vertex( int index )
+    {
+        return (V) vertices[index];
+    }
+
+    @SuppressWarnings( "unchecked" ) // only WE instances are stored
+    private WE edge( int index )
+    {
+        return (WE) edges[index];
+    }
+
+    /**
+     * Returns the position of the input vertex in the path, building the vertex index if needed.
+     *
+     * @param v The vertex to look up
+     * @return The position of the input vertex, -1 if not contained in this path
+     */
+    private int indexOfVertex( V v )
+    {
+        Map<V, Integer> indexes = vertexIndexes;
+        if ( indexes == null )
+        {
+            indexes = new HashMap<V, Integer>( vertices.length * 4 / 3 + 1 );
+            // a cycle visits the source twice, the first position wins
+            for ( int i = vertices.length - 1; i >= 0; i-- )
+            {
+                indexes.put( vertex( i ), i );
+            }
+            vertexIndexes = indexes;
+        }
+
+        Integer index = indexes.get( v );
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the position of the input edge in the path, building the edge index if needed.
+     *
+     * @param e The edge to look up
+     * @return The position of the input edge, -1 if not contained in this path
+     */
+    private int indexOfEdge( WE e )
+    {
+        Map<WE, Integer> indexes = edgeIndexes;
+        if ( indexes == null )
+        {
+            indexes = new HashMap<WE, Integer>( edges.length * 4 / 3 + 1 );
+            for ( int i = 0; i < edges.length; i++ )
+            {
+                indexes.put( edge( i ), i );
+            }
+            edgeIndexes = indexes;
+        }
+
+        Integer index = indexes.get( e );
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the position of the input vertex in the path, if it has a successor.
+     */
+    private int checkedIndexOfHead( V v )
+    {
+        int index = indexOfVertex( v );
+        checkArgument( index >= 0 && index < edges.length,
+                       "Impossible to get the degree of input vertex; %s not contained in this path", v );
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean containsEdge( WE e )
+    {
+        return indexOfEdge( e ) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean containsVertex( V v )
+    {
+        return indexOfVertex( v ) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterable<V> getConnectedVertices( V v )
+    {
+        v = checkNotNull( v, "Impossible to get the degree of a null vertex" );
+
+        if ( target.equals( v ) )
+        {
+            return null;
+        }
+
+        @SuppressWarnings( "unchecked" ) // type driven by input type
+        List<V> connected = asList( vertex( checkedIndexOfHead( v ) + 1 ) );
+        return connected;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getDegree( V v )
+    {
+        v = checkNotNull( v, "Impossible to get the degree of a null vertex" );
+        checkedIndexOfHead( v );
+
+        if ( source.equals( v ) || target.equals( v ) )
+        {
+            return 1;
+        }
+
+        return 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public WE getEdge( V source, V target )
+    {
+        int index = indexOfVertex( source );
+        if ( index < 0 || index >= edges.length || !eq( target, vertex( index + 1 ) ) )
+        {
+            return null;
+        }
+        return edge( index );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterable<WE> getEdges()
+    {
+        @SuppressWarnings( "unchecked" ) // only WE instances are stored
+        List<WE> list = (List<WE>) unmodifiableList( asList( edges ) );
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getOrder()
+    {
+        return vertices.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getSize()
+    {
+        return edges.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public V getSource()
+    {
+        return source;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public V getTarget()
+    {
+        return target;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterable<V> getVertices()
+    {
+        @SuppressWarnings( "unchecked" ) // only V instances are stored
+        List<V> list = (List<V>) unmodifiableList( asList( vertices ) );
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public VertexPair<V> getVertices( WE e )
+    {
+        int index = indexOfEdge( e );
+        if ( index < 0 )
+        {
+            return null;
+        }
+        return new VertexPair<V>( vertex( index ), vertex( index + 1 ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public W getWeight()
+    {
+        return weight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals( Object obj )
+    {
+        if ( this == obj )
+        {
+            return true;
+        }
+
+        if ( !( obj instanceof WeightedPath ) )
+        {
+            return false;
+        }
+
+        @SuppressWarnings( "unchecked" ) // test against any WeightedPath typed instance
+        WeightedPath<Object, Object, Object> other = (WeightedPath<Object, Object, Object>) obj;
+        return eq( source, other.getSource() )
+            && eq( target, other.getTarget() )
+            && eq( getVertices(), other.getVertices() )
+            && eq( getEdges(), other.getEdges() )
+            && eq( weight, other.getWeight() );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode()
+    {
+        final int prime = 31;
+        int result = hash( 1, prime, getEdges(), source, target, getVertices() );
+        return prime * result + ( ( weight == null ) ? 0 : weight.hashCode() );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return format( "ArrayWeightedPath [weight=%s, vertices=%s, edges=%s]", weight, getVertices(), getEdges() );
+    }
+
+}
@@ -19,7 +19,11 @@ package org.apache.commons.graph.model;
  * under the License.
  */
 
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.graph.MutableGraph;
 import org.apache.commons.graph.VertexPair;
@@ -39,6 +43,36 @@ public abstract class BaseMutableGraph<V, E>
 
     private static final long serialVersionUID = 1549113549446254183L;
 
+    private transient List<GraphListener<V, E>> listeners;
+
+    /**
+     * Registers a listener that will be notified about every modification of this graph.
+     *
+     * @param listener The listener to be notified
+     */
+    public final void addGraphListener( GraphListener<V, E> listener )
+    {
+        listener = checkNotNull( listener, "Impossible to register a null GraphListener" );
+        if ( listeners == null )
+        {
+            listeners = new CopyOnWriteArrayList<GraphListener<V, E>>();
+        }
+        listeners.add( listener );
+    }
+
+    /**
+     * Unregisters a listener previously added via {@link #addGraphListener(GraphListener)}.
+     *
+     * @param listener The listener that doesn't have to be notified anymore
+     */
+    public final void removeGraphListener( GraphListener<V, E> listener )
+    {
+        if ( listeners != null )
+        {
+            listeners.remove( listener );
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -56,6 +90,14 @@ public abstract class BaseMutableGraph<V, E>
         internalAddEdge( head, e, tail );
 
         decorateAddEdge( head, e, tail );
+
+        if ( listeners != null )
+        {
+            for ( GraphListener<V, E> listener : listeners )
+            {
+                listener.edgeAdded( head, e, tail );
+            }
+        }
     }
 
     /**
@@ -69,6 +111,14 @@ public abstract class BaseMutableGraph<V, E>
         getAdjacencyList().put( v, new LinkedHashSet<V>() );
 
         decorateAddVertex( v );
+
+        if ( listeners != null )
+        {
+            for ( GraphListener<V, E> listener : listeners )
+            {
+                listener.vertexAdded( v );
+            }
+        }
     }
 
     /**
@@ -148,6 +198,13 @@ public abstract class BaseMutableGraph<V, E>
         internalRemoveEdge( vertexPair.getHead(), e, vertexPair.getTail() );
         getAllEdges().remove( e );
 
+        if ( listeners != null )
+        {
+            for ( GraphListener<V, E> listener : listeners )
+            {
+                listener.edgeRemoved( vertexPair.getHead(), e, vertexPair.getTail() );
+            }
+        }
     }
 
     /**
@@ -165,6 +222,14 @@ public abstract class BaseMutableGraph<V, E>
         getAdjacencyList().remove( v );
 
         decorateRemoveVertex( v );
+
+        if ( listeners != null )
+        {
+            for ( GraphListener<V, E> listener : listeners )
+            {
+                listener.vertexRemoved( v );
+            }
+        }
     }
 
 }
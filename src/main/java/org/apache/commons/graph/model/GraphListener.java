@@ -0,0 +1,64 @@
+package org.apache.commons.graph.model;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * A {@link GraphListener} is notified about the modifications applied to a {@link BaseMutableGraph},
+ * after they have been performed.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+public interface GraphListener<V, E>
+{
+
+    /**
+     * Called after the input edge has been added to the graph.
+     *
+     * @param head The head vertex
+     * @param e The added edge
+     * @param tail The tail vertex
+     */
+    void edgeAdded( V head, E e, V tail );
+
+    /**
+     * Called after the input edge has been removed from the graph.
+     *
+     * @param head The head vertex
+     * @param e The removed edge
+     * @param tail The tail vertex
+     */
+    void edgeRemoved( V head, E e, V tail );
+
+    /**
+     * Called after the input vertex has been added to the graph.
+     *
+     * @param v The added vertex
+     */
+    void vertexAdded( V v );
+
+    /**
+     * Called after the input vertex has been removed from the graph.
+     *
+     * @param v The removed vertex
+     */
+    void vertexRemoved( V v );
+
+}
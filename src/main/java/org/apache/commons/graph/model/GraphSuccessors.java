@@ -0,0 +1,77 @@
+package org.apache.commons.graph.model;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.ImplicitGraph;
+
+/**
+ * An {@link ImplicitGraph} view of a {@link Graph}, so that the searches that only follow the successors
+ * of the expanded vertices run on explicit graphs as well.
+ *
+ * The successors of a vertex are its outbound vertices in a {@link DirectedGraph}, its connected vertices otherwise.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+public final class GraphSuccessors<V, E>
+    implements ImplicitGraph<V, E>
+{
+
+    /**
+     * The Graph has to be adapted.
+     */
+    private final Graph<V, E> graph;
+
+    /**
+     * Build a new successors view of the input Graph.
+     *
+     * @param graph The Graph has to be adapted
+     */
+    public GraphSuccessors( Graph<V, E> graph )
+    {
+        graph = checkNotNull( graph, "Adapted Graph must be not null" );
+        this.graph = graph;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterable<V> getSuccessors( V v )
+    {
+        if ( graph instanceof DirectedGraph )
+        {
+            return ( (DirectedGraph<V, E>) graph ).getOutbound( v );
+        }
+        return graph.getConnectedVertices( v );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public E getEdge( V head, V tail )
+    {
+        return graph.getEdge( head, tail );
+    }
+
+}
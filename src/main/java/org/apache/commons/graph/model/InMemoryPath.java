@@ -34,6 +34,7 @@ import java.util.Map;
 
 import org.apache.commons.graph.Path;
 import org.apache.commons.graph.VertexPair;
+import org.apache.commons.graph.WeightedPath;
 
 /**
  * Support {@link Path} implementation, optimized for algorithms (such Dijkstra's) that need to rebuild the path
@@ -150,13 +151,14 @@ public class InMemoryPath<V, E>
             return true;
         }
 
-        if ( obj == null || getClass() != obj.getClass() )
+        // weighted paths are only equal to weighted paths, whatever their implementation
+        if ( !( obj instanceof Path ) || ( this instanceof WeightedPath ) != ( obj instanceof WeightedPath ) )
         {
             return false;
         }
 
         @SuppressWarnings( "unchecked" ) // test against any Path typed instance
-        InMemoryPath<Object, Object> other = (InMemoryPath<Object, Object>) obj;
+        Path<Object, Object> other = (Path<Object, Object>) obj;
         return eq( source, other.getSource() )
             && eq( target, other.getTarget() )
             && eq( vertices, other.getVertices() )
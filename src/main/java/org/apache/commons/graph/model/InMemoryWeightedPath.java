@@ -100,13 +100,8 @@ public final class InMemoryWeightedPath<V, WE, W>
             return false;
         }
 
-        if ( getClass() != obj.getClass() )
-        {
-            return false;
-        }
-
         @SuppressWarnings( "unchecked" ) // test against any WeightedPath typed instance
-        InMemoryWeightedPath<Object, Object, W> other = (InMemoryWeightedPath<Object, Object, W>) obj;
+        WeightedPath<Object, Object, W> other = (WeightedPath<Object, Object, W>) obj;
         return eq( weight, other.getWeight() );
     }
 
@@ -19,15 +19,17 @@ package org.apache.commons.graph.scc;
  * under the License.
  */
 
+import static java.util.Arrays.fill;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 
 import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.collections.primitive.IntArrayList;
 
 /**
  * Applies the classical Cheriyan/Mehlhorn/Gabow's algorithm to find the strongly connected components, if exist.
@@ -42,15 +44,26 @@ final class CheriyanMehlhornGabowAlgorithm<V, E>
 
     private final DirectedGraph<V, E> graph;
 
-    private final Set<V> marked = new HashSet<V>();
+    /**
+     * Vertices are indexed once, so that the visit state can be kept in primitive arrays.
+     */
+    private final Map<V, Integer> indexes = new HashMap<V, Integer>();
+
+    private final List<V> vertices = new ArrayList<V>();
 
-    private final Map<V, Integer> preorder = new HashMap<V, Integer>();
+    /**
+     * The preorder number of each vertex, -1 if not yet visited.
+     */
+    private int[] preorder;
 
-    private final Map<V, Integer> sscId = new HashMap<V, Integer>();
+    /**
+     * The component each vertex has been assigned to, -1 if not yet assigned.
+     */
+    private int[] sscId;
 
-    private final Stack<V> s = new Stack<V>();
+    private final IntArrayList s = new IntArrayList();
 
-    private final Stack<V> p = new Stack<V>();
+    private final IntArrayList p = new IntArrayList();
 
     private int preorderCounter = 0;
 
@@ -61,37 +74,37 @@ final class CheriyanMehlhornGabowAlgorithm<V, E>
         this.graph = graph;
     }
 
-    private void dfs( V vertex )
+    private void dfs( int vertex )
     {
-        marked.add( vertex );
-        preorder.put( vertex, preorderCounter++ );
-        s.push( vertex );
-        p.push( vertex );
-        for ( V w : graph.getConnectedVertices( vertex ) )
+        preorder[vertex] = preorderCounter++;
+        s.add( vertex );
+        p.add( vertex );
+        for ( V connected : graph.getConnectedVertices( vertices.get( vertex ) ) )
         {
-            if ( !marked.contains( w ) )
+            int w = indexes.get( connected );
+            if ( preorder[w] < 0 )
             {
                 dfs( w );
             }
-            else if ( sscId.get( w ) == null )
+            else if ( sscId[w] < 0 )
             {
-                while ( preorder.get( p.peek() ) > preorder.get( w ) )
+                while ( preorder[p.getLast()] > preorder[w] )
                 {
-                    p.pop();
+                    p.removeLast();
                 }
             }
         }
 
-        if ( p.peek().equals( vertex ) )
+        if ( p.getLast() == vertex )
         {
-            p.pop();
-            V w = null;
+            p.removeLast();
+            int w;
             do
             {
-                w = s.pop();
-                sscId.put( w, sscCounter );
+                w = s.removeLast();
+                sscId[w] = sscCounter;
             }
-            while ( !vertex.equals( w ) );
+            while ( w != vertex );
             sscCounter++;
         }
     }
@@ -102,7 +115,18 @@ final class CheriyanMehlhornGabowAlgorithm<V, E>
     {
         for ( V vertex : graph.getVertices() )
         {
-            if ( !marked.contains( vertex ) )
+            indexes.put( vertex, vertices.size() );
+            vertices.add( vertex );
+        }
+
+        preorder = new int[vertices.size()];
+        fill( preorder, -1 );
+        sscId = new int[vertices.size()];
+        fill( sscId, -1 );
+
+        for ( int vertex = 0; vertex < vertices.size(); vertex++ )
+        {
+            if ( preorder[vertex] < 0 )
             {
                 dfs( vertex );
             }
@@ -114,10 +138,10 @@ final class CheriyanMehlhornGabowAlgorithm<V, E>
             indexedSccComponents.add( new HashSet<V>() );
         }
 
-        for ( V w : graph.getVertices() )
+        for ( int w = 0; w < vertices.size(); w++ )
         {
-            Set<V> component = indexedSccComponents.get( sscId.get( w ) );
-            component.add( w );
+            Set<V> component = indexedSccComponents.get( sscId[w] );
+            component.add( vertices.get( w ) );
         }
 
         final Set<Set<V>> scc = new HashSet<Set<V>>();
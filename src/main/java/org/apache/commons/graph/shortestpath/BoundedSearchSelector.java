@@ -0,0 +1,72 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * Bounds a single source shortest paths search, so that its cost is proportional
+ * to the reachable region rather than to the whole graph.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public interface BoundedSearchSelector<V, WE, W>
+{
+
+    /**
+     * Calculates the shortest paths to all the vertices within the bounds, using Dijkstra's algorithm.
+     *
+     * When a hops limit is specified, distances are computed over paths made of at most that number of edges.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The class responsible for operations on weights
+     * @return The shortest paths to the vertices settled within the bounds
+     */
+    <WO extends OrderedMonoid<W>> BoundedShortestPaths<V, WE, W> applyingDijkstra( WO weightOperations );
+
+    /**
+     * Limits the search to paths made of at most {@code hops} edges.
+     *
+     * @param hops The maximum number of edges of the computed paths
+     * @return The bounded search selector
+     */
+    BoundedSearchSelector<V, WE, W> maxHops( int hops );
+
+    /**
+     * Limits the search to the vertices whose shortest distance is not greater than {@code maxWeight}.
+     *
+     * @param maxWeight The maximum weight of the computed paths
+     * @return The bounded search selector
+     */
+    BoundedSearchSelector<V, WE, W> within( W maxWeight );
+
+    /**
+     * Selects the priority queue of the labels still to be settled;
+     * {@link org.apache.commons.graph.collections.AddressableQueues#fibonacciHeaps()} are used by default.
+     *
+     * @param queueFactory The factory of the priority queue used by the search
+     * @return The bounded search selector, using the queue created by the input factory
+     */
+    BoundedSearchSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory );
+
+}
@@ -0,0 +1,215 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Collections.unmodifiableSet;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.InMemoryWeightedPath;
+import org.apache.commons.graph.weight.Monoid;
+
+/**
+ * The shortest paths from a source to all the vertices settled by a bounded search.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public final class BoundedShortestPaths<V, WE, W>
+{
+
+    private final Graph<V, WE> graph;
+
+    private final V source;
+
+    private final Monoid<W> weightOperations;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final Map<V, Label<V, W>> settled = new LinkedHashMap<V, Label<V, W>>();
+
+    /**
+     * Constructor visible only inside the package
+     */
+    BoundedShortestPaths( Graph<V, WE> graph, V source, Monoid<W> weightOperations, Mapper<WE, W> weightedEdges )
+    {
+        this.graph = graph;
+        this.source = source;
+        this.weightOperations = weightOperations;
+        this.weightedEdges = weightedEdges;
+    }
+
+    /**
+     * Stores the shortest path to the label vertex.
+     *
+     * @param label The label the vertex was settled with
+     */
+    void settle( Label<V, W> label )
+    {
+        settled.put( label.getVertex(), label );
+    }
+
+    /**
+     * Returns the shortest path from the source to the target.
+     *
+     * @param target The target Vertex
+     * @return Returns the shortest path from the source to the target.
+     */
+    public WeightedPath<V, WE, W> findShortestPath( V target )
+    {
+        Label<V, W> label = getLabel( target );
+
+        InMemoryWeightedPath<V, WE, W> path = new InMemoryWeightedPath<V, WE, W>( source, target, weightOperations, weightedEdges );
+        while ( label.getPredecessor() != null )
+        {
+            V head = label.getPredecessor().getVertex();
+            path.addConnectionInHead( head, graph.getEdge( head, label.getVertex() ), label.getVertex() );
+            label = label.getPredecessor();
+        }
+        return path;
+    }
+
+    /**
+     * Returns the number of edges of the shortest path from the source to the target.
+     *
+     * @param target The target Vertex
+     * @return Returns the number of edges of the shortest path from the source to the target.
+     */
+    public int getHops( V target )
+    {
+        return getLabel( target ).getHops();
+    }
+
+    /**
+     * Returns the shortest distance from the source to the target.
+     *
+     * @param target The target Vertex
+     * @return Returns the shortest distance from the source to the target.
+     */
+    public W getShortestDistance( V target )
+    {
+        return getLabel( target ).getDistance();
+    }
+
+    /**
+     * Returns the search source.
+     *
+     * @return The search source
+     */
+    public V getSource()
+    {
+        return source;
+    }
+
+    /**
+     * Returns the vertices settled within the search bounds, in non decreasing distance order.
+     *
+     * @return The vertices settled within the search bounds
+     */
+    public Iterable<V> getVertices()
+    {
+        return unmodifiableSet( settled.keySet() );
+    }
+
+    /**
+     * Checks if the target has been settled within the search bounds.
+     *
+     * @param target The target Vertex
+     * @return Returns true if the target has been settled within the search bounds, false otherwise.
+     */
+    public boolean hasShortestDistance( V target )
+    {
+        target = checkNotNull( target, "Impossible to get the shortest distance to a null target" );
+        return settled.containsKey( target );
+    }
+
+    /**
+     * Returns the number of vertices settled within the search bounds.
+     *
+     * @return The number of vertices settled within the search bounds
+     */
+    public int size()
+    {
+        return settled.size();
+    }
+
+    private Label<V, W> getLabel( V target )
+    {
+        target = checkNotNull( target, "Impossible to get the shortest distance to a null target" );
+
+        Label<V, W> label = settled.get( target );
+        if ( label == null )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist within the search bounds", source, target );
+        }
+        return label;
+    }
+
+    /**
+     * A path to a vertex, identified by its distance, number of hops and predecessor label.
+     */
+    static final class Label<V, W>
+    {
+
+        private final V vertex;
+
+        private final W distance;
+
+        private final int hops;
+
+        private final Label<V, W> predecessor;
+
+        public Label( V vertex, W distance, int hops, /* @Nullable */Label<V, W> predecessor )
+        {
+            this.vertex = vertex;
+            this.distance = distance;
+            this.hops = hops;
+            this.predecessor = predecessor;
+        }
+
+        public V getVertex()
+        {
+            return vertex;
+        }
+
+        public W getDistance()
+        {
+            return distance;
+        }
+
+        public int getHops()
+        {
+            return hops;
+        }
+
+        public Label<V, W> getPredecessor()
+        {
+            return predecessor;
+        }
+
+    }
+
+}
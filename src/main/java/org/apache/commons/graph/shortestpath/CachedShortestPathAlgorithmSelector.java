@@ -0,0 +1,250 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+
+import java.util.List;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.shortestpath.ShortestPathCache.CacheKey;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * Looks up the paths in a {@link ShortestPathCache} before computing them via the decorated selector.
+ */
+final class CachedShortestPathAlgorithmSelector<V, WE, W>
+    implements ShortestPathAlgorithmSelector<V, WE, W>
+{
+
+    private final Graph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final V source;
+
+    private final V target;
+
+    private final ShortestPathCache cache;
+
+    private final ShortestPathAlgorithmSelector<V, WE, W> selector;
+
+    public CachedShortestPathAlgorithmSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target,
+                                                ShortestPathCache cache, ShortestPathAlgorithmSelector<V, WE, W> selector )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+        this.source = source;
+        this.target = target;
+        this.cache = cache;
+        this.selector = selector;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> HeuristicBuilder<V, WE, W> applyingAStar( WO weightOperations )
+    {
+        return new CachedHeuristicBuilder( selector.applyingAStar( weightOperations ), "A*", weightOperations );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingBidirectionalDijkstra( WO weightOperations )
+    {
+        CacheKey key = new CacheKey( graph, source, target, "Bidirectional Dijkstra", weightedEdges, weightOperations );
+
+        WeightedPath<V, WE, W> path = cache.get( key );
+        if ( path == null )
+        {
+            long generation = cache.getGeneration();
+            try
+            {
+                path = selector.applyingBidirectionalDijkstra( weightOperations );
+            }
+            finally
+            {
+                cache.put( key, path, generation );
+            }
+        }
+        return path;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingDijkstra( WO weightOperations )
+    {
+        CacheKey key = new CacheKey( graph, source, target, "Dijkstra", weightedEdges, weightOperations );
+
+        WeightedPath<V, WE, W> path = cache.get( key );
+        if ( path == null )
+        {
+            long generation = cache.getGeneration();
+            try
+            {
+                path = selector.applyingDijkstra( weightOperations );
+            }
+            finally
+            {
+                cache.put( key, path, generation );
+            }
+        }
+        return path;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ShortestPathAlgorithmSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory )
+    {
+        // the queue implementation doesn't change the path weight, paths are shared across queues
+        return new CachedShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target, cache,
+                                                                  selector.usingQueue( queueFactory ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ShortestPathAlgorithmSelector<V, WE, W> usingWorkspace( ShortestPathWorkspace<V> workspace )
+    {
+        // the workspace doesn't change the path weight, paths are shared across workspaces
+        return new CachedShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target, cache,
+                                                                  selector.usingWorkspace( workspace ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations )
+    {
+        CacheKey key = new CacheKey( graph, source, target, "Integer Dijkstra", weightedEdges, weightOperations );
+
+        WeightedPath<V, WE, W> path = cache.get( key );
+        if ( path == null )
+        {
+            long generation = cache.getGeneration();
+            try
+            {
+                path = selector.applyingIntegerDijkstra( weightOperations );
+            }
+            finally
+            {
+                cache.put( key, path, generation );
+            }
+        }
+        return path;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations, long maximumWeight )
+    {
+        checkArgument( maximumWeight >= 0, "Dijkstra algorithm can not be applied with negative maximum weight %s", maximumWeight );
+
+        // a path found within a bound is valid for that bound only, a heavier edge has to fail again
+        CacheKey key = new CacheKey( graph, source, target, "Bounded Integer Dijkstra", weightedEdges, weightOperations,
+                                     maximumWeight );
+
+        WeightedPath<V, WE, W> path = cache.get( key );
+        if ( path == null )
+        {
+            long generation = cache.getGeneration();
+            try
+            {
+                path = selector.applyingIntegerDijkstra( weightOperations, maximumWeight );
+            }
+            finally
+            {
+                cache.put( key, path, generation );
+            }
+        }
+        return path;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> List<WeightedPath<V, WE, W>> applyingYen( int k, WO weightOperations )
+    {
+        // path lists are not cached
+        return selector.applyingYen( k, weightOperations );
+    }
+
+    /**
+     * Looks up the A* paths in the cache before computing them via the decorated heuristic builder.
+     */
+    private final class CachedHeuristicBuilder
+        implements HeuristicBuilder<V, WE, W>
+    {
+
+        private final HeuristicBuilder<V, WE, W> heuristicBuilder;
+
+        private final String algorithm;
+
+        private final OrderedMonoid<W> weightOperations;
+
+        public CachedHeuristicBuilder( HeuristicBuilder<V, WE, W> heuristicBuilder, String algorithm,
+                                       OrderedMonoid<W> weightOperations )
+        {
+            this.heuristicBuilder = heuristicBuilder;
+            this.algorithm = algorithm;
+            this.weightOperations = weightOperations;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public HeuristicBuilder<V, WE, W> bidirectional()
+        {
+            return new CachedHeuristicBuilder( heuristicBuilder.bidirectional(), "Bidirectional A*", weightOperations );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public <H extends Heuristic<V, W>> WeightedPath<V, WE, W> withHeuristic( H heuristic )
+        {
+            CacheKey key = new CacheKey( graph, source, target, algorithm, weightedEdges, weightOperations, heuristic );
+
+            WeightedPath<V, WE, W> path = cache.get( key );
+            if ( path == null )
+            {
+                long generation = cache.getGeneration();
+                try
+                {
+                    path = heuristicBuilder.withHeuristic( heuristic );
+                }
+                finally
+                {
+                    cache.put( key, path, generation );
+                }
+            }
+            return path;
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.shortestpath.BoundedShortestPaths.Label;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+final class DefaultBoundedSearchSelector<V, WE, W>
+    implements BoundedSearchSelector<V, WE, W>
+{
+
+    private static final int UNBOUNDED_HOPS = Integer.MAX_VALUE;
+
+    private final Graph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final V source;
+
+    private final W maxWeight;
+
+    private final int maxHops;
+
+    private final AddressableQueueFactory queueFactory;
+
+    public DefaultBoundedSearchSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source,
+                                         AddressableQueueFactory queueFactory )
+    {
+        this( graph, weightedEdges, source, null, UNBOUNDED_HOPS, queueFactory );
+    }
+
+    private DefaultBoundedSearchSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source,
+                                          /* @Nullable */W maxWeight, int maxHops, AddressableQueueFactory queueFactory )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+        this.source = source;
+        this.maxWeight = maxWeight;
+        this.maxHops = maxHops;
+        this.queueFactory = queueFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> BoundedShortestPaths<V, WE, W> applyingDijkstra( final WO weightOperations )
+    {
+        checkNotNull( weightOperations, "Dijkstra algorithm can not be applied using null weight operations" );
+
+        final BoundedShortestPaths<V, WE, W> shortestPaths =
+            new BoundedShortestPaths<V, WE, W>( graph, source, weightOperations, weightedEdges );
+
+        // labels never change their distance once created, so the heap order can't be violated
+        final Queue<Label<V, W>> unsettledLabels = queueFactory.newQueue( new Comparator<Label<V, W>>()
+        {
+
+            public int compare( Label<V, W> left, Label<V, W> right )
+            {
+                return weightOperations.compare( left.getDistance(), right.getDistance() );
+            }
+
+        } );
+        unsettledLabels.add( new Label<V, W>( source, weightOperations.identity(), 0, null ) );
+
+        // the least number of hops a vertex was settled with: labels with more hops are dominated
+        final Map<V, Integer> settledHops = new HashMap<V, Integer>();
+
+        while ( !unsettledLabels.isEmpty() )
+        {
+            Label<V, W> label = unsettledLabels.remove();
+            V vertex = label.getVertex();
+
+            Integer hops = settledHops.get( vertex );
+            if ( hops != null && ( maxHops == UNBOUNDED_HOPS || hops <= label.getHops() ) )
+            {
+                continue;
+            }
+            settledHops.put( vertex, label.getHops() );
+
+            // the first label settled for a vertex carries its shortest distance
+            if ( hops == null )
+            {
+                shortestPaths.settle( label );
+            }
+
+            if ( label.getHops() == maxHops )
+            {
+                continue;
+            }
+
+            for ( V v : graph.getConnectedVertices( vertex ) )
+            {
+                Integer vHops = settledHops.get( v );
+                if ( vHops != null && ( maxHops == UNBOUNDED_HOPS || vHops <= label.getHops() + 1 ) )
+                {
+                    continue;
+                }
+
+                W distance = weightOperations.append( label.getDistance(), weightedEdges.map( graph.getEdge( vertex, v ) ) );
+
+                // weights are not negative: every vertex reached via a longer path is out of the bounds, too
+                if ( maxWeight == null || weightOperations.compare( distance, maxWeight ) <= 0 )
+                {
+                    unsettledLabels.add( new Label<V, W>( v, distance, label.getHops() + 1, label ) );
+                }
+            }
+        }
+
+        return shortestPaths;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BoundedSearchSelector<V, WE, W> maxHops( int hops )
+    {
+        checkArgument( hops >= 0, "Shortest paths can not be limited to %s hops", hops );
+        return new DefaultBoundedSearchSelector<V, WE, W>( graph, weightedEdges, source, maxWeight, hops, queueFactory );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BoundedSearchSelector<V, WE, W> within( W maxWeight )
+    {
+        maxWeight = checkNotNull( maxWeight, "Shortest paths can not be limited to a null weight" );
+        return new DefaultBoundedSearchSelector<V, WE, W>( graph, weightedEdges, source, maxWeight, maxHops, queueFactory );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BoundedSearchSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory )
+    {
+        queueFactory = checkNotNull( queueFactory, "Shortest paths can not be calculated using a null queue factory" );
+        return new DefaultBoundedSearchSelector<V, WE, W>( graph, weightedEdges, source, maxWeight, maxHops, queueFactory );
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+final class DefaultDistanceMatrixAlgorithmSelector<V, WE, W>
+    implements DistanceMatrixAlgorithmSelector<V, WE, W>
+{
+
+    private final Graph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final List<V> sources;
+
+    private final List<V> targets;
+
+    public DefaultDistanceMatrixAlgorithmSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges,
+                                                   List<V> sources, List<V> targets )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+        this.sources = sources;
+        this.targets = targets;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> DistanceMatrix<V, W> applyingDijkstra( WO weightOperations )
+    {
+        weightOperations = checkNotNull( weightOperations, "Dijkstra algorithm can not be applied using null weight operations" );
+
+        return new ManyToManyDijkstra<V, WE, W>( graph, weightedEdges, weightOperations, sources, targets )
+                        .computeDistanceMatrix( ForkJoinPool.commonPool() );
+    }
+
+}
@@ -21,6 +21,7 @@ package org.apache.commons.graph.shortestpath;
 
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
 
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Queue;
 import java.util.Set;
@@ -29,7 +30,8 @@ import org.apache.commons.graph.DirectedGraph;
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.Mapper;
 import org.apache.commons.graph.WeightedPath;
-import org.apache.commons.graph.collections.FibonacciHeap;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.GraphSuccessors;
 import org.apache.commons.graph.weight.OrderedMonoid;
 
 final class DefaultHeuristicBuilder<V, WE, W>
@@ -46,13 +48,34 @@ final class DefaultHeuristicBuilder<V, WE, W>
 
     private final OrderedMonoid<W> weightOperations;
 
-    public DefaultHeuristicBuilder( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target, OrderedMonoid<W> weightOperations )
+    private final AddressableQueueFactory queueFactory;
+
+    private final boolean bidirectional;
+
+    public DefaultHeuristicBuilder( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target, OrderedMonoid<W> weightOperations,
+                                    AddressableQueueFactory queueFactory )
+    {
+        this( graph, weightedEdges, source, target, weightOperations, queueFactory, false );
+    }
+
+    private DefaultHeuristicBuilder( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target,
+                                     OrderedMonoid<W> weightOperations, AddressableQueueFactory queueFactory, boolean bidirectional )
     {
         this.graph = graph;
         this.weightedEdges = weightedEdges;
         this.start = source;
         this.goal = target;
         this.weightOperations = weightOperations;
+        this.queueFactory = queueFactory;
+        this.bidirectional = bidirectional;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public HeuristicBuilder<V, WE, W> bidirectional()
+    {
+        return new DefaultHeuristicBuilder<V, WE, W>( graph, weightedEdges, start, goal, weightOperations, queueFactory, true );
     }
 
     /**
@@ -62,61 +85,233 @@ final class DefaultHeuristicBuilder<V, WE, W>
     {
         heuristic = checkNotNull( heuristic, "A* algorithm can not be applied using a null heuristic" );
 
-        // Cost from start along best known path.
-        final ShortestDistances<V, W> gScores = new ShortestDistances<V, W>( weightOperations );
-        gScores.setWeight( start, weightOperations.identity() );
+        if ( bidirectional )
+        {
+            return bidirectionalSearch( heuristic );
+        }
+
+        return new SuccessorSearch<V, WE, W>( graph, new GraphSuccessors<V, WE>( graph ), weightedEdges, start, goal, queueFactory,
+                                              new HashSet<V>(), Integer.MAX_VALUE ).aStar( weightOperations, heuristic );
+    }
+
+    /**
+     * Runs the bidirectional A* search, alternating a forward step from the start and a backward step from the goal.
+     *
+     * The forward search uses the potential {@code p(v) = (h(v, goal) - h(start, v)) / 2} and the backward one
+     * uses {@code -p(v)}: both potentials are consistent, and their sum is constant, so the search can stop as soon as
+     * the sum of the smallest keys of the two frontiers reaches the best path found so far.
+     * Weights can't be halved, so keys and the best path weight are doubled instead.
+     */
+    private WeightedPath<V, WE, W> bidirectionalSearch( Heuristic<V, W> heuristic )
+    {
+        final Search forward = new Search( heuristic, true );
+        final Search backward = new Search( heuristic, false );
+
+        V touch = null;
+        W best = null;
+
+        if ( start.equals( goal ) )
+        {
+            touch = start;
+            best = weightOperations.identity();
+        }
+
+        while ( forward.hasNext() && backward.hasNext() )
+        {
+            if ( best != null )
+            {
+                W frontiers = weightOperations.append( forward.peekKey(), backward.peekKey() );
+                if ( weightOperations.compare( frontiers, weightOperations.append( best, best ) ) >= 0 )
+                {
+                    break;
+                }
+            }
+
+            V meeting = forward.step( backward );
+            if ( meeting != null )
+            {
+                W candidate = weightOperations.append( forward.gScores.getWeight( meeting ), backward.gScores.getWeight( meeting ) );
+                if ( best == null || weightOperations.compare( candidate, best ) < 0 )
+                {
+                    best = candidate;
+                    touch = meeting;
+                }
+            }
+
+            if ( !backward.hasNext() )
+            {
+                break;
+            }
+
+            meeting = backward.step( forward );
+            if ( meeting != null )
+            {
+                W candidate = weightOperations.append( forward.gScores.getWeight( meeting ), backward.gScores.getWeight( meeting ) );
+                if ( best == null || weightOperations.compare( candidate, best ) < 0 )
+                {
+                    best = candidate;
+                    touch = meeting;
+                }
+            }
+        }
+
+        if ( touch == null )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", start, goal, graph );
+        }
+
+        return forward.predecessors.buildPath( start, touch, goal, backward.predecessors );
+    }
+
+    /**
+     * One of the two directions of the bidirectional A* search.
+     */
+    private final class Search
+    {
 
-        // Estimated total cost from start to goal through y.
-        final ShortestDistances<V, W> fScores = new ShortestDistances<V, W>( weightOperations );
-        W hScore = heuristic.applyHeuristic( start, goal );
-        fScores.setWeight( start, hScore );
+        private final Heuristic<V, W> heuristic;
 
-        // The set of nodes already evaluated.
-        final Set<V> closedSet = new HashSet<V>();
+        private final boolean forward;
 
-        // The set of tentative nodes to be evaluated.
-        final Queue<V> openSet = new FibonacciHeap<V>( fScores );
-        openSet.add( start );
+        private final ShortestDistances<V, W> gScores = new ShortestDistances<V, W>( weightOperations );
 
-        // The of navigated nodes
-        final PredecessorsList<V, WE, W> predecessors = new PredecessorsList<V, WE, W>( graph, weightOperations, weightedEdges );
+        private final Set<V> closedSet = new HashSet<V>();
 
-        // extract the node in openset having the lowest f_score[] value
-        while ( !openSet.isEmpty() )
+        /**
+         * Entries keep the key they have been queued with, outdated entries are skipped.
+         */
+        private final Queue<Entry<V, W>> openSet = queueFactory.newQueue( new Comparator<Entry<V, W>>()
         {
-            V current = openSet.remove();
 
-            // destination reached, stop and build the path
-            if ( goal.equals( current ) )
+            public int compare( Entry<V, W> left, Entry<V, W> right )
             {
-                return predecessors.buildPath( start, goal );
+                return weightOperations.compare( left.key, right.key );
             }
 
+        } );
+
+        private final PredecessorsList<V, WE, W> predecessors = new PredecessorsList<V, WE, W>( graph, weightOperations, weightedEdges );
+
+        public Search( Heuristic<V, W> heuristic, boolean forward )
+        {
+            this.heuristic = heuristic;
+            this.forward = forward;
+
+            V root = forward ? start : goal;
+            gScores.setWeight( root, weightOperations.identity() );
+            openSet.add( new Entry<V, W>( root, key( root, weightOperations.identity() ) ) );
+        }
+
+        /**
+         * Doubled key of a vertex: {@code 2 g(v) + h(v, goal) - h(start, v)} forward,
+         * {@code 2 g(v) + h(start, v) - h(v, goal)} backward.
+         */
+        private W key( V vertex, W gScore )
+        {
+            W toGoal = heuristic.applyHeuristic( vertex, goal );
+            W fromStart = heuristic.applyHeuristic( start, vertex );
+            W potential = forward ? weightOperations.append( toGoal, weightOperations.inverse( fromStart ) )
+                                  : weightOperations.append( fromStart, weightOperations.inverse( toGoal ) );
+            return weightOperations.append( weightOperations.append( gScore, gScore ), potential );
+        }
+
+        public boolean hasNext()
+        {
+            skipOutdated();
+            return !openSet.isEmpty();
+        }
+
+        public W peekKey()
+        {
+            return openSet.peek().key;
+        }
+
+        /**
+         * Settles the vertex with the smallest key and relaxes its edges.
+         *
+         * @param opposite The search in the opposite direction
+         * @return The last relaxed vertex already reached by the opposite search, or null
+         */
+        public V step( Search opposite )
+        {
+            V current = openSet.remove().vertex;
             closedSet.add( current );
 
-            Iterable<V> connected = ( graph instanceof DirectedGraph ) ? ( (DirectedGraph<V, WE>) graph ).getOutbound( current )
-                                                                       : graph.getConnectedVertices( current );
+            V meeting = opposite.gScores.alreadyVisited( current ) ? current : null;
+
+            Iterable<V> connected;
+            if ( graph instanceof DirectedGraph )
+            {
+                connected = forward ? ( (DirectedGraph<V, WE>) graph ).getOutbound( current )
+                                    : ( (DirectedGraph<V, WE>) graph ).getInbound( current );
+            }
+            else
+            {
+                connected = graph.getConnectedVertices( current );
+            }
+
             for ( V v : connected )
             {
                 if ( !closedSet.contains( v ) )
                 {
-                    WE edge = graph.getEdge( current, v );
-                    // note that the weight of current can never be undefined
+                    WE edge = forward ? graph.getEdge( current, v ) : graph.getEdge( v, current );
                     W tentativeGScore = weightOperations.append( gScores.getWeight( current ), weightedEdges.map( edge ) );
 
-                    // if the first condition fails, v has already been visited (its weight is defined)
-                    if ( openSet.add( v ) || weightOperations.compare( tentativeGScore, gScores.getWeight( v ) ) < 0 )
+                    if ( !gScores.alreadyVisited( v ) || weightOperations.compare( tentativeGScore, gScores.getWeight( v ) ) < 0 )
                     {
                         predecessors.addPredecessor( v, current );
                         gScores.setWeight( v, tentativeGScore );
-                        hScore = heuristic.applyHeuristic( v, goal );
-                        fScores.setWeight( v, weightOperations.append( gScores.getWeight( v ), hScore ) );
+                        openSet.add( new Entry<V, W>( v, key( v, tentativeGScore ) ) );
+
+                        if ( opposite.gScores.alreadyVisited( v ) )
+                        {
+                            meeting = best( meeting, v, opposite );
+                        }
                     }
                 }
             }
+
+            return meeting;
+        }
+
+        private V best( V meeting, V candidate, Search opposite )
+        {
+            if ( meeting == null )
+            {
+                return candidate;
+            }
+
+            W meetingWeight = weightOperations.append( gScores.getWeight( meeting ), opposite.gScores.getWeight( meeting ) );
+            W candidateWeight = weightOperations.append( gScores.getWeight( candidate ), opposite.gScores.getWeight( candidate ) );
+            return weightOperations.compare( candidateWeight, meetingWeight ) < 0 ? candidate : meeting;
+        }
+
+        private void skipOutdated()
+        {
+            while ( !openSet.isEmpty() && closedSet.contains( openSet.peek().vertex ) )
+            {
+                openSet.remove();
+            }
+        }
+
+    }
+
+    /**
+     * A queued vertex, with the key it has been queued with.
+     */
+    private static final class Entry<V, W>
+    {
+
+        private final V vertex;
+
+        private final W key;
+
+        public Entry( V vertex, W key )
+        {
+            this.vertex = vertex;
+            this.key = key;
         }
 
-        throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", start, goal, graph );
     }
 
 }
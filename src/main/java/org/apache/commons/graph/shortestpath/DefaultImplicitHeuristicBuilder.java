@@ -0,0 +1,50 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+final class DefaultImplicitHeuristicBuilder<V, WE, W>
+    implements ImplicitHeuristicBuilder<V, WE, W>
+{
+
+    private final SuccessorSearch<V, WE, W> search;
+
+    private final OrderedMonoid<W> weightOperations;
+
+    public DefaultImplicitHeuristicBuilder( SuccessorSearch<V, WE, W> search, OrderedMonoid<W> weightOperations )
+    {
+        this.search = search;
+        this.weightOperations = weightOperations;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <H extends Heuristic<V, W>> WeightedPath<V, WE, W> withHeuristic( H heuristic )
+    {
+        heuristic = checkNotNull( heuristic, "A* algorithm can not be applied using a null heuristic" );
+        return search.aStar( weightOperations, heuristic );
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import org.apache.commons.graph.ImplicitGraph;
+import org.apache.commons.graph.Mapper;
+
+final class DefaultImplicitPathSourceSelector<V, WE, W>
+    implements ImplicitPathSourceSelector<V, WE, W>
+{
+
+    private final ImplicitGraph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    public DefaultImplicitPathSourceSelector( ImplicitGraph<V, WE> graph, Mapper<WE, W> weightedEdges )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <H extends V> ImplicitPathTargetSelector<V, WE, W> from( H source )
+    {
+        source = checkNotNull( source, "Shortest path can not be calculated from a null source" );
+        return new DefaultImplicitPathTargetSelector<V, WE, W>( graph, weightedEdges, source );
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import org.apache.commons.graph.ImplicitGraph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.collections.CompactHashSet;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+final class DefaultImplicitShortestPathAlgorithmSelector<V, WE, W>
+    implements ImplicitShortestPathAlgorithmSelector<V, WE, W>
+{
+
+    private final ImplicitGraph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final V source;
+
+    private final V target;
+
+    private final AddressableQueueFactory queueFactory;
+
+    private final int maximumExpansions;
+
+    public DefaultImplicitShortestPathAlgorithmSelector( ImplicitGraph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target )
+    {
+        this( graph, weightedEdges, source, target, fibonacciHeaps(), Integer.MAX_VALUE );
+    }
+
+    private DefaultImplicitShortestPathAlgorithmSelector( ImplicitGraph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target,
+                                                          AddressableQueueFactory queueFactory, int maximumExpansions )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+        this.source = source;
+        this.target = target;
+        this.queueFactory = queueFactory;
+        this.maximumExpansions = maximumExpansions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ImplicitShortestPathAlgorithmSelector<V, WE, W> maxExpansions( int maximumExpansions )
+    {
+        checkArgument( maximumExpansions > 0, "Maximum expansions must be positive, was %s", maximumExpansions );
+        return new DefaultImplicitShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target, queueFactory,
+                                                                           maximumExpansions );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ImplicitShortestPathAlgorithmSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory )
+    {
+        queueFactory = checkNotNull( queueFactory, "Shortest path can not be calculated using a null queue factory" );
+        return new DefaultImplicitShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target, queueFactory,
+                                                                           maximumExpansions );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> ImplicitHeuristicBuilder<V, WE, W> applyingAStar( WO weightOperations )
+    {
+        weightOperations = checkNotNull( weightOperations, "A* algorithm can not be applied using null weight operations" );
+        return new DefaultImplicitHeuristicBuilder<V, WE, W>( newSearch(), weightOperations );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingDijkstra( WO weightOperations )
+    {
+        weightOperations = checkNotNull( weightOperations, "Dijkstra algorithm can not be applied using null weight operations" );
+        return newSearch().dijkstra( weightOperations );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations )
+    {
+        return applyingIntegerDijkstra( weightOperations, Long.MAX_VALUE );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations, long maximumWeight )
+    {
+        weightOperations = checkNotNull( weightOperations, "Dijkstra algorithm can not be applied using null weight operations" );
+        checkArgument( maximumWeight >= 0, "Dijkstra algorithm can not be applied with negative maximum weight %s", maximumWeight );
+        return newSearch().integerDijkstra( weightOperations, maximumWeight );
+    }
+
+    /**
+     * Creates the searches following the successors of the expanded vertices, tracked in a {@link CompactHashSet}
+     * bounded by the maximum number of expansions.
+     */
+    private SuccessorSearch<V, WE, W> newSearch()
+    {
+        return new SuccessorSearch<V, WE, W>( graph, graph, weightedEdges, source, target, queueFactory,
+                                              new CompactHashSet<V>(), maximumExpansions );
+    }
+
+}
@@ -19,10 +19,12 @@ package org.apache.commons.graph.shortestpath;
  * under the License.
  */
 
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.UndirectedGraph;
@@ -39,10 +41,18 @@ final class DefaultPathSourceSelector<V, WE, W>
 
     private final Mapper<WE, W> weightedEdges;
 
+    private final ShortestPathCache cache;
+
     public DefaultPathSourceSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges )
+    {
+        this( graph, weightedEdges, null );
+    }
+
+    public DefaultPathSourceSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, /* @Nullable */ShortestPathCache cache )
     {
         this.graph = graph;
         this.weightedEdges = weightedEdges;
+        this.cache = cache;
     }
 
     /**
@@ -116,13 +126,51 @@ final class DefaultPathSourceSelector<V, WE, W>
         return shortestPaths;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> PrunedLandmarkLabeling<V, WE, W> applyingPrunedLandmarkLabeling( WO weightOperations )
+    {
+        weightOperations = checkNotNull( weightOperations, "Pruned Landmark Labeling can not be applied using null weight operations" );
+        return new PrunedLandmarkLabeling<V, WE, W>( graph, weightedEdges, weightOperations );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> DistanceSketches<V, WE, W> applyingDistanceSketches( int repetitions, WO weightOperations )
+    {
+        checkArgument( repetitions > 0, "Distance sketches need a positive number of repetitions, was %s", repetitions );
+        weightOperations = checkNotNull( weightOperations, "Distance sketches can not be built using null weight operations" );
+        return new DistanceSketches<V, WE, W>( graph, weightedEdges, weightOperations, repetitions, ForkJoinPool.commonPool() );
+    }
+
     /**
      * {@inheritDoc}
      */
     public <H extends V> TargetSourceSelector<V, WE, W> from( H source )
     {
         source = checkNotNull( source, "Shortest path can not be calculated from a null source" );
-        return new DefaultTargetSourceSelector<V, WE, W>( graph, weightedEdges, source );
+        return new DefaultTargetSourceSelector<V, WE, W>( graph, weightedEdges, source, cache );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DistanceMatrixTargetSelector<V, WE, W> fromAll( Iterable<? extends V> sources )
+    {
+        sources = checkNotNull( sources, "Distance matrix can not be calculated from null sources" );
+        return new DefaultDistanceMatrixTargetSelector<V, WE, W>( graph, weightedEdges,
+                                                                  DistanceMatrix.distinctVertices( graph, sources ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public PathSourceSelector<V, WE, W> usingCache( ShortestPathCache cache )
+    {
+        cache = checkNotNull( cache, "Shortest path can not be cached in a null cache" );
+        return new DefaultPathSourceSelector<V, WE, W>( graph, weightedEdges, cache );
     }
 
     private void pathReconstruction( PredecessorsList<V, WE, W> path,
@@ -19,17 +19,27 @@ package org.apache.commons.graph.shortestpath;
  * under the License.
  */
 
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Queue;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import org.apache.commons.graph.DirectedGraph;
 
+import org.apache.commons.graph.DirectedGraph;
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.Mapper;
 import org.apache.commons.graph.WeightedPath;
-import org.apache.commons.graph.collections.FibonacciHeap;
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.ArrayWeightedPath;
+import org.apache.commons.graph.model.GraphSuccessors;
 import org.apache.commons.graph.weight.OrderedMonoid;
 
 final class DefaultShortestPathAlgorithmSelector<V, WE, W>
@@ -44,12 +54,45 @@ final class DefaultShortestPathAlgorithmSelector<V, WE, W>
 
     private final V target;
 
+    private final AddressableQueueFactory queueFactory;
+
+    /**
+     * The workspace reused by Dijkstra's algorithm, null if it has to allocate its own state.
+     */
+    private final ShortestPathWorkspace<V> workspace;
+
     public DefaultShortestPathAlgorithmSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target )
+    {
+        this( graph, weightedEdges, source, target, fibonacciHeaps(), null );
+    }
+
+    private DefaultShortestPathAlgorithmSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, V target,
+                                                  AddressableQueueFactory queueFactory, ShortestPathWorkspace<V> workspace )
     {
         this.graph = graph;
         this.weightedEdges = weightedEdges;
         this.source = source;
         this.target = target;
+        this.queueFactory = queueFactory;
+        this.workspace = workspace;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ShortestPathAlgorithmSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory )
+    {
+        queueFactory = checkNotNull( queueFactory, "Shortest path can not be calculated using a null queue factory" );
+        return new DefaultShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target, queueFactory, workspace );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ShortestPathAlgorithmSelector<V, WE, W> usingWorkspace( ShortestPathWorkspace<V> workspace )
+    {
+        workspace = checkNotNull( workspace, "Shortest path can not be calculated using a null workspace" );
+        return new DefaultShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target, queueFactory, workspace );
     }
 
     /**
@@ -58,7 +101,7 @@ final class DefaultShortestPathAlgorithmSelector<V, WE, W>
     public <WO extends OrderedMonoid<W>> HeuristicBuilder<V, WE, W> applyingAStar( WO weightOperations )
     {
         weightOperations = checkNotNull( weightOperations, "A* algorithm can not be applied using null weight operations" );
-        return new DefaultHeuristicBuilder<V, WE, W>( graph, weightedEdges, source, target, weightOperations );
+        return new DefaultHeuristicBuilder<V, WE, W>( graph, weightedEdges, source, target, weightOperations, queueFactory );
     }
 
     /**
@@ -74,11 +117,13 @@ final class DefaultShortestPathAlgorithmSelector<V, WE, W>
         final ShortestDistances<V, W> shortestDistancesBackwards = new ShortestDistances<V, W>( weightOperations );
         shortestDistancesBackwards.setWeight( target, weightOperations.identity() );
 
-        final Queue<V> openForward = new FibonacciHeap<V>( shortestDistancesForward );
-        openForward.add( source );
+        final AddressableQueue<V> openForward = queueFactory.newQueue( shortestDistancesForward );
+        final Map<V, Handle<V>> handlesForward = new HashMap<V, Handle<V>>();
+        handlesForward.put( source, openForward.insert( source ) );
 
-        final Queue<V> openBackwards = new FibonacciHeap<V>( shortestDistancesBackwards );
-        openBackwards.add( target );
+        final AddressableQueue<V> openBackwards = queueFactory.newQueue( shortestDistancesBackwards );
+        final Map<V, Handle<V>> handlesBackwards = new HashMap<V, Handle<V>>();
+        handlesBackwards.put( target, openBackwards.insert( target ) );
 
         final Set<V> closedForward = new HashSet<V>();
 
@@ -121,7 +166,7 @@ final class DefaultShortestPathAlgorithmSelector<V, WE, W>
                                 || weightOperations.compare( shortDist, shortestDistancesForward.getWeight( v ) ) < 0 )
                         {
                             shortestDistancesForward.setWeight( v, shortDist );
-                            openForward.add( v );
+                            enqueue( openForward, handlesForward, v );
                             predecessorsForward.addPredecessor( v, vertex );
 
                             if ( closedBackwards.contains( v ) )
@@ -158,7 +203,7 @@ final class DefaultShortestPathAlgorithmSelector<V, WE, W>
                                 || weightOperations.compare( shortDist, shortestDistancesBackwards.getWeight( v ) ) < 0 )
                         {
                             shortestDistancesBackwards.setWeight( v, shortDist );
-                            openBackwards.add( v );
+                            enqueue( openBackwards, handlesBackwards, v );
                             predecessorsBackwards.addPredecessor( v, vertex );
 
                             if ( closedForward.contains( v ) )
@@ -192,55 +237,152 @@ final class DefaultShortestPathAlgorithmSelector<V, WE, W>
     {
         weightOperations = checkNotNull( weightOperations, "Dijkstra algorithm can not be applied using null weight operations" );
 
-        final ShortestDistances<V, W> shortestDistances = new ShortestDistances<V, W>( weightOperations );
-        shortestDistances.setWeight( source, weightOperations.identity() );
+        if ( workspace != null )
+        {
+            return applyingDijkstra( weightOperations, workspace );
+        }
 
-        final Queue<V> unsettledNodes = new FibonacciHeap<V>( shortestDistances );
-        unsettledNodes.add( source );
+        return newSearch().dijkstra( weightOperations );
+    }
 
-        final Set<V> settledNodes = new HashSet<V>();
+    /**
+     * Dijkstra's algorithm keeping distances, predecessors and queue handles in the input workspace,
+     * indexed by vertex id, so that searches repeated on the same graph only allocate the resulting path
+     * and the queue entries.
+     *
+     * @param weightOperations The class responsible for operations on weights
+     * @param workspace The workspace holding the search state
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    private WeightedPath<V, WE, W> applyingDijkstra( OrderedMonoid<W> weightOperations, ShortestPathWorkspace<V> workspace )
+    {
+        workspace.startSearch( graph, queueFactory, weightOperations );
 
-        final PredecessorsList<V, WE, W> predecessors = new PredecessorsList<V, WE, W>( graph, weightOperations, weightedEdges );
+        int sourceId = workspace.idOf( source );
+        workspace.relax( sourceId, weightOperations.identity(), ShortestPathWorkspace.NO_PREDECESSOR );
 
-        // extract the node with the shortest distance
-        while ( !unsettledNodes.isEmpty() )
+        while ( !workspace.isQueueEmpty() )
         {
-            V vertex = unsettledNodes.remove();
+            int id = workspace.poll();
+            V vertex = workspace.getVertex( id );
 
             // destination reached, stop and build the path
             if ( target.equals( vertex ) )
             {
-                return predecessors.buildPath( source, target );
+                return buildPath( workspace, sourceId, id, weightOperations );
             }
 
-            settledNodes.add( vertex );
-
+            W distance = workspace.getDistance( id );
             for ( V v : graph.getConnectedVertices( vertex ) )
             {
+                int vId = workspace.idOf( v );
+
                 // skip node already settled
-                if ( !settledNodes.contains( v ) )
+                if ( !workspace.isSettled( vId ) )
                 {
-                    WE edge = graph.getEdge( vertex, v );
-                    if ( shortestDistances.alreadyVisited( vertex ) )
-                    {
-                        W shortDist = weightOperations.append( shortestDistances.getWeight( vertex ), weightedEdges.map( edge ) );
-
-                        if ( !shortestDistances.alreadyVisited( v )
-                                || weightOperations.compare( shortDist, shortestDistances.getWeight( v ) ) < 0 )
-                        {
-                            // assign new shortest distance and mark unsettled
-                            shortestDistances.setWeight( v, shortDist );
-                            unsettledNodes.add( v );
+                    W shortDist = weightOperations.append( distance, weightedEdges.map( graph.getEdge( vertex, v ) ) );
 
-                            // assign predecessor in shortest path
-                            predecessors.addPredecessor( v, vertex );
-                        }
+                    if ( !workspace.isReached( vId )
+                            || weightOperations.compare( shortDist, workspace.<W>getDistance( vId ) ) < 0 )
+                    {
+                        workspace.relax( vId, shortDist, id );
                     }
-
                 }
             }
         }
 
         throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", source, target, graph );
     }
+
+    /**
+     * Walks the predecessors stored in the workspace backwards, from the target to the source.
+     */
+    private WeightedPath<V, WE, W> buildPath( ShortestPathWorkspace<V> workspace, int sourceId, int targetId,
+                                              OrderedMonoid<W> weightOperations )
+    {
+        List<V> vertices = new ArrayList<V>();
+        List<WE> edges = new ArrayList<WE>();
+
+        int id = targetId;
+        while ( id != sourceId )
+        {
+            int predecessor = workspace.getPredecessor( id );
+            V vertex = workspace.getVertex( id );
+            V previous = workspace.getVertex( predecessor );
+
+            if ( vertices.isEmpty() )
+            {
+                vertices.add( vertex );
+            }
+            vertices.add( previous );
+            edges.add( graph.getEdge( previous, vertex ) );
+
+            id = predecessor;
+        }
+
+        Collections.reverse( vertices );
+        Collections.reverse( edges );
+
+        return new ArrayWeightedPath<V, WE, W>( source, target, vertices, edges, weightOperations, weightedEdges );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations )
+    {
+        return applyingIntegerDijkstra( weightOperations, Long.MAX_VALUE );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations, long maximumWeight )
+    {
+        weightOperations = checkNotNull( weightOperations, "Dijkstra algorithm can not be applied using null weight operations" );
+        checkArgument( maximumWeight >= 0, "Dijkstra algorithm can not be applied with negative maximum weight %s", maximumWeight );
+
+        return newSearch().integerDijkstra( weightOperations, maximumWeight );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> List<WeightedPath<V, WE, W>> applyingYen( int k, WO weightOperations )
+    {
+        checkArgument( k > 0, "Yen's algorithm can not be applied to find %s paths", k );
+        weightOperations = checkNotNull( weightOperations, "Yen's algorithm can not be applied using null weight operations" );
+
+        return new YenKShortestPaths<V, WE, W>( graph, weightedEdges, weightOperations, queueFactory, source, target ).findShortestPaths( k );
+    }
+
+    /**
+     * Creates the searches following the successors of the expanded vertices, tracked in a plain {@link HashSet}.
+     */
+    private SuccessorSearch<V, WE, W> newSearch()
+    {
+        return new SuccessorSearch<V, WE, W>( graph, new GraphSuccessors<V, WE>( graph ), weightedEdges, source, target,
+                                              queueFactory, new HashSet<V>(), Integer.MAX_VALUE );
+    }
+
+    /**
+     * Queues the input vertex, or moves it forward if already queued, once its distance decreased.
+     *
+     * @param queue The queue of unsettled vertices
+     * @param handles The handles of the vertices already queued
+     * @param vertex The vertex whose distance decreased
+     */
+    static <V> void enqueue( AddressableQueue<V> queue, Map<V, Handle<V>> handles, V vertex )
+    {
+        Handle<V> handle = handles.get( vertex );
+        if ( handle != null && handle.isQueued() )
+        {
+            queue.decreaseKey( handle );
+        }
+        else
+        {
+            handles.put( vertex, queue.insert( vertex ) );
+        }
+    }
+
 }
@@ -19,12 +19,23 @@ package org.apache.commons.graph.shortestpath;
  * under the License.
  */
 
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.VertexPair;
 import org.apache.commons.graph.Mapper;
 import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.collections.primitive.GrowableBitSet;
+import org.apache.commons.graph.collections.primitive.IntArrayDeque;
+import org.apache.commons.graph.collections.primitive.IntArrayList;
 import org.apache.commons.graph.weight.OrderedMonoid;
 
 final class DefaultTargetSourceSelector<V, WE, W>
@@ -37,11 +48,23 @@ final class DefaultTargetSourceSelector<V, WE, W>
 
     private final V source;
 
-    public DefaultTargetSourceSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source )
+    private final ShortestPathCache cache;
+
+    private final AddressableQueueFactory queueFactory;
+
+    public DefaultTargetSourceSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source, /* @Nullable */ShortestPathCache cache )
+    {
+        this( graph, weightedEdges, source, cache, fibonacciHeaps() );
+    }
+
+    private DefaultTargetSourceSelector( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, V source,
+                                         /* @Nullable */ShortestPathCache cache, AddressableQueueFactory queueFactory )
     {
         this.graph = graph;
         this.weightedEdges = weightedEdges;
         this.source = source;
+        this.cache = cache;
+        this.queueFactory = queueFactory;
     }
 
     /**
@@ -56,8 +79,12 @@ final class DefaultTargetSourceSelector<V, WE, W>
 
         final PredecessorsList<V, WE, W> predecessors = new PredecessorsList<V, WE, W>( graph, weightOperations, weightedEdges );
 
-        for ( int i = 0; i < graph.getOrder(); i++ )
+        boolean relaxed = true;
+        for ( int i = 0; relaxed && i < graph.getOrder(); i++ )
         {
+            // stop as soon as a whole pass doesn't change any distance
+            relaxed = false;
+
             for ( WE edge : graph.getEdges() )
             {
                 VertexPair<V> vertexPair = graph.getVertices( edge );
@@ -76,27 +103,33 @@ final class DefaultTargetSourceSelector<V, WE, W>
 
                         // assign predecessor in shortest path
                         predecessors.addPredecessor( v, u );
+
+                        relaxed = true;
                     }
                 }
             }
         }
 
-        for ( WE edge : graph.getEdges() )
+        // a last pass is needed only if the previous one changed some distance
+        if ( relaxed )
         {
-            VertexPair<V> vertexPair = graph.getVertices( edge );
-            V u = vertexPair.getHead();
-            V v = vertexPair.getTail();
-
-            if ( shortestDistances.alreadyVisited( u ) )
+            for ( WE edge : graph.getEdges() )
             {
-                W shortDist = weightOperations.append( shortestDistances.getWeight( u ), weightedEdges.map( edge ) );
+                VertexPair<V> vertexPair = graph.getVertices( edge );
+                V u = vertexPair.getHead();
+                V v = vertexPair.getTail();
 
-                if ( !shortestDistances.alreadyVisited( v )
-                        || weightOperations.compare( shortDist, shortestDistances.getWeight( v ) ) < 0 )
+                if ( shortestDistances.alreadyVisited( u ) )
                 {
-                    // TODO it would be nice printing the cycle
-                    throw new NegativeWeightedCycleException( "Graph contains a negative-weight cycle in vertex %s",
-                                                              v, graph );
+                    W shortDist = weightOperations.append( shortestDistances.getWeight( u ), weightedEdges.map( edge ) );
+
+                    if ( !shortestDistances.alreadyVisited( v )
+                            || weightOperations.compare( shortDist, shortestDistances.getWeight( v ) ) < 0 )
+                    {
+                        // v is either on a negative-weighted cycle or reachable from one
+                        predecessors.addPredecessor( v, u );
+                        throw negativeWeightedCycle( predecessors, v );
+                    }
                 }
             }
         }
@@ -122,13 +155,165 @@ final class DefaultTargetSourceSelector<V, WE, W>
         return allVertexPairsShortestPath;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> AllVertexPairsShortestPath<V, WE, W> applyingShortestPathFaster( WO weightOperations )
+    {
+        weightOperations = checkNotNull( weightOperations, "Shortest Path Faster algorithm can not be applied using null weight operations" );
+
+        final PredecessorsList<V, WE, W> predecessors = new PredecessorsList<V, WE, W>( graph, weightOperations, weightedEdges );
+
+        // vertices are interned once reached, the relaxation bookkeeping is indexed by their ids
+        final Map<V, Integer> ids = new HashMap<V, Integer>();
+        final List<V> vertices = new ArrayList<V>();
+        final List<W> shortestDistances = new ArrayList<W>();
+
+        // number of edges in the current shortest path of each vertex
+        final IntArrayList hops = new IntArrayList();
+
+        ids.put( source, 0 );
+        vertices.add( source );
+        shortestDistances.add( weightOperations.identity() );
+        hops.add( 0 );
+
+        final IntArrayDeque changedVertices = new IntArrayDeque();
+        changedVertices.addLast( 0 );
+
+        final GrowableBitSet enqueued = new GrowableBitSet();
+        enqueued.add( 0 );
+
+        while ( !changedVertices.isEmpty() )
+        {
+            int u = changedVertices.removeFirst();
+            enqueued.remove( u );
+            V uVertex = vertices.get( u );
+
+            for ( V v : graph.getConnectedVertices( uVertex ) )
+            {
+                W shortDist = weightOperations.append( shortestDistances.get( u ),
+                                                       weightedEdges.map( graph.getEdge( uVertex, v ) ) );
+
+                Integer vId = ids.get( v );
+                if ( vId == null || weightOperations.compare( shortDist, shortestDistances.get( vId ) ) < 0 )
+                {
+                    // without negative-weighted cycles, distances are always realized by simple paths,
+                    // that can't have more edges than the graph order minus one
+                    int pathHops = hops.get( u ) + 1;
+                    if ( vId == null )
+                    {
+                        vId = vertices.size();
+                        ids.put( v, vId );
+                        vertices.add( v );
+                        shortestDistances.add( shortDist );
+                        hops.add( pathHops );
+                    }
+                    else
+                    {
+                        shortestDistances.set( vId, shortDist );
+                        hops.set( vId, pathHops );
+                    }
+                    predecessors.addPredecessor( v, uVertex );
+
+                    if ( pathHops >= graph.getOrder() )
+                    {
+                        // a negative-weighted cycle exists, keep relaxing until it shows up in the predecessors
+                        WeightedPath<V, WE, W> cycle = predecessors.findCycle( v );
+                        if ( cycle != null )
+                        {
+                            throw new NegativeWeightedCycleException( cycle, "Graph contains the negative-weight cycle %s", cycle );
+                        }
+                    }
+
+                    if ( enqueued.add( vId ) )
+                    {
+                        changedVertices.addLast( vId );
+                    }
+                }
+            }
+        }
+
+        AllVertexPairsShortestPath<V, WE, W> allVertexPairsShortestPath = new AllVertexPairsShortestPath<V, WE, W>( weightOperations );
+
+        // the source has the id 0
+        for ( int target = 1; target < vertices.size(); target++ )
+        {
+            allVertexPairsShortestPath.addShortestPath( source, vertices.get( target ),
+                                                        predecessors.buildPath( source, vertices.get( target ) ) );
+        }
+
+        return allVertexPairsShortestPath;
+    }
+
+    private NegativeWeightedCycleException negativeWeightedCycle( PredecessorsList<V, WE, W> predecessors, V vertex )
+    {
+        WeightedPath<V, WE, W> cycle = predecessors.findCycle( vertex );
+        if ( cycle == null )
+        {
+            return new NegativeWeightedCycleException( "Graph contains a negative-weight cycle in vertex %s", vertex, graph );
+        }
+        return new NegativeWeightedCycleException( cycle, "Graph contains the negative-weight cycle %s", cycle );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> AllVertexPairsShortestPath<V, WE, W> applyingParallelBelmannFord( WO weightOperations )
+    {
+        weightOperations = checkNotNull( weightOperations, "Belmann-Ford algorithm can not be applied using null weight operations" );
+
+        return new ParallelBellmannFord<V, WE, W>( graph, weightedEdges, weightOperations, ForkJoinPool.commonPool() )
+                        .findShortestPaths( source );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <WO extends OrderedMonoid<W>> DynamicShortestPathTree<V, WE, W> applyingDynamicDijkstra( WO weightOperations )
+    {
+        weightOperations = checkNotNull( weightOperations, "Dynamic Dijkstra algorithm can not be applied using null weight operations" );
+        return new DynamicShortestPathTree<V, WE, W>( graph, weightedEdges, weightOperations, source, queueFactory );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BoundedSearchSelector<V, WE, W> maxHops( int hops )
+    {
+        return new DefaultBoundedSearchSelector<V, WE, W>( graph, weightedEdges, source, queueFactory ).maxHops( hops );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BoundedSearchSelector<V, WE, W> within( W maxWeight )
+    {
+        return new DefaultBoundedSearchSelector<V, WE, W>( graph, weightedEdges, source, queueFactory ).within( maxWeight );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public TargetSourceSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory )
+    {
+        queueFactory = checkNotNull( queueFactory, "Shortest paths can not be calculated using a null queue factory" );
+        return new DefaultTargetSourceSelector<V, WE, W>( graph, weightedEdges, source, cache, queueFactory );
+    }
+
     /**
      * {@inheritDoc}
      */
     public <T extends V> ShortestPathAlgorithmSelector<V, WE, W> to( T target )
     {
         target = checkNotNull( target, "Shortest path can not be calculated to a null target" );
-        return new DefaultShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target );
+        ShortestPathAlgorithmSelector<V, WE, W> selector =
+            new DefaultShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target ).usingQueue( queueFactory );
+
+        if ( cache != null && cache.isCacheable( graph ) )
+        {
+            return new CachedShortestPathAlgorithmSelector<V, WE, W>( graph, weightedEdges, source, target, cache, selector );
+        }
+        return selector;
     }
 
 }
@@ -0,0 +1,176 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Collections.reverse;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.ArrayWeightedPath;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+
+final class DefaultUnweightedPathTargetSelector<V, E>
+    implements UnweightedPathTargetSelector<V, E>
+{
+
+    private final Graph<V, E> graph;
+
+    private final V source;
+
+    public DefaultUnweightedPathTargetSelector( Graph<V, E> graph, V source )
+    {
+        this.graph = graph;
+        this.source = source;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T extends V> WeightedPath<V, E, Integer> to( T target )
+    {
+        target = checkNotNull( target, "Shortest path can not be calculated to a null target" );
+
+        List<V> vertices = new ArrayList<V>();
+        List<E> edges = new ArrayList<E>();
+
+        if ( !source.equals( target ) )
+        {
+            // every vertex is mapped to its parent in the search tree, the root to itself
+            Map<V, V> forwardParents = new HashMap<V, V>();
+            forwardParents.put( source, source );
+            List<V> forwardFrontier = new ArrayList<V>();
+            forwardFrontier.add( source );
+
+            Map<V, V> backwardParents = new HashMap<V, V>();
+            backwardParents.put( target, target );
+            List<V> backwardFrontier = new ArrayList<V>();
+            backwardFrontier.add( target );
+
+            V touch = null;
+            while ( touch == null && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty() )
+            {
+                // the search trees are disjoint up to the current depths, so the first meeting is on a shortest path
+                if ( forwardFrontier.size() <= backwardFrontier.size() )
+                {
+                    List<V> next = new ArrayList<V>();
+                    touch = expand( forwardFrontier, next, forwardParents, backwardParents, true );
+                    forwardFrontier = next;
+                }
+                else
+                {
+                    List<V> next = new ArrayList<V>();
+                    touch = expand( backwardFrontier, next, backwardParents, forwardParents, false );
+                    backwardFrontier = next;
+                }
+            }
+
+            if ( touch == null )
+            {
+                throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", source, target, graph );
+            }
+
+            for ( V vertex = touch; !vertex.equals( source ); vertex = forwardParents.get( vertex ) )
+            {
+                vertices.add( vertex );
+            }
+            vertices.add( source );
+            reverse( vertices );
+
+            for ( V vertex = touch; !vertex.equals( target ); )
+            {
+                vertex = backwardParents.get( vertex );
+                vertices.add( vertex );
+            }
+
+            for ( int i = 1; i < vertices.size(); i++ )
+            {
+                edges.add( graph.getEdge( vertices.get( i - 1 ), vertices.get( i ) ) );
+            }
+        }
+
+        return new ArrayWeightedPath<V, E, Integer>( source, target, vertices, edges,
+                                                     new IntegerWeightBaseOperations(), new HopCounter<E>() );
+    }
+
+    /**
+     * Expands a whole level of one of the two searches.
+     *
+     * @param frontier The vertices of the current level
+     * @param next The list where the vertices of the next level are collected
+     * @param parents The search tree being expanded
+     * @param opposite The search tree of the other search
+     * @param forward true if the search follows the edges direction, false otherwise
+     * @return The vertex where the two searches met, null if they didn't
+     */
+    private V expand( List<V> frontier, List<V> next, Map<V, V> parents, Map<V, V> opposite, boolean forward )
+    {
+        for ( V vertex : frontier )
+        {
+            for ( V v : neighbors( vertex, forward ) )
+            {
+                if ( !parents.containsKey( v ) )
+                {
+                    parents.put( v, vertex );
+                    if ( opposite.containsKey( v ) )
+                    {
+                        return v;
+                    }
+                    next.add( v );
+                }
+            }
+        }
+        return null;
+    }
+
+    private Iterable<V> neighbors( V vertex, boolean forward )
+    {
+        if ( graph instanceof DirectedGraph )
+        {
+            DirectedGraph<V, E> directed = (DirectedGraph<V, E>) graph;
+            return forward ? directed.getOutbound( vertex ) : directed.getInbound( vertex );
+        }
+        return graph.getConnectedVertices( vertex );
+    }
+
+    /**
+     * Maps every edge to {@code 1}, so that the path weight is its number of edges.
+     */
+    private static final class HopCounter<E>
+        implements Mapper<E, Integer>
+    {
+
+        private static final long serialVersionUID = 3921564802561473893L;
+
+        public Integer map( E input )
+        {
+            return 1;
+        }
+
+    }
+
+}
@@ -41,4 +41,9 @@ public final class DefaultWeightedEdgesSelector<V, WE>
         return new DefaultPathSourceSelector<V, WE, W>( graph, weightedEdges );
     }
 
+    public UnweightedPathSourceSelector<V, WE> unweighted()
+    {
+        return new DefaultUnweightedPathSourceSelector<V, WE>( graph );
+    }
+
 }
@@ -0,0 +1,189 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static java.util.Collections.unmodifiableList;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.GraphException;
+
+/**
+ * The shortest distances from a set of sources to a set of targets, stored in a flat row-major array:
+ * rows are indexed by source, columns by target, both in the order they have been specified.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <W> The weight type
+ */
+public final class DistanceMatrix<V, W>
+{
+
+    private final List<V> sources;
+
+    private final List<V> targets;
+
+    private final Map<V, Integer> rows = new HashMap<V, Integer>();
+
+    private final Map<V, Integer> columns = new HashMap<V, Integer>();
+
+    private final Object[] distances;
+
+    /**
+     * Constructor visible only inside the package
+     */
+    DistanceMatrix( List<V> sources, List<V> targets )
+    {
+        this.sources = unmodifiableList( sources );
+        this.targets = unmodifiableList( targets );
+
+        for ( V source : sources )
+        {
+            rows.put( source, rows.size() );
+        }
+        for ( V target : targets )
+        {
+            columns.put( target, columns.size() );
+        }
+
+        distances = new Object[sources.size() * targets.size()];
+    }
+
+    /**
+     * Returns the distinct input vertices, in iteration order.
+     *
+     * @param graph The graph the vertices have to belong to
+     * @param vertices The input vertices
+     * @return The distinct input vertices
+     */
+    static <V> List<V> distinctVertices( Graph<V, ?> graph, Iterable<? extends V> vertices )
+    {
+        Set<V> distinct = new LinkedHashSet<V>();
+        for ( V vertex : vertices )
+        {
+            vertex = checkNotNull( vertex, "Distance matrix can not be calculated for a null vertex" );
+            if ( !graph.containsVertex( vertex ) )
+            {
+                throw new GraphException( "Vertex %s does not belong to the graph", vertex );
+            }
+            distinct.add( vertex );
+        }
+        return new ArrayList<V>( distinct );
+    }
+
+    void setDistance( int row, int column, W distance )
+    {
+        distances[row * targets.size() + column] = distance;
+    }
+
+    /**
+     * Returns the distinct sources, in row order.
+     *
+     * @return The distinct sources, in row order
+     */
+    public List<V> getSources()
+    {
+        return sources;
+    }
+
+    /**
+     * Returns the distinct targets, in column order.
+     *
+     * @return The distinct targets, in column order
+     */
+    public List<V> getTargets()
+    {
+        return targets;
+    }
+
+    /**
+     * Returns the shortest distance stored in the input cell.
+     *
+     * @param row The source index
+     * @param column The target index
+     * @return The shortest distance from the source to the target, null if the target is not reachable
+     */
+    @SuppressWarnings( "unchecked" )
+    public W getDistance( int row, int column )
+    {
+        if ( row < 0 || row >= sources.size() || column < 0 || column >= targets.size() )
+        {
+            throw new IndexOutOfBoundsException( "Cell (" + row + ", " + column + ") is out of the distance matrix" );
+        }
+        return (W) distances[row * targets.size() + column];
+    }
+
+    /**
+     * Returns the shortest distance between source and target.
+     *
+     * @param source The source Vertex
+     * @param target The target Vertex
+     * @return The shortest distance between source and target
+     */
+    public W getShortestDistance( V source, V target )
+    {
+        W distance = getDistance( rowOf( source ), columnOf( target ) );
+        if ( distance == null )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist", source, target );
+        }
+        return distance;
+    }
+
+    /**
+     * Checks if there is a shortest distance between source and target.
+     *
+     * @param source The source Vertex
+     * @param target The target Vertex
+     * @return true if the target is reachable from the source, false otherwise
+     */
+    public boolean hasShortestDistance( V source, V target )
+    {
+        return getDistance( rowOf( source ), columnOf( target ) ) != null;
+    }
+
+    private int rowOf( V source )
+    {
+        source = checkNotNull( source, "Shortest distance can not be retrieved from a null source" );
+        Integer row = rows.get( source );
+        if ( row == null )
+        {
+            throw new GraphException( "Vertex %s is not a source of the distance matrix", source );
+        }
+        return row;
+    }
+
+    private int columnOf( V target )
+    {
+        target = checkNotNull( target, "Shortest distance can not be retrieved to a null target" );
+        Integer column = columns.get( target );
+        if ( column == null )
+        {
+            throw new GraphException( "Vertex %s is not a target of the distance matrix", target );
+        }
+        return column;
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+/**
+ * Specifies the targets of a many-to-many shortest distances query.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public interface DistanceMatrixTargetSelector<V, WE, W>
+{
+
+    /**
+     * Specifies the shortest distances targets; duplicated targets are ignored.
+     *
+     * @param targets The shortest distances targets
+     * @return The algorithm selector for the distance matrix
+     */
+    DistanceMatrixAlgorithmSelector<V, WE, W> toAll( Iterable<? extends V> targets );
+
+}
@@ -0,0 +1,579 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * An approximate distance oracle, based on the sketches by Das Sarma, Gollapudi, Najork and Panigrahy
+ * described in <i>A sketch-based distance oracle for web-scale graphs</i>.
+ *
+ * For every level {@code r} from {@code 0} to {@code floor(log2(n))}, and for every repetition, a set of {@code 2^r}
+ * random seeds is sampled and a multi-source Dijkstra search finds, for each vertex, its closest seed and the distance
+ * to it; the searches are independent, so they run in parallel. Every vertex keeps the seeds it met as a pair of
+ * arrays - seed indexes, sorted ascending, and seed distances - so that {@code distance(u, v)} is estimated
+ * in {@code O(k log n)} time, merging the outgoing sketch of {@code u} with the incoming sketch of {@code v}
+ * and taking the shortest path through a common seed.
+ *
+ * Estimates are lengths of actual paths, so they are never shorter than the exact distances; on undirected graphs
+ * they are at most {@code 2 log2(n) - 1} times longer with high probability. On directed graphs, vertices whose
+ * sketches share no seed have no estimate, even if they are connected.
+ *
+ * <b>NOTE</b>: the oracle is a snapshot of the input graph, it won't reflect later graph modifications;
+ * edge weights must not be negative.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public final class DistanceSketches<V, WE, W>
+{
+
+    /**
+     * Seeds are sampled from a fixed sequence, so that the same graph always gets the same oracle.
+     */
+    private static final long RANDOM_SEED = 0x5DEECE66DL;
+
+    private final Map<V, Integer> indexes = new HashMap<V, Integer>();
+
+    private final OrderedMonoid<W> weightOperations;
+
+    private final int[][] outSeeds;
+
+    private final Object[][] outDistances;
+
+    private final int[][] inSeeds;
+
+    private final Object[][] inDistances;
+
+    /**
+     * Constructor visible only inside the package
+     */
+    DistanceSketches( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, OrderedMonoid<W> weightOperations,
+                      int repetitions, ForkJoinPool pool )
+    {
+        this.weightOperations = weightOperations;
+
+        for ( V vertex : graph.getVertices() )
+        {
+            indexes.put( vertex, indexes.size() );
+        }
+
+        final int order = indexes.size();
+        final boolean directed = graph instanceof DirectedGraph;
+
+        final Adjacency forward = new Adjacency( order );
+        final Adjacency backward = directed ? new Adjacency( order ) : forward;
+
+        for ( V head : graph.getVertices() )
+        {
+            int index = indexes.get( head );
+            for ( V tail : graph.getConnectedVertices( head ) )
+            {
+                forward.add( index, indexes.get( tail ), weightedEdges.map( graph.getEdge( head, tail ) ) );
+            }
+            if ( directed )
+            {
+                for ( V tail : ( (DirectedGraph<V, WE>) graph ).getInbound( head ) )
+                {
+                    backward.add( index, indexes.get( tail ), weightedEdges.map( graph.getEdge( tail, head ) ) );
+                }
+            }
+        }
+
+        final int levels = Integer.SIZE - numberOfLeadingZeros( order );
+        final Sample[] samples = new Sample[repetitions * levels];
+        if ( samples.length > 0 )
+        {
+            pool.invoke( new SampleTask( samples, 0, samples.length, levels, forward, backward ) );
+        }
+
+        final Sketches in = new Sketches( order );
+        final Sketches out = directed ? new Sketches( order ) : in;
+        if ( order > 0 )
+        {
+            pool.invoke( new MergeTask( samples, in, out, 0, order ) );
+        }
+
+        outSeeds = out.seeds;
+        outDistances = out.distances;
+        inSeeds = in.seeds;
+        inDistances = in.distances;
+    }
+
+    /**
+     * Returns the approximate distance between source and target, never shorter than the exact one.
+     *
+     * @param source The source Vertex
+     * @param target The target Vertex
+     * @return Returns the approximate distance between source and target.
+     */
+    public W getApproximateDistance( V source, V target )
+    {
+        W distance = query( source, target );
+
+        if ( distance == null )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' can't be estimated", source, target );
+        }
+
+        return distance;
+    }
+
+    /**
+     * Checks if the distance between source and target can be estimated.
+     *
+     * @param source The source Vertex
+     * @param target The target Vertex
+     * @return Returns true if the sketches of source and target share a seed, false otherwise.
+     */
+    public boolean hasApproximateDistance( V source, V target )
+    {
+        return query( source, target ) != null;
+    }
+
+    /**
+     * Returns the total number of sketch entries stored by the oracle, a measure of its memory footprint.
+     *
+     * @return The total number of sketch entries stored by the oracle
+     */
+    public long getSketchesSize()
+    {
+        long size = 0;
+        for ( int[] seeds : outSeeds )
+        {
+            size += seeds.length;
+        }
+        if ( inSeeds != outSeeds )
+        {
+            for ( int[] seeds : inSeeds )
+            {
+                size += seeds.length;
+            }
+        }
+        return size;
+    }
+
+    private W query( V source, V target )
+    {
+        source = checkNotNull( source, "Impossible to estimate a distance from a null source" );
+        target = checkNotNull( target, "Impossible to estimate a distance to a null target" );
+
+        int sourceIndex = indexOf( source );
+        int targetIndex = indexOf( target );
+
+        if ( sourceIndex == targetIndex )
+        {
+            return weightOperations.identity();
+        }
+
+        int[] sourceSeeds = outSeeds[sourceIndex];
+        Object[] sourceDistances = outDistances[sourceIndex];
+        int[] targetSeeds = inSeeds[targetIndex];
+        Object[] targetDistances = inDistances[targetIndex];
+
+        W best = null;
+        int i = 0;
+        int j = 0;
+        // sketches are sorted by seed index, so common seeds are found merging them
+        while ( i < sourceSeeds.length && j < targetSeeds.length )
+        {
+            if ( sourceSeeds[i] < targetSeeds[j] )
+            {
+                i++;
+            }
+            else if ( sourceSeeds[i] > targetSeeds[j] )
+            {
+                j++;
+            }
+            else
+            {
+                W distance = weightOperations.append( cast( sourceDistances[i++] ), cast( targetDistances[j++] ) );
+                if ( best == null || weightOperations.compare( distance, best ) < 0 )
+                {
+                    best = distance;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    private int indexOf( V vertex )
+    {
+        Integer index = indexes.get( vertex );
+        if ( index == null )
+        {
+            throw new GraphException( "Vertex %s does not exist in the indexed Graph", vertex );
+        }
+        return index;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> T cast( Object value )
+    {
+        return (T) value;
+    }
+
+    /**
+     * Compressed adjacency lists, indexed by vertex.
+     */
+    private static final class Adjacency
+    {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final int[][] targets;
+
+        private final Object[][] weights;
+
+        private final int[] degrees;
+
+        public Adjacency( int order )
+        {
+            targets = new int[order][];
+            weights = new Object[order][];
+            degrees = new int[order];
+        }
+
+        public void add( int head, int tail, Object weight )
+        {
+            int degree = degrees[head];
+            if ( targets[head] == null )
+            {
+                targets[head] = new int[INITIAL_CAPACITY];
+                weights[head] = new Object[INITIAL_CAPACITY];
+            }
+            else if ( degree == targets[head].length )
+            {
+                targets[head] = copyOf( targets[head], degree << 1 );
+                weights[head] = copyOf( weights[head], degree << 1 );
+            }
+            targets[head][degree] = tail;
+            weights[head][degree] = weight;
+            degrees[head] = degree + 1;
+        }
+
+    }
+
+    /**
+     * The closest seed of every vertex, and the distance to it, for one seed set; -1 for vertices no seed reaches.
+     */
+    private static final class Sample
+    {
+
+        private int[] inSeeds;
+
+        private Object[] inDistances;
+
+        private int[] outSeeds;
+
+        private Object[] outDistances;
+
+    }
+
+    /**
+     * A frontier entry of a multi-source search; stale entries are skipped.
+     */
+    private static final class Entry<W>
+    {
+
+        private final int vertex;
+
+        private final W distance;
+
+        public Entry( int vertex, W distance )
+        {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+
+    }
+
+    /**
+     * Splits a range of samples until a single one is left, then samples its seeds and runs its searches.
+     */
+    private final class SampleTask
+        extends RecursiveAction
+    {
+
+        private static final long serialVersionUID = 6160453806839911658L;
+
+        private final Sample[] samples;
+
+        private final int from;
+
+        private final int to;
+
+        private final int levels;
+
+        private final Adjacency forward;
+
+        private final Adjacency backward;
+
+        public SampleTask( Sample[] samples, int from, int to, int levels, Adjacency forward, Adjacency backward )
+        {
+            this.samples = samples;
+            this.from = from;
+            this.to = to;
+            this.levels = levels;
+            this.forward = forward;
+            this.backward = backward;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( to - from > 1 )
+            {
+                int middle = ( from + to ) >>> 1;
+                invokeAll( new SampleTask( samples, from, middle, levels, forward, backward ),
+                           new SampleTask( samples, middle, to, levels, forward, backward ) );
+                return;
+            }
+
+            int order = forward.degrees.length;
+            int[] seeds = sampleSeeds( new Random( RANDOM_SEED + from ), order, 1 << ( from % levels ) );
+
+            Sample sample = new Sample();
+            sample.inSeeds = new int[order];
+            sample.inDistances = new Object[order];
+            search( seeds, forward, sample.inSeeds, sample.inDistances );
+
+            if ( backward != forward )
+            {
+                sample.outSeeds = new int[order];
+                sample.outDistances = new Object[order];
+                search( seeds, backward, sample.outSeeds, sample.outDistances );
+            }
+            samples[from] = sample;
+        }
+
+        /**
+         * Picks {@code size} distinct vertices, shuffling only the first {@code size} positions.
+         */
+        private int[] sampleSeeds( Random random, int order, int size )
+        {
+            int[] vertices = new int[order];
+            for ( int i = 0; i < order; i++ )
+            {
+                vertices[i] = i;
+            }
+            for ( int i = 0; i < size; i++ )
+            {
+                int j = i + random.nextInt( order - i );
+                int swap = vertices[i];
+                vertices[i] = vertices[j];
+                vertices[j] = swap;
+            }
+            return copyOf( vertices, size );
+        }
+
+        /**
+         * Runs a Dijkstra search from all the seeds at once, recording the closest seed of each reached vertex.
+         */
+        private void search( int[] seeds, Adjacency adjacency, int[] closestSeeds, Object[] distances )
+        {
+            fill( closestSeeds, -1 );
+
+            PriorityQueue<Entry<W>> frontier = new PriorityQueue<Entry<W>>( seeds.length, new Comparator<Entry<W>>()
+            {
+
+                public int compare( Entry<W> left, Entry<W> right )
+                {
+                    return weightOperations.compare( left.distance, right.distance );
+                }
+
+            } );
+
+            boolean[] settled = new boolean[closestSeeds.length];
+            for ( int seed : seeds )
+            {
+                closestSeeds[seed] = seed;
+                distances[seed] = weightOperations.identity();
+                frontier.add( new Entry<W>( seed, weightOperations.<W>identity() ) );
+            }
+
+            while ( !frontier.isEmpty() )
+            {
+                Entry<W> entry = frontier.remove();
+                int vertex = entry.vertex;
+                if ( settled[vertex] )
+                {
+                    continue;
+                }
+                settled[vertex] = true;
+
+                int[] targets = adjacency.targets[vertex];
+                Object[] weights = adjacency.weights[vertex];
+                for ( int i = 0; i < adjacency.degrees[vertex]; i++ )
+                {
+                    int tail = targets[i];
+                    if ( settled[tail] )
+                    {
+                        continue;
+                    }
+
+                    W tentative = weightOperations.append( entry.distance, DistanceSketches.<W>cast( weights[i] ) );
+                    if ( closestSeeds[tail] < 0 || weightOperations.compare( tentative, DistanceSketches.<W>cast( distances[tail] ) ) < 0 )
+                    {
+                        closestSeeds[tail] = closestSeeds[vertex];
+                        distances[tail] = tentative;
+                        frontier.add( new Entry<W>( tail, tentative ) );
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Growable sketches, indexed by vertex.
+     */
+    private static final class Sketches
+    {
+
+        private final int[][] seeds;
+
+        private final Object[][] distances;
+
+        public Sketches( int order )
+        {
+            seeds = new int[order][];
+            distances = new Object[order][];
+        }
+
+    }
+
+    /**
+     * Splits a range of vertices and collects the sketches of each of them from all the samples.
+     */
+    private final class MergeTask
+        extends RecursiveAction
+    {
+
+        private static final long serialVersionUID = -2399617062546513380L;
+
+        private static final int THRESHOLD = 1024;
+
+        private final Sample[] samples;
+
+        private final Sketches in;
+
+        private final Sketches out;
+
+        private final int from;
+
+        private final int to;
+
+        public MergeTask( Sample[] samples, Sketches in, Sketches out, int from, int to )
+        {
+            this.samples = samples;
+            this.in = in;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( to - from > THRESHOLD )
+            {
+                int middle = ( from + to ) >>> 1;
+                invokeAll( new MergeTask( samples, in, out, from, middle ), new MergeTask( samples, in, out, middle, to ) );
+                return;
+            }
+
+            int[] seeds = new int[samples.length];
+            Object[] distances = new Object[samples.length];
+            for ( int vertex = from; vertex < to; vertex++ )
+            {
+                merge( vertex, in, false, seeds, distances );
+                if ( out != in )
+                {
+                    merge( vertex, out, true, seeds, distances );
+                }
+            }
+        }
+
+        /**
+         * Collects the seeds met by the input vertex in all the samples, sorted by seed, keeping the closest
+         * occurrence of seeds met more than once.
+         */
+        private void merge( int vertex, Sketches sketches, boolean outbound, int[] seeds, Object[] distances )
+        {
+            int size = 0;
+            for ( Sample sample : samples )
+            {
+                int seed = outbound ? sample.outSeeds[vertex] : sample.inSeeds[vertex];
+                if ( seed < 0 )
+                {
+                    continue;
+                }
+                W distance = cast( outbound ? sample.outDistances[vertex] : sample.inDistances[vertex] );
+
+                // insertion sort, sketches hold O(k log n) entries
+                int position = size;
+                while ( position > 0 && seeds[position - 1] > seed )
+                {
+                    position--;
+                }
+
+                if ( position > 0 && seeds[position - 1] == seed )
+                {
+                    if ( weightOperations.compare( distance, DistanceSketches.<W>cast( distances[position - 1] ) ) < 0 )
+                    {
+                        distances[position - 1] = distance;
+                    }
+                    continue;
+                }
+
+                System.arraycopy( seeds, position, seeds, position + 1, size - position );
+                System.arraycopy( distances, position, distances, position + 1, size - position );
+                seeds[position] = seed;
+                distances[position] = distance;
+                size++;
+            }
+
+            sketches.seeds[vertex] = copyOf( seeds, size );
+            sketches.distances[vertex] = copyOf( distances, size );
+        }
+
+    }
+
+}
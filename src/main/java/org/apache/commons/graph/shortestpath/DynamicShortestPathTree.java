@@ -0,0 +1,462 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.UndirectedGraph;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.BaseMutableGraph;
+import org.apache.commons.graph.model.GraphListener;
+import org.apache.commons.graph.model.InMemoryWeightedPath;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * A shortest path tree rooted in a source vertex, kept up to date while the graph changes,
+ * in the style of Ramalingam and Reps' dynamic shortest path algorithm.
+ *
+ * When the graph is a {@link BaseMutableGraph} the tree subscribes to its modifications; otherwise,
+ * or when edge weights change without any graph modification, changes have to be notified explicitly
+ * through the {@link GraphListener} methods, {@link #edgeWeightDecreased(Object, Object)}
+ * and {@link #edgeWeightIncreased(Object, Object)}.
+ *
+ * <ul>
+ * <li>inserted edges and decreased weights start a Dijkstra search from the improved vertex,
+ * which only visits the vertices whose distance gets shorter;</li>
+ * <li>removed tree edges and vertices, or increased tree edge weights, reset the subtree hanging below them;
+ * each affected vertex is seeded with its best inbound edge from the rest of the tree, then a Dijkstra search
+ * restricted to improvements completes the repair.</li>
+ * </ul>
+ * Changes that don't involve tree edges cost a constant time.
+ *
+ * Edge weights must not be negative. This class is thread safe.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public final class DynamicShortestPathTree<V, WE, W>
+    implements GraphListener<V, WE>
+{
+
+    private final Graph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final OrderedMonoid<W> weightOperations;
+
+    private final V source;
+
+    private final AddressableQueueFactory queueFactory;
+
+    private final Map<V, W> distances = new HashMap<V, W>();
+
+    private final Map<V, V> predecessors = new HashMap<V, V>();
+
+    private final Map<V, Set<V>> children = new HashMap<V, Set<V>>();
+
+    private final Comparator<Entry<V, W>> entriesComparator = new Comparator<Entry<V, W>>()
+    {
+
+        public int compare( Entry<V, W> left, Entry<V, W> right )
+        {
+            return weightOperations.compare( left.distance, right.distance );
+        }
+
+    };
+
+    /**
+     * Constructor visible only inside the package
+     */
+    DynamicShortestPathTree( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, OrderedMonoid<W> weightOperations, V source,
+                             AddressableQueueFactory queueFactory )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+        this.weightOperations = weightOperations;
+        this.source = source;
+        this.queueFactory = queueFactory;
+
+        if ( graph.containsVertex( source ) )
+        {
+            initialize();
+        }
+
+        if ( graph instanceof BaseMutableGraph )
+        {
+            ( (BaseMutableGraph<V, WE>) graph ).addGraphListener( this );
+        }
+    }
+
+    /**
+     * Stops tracking the modifications of the graph.
+     */
+    public void detach()
+    {
+        if ( graph instanceof BaseMutableGraph )
+        {
+            ( (BaseMutableGraph<V, WE>) graph ).removeGraphListener( this );
+        }
+    }
+
+    /**
+     * Returns the tree root.
+     *
+     * @return The tree root
+     */
+    public V getSource()
+    {
+        return source;
+    }
+
+    /**
+     * Checks if the target is currently reachable from the source.
+     *
+     * @param target The target Vertex
+     * @return true if the target is reachable from the source, false otherwise
+     */
+    public synchronized boolean hasShortestDistance( V target )
+    {
+        return distances.containsKey( target );
+    }
+
+    /**
+     * Returns the current shortest distance from the source to the target.
+     *
+     * @param target The target Vertex
+     * @return The shortest distance from the source to the target
+     */
+    public synchronized W getShortestDistance( V target )
+    {
+        W distance = distances.get( target );
+        if ( distance == null )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist", source, target );
+        }
+        return distance;
+    }
+
+    /**
+     * Returns the current shortest path from the source to the target.
+     *
+     * @param target The target Vertex
+     * @return The shortest path from the source to the target
+     */
+    public synchronized WeightedPath<V, WE, W> findShortestPath( V target )
+    {
+        if ( !distances.containsKey( target ) )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist", source, target );
+        }
+
+        InMemoryWeightedPath<V, WE, W> path =
+            new InMemoryWeightedPath<V, WE, W>( source, target, weightOperations, weightedEdges );
+
+        V vertex = target;
+        V predecessor = predecessors.get( vertex );
+        while ( predecessor != null )
+        {
+            path.addConnectionInHead( predecessor, graph.getEdge( predecessor, vertex ), vertex );
+            vertex = predecessor;
+            predecessor = predecessors.get( vertex );
+        }
+        return path;
+    }
+
+    /**
+     * Returns the number of vertices currently reachable from the source, source included.
+     *
+     * @return The number of vertices currently reachable from the source
+     */
+    public synchronized int size()
+    {
+        return distances.size();
+    }
+
+    /**
+     * Notifies that the weight of the edge connecting the input vertices has been decreased.
+     *
+     * @param head The edge head
+     * @param tail The edge tail
+     */
+    public synchronized void edgeWeightDecreased( V head, V tail )
+    {
+        improve( head, tail );
+    }
+
+    /**
+     * Notifies that the weight of the edge connecting the input vertices has been increased.
+     *
+     * @param head The edge head
+     * @param tail The edge tail
+     */
+    public synchronized void edgeWeightIncreased( V head, V tail )
+    {
+        detachTreeEdge( head, tail );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void edgeAdded( V head, WE e, V tail )
+    {
+        improve( head, tail );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void edgeRemoved( V head, WE e, V tail )
+    {
+        detachTreeEdge( head, tail );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void vertexAdded( V v )
+    {
+        // a new vertex has no edges, so it can't be reached yet, unless it is the source added back
+        if ( source.equals( v ) )
+        {
+            initialize();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void vertexRemoved( V v )
+    {
+        if ( source.equals( v ) )
+        {
+            distances.clear();
+            predecessors.clear();
+            children.clear();
+        }
+        else if ( distances.containsKey( v ) )
+        {
+            repair( v );
+        }
+    }
+
+    private void initialize()
+    {
+        distances.put( source, weightOperations.identity() );
+
+        Queue<Entry<V, W>> queue = newQueue();
+        queue.add( new Entry<V, W>( source, weightOperations.identity() ) );
+        propagate( queue );
+    }
+
+    private void improve( V head, V tail )
+    {
+        Queue<Entry<V, W>> queue = newQueue();
+        if ( relax( head, tail ) )
+        {
+            queue.add( new Entry<V, W>( tail, distances.get( tail ) ) );
+        }
+        if ( graph instanceof UndirectedGraph && relax( tail, head ) )
+        {
+            queue.add( new Entry<V, W>( head, distances.get( head ) ) );
+        }
+        propagate( queue );
+    }
+
+    private void detachTreeEdge( V head, V tail )
+    {
+        if ( head.equals( predecessors.get( tail ) ) )
+        {
+            repair( tail );
+        }
+        else if ( graph instanceof UndirectedGraph && tail.equals( predecessors.get( head ) ) )
+        {
+            repair( head );
+        }
+    }
+
+    /**
+     * Recomputes the distances of the subtree rooted in the input vertex, which lost its tree edge.
+     */
+    private void repair( V root )
+    {
+        // collect and reset the affected subtree
+        List<V> affected = new ArrayList<V>();
+        affected.add( root );
+        for ( int i = 0; i < affected.size(); i++ )
+        {
+            Set<V> subtree = children.remove( affected.get( i ) );
+            if ( subtree != null )
+            {
+                affected.addAll( subtree );
+            }
+        }
+
+        for ( V vertex : affected )
+        {
+            distances.remove( vertex );
+            setPredecessor( vertex, null );
+        }
+
+        // seed the affected vertices with their best inbound edge from the unaffected tree
+        Queue<Entry<V, W>> queue = newQueue();
+        for ( V vertex : affected )
+        {
+            if ( !graph.containsVertex( vertex ) )
+            {
+                continue;
+            }
+
+            Iterable<V> inbound = ( graph instanceof DirectedGraph ) ? ( (DirectedGraph<V, WE>) graph ).getInbound( vertex )
+                                                                     : graph.getConnectedVertices( vertex );
+            for ( V predecessor : inbound )
+            {
+                if ( graph.containsVertex( predecessor ) )
+                {
+                    relax( predecessor, vertex );
+                }
+            }
+
+            W distance = distances.get( vertex );
+            if ( distance != null )
+            {
+                queue.add( new Entry<V, W>( vertex, distance ) );
+            }
+        }
+
+        propagate( queue );
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the queued vertices, following only the edges that shorten a distance.
+     */
+    private void propagate( Queue<Entry<V, W>> queue )
+    {
+        while ( !queue.isEmpty() )
+        {
+            Entry<V, W> entry = queue.remove();
+
+            W distance = distances.get( entry.vertex );
+            if ( distance == null || weightOperations.compare( entry.distance, distance ) > 0 )
+            {
+                // outdated entry
+                continue;
+            }
+
+            for ( V tail : graph.getConnectedVertices( entry.vertex ) )
+            {
+                if ( relax( entry.vertex, tail ) )
+                {
+                    queue.add( new Entry<V, W>( tail, distances.get( tail ) ) );
+                }
+            }
+        }
+    }
+
+    /**
+     * Lowers the distance of the tail, if the edge from the head makes it shorter.
+     *
+     * @return true if the distance of the tail has been lowered, false otherwise
+     */
+    private boolean relax( V head, V tail )
+    {
+        W headDistance = distances.get( head );
+        // removed vertices may still be listed among the neighbours of the remaining ones
+        if ( headDistance == null || !graph.containsVertex( tail ) )
+        {
+            return false;
+        }
+
+        WE edge = graph.getEdge( head, tail );
+        if ( edge == null )
+        {
+            return false;
+        }
+
+        W distance = weightOperations.append( headDistance, weightedEdges.map( edge ) );
+        W tailDistance = distances.get( tail );
+        if ( tailDistance != null && weightOperations.compare( distance, tailDistance ) >= 0 )
+        {
+            return false;
+        }
+
+        distances.put( tail, distance );
+        setPredecessor( tail, head );
+        return true;
+    }
+
+    private void setPredecessor( V vertex, /* @Nullable */V predecessor )
+    {
+        V previous = ( predecessor == null ) ? predecessors.remove( vertex ) : predecessors.put( vertex, predecessor );
+        if ( previous != null )
+        {
+            Set<V> siblings = children.get( previous );
+            if ( siblings != null )
+            {
+                siblings.remove( vertex );
+            }
+        }
+
+        if ( predecessor != null )
+        {
+            Set<V> siblings = children.get( predecessor );
+            if ( siblings == null )
+            {
+                siblings = new HashSet<V>();
+                children.put( predecessor, siblings );
+            }
+            siblings.add( vertex );
+        }
+    }
+
+    private Queue<Entry<V, W>> newQueue()
+    {
+        return queueFactory.newQueue( entriesComparator );
+    }
+
+    /**
+     * A queued vertex, with the distance it has been queued with.
+     */
+    private static final class Entry<V, W>
+    {
+
+        private final V vertex;
+
+        private final W distance;
+
+        public Entry( V vertex, W distance )
+        {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+
+    }
+
+}
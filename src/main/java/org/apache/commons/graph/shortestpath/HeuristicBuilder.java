@@ -38,4 +38,15 @@ public interface HeuristicBuilder<V, WE, W>
      */
     <H extends Heuristic<V, W>> WeightedPath<V, WE, W> withHeuristic( H heuristic );
 
+    /**
+     * Searches from both the source and the target, using the consistent average potential function
+     * {@code (h(v, target) - h(source, v)) / 2} to keep the two frontiers balanced.
+     *
+     * The heuristic must be able to estimate the distance between any pair of vertices,
+     * and must be consistent: {@code h(u, x) <= weight(u, v) + h(v, x)} and {@code h(x, v) <= h(x, u) + weight(u, v)}.
+     *
+     * @return The heuristic builder for the bidirectional A* search
+     */
+    HeuristicBuilder<V, WE, W> bidirectional();
+
 }
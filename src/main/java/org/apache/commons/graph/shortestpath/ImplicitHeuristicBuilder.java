@@ -0,0 +1,43 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.graph.WeightedPath;
+
+/**
+ * Selects the heuristic of the A* search on an {@link org.apache.commons.graph.ImplicitGraph}.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public interface ImplicitHeuristicBuilder<V, WE, W>
+{
+
+    /**
+     * Calculates the shortest path, guided by the input heuristic.
+     *
+     * @param <H> The heuristic type
+     * @param heuristic The estimate of the distance from any vertex to the target
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    <H extends Heuristic<V, W>> WeightedPath<V, WE, W> withHeuristic( H heuristic );
+
+}
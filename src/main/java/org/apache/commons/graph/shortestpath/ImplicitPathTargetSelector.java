@@ -0,0 +1,40 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Selects the target of the shortest path searches on an {@link org.apache.commons.graph.ImplicitGraph}.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public interface ImplicitPathTargetSelector<V, WE, W>
+{
+
+    /**
+     * Specifies the shortest path target.
+     *
+     * @param target The vertex the search looks for
+     * @return The shortest path algorithm selector
+     */
+    <T extends V> ImplicitShortestPathAlgorithmSelector<V, WE, W> to( T target );
+
+}
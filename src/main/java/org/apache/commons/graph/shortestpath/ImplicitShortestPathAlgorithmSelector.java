@@ -0,0 +1,96 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * Applies the shortest path algorithms that only follow the successors of the expanded vertices,
+ * the only ones an {@link org.apache.commons.graph.ImplicitGraph} supports.
+ *
+ * The expanded vertices are tracked in {@link org.apache.commons.graph.collections.CompactHashSet}s.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public interface ImplicitShortestPathAlgorithmSelector<V, WE, W>
+{
+
+    /**
+     *  Bounds the searches to the input number of expanded vertices: a search expanding more vertices
+     *  fails with a {@link org.apache.commons.graph.GraphException}; searches are unbounded by default.
+     *
+     * @param maximumExpansions The maximum number of vertices expanded by a search
+     * @return The algorithm selector, bounded to the input number of expansions
+     */
+    ImplicitShortestPathAlgorithmSelector<V, WE, W> maxExpansions( int maximumExpansions );
+
+    /**
+     *  Selects the priority queue used by the algorithms comparing generic weights;
+     *  {@link org.apache.commons.graph.collections.AddressableQueues#fibonacciHeaps()} are used by default.
+     *
+     * @param queueFactory The factory of the priority queues used by the algorithms
+     * @return The algorithm selector, using the queues created by the input factory
+     */
+    ImplicitShortestPathAlgorithmSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory );
+
+    /**
+     *  Calculates the shortest path using the A* algorithm.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The class responsible for operations on weights
+     * @return The heuristic builder for the A* search
+     */
+    <WO extends OrderedMonoid<W>> ImplicitHeuristicBuilder<V, WE, W> applyingAStar( WO weightOperations );
+
+    /**
+     *  Calculates the shortest path using Dijkstra's algorithm.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The class responsible for operations on weights
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingDijkstra( WO weightOperations );
+
+    /**
+     *  Calculates the shortest path using Dijkstra's algorithm, backed by a monotone integer queue,
+     *  as {@link ShortestPathAlgorithmSelector#applyingIntegerDijkstra(OrderedMonoid)} does.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The class responsible for operations on weights
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations );
+
+    /**
+     *  Same as {@link #applyingIntegerDijkstra(OrderedMonoid)}, for edge weights known not to exceed {@code maximumWeight},
+     *  as {@link ShortestPathAlgorithmSelector#applyingIntegerDijkstra(OrderedMonoid, long)} does.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The class responsible for operations on weights
+     * @param maximumWeight The maximum edge weight; a heavier edge met while searching fails with an {@link IllegalArgumentException}
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations, long maximumWeight );
+
+}
@@ -0,0 +1,321 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+import static java.util.Arrays.fill;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
+import org.apache.commons.graph.collections.DaryHeap;
+import org.apache.commons.graph.collections.primitive.IntEpochSet;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * Computes many-to-many shortest distances running one Dijkstra search per source, in parallel.
+ *
+ * The graph is copied once in compressed adjacency arrays, shared read-only by all the searches.
+ * Sources are split in ranges, one per task: every task owns a workspace - distances, a 4-ary heap and the
+ * {@link IntEpochSet} of reached vertices - which is reused by all the searches of its range, and dropped with it.
+ * A search stops as soon as all the targets have been settled.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+final class ManyToManyDijkstra<V, WE, W>
+{
+
+    /**
+     * The number of source ranges per pool thread, so that threads done early can steal some work.
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    private final OrderedMonoid<W> weightOperations;
+
+    private final Map<V, Integer> indexes = new HashMap<V, Integer>();
+
+    private final DistanceMatrix<V, W> matrix;
+
+    /**
+     * The vertex index of each matrix row source.
+     */
+    private final int[] sources;
+
+    /**
+     * The matrix column of each vertex, -1 if the vertex is not a target.
+     */
+    private final int[] columns;
+
+    /**
+     * The outbound edges of vertex {@code i} are stored between {@code offsets[i]} and {@code offsets[i + 1]}.
+     */
+    private final int[] offsets;
+
+    private final int[] tails;
+
+    private final Object[] weights;
+
+    /**
+     * @param graph The input graph
+     * @param weightedEdges The edge weights mapper
+     * @param weightOperations The weight operations
+     * @param sources The distinct sources
+     * @param targets The distinct targets
+     */
+    public ManyToManyDijkstra( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, OrderedMonoid<W> weightOperations,
+                               List<V> sources, List<V> targets )
+    {
+        this.weightOperations = weightOperations;
+
+        for ( V vertex : graph.getVertices() )
+        {
+            indexes.put( vertex, indexes.size() );
+        }
+
+        offsets = new int[indexes.size() + 1];
+        int size = 0;
+        for ( V vertex : graph.getVertices() )
+        {
+            for ( @SuppressWarnings( "unused" ) V tail : graph.getConnectedVertices( vertex ) )
+            {
+                size++;
+            }
+        }
+
+        tails = new int[size];
+        weights = new Object[size];
+
+        int edge = 0;
+        for ( V vertex : graph.getVertices() )
+        {
+            int head = indexes.get( vertex );
+            offsets[head] = edge;
+            for ( V tail : graph.getConnectedVertices( vertex ) )
+            {
+                tails[edge] = indexes.get( tail );
+                weights[edge++] = weightedEdges.map( graph.getEdge( vertex, tail ) );
+            }
+        }
+        offsets[indexes.size()] = edge;
+
+        matrix = new DistanceMatrix<V, W>( sources, targets );
+
+        this.sources = new int[sources.size()];
+        for ( int i = 0; i < this.sources.length; i++ )
+        {
+            this.sources[i] = indexes.get( sources.get( i ) );
+        }
+
+        columns = new int[indexes.size()];
+        fill( columns, -1 );
+        for ( int i = 0; i < targets.size(); i++ )
+        {
+            columns[indexes.get( targets.get( i ) )] = i;
+        }
+    }
+
+    /**
+     * Computes the shortest distances from every source to every target.
+     *
+     * @param pool The pool running the searches
+     * @return The distance matrix
+     */
+    public DistanceMatrix<V, W> computeDistanceMatrix( ForkJoinPool pool )
+    {
+        if ( sources.length > 0 && !matrix.getTargets().isEmpty() )
+        {
+            int grain = Math.max( 1, sources.length / ( pool.getParallelism() * RANGES_PER_THREAD ) );
+            pool.invoke( new SearchTask( 0, sources.length, grain ) );
+        }
+        return matrix;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> T cast( Object value )
+    {
+        return (T) value;
+    }
+
+    /**
+     * Splits a range of matrix rows until it is small enough to be searched by a single workspace.
+     */
+    private final class SearchTask
+        extends RecursiveAction
+    {
+
+        private static final long serialVersionUID = -5315787916245385217L;
+
+        private final int from;
+
+        private final int to;
+
+        private final int grain;
+
+        public SearchTask( int from, int to, int grain )
+        {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( to - from <= grain )
+            {
+                Workspace<V, W> workspace =
+                    new Workspace<V, W>( weightOperations, matrix, columns, offsets, tails, weights );
+                for ( int row = from; row < to; row++ )
+                {
+                    workspace.run( row, sources[row] );
+                }
+            }
+            else
+            {
+                int middle = ( from + to ) >>> 1;
+                invokeAll( new SearchTask( from, middle, grain ), new SearchTask( middle, to, grain ) );
+            }
+        }
+
+    }
+
+    /**
+     * The state of the Dijkstra searches run by a task, over the shared compressed graph.
+     */
+    private static final class Workspace<V, W>
+    {
+
+        private final OrderedMonoid<W> weightOperations;
+
+        private final DistanceMatrix<V, W> matrix;
+
+        private final int[] columns;
+
+        private final int[] offsets;
+
+        private final int[] tails;
+
+        private final Object[] weights;
+
+        private final Object[] distances;
+
+        private final IntEpochSet reached;
+
+        private final AddressableQueue<Integer> unsettled;
+
+        /**
+         * The handle of each reached vertex, valid for the current search only.
+         */
+        private final Handle<Integer>[] handles;
+
+        public Workspace( OrderedMonoid<W> weightOperations, DistanceMatrix<V, W> matrix, int[] columns,
+                          int[] offsets, int[] tails, Object[] weights )
+        {
+            this.weightOperations = weightOperations;
+            this.matrix = matrix;
+            this.columns = columns;
+            this.offsets = offsets;
+            this.tails = tails;
+            this.weights = weights;
+
+            int order = columns.length;
+            distances = new Object[order];
+            reached = new IntEpochSet( order );
+            unsettled = new DaryHeap<Integer>( 4, new Comparator<Integer>()
+            {
+
+                public int compare( Integer left, Integer right )
+                {
+                    return Workspace.this.weightOperations.compare( Workspace.this.<W>distance( left ),
+                                                                    Workspace.this.<W>distance( right ) );
+                }
+
+            } );
+            handles = newHandles( order );
+        }
+
+        @SuppressWarnings( "unchecked" ) // generic array creation
+        private static Handle<Integer>[] newHandles( int order )
+        {
+            return (Handle<Integer>[]) new Handle<?>[order];
+        }
+
+        private <T> T distance( int vertex )
+        {
+            return cast( distances[vertex] );
+        }
+
+        /**
+         * Runs the search from the source of the input matrix row, filling the row.
+         *
+         * @param row The matrix row
+         * @param source The row source
+         */
+        public void run( int row, int source )
+        {
+            reached.clear();
+            unsettled.clear();
+
+            int unsettledTargets = matrix.getTargets().size();
+
+            distances[source] = weightOperations.identity();
+            reached.add( source );
+            handles[source] = unsettled.insert( source );
+
+            while ( !unsettled.isEmpty() && unsettledTargets > 0 )
+            {
+                int vertex = unsettled.remove();
+                W distance = distance( vertex );
+
+                if ( columns[vertex] >= 0 )
+                {
+                    matrix.setDistance( row, columns[vertex], distance );
+                    unsettledTargets--;
+                }
+
+                for ( int i = offsets[vertex]; i < offsets[vertex + 1]; i++ )
+                {
+                    int tail = tails[i];
+                    W tentative = weightOperations.append( distance, cast( weights[i] ) );
+                    if ( reached.add( tail ) )
+                    {
+                        distances[tail] = tentative;
+                        handles[tail] = unsettled.insert( tail );
+                    }
+                    else if ( handles[tail].isQueued() && weightOperations.compare( tentative, this.<W>distance( tail ) ) < 0 )
+                    {
+                        distances[tail] = tentative;
+                        unsettled.decreaseKey( handles[tail] );
+                    }
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,289 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.UndirectedGraph;
+import org.apache.commons.graph.VertexPair;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * Bellman-Ford's algorithm, relaxing the graph edges in parallel.
+ *
+ * Edges are copied once in arrays of vertex indexes and mapped weights, then every round partitions them
+ * across the tasks of a {@link ForkJoinPool}. Distances are kept in an array of immutable labels,
+ * updated by compare-and-set only when the new distance is lower, so concurrent relaxations of the same vertex
+ * never lose the minimum nor mismatch distances and predecessors.
+ *
+ * Without negative-weighted cycles, {@code order - 1} rounds are enough for distances to converge,
+ * so a round that still lowers some distance after them proves a negative-weighted cycle.
+ *
+ * The weight operations are invoked concurrently, so they have to be thread safe.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+final class ParallelBellmannFord<V, WE, W>
+{
+
+    /**
+     * The minimum number of edges relaxed by a single task.
+     */
+    private static final int MINIMUM_PARTITION_SIZE = 1024;
+
+    private final Graph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final OrderedMonoid<W> weightOperations;
+
+    private final ForkJoinPool pool;
+
+    private final Object[] vertices;
+
+    private final int[] heads;
+
+    private final int[] tails;
+
+    private final Object[] weights;
+
+    private final AtomicReferenceArray<Label<W>> labels;
+
+    private final int partitionSize;
+
+    public ParallelBellmannFord( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, OrderedMonoid<W> weightOperations,
+                                 ForkJoinPool pool )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+        this.weightOperations = weightOperations;
+        this.pool = pool;
+
+        vertices = new Object[graph.getOrder()];
+        Map<V, Integer> indexes = new HashMap<V, Integer>();
+        for ( V vertex : graph.getVertices() )
+        {
+            vertices[indexes.size()] = vertex;
+            indexes.put( vertex, indexes.size() );
+        }
+
+        // undirected edges can be relaxed both ways
+        int directions = ( graph instanceof UndirectedGraph ) ? 2 : 1;
+        heads = new int[graph.getSize() * directions];
+        tails = new int[heads.length];
+        weights = new Object[heads.length];
+
+        int i = 0;
+        for ( WE edge : graph.getEdges() )
+        {
+            VertexPair<V> vertexPair = graph.getVertices( edge );
+            int head = indexes.get( vertexPair.getHead() );
+            int tail = indexes.get( vertexPair.getTail() );
+            W weight = weightedEdges.map( edge );
+
+            heads[i] = head;
+            tails[i] = tail;
+            weights[i++] = weight;
+
+            if ( directions == 2 )
+            {
+                heads[i] = tail;
+                tails[i] = head;
+                weights[i++] = weight;
+            }
+        }
+
+        labels = new AtomicReferenceArray<Label<W>>( vertices.length );
+        partitionSize = Math.max( MINIMUM_PARTITION_SIZE, heads.length / ( 4 * pool.getParallelism() ) + 1 );
+    }
+
+    /**
+     * Computes the shortest paths from the source to all the reachable vertices.
+     *
+     * @param source The shortest paths source
+     * @return The shortest paths from the source
+     */
+    public AllVertexPairsShortestPath<V, WE, W> findShortestPaths( V source )
+    {
+        for ( int i = 0; i < vertices.length; i++ )
+        {
+            if ( source.equals( vertices[i] ) )
+            {
+                labels.set( i, new Label<W>( weightOperations.identity(), -1 ) );
+            }
+        }
+
+        int lastRelaxed = -1;
+        for ( int round = 0; round < vertices.length; round++ )
+        {
+            lastRelaxed = pool.invoke( new RelaxationTask( 0, heads.length ) );
+            if ( lastRelaxed < 0 )
+            {
+                break;
+            }
+        }
+
+        final PredecessorsList<V, WE, W> predecessors = new PredecessorsList<V, WE, W>( graph, weightOperations, weightedEdges );
+        for ( int i = 0; i < vertices.length; i++ )
+        {
+            Label<W> label = labels.get( i );
+            if ( label != null && label.predecessor >= 0 )
+            {
+                predecessors.addPredecessor( vertex( i ), vertex( label.predecessor ) );
+            }
+        }
+
+        if ( lastRelaxed >= 0 )
+        {
+            V vertex = vertex( lastRelaxed );
+            WeightedPath<V, WE, W> cycle = predecessors.findCycle( vertex );
+            if ( cycle == null )
+            {
+                throw new NegativeWeightedCycleException( "Graph contains a negative-weight cycle in vertex %s", vertex, graph );
+            }
+            throw new NegativeWeightedCycleException( cycle, "Graph contains the negative-weight cycle %s", cycle );
+        }
+
+        AllVertexPairsShortestPath<V, WE, W> allVertexPairsShortestPath = new AllVertexPairsShortestPath<V, WE, W>( weightOperations );
+        for ( int i = 0; i < vertices.length; i++ )
+        {
+            if ( labels.get( i ) != null && !source.equals( vertices[i] ) )
+            {
+                V target = vertex( i );
+                allVertexPairsShortestPath.addShortestPath( source, target, predecessors.buildPath( source, target ) );
+            }
+        }
+        return allVertexPairsShortestPath;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private V vertex( int index )
+    {
+        return (V) vertices[index];
+    }
+
+    /**
+     * Lowers the label of the input vertex, unless a concurrent relaxation already lowered it enough.
+     *
+     * @return true if the label has been lowered, false otherwise
+     */
+    private boolean relax( int vertex, W distance, int predecessor )
+    {
+        Label<W> candidate = null;
+        for ( ;; )
+        {
+            Label<W> current = labels.get( vertex );
+            if ( current != null && weightOperations.compare( distance, current.distance ) >= 0 )
+            {
+                return false;
+            }
+
+            if ( candidate == null )
+            {
+                candidate = new Label<W>( distance, predecessor );
+            }
+
+            if ( labels.compareAndSet( vertex, current, candidate ) )
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Relaxes a range of edges, splitting it when too large.
+     * Returns the index of the last vertex whose distance has been lowered, -1 if none.
+     */
+    private final class RelaxationTask
+        extends RecursiveTask<Integer>
+    {
+
+        private static final long serialVersionUID = -2417426366911470312L;
+
+        private final int from;
+
+        private final int to;
+
+        public RelaxationTask( int from, int to )
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute()
+        {
+            if ( to - from > partitionSize )
+            {
+                int middle = ( from + to ) >>> 1;
+                RelaxationTask left = new RelaxationTask( from, middle );
+                left.fork();
+                int right = new RelaxationTask( middle, to ).compute();
+                int relaxed = left.join();
+                return right >= 0 ? right : relaxed;
+            }
+
+            int relaxed = -1;
+            for ( int i = from; i < to; i++ )
+            {
+                Label<W> head = labels.get( heads[i] );
+                if ( head != null )
+                {
+                    @SuppressWarnings( "unchecked" )
+                    W weight = (W) weights[i];
+                    if ( relax( tails[i], weightOperations.append( head.distance, weight ), heads[i] ) )
+                    {
+                        relaxed = tails[i];
+                    }
+                }
+            }
+            return relaxed;
+        }
+
+    }
+
+    /**
+     * The distance of a vertex, together with the predecessor it has been reached from.
+     */
+    private static final class Label<W>
+    {
+
+        private final W distance;
+
+        private final int predecessor;
+
+        public Label( W distance, int predecessor )
+        {
+            this.distance = distance;
+            this.predecessor = predecessor;
+        }
+
+    }
+
+}
@@ -39,6 +39,41 @@ public interface PathSourceSelector<V, WE, W>
      */
     <WO extends OrderedMonoid<W>> AllVertexPairsShortestPath<V, WE, W> applyingFloydWarshall( WO weightOperations );
 
+    /**
+     * Builds an exact distance index for all vertex pairs using the Pruned Landmark Labeling algorithm.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The weight operations needed for the algorithm
+     * @return A 2-hop labeling index which answers shortest distance queries without searching the graph.
+     */
+    <WO extends OrderedMonoid<W>> PrunedLandmarkLabeling<V, WE, W> applyingPrunedLandmarkLabeling( WO weightOperations );
+
+    /**
+     * Builds an approximate distance oracle for all vertex pairs from randomly sampled distance sketches.
+     *
+     * @param <WO> the type of weight operations
+     * @param repetitions The number of seed sets sampled for each sketch level, more repetitions give better estimates
+     * @param weightOperations The weight operations needed for the algorithm
+     * @return A sketch based oracle which estimates distances, never shorter than the exact ones, in sub-linear time.
+     */
+    <WO extends OrderedMonoid<W>> DistanceSketches<V, WE, W> applyingDistanceSketches( int repetitions, WO weightOperations );
+
+    /**
+     * Makes the point-to-point shortest path queries look up and store their results in the input cache.
+     *
+     * @param cache The cache shared across shortest path queries
+     * @return The shortest path source selector, backed by the input cache
+     */
+    PathSourceSelector<V, WE, W> usingCache( ShortestPathCache cache );
+
+    /**
+     * Specifies the sources of a many-to-many shortest distances query; duplicated sources are searched once.
+     *
+     * @param sources The shortest distances sources
+     * @return The targets selector for the distance matrix
+     */
+    DistanceMatrixTargetSelector<V, WE, W> fromAll( Iterable<? extends V> sources );
+
     /**
      * Specifies the shortest path source.
      *
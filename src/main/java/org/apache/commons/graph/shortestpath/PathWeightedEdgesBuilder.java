@@ -28,4 +28,11 @@ public interface PathWeightedEdgesBuilder<V, WE>
     // TODO find a better sentence
     <W, M extends Mapper<WE, W>> PathSourceSelector<V, WE, W> whereEdgesHaveWeights( M weightedEdges );
 
+    /**
+     * Ignores the edge weights, looking for the paths with the fewest edges.
+     *
+     * @return The unweighted shortest path source selector
+     */
+    UnweightedPathSourceSelector<V, WE> unweighted();
+
 }
@@ -19,12 +19,19 @@ package org.apache.commons.graph.shortestpath;
  * under the License.
  */
 
+import static java.util.Collections.reverse;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.Mapper;
 import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.ArrayWeightedPath;
 import org.apache.commons.graph.model.InMemoryWeightedPath;
 import org.apache.commons.graph.weight.Monoid;
 
@@ -74,24 +81,14 @@ public final class PredecessorsList<V, WE, W>
      */
     public WeightedPath<V, WE, W> buildPath( V source, V target )
     {
-        InMemoryWeightedPath<V, WE, W> path = new InMemoryWeightedPath<V, WE, W>( source, target, weightOperations, weightedEdges );
+        List<V> vertices = new ArrayList<V>();
+        List<WE> edges = new ArrayList<WE>();
 
-        V vertex = target;
-        while ( !source.equals( vertex ) )
-        {
-            V predecessor = predecessors.get( vertex );
-            if ( predecessor == null )
-            {
-                throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist", source, target );
-            }
-            WE edge = graph.getEdge( predecessor, vertex );
+        walkBackwards( source, target, target, vertices, edges );
+        reverse( vertices );
+        reverse( edges );
 
-            path.addConnectionInHead( predecessor, edge, vertex );
-
-            vertex = predecessor;
-        }
-
-        return path;
+        return newPath( source, target, vertices, edges );
     }
 
     /**
@@ -104,39 +101,114 @@ public final class PredecessorsList<V, WE, W>
      * @return The weighted path related to source to target
      */
     public WeightedPath<V, WE, W> buildPath( V source, V touch, V target, PredecessorsList<V, WE, W> backwardsList ) {
-        InMemoryWeightedPath<V, WE, W> path = new InMemoryWeightedPath<V, WE, W>( source, target, weightOperations, weightedEdges );
+        List<V> vertices = new ArrayList<V>();
+        List<WE> edges = new ArrayList<WE>();
+
+        walkBackwards( source, touch, target, vertices, edges );
+        reverse( vertices );
+        reverse( edges );
 
         V vertex = touch;
-        while ( !source.equals( vertex ) )
+
+        while ( !target.equals( vertex ) )
         {
-            V predecessor = predecessors.get( vertex );
+            // 'predecessor' is actually a successor.
+            V predecessor = backwardsList.predecessors.get( vertex );
             if ( predecessor == null )
             {
                 throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist", source, target );
             }
-            WE edge = graph.getEdge( predecessor, vertex );
+            WE edge = graph.getEdge( vertex, predecessor );
 
-            path.addConnectionInHead(predecessor, edge, vertex);
+            if ( vertices.isEmpty() )
+            {
+                vertices.add( vertex );
+            }
+            vertices.add( predecessor );
+            edges.add( edge );
 
             vertex = predecessor;
         }
 
-        vertex = touch;
+        return newPath( source, target, vertices, edges );
+    }
 
-        while ( !target.equals( vertex ) )
+    /**
+     * Walks the predecessors from the input vertex back to the source, collecting vertices and edges
+     * in reverse order.
+     *
+     * @param source The path source vertex
+     * @param from The vertex the walk starts from
+     * @param target The path target vertex, used to report a missing path
+     * @param vertices The list where vertices are collected, in reverse order
+     * @param edges The list where edges are collected, in reverse order
+     */
+    private void walkBackwards( V source, V from, V target, List<V> vertices, List<WE> edges )
+    {
+        V vertex = from;
+        while ( !source.equals( vertex ) )
         {
-            // 'predecessor' is actually a successor.
-            V predecessor = backwardsList.predecessors.get( vertex );
+            V predecessor = predecessors.get( vertex );
             if ( predecessor == null )
             {
                 throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist", source, target );
             }
-            WE edge = graph.getEdge( vertex, predecessor );
 
-            path.addConnectionInTail( vertex, edge, predecessor );
+            if ( vertices.isEmpty() )
+            {
+                vertices.add( vertex );
+            }
+            vertices.add( predecessor );
+            edges.add( graph.getEdge( predecessor, vertex ) );
 
             vertex = predecessor;
         }
+    }
+
+    private WeightedPath<V, WE, W> newPath( V source, V target, List<V> vertices, List<WE> edges )
+    {
+        return new ArrayWeightedPath<V, WE, W>( source, target, vertices, edges, weightOperations, weightedEdges );
+    }
+
+    /**
+     * Walks the predecessors backwards from the input vertex, looking for a cycle.
+     *
+     * @param vertex The vertex the walk starts from
+     * @return The cycle met walking backwards from the input vertex, null if the walk ends without meeting any
+     */
+    public WeightedPath<V, WE, W> findCycle( V vertex )
+    {
+        Set<V> walked = new HashSet<V>();
+        V cycleVertex = vertex;
+        while ( cycleVertex != null && walked.add( cycleVertex ) )
+        {
+            cycleVertex = predecessors.get( cycleVertex );
+        }
+
+        if ( cycleVertex == null )
+        {
+            return null;
+        }
+
+        // cycle vertices, in reverse order
+        List<V> cycle = new ArrayList<V>();
+        V predecessor = predecessors.get( cycleVertex );
+        while ( !cycleVertex.equals( predecessor ) )
+        {
+            cycle.add( predecessor );
+            predecessor = predecessors.get( predecessor );
+        }
+        cycle.add( cycleVertex );
+
+        InMemoryWeightedPath<V, WE, W> path =
+            new InMemoryWeightedPath<V, WE, W>( cycleVertex, cycleVertex, weightOperations, weightedEdges );
+
+        V tail = cycleVertex;
+        for ( V head : cycle )
+        {
+            path.addConnectionInHead( head, graph.getEdge( head, tail ), tail );
+            tail = head;
+        }
 
         return path;
     }
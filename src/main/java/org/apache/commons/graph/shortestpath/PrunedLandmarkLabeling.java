@@ -0,0 +1,537 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.copyOf;
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * A 2-hop labeling index that answers exact shortest distance queries without searching the graph,
+ * built using the <i>Pruned Landmark Labeling</i> algorithm by Akiba, Iwata and Yoshida.
+ *
+ * Vertices are ranked by decreasing degree and a pruned Dijkstra search is run from each of them in rank order:
+ * a search stops expanding a vertex as soon as the labels computed so far already cover its distance.
+ * Every vertex keeps its labels as a pair of arrays - hub ranks, sorted ascending, and hub distances -
+ * so that {@code distance(u, v)} is computed by merging the outgoing labels of {@code u}
+ * with the incoming labels of {@code v}.
+ *
+ * <b>NOTE</b>: the index is a snapshot of the input graph, it won't reflect later graph modifications;
+ * edge weights must not be negative.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+public final class PrunedLandmarkLabeling<V, WE, W>
+{
+
+    private static final int INITIAL_LABEL_CAPACITY = 4;
+
+    private final Map<V, Integer> ranks;
+
+    private final OrderedMonoid<W> weightOperations;
+
+    private final int[][] outHubs;
+
+    private final Object[][] outDistances;
+
+    private final int[][] inHubs;
+
+    private final Object[][] inDistances;
+
+    /**
+     * Constructor visible only inside the package
+     */
+    PrunedLandmarkLabeling( final Graph<V, WE> graph, Mapper<WE, W> weightedEdges, OrderedMonoid<W> weightOperations )
+    {
+        this.weightOperations = weightOperations;
+
+        final List<V> vertices = new ArrayList<V>( graph.getOrder() );
+        for ( V vertex : graph.getVertices() )
+        {
+            vertices.add( vertex );
+        }
+
+        // high degree vertices first, they are most likely to cover many shortest paths
+        Collections.sort( vertices, new Comparator<V>()
+        {
+
+            public int compare( V left, V right )
+            {
+                int leftDegree = graph.getDegree( left );
+                int rightDegree = graph.getDegree( right );
+                return ( leftDegree < rightDegree ) ? 1 : ( ( leftDegree == rightDegree ) ? 0 : -1 );
+            }
+
+        } );
+
+        final int order = vertices.size();
+        ranks = new HashMap<V, Integer>( order * 2 );
+        for ( int i = 0; i < order; i++ )
+        {
+            ranks.put( vertices.get( i ), i );
+        }
+
+        final boolean directed = graph instanceof DirectedGraph;
+
+        final Adjacency forward = new Adjacency( order );
+        final Adjacency backward = directed ? new Adjacency( order ) : null;
+
+        for ( int i = 0; i < order; i++ )
+        {
+            V head = vertices.get( i );
+            for ( V tail : graph.getConnectedVertices( head ) )
+            {
+                forward.add( i, ranks.get( tail ), weightedEdges.map( graph.getEdge( head, tail ) ) );
+            }
+            if ( directed )
+            {
+                for ( V tail : ( (DirectedGraph<V, WE>) graph ).getInbound( head ) )
+                {
+                    backward.add( i, ranks.get( tail ), weightedEdges.map( graph.getEdge( tail, head ) ) );
+                }
+            }
+        }
+
+        final Labels out = new Labels( order );
+        final Labels in = directed ? new Labels( order ) : out;
+        final PrunedSearch search = new PrunedSearch( order );
+
+        for ( int root = 0; root < order; root++ )
+        {
+            // forward search fills d(root, v) in the incoming labels, pruned against the outgoing root labels
+            search.run( root, forward, out, in );
+            if ( directed )
+            {
+                // backward search fills d(v, root) in the outgoing labels, pruned against the incoming root labels
+                search.run( root, backward, in, out );
+            }
+        }
+
+        out.trim();
+        outHubs = out.hubs;
+        outDistances = out.distances;
+
+        if ( directed )
+        {
+            in.trim();
+        }
+        inHubs = in.hubs;
+        inDistances = in.distances;
+    }
+
+    /**
+     * Returns the shortest distance between source and target.
+     *
+     * @param source The source Vertex
+     * @param target The target Vertex
+     * @return Returns the shortest distance between source and target.
+     */
+    public W getShortestDistance( V source, V target )
+    {
+        W distance = query( source, target );
+
+        if ( distance == null )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist", source, target );
+        }
+
+        return distance;
+    }
+
+    /**
+     * Checks if there is a shortest distance between source and target.
+     *
+     * @param source The source Vertex
+     * @param target The target Vertex
+     * @return Returns true if there is a shortest distance between source and target, false otherwise.
+     */
+    public boolean hasShortestDistance( V source, V target )
+    {
+        return query( source, target ) != null;
+    }
+
+    /**
+     * Returns the total number of label entries stored by the index, a measure of its memory footprint.
+     *
+     * @return The total number of label entries stored by the index
+     */
+    public long getLabelsSize()
+    {
+        long size = 0;
+        for ( int[] hubs : outHubs )
+        {
+            size += hubs.length;
+        }
+        if ( inHubs != outHubs )
+        {
+            for ( int[] hubs : inHubs )
+            {
+                size += hubs.length;
+            }
+        }
+        return size;
+    }
+
+    private W query( V source, V target )
+    {
+        source = checkNotNull( source, "Impossible to query a shortest distance from a null source" );
+        target = checkNotNull( target, "Impossible to query a shortest distance to a null target" );
+
+        int sourceRank = rankOf( source );
+        int targetRank = rankOf( target );
+
+        int[] sourceHubs = outHubs[sourceRank];
+        Object[] sourceDistances = outDistances[sourceRank];
+        int[] targetHubs = inHubs[targetRank];
+        Object[] targetDistances = inDistances[targetRank];
+
+        W best = null;
+        int i = 0;
+        int j = 0;
+        // labels are sorted by hub rank, so common hubs are found merging them
+        while ( i < sourceHubs.length && j < targetHubs.length )
+        {
+            if ( sourceHubs[i] < targetHubs[j] )
+            {
+                i++;
+            }
+            else if ( sourceHubs[i] > targetHubs[j] )
+            {
+                j++;
+            }
+            else
+            {
+                W distance = weightOperations.append( cast( sourceDistances[i++] ), cast( targetDistances[j++] ) );
+                if ( best == null || weightOperations.compare( distance, best ) < 0 )
+                {
+                    best = distance;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    private int rankOf( V vertex )
+    {
+        Integer rank = ranks.get( vertex );
+        if ( rank == null )
+        {
+            throw new GraphException( "Vertex %s does not exist in the indexed Graph", vertex );
+        }
+        return rank;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static <T> T cast( Object value )
+    {
+        return (T) value;
+    }
+
+    /**
+     * Compressed adjacency lists, indexed by vertex rank.
+     */
+    private final class Adjacency
+    {
+
+        private final int[][] targets;
+
+        private final Object[][] weights;
+
+        private final int[] degrees;
+
+        public Adjacency( int order )
+        {
+            targets = new int[order][];
+            weights = new Object[order][];
+            degrees = new int[order];
+        }
+
+        public void add( int head, int tail, W weight )
+        {
+            int degree = degrees[head];
+            if ( targets[head] == null )
+            {
+                targets[head] = new int[INITIAL_LABEL_CAPACITY];
+                weights[head] = new Object[INITIAL_LABEL_CAPACITY];
+            }
+            else if ( degree == targets[head].length )
+            {
+                targets[head] = copyOf( targets[head], degree << 1 );
+                weights[head] = copyOf( weights[head], degree << 1 );
+            }
+            targets[head][degree] = tail;
+            weights[head][degree] = weight;
+            degrees[head] = degree + 1;
+        }
+
+    }
+
+    /**
+     * Growable label lists, indexed by vertex rank.
+     */
+    private final class Labels
+    {
+
+        private final int[][] hubs;
+
+        private final Object[][] distances;
+
+        private final int[] sizes;
+
+        public Labels( int order )
+        {
+            hubs = new int[order][];
+            distances = new Object[order][];
+            sizes = new int[order];
+            for ( int i = 0; i < order; i++ )
+            {
+                hubs[i] = new int[INITIAL_LABEL_CAPACITY];
+                distances[i] = new Object[INITIAL_LABEL_CAPACITY];
+            }
+        }
+
+        public void add( int vertex, int hub, W distance )
+        {
+            int size = sizes[vertex];
+            if ( size == hubs[vertex].length )
+            {
+                hubs[vertex] = copyOf( hubs[vertex], size << 1 );
+                distances[vertex] = copyOf( distances[vertex], size << 1 );
+            }
+            hubs[vertex][size] = hub;
+            distances[vertex][size] = distance;
+            sizes[vertex] = size + 1;
+        }
+
+        public void trim()
+        {
+            for ( int i = 0; i < hubs.length; i++ )
+            {
+                hubs[i] = copyOf( hubs[i], sizes[i] );
+                distances[i] = copyOf( distances[i], sizes[i] );
+            }
+        }
+
+    }
+
+    /**
+     * A pruned Dijkstra search over an indexed binary heap; its arrays are reused across all the roots.
+     */
+    private final class PrunedSearch
+    {
+
+        private final Object[] rootLabel;
+
+        private final Object[] distances;
+
+        private final int[] heap;
+
+        private final int[] positions;
+
+        private final int[] touched;
+
+        private int heapSize;
+
+        private int touchedSize;
+
+        public PrunedSearch( int order )
+        {
+            rootLabel = new Object[order];
+            distances = new Object[order];
+            heap = new int[order];
+            positions = new int[order];
+            touched = new int[order];
+            for ( int i = 0; i < order; i++ )
+            {
+                positions[i] = -1;
+            }
+        }
+
+        /**
+         * Runs a search from the root, storing into the target labels every distance not covered yet.
+         *
+         * @param root The search root rank
+         * @param adjacency The adjacency lists to follow
+         * @param rootLabels The labels of the root used to prune the search
+         * @param targetLabels The labels where new entries are stored
+         */
+        public void run( int root, Adjacency adjacency, Labels rootLabels, Labels targetLabels )
+        {
+            for ( int i = 0; i < rootLabels.sizes[root]; i++ )
+            {
+                rootLabel[rootLabels.hubs[root][i]] = rootLabels.distances[root][i];
+            }
+
+            distances[root] = weightOperations.identity();
+            touched[touchedSize++] = root;
+            push( root );
+
+            while ( heapSize > 0 )
+            {
+                int vertex = pop();
+                W distance = cast( distances[vertex] );
+
+                if ( vertex != root && isCovered( vertex, distance, targetLabels ) )
+                {
+                    continue;
+                }
+
+                targetLabels.add( vertex, root, distance );
+
+                int[] targets = adjacency.targets[vertex];
+                Object[] weights = adjacency.weights[vertex];
+                for ( int i = 0; i < adjacency.degrees[vertex]; i++ )
+                {
+                    int tail = targets[i];
+                    // lower ranked vertices already know their distance to the root
+                    if ( tail > root )
+                    {
+                        W tentative = weightOperations.append( distance, cast( weights[i] ) );
+                        if ( distances[tail] == null )
+                        {
+                            distances[tail] = tentative;
+                            touched[touchedSize++] = tail;
+                            push( tail );
+                        }
+                        else if ( positions[tail] >= 0
+                                        && weightOperations.compare( tentative, cast( distances[tail] ) ) < 0 )
+                        {
+                            distances[tail] = tentative;
+                            siftUp( positions[tail] );
+                        }
+                    }
+                }
+            }
+
+            for ( int i = 0; i < touchedSize; i++ )
+            {
+                distances[touched[i]] = null;
+            }
+            touchedSize = 0;
+
+            for ( int i = 0; i < rootLabels.sizes[root]; i++ )
+            {
+                rootLabel[rootLabels.hubs[root][i]] = null;
+            }
+        }
+
+        private boolean isCovered( int vertex, W distance, Labels targetLabels )
+        {
+            int[] hubs = targetLabels.hubs[vertex];
+            Object[] hubDistances = targetLabels.distances[vertex];
+            for ( int i = 0; i < targetLabels.sizes[vertex]; i++ )
+            {
+                Object rootDistance = rootLabel[hubs[i]];
+                if ( rootDistance != null )
+                {
+                    W covered = weightOperations.append( cast( rootDistance ), cast( hubDistances[i] ) );
+                    if ( weightOperations.compare( covered, distance ) <= 0 )
+                    {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void push( int vertex )
+        {
+            heap[heapSize] = vertex;
+            positions[vertex] = heapSize;
+            siftUp( heapSize++ );
+        }
+
+        private int pop()
+        {
+            int top = heap[0];
+            positions[top] = -1;
+            if ( --heapSize > 0 )
+            {
+                heap[0] = heap[heapSize];
+                positions[heap[0]] = 0;
+                siftDown( 0 );
+            }
+            return top;
+        }
+
+        private void siftUp( int index )
+        {
+            int vertex = heap[index];
+            while ( index > 0 )
+            {
+                int parent = ( index - 1 ) >>> 1;
+                if ( compare( vertex, heap[parent] ) >= 0 )
+                {
+                    break;
+                }
+                heap[index] = heap[parent];
+                positions[heap[index]] = index;
+                index = parent;
+            }
+            heap[index] = vertex;
+            positions[vertex] = index;
+        }
+
+        private void siftDown( int index )
+        {
+            int vertex = heap[index];
+            int half = heapSize >>> 1;
+            while ( index < half )
+            {
+                int child = ( index << 1 ) + 1;
+                if ( child + 1 < heapSize && compare( heap[child + 1], heap[child] ) < 0 )
+                {
+                    child++;
+                }
+                if ( compare( vertex, heap[child] ) <= 0 )
+                {
+                    break;
+                }
+                heap[index] = heap[child];
+                positions[heap[index]] = index;
+                index = child;
+            }
+            heap[index] = vertex;
+            positions[vertex] = index;
+        }
+
+        private int compare( int left, int right )
+        {
+            return weightOperations.compare( cast( distances[left] ), cast( distances[right] ) );
+        }
+
+    }
+
+}
@@ -19,7 +19,10 @@ package org.apache.commons.graph.shortestpath;
  * under the License.
  */
 
+import java.util.List;
+
 import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
 import org.apache.commons.graph.weight.OrderedMonoid;
 
 /**
@@ -59,4 +62,58 @@ public interface ShortestPathAlgorithmSelector<V, WE, W>
      */
     <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingDijkstra( WO weightOperations );
 
+    /**
+     *  Calculates the shortest path using Dijkstra's algorithm, backed by a {@link org.apache.commons.graph.collections.RadixHeap}
+     *  when the weights are integers summed by
+     *  {@link org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations} or
+     *  {@link org.apache.commons.graph.weight.primitive.LongWeightBaseOperations}.
+     *  Any other weight type, or a negative edge weight met while searching, falls back to
+     *  {@link #applyingDijkstra(OrderedMonoid)}.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The class responsible for operations on weights
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations );
+
+    /**
+     *  Same as {@link #applyingIntegerDijkstra(OrderedMonoid)}, for edge weights known not to exceed {@code maximumWeight}:
+     *  a small bound selects a {@link org.apache.commons.graph.collections.BucketQueue}, as in Dial's algorithm.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The class responsible for operations on weights
+     * @param maximumWeight The maximum edge weight; a heavier edge met while searching fails with an {@link IllegalArgumentException}
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    <WO extends OrderedMonoid<W>> WeightedPath<V, WE, W> applyingIntegerDijkstra( WO weightOperations, long maximumWeight );
+
+    /**
+     *  Calculates the {@code k} shortest loopless paths using Yen's algorithm.
+     *
+     * @param <WO> the type of weight operations
+     * @param k The maximum number of paths to be calculated
+     * @param weightOperations The class responsible for operations on weights
+     * @return At most {@code k} paths, sorted by increasing weight, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    <WO extends OrderedMonoid<W>> List<WeightedPath<V, WE, W>> applyingYen( int k, WO weightOperations );
+
+    /**
+     *  Selects the priority queue used by the algorithms comparing generic weights;
+     *  {@link org.apache.commons.graph.collections.AddressableQueues#fibonacciHeaps()} are used by default.
+     *
+     * @param queueFactory The factory of the priority queues used by the algorithms
+     * @return The algorithm selector, using the queues created by the input factory
+     */
+    ShortestPathAlgorithmSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory );
+
+    /**
+     *  Lets {@link #applyingDijkstra(OrderedMonoid)} keep its state in the input workspace rather than allocating it;
+     *  the queue selected by {@link #usingQueue(AddressableQueueFactory)} is still used, and the other algorithms
+     *  are not affected.
+     *
+     * @param workspace The workspace reused across searches
+     * @return The algorithm selector, using the input workspace
+     */
+    ShortestPathAlgorithmSelector<V, WE, W> usingWorkspace( ShortestPathWorkspace<V> workspace );
+
 }
@@ -0,0 +1,446 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+import static org.apache.commons.graph.utils.Objects.eq;
+import static org.apache.commons.graph.utils.Objects.hash;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseMutableGraph;
+import org.apache.commons.graph.model.GraphListener;
+
+/**
+ * A bounded, least-recently-used cache of point-to-point shortest paths, shared across
+ * shortest path queries that opt in via {@link PathSourceSelector#usingCache(ShortestPathCache)}.
+ *
+ * Cached paths are keyed by graph instance, source, target, algorithm, edge weight mapper and weight operations
+ * (plus the heuristic, for A*), so mappers and weight operations should be reused across queries, or implement
+ * {@code equals}, in order to get cache hits.
+ *
+ * Paths computed on a {@link BaseMutableGraph} are dropped as soon as the graph is modified;
+ * paths computed on other kinds of {@link MutableGraph} are never cached, since their modifications can't be tracked.
+ * A graph is tracked only while it has cached paths, or paths being computed: once its last path is evicted
+ * or invalidated, the cache stops listening to it, so that neither keeps the other reachable.
+ *
+ * This class is thread safe.
+ */
+public final class ShortestPathCache
+{
+
+    private final int maximumSize;
+
+    private final Map<CacheKey, WeightedPath<?, ?, ?>> paths;
+
+    private final Map<BaseMutableGraph<?, ?>, InvalidatingListener<?, ?>> listeners =
+                    new IdentityHashMap<BaseMutableGraph<?, ?>, InvalidatingListener<?, ?>>();
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    private long invalidationCount;
+
+    /**
+     * Incremented on every graph modification, prevents caching paths computed while the graph was changing.
+     */
+    private long generation;
+
+    /**
+     * Creates a new cache that holds at most {@code maximumSize} paths.
+     *
+     * @param maximumSize The maximum number of paths held by the cache
+     */
+    public ShortestPathCache( int maximumSize )
+    {
+        checkArgument( maximumSize > 0, "Cache maximum size must be positive, was %s", maximumSize );
+        this.maximumSize = maximumSize;
+        this.paths = new LinkedHashMap<CacheKey, WeightedPath<?, ?, ?>>( 16, 0.75f, true )
+        {
+
+            private static final long serialVersionUID = -3624460372185802565L;
+
+            @Override
+            protected boolean removeEldestEntry( Entry<CacheKey, WeightedPath<?, ?, ?>> eldest )
+            {
+                if ( size() > ShortestPathCache.this.maximumSize )
+                {
+                    evictionCount++;
+                    release( eldest.getKey().graph, 1, 0 );
+                    return true;
+                }
+                return false;
+            }
+
+        };
+    }
+
+    /**
+     * Removes all the cached paths and stops tracking the modifications of the graphs they were computed on.
+     */
+    public synchronized void clear()
+    {
+        // paths being computed are not cached, since their graphs are not tracked anymore
+        generation++;
+        paths.clear();
+        for ( InvalidatingListener<?, ?> listener : listeners.values() )
+        {
+            listener.unregister();
+        }
+        listeners.clear();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached path.
+     *
+     * @return The number of lookups that found a cached path
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that didn't find a cached path.
+     *
+     * @return The number of lookups that didn't find a cached path
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of paths dropped because the cache was full.
+     *
+     * @return The number of paths dropped because the cache was full
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of paths dropped because their graph has been modified.
+     *
+     * @return The number of paths dropped because their graph has been modified
+     */
+    public synchronized long getInvalidationCount()
+    {
+        return invalidationCount;
+    }
+
+    /**
+     * Returns the number of currently cached paths.
+     *
+     * @return The number of currently cached paths
+     */
+    public synchronized int size()
+    {
+        return paths.size();
+    }
+
+    /**
+     * Checks if paths computed on the input graph can be cached.
+     *
+     * @param graph The graph paths are computed on
+     * @return true if the graph is read-only or its modifications can be tracked, false otherwise
+     */
+    boolean isCacheable( Graph<?, ?> graph )
+    {
+        return !( graph instanceof MutableGraph ) || graph instanceof BaseMutableGraph;
+    }
+
+    /**
+     * Returns the path cached under the input key, if any; on a miss, starts tracking the graph modifications
+     * so that the path computed afterwards can be safely cached, until {@link #put(CacheKey, WeightedPath, long)}
+     * is invoked.
+     *
+     * @param key The cache key
+     * @return The cached path, null if not present
+     */
+    @SuppressWarnings( "unchecked" )
+    synchronized <V, WE, W> WeightedPath<V, WE, W> get( CacheKey key )
+    {
+        WeightedPath<V, WE, W> path = (WeightedPath<V, WE, W>) paths.get( key );
+        if ( path == null )
+        {
+            missCount++;
+
+            if ( key.graph instanceof BaseMutableGraph )
+            {
+                InvalidatingListener<?, ?> listener = listeners.get( key.graph );
+                if ( listener == null )
+                {
+                    listener = register( (BaseMutableGraph<?, ?>) key.graph );
+                    listeners.put( (BaseMutableGraph<?, ?>) key.graph, listener );
+                }
+                listener.pending++;
+            }
+        }
+        else
+        {
+            hitCount++;
+        }
+        return path;
+    }
+
+    /**
+     * Returns the current modifications generation, to be read before computing a path that has to be cached.
+     *
+     * @return The current modifications generation
+     */
+    synchronized long getGeneration()
+    {
+        return generation;
+    }
+
+    /**
+     * Stores the input path, unless a tracked graph has been modified while the path was computed;
+     * to be invoked after every miss, even if the path could not be computed.
+     *
+     * @param key The cache key
+     * @param path The path to be cached, null if it could not be computed
+     * @param computedAt The modifications generation read before computing the path
+     */
+    synchronized void put( CacheKey key, WeightedPath<?, ?, ?> path, long computedAt )
+    {
+        InvalidatingListener<?, ?> listener = listeners.get( key.graph );
+        boolean tracked = listener != null || !( key.graph instanceof BaseMutableGraph );
+
+        if ( path != null && tracked && computedAt == generation )
+        {
+            // counted before storing, so that evicting a path of the same graph doesn't release it
+            if ( listener != null && !paths.containsKey( key ) )
+            {
+                listener.entries++;
+            }
+            paths.put( key, path );
+        }
+
+        release( key.graph, 0, 1 );
+    }
+
+    /**
+     * Returns the number of graphs whose modifications are currently tracked.
+     *
+     * @return The number of graphs whose modifications are currently tracked
+     */
+    synchronized int getTrackedGraphCount()
+    {
+        return listeners.size();
+    }
+
+    /**
+     * Stops tracking the input graph once it has neither cached paths nor paths being computed.
+     */
+    private void release( Graph<?, ?> graph, int entries, int pending )
+    {
+        InvalidatingListener<?, ?> listener = listeners.get( graph );
+        if ( listener != null )
+        {
+            listener.entries -= entries;
+            listener.pending -= pending;
+            if ( listener.entries == 0 && listener.pending == 0 )
+            {
+                listener.unregister();
+                listeners.remove( graph );
+            }
+        }
+    }
+
+    private <V, E> InvalidatingListener<V, E> register( BaseMutableGraph<V, E> graph )
+    {
+        InvalidatingListener<V, E> listener = new InvalidatingListener<V, E>( graph );
+        graph.addGraphListener( listener );
+        return listener;
+    }
+
+    private synchronized void invalidate( Graph<?, ?> graph )
+    {
+        generation++;
+
+        int invalidated = 0;
+        Iterator<CacheKey> keys = paths.keySet().iterator();
+        while ( keys.hasNext() )
+        {
+            if ( keys.next().graph == graph )
+            {
+                keys.remove();
+                invalidated++;
+            }
+        }
+        invalidationCount += invalidated;
+
+        release( graph, invalidated, 0 );
+    }
+
+    /**
+     * Identifies a point-to-point shortest path query.
+     */
+    static final class CacheKey
+    {
+
+        private final Graph<?, ?> graph;
+
+        private final Object source;
+
+        private final Object target;
+
+        private final String algorithm;
+
+        private final Object[] parameters;
+
+        /**
+         * @param graph The graph the path is computed on, compared by identity
+         * @param source The path source
+         * @param target The path target
+         * @param algorithm The name of the algorithm that computes the path
+         * @param parameters The algorithm parameters, such as edge weight mapper and weight operations
+         */
+        CacheKey( Graph<?, ?> graph, Object source, Object target, String algorithm, Object...parameters )
+        {
+            this.graph = graph;
+            this.source = source;
+            this.target = target;
+            this.algorithm = algorithm;
+            this.parameters = parameters;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode()
+        {
+            final int prime = 31;
+            int result = prime * hash( 1, prime, source, target, algorithm ) + System.identityHashCode( graph );
+            return prime * result + hash( 1, prime, parameters );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+
+            if ( obj == null || getClass() != obj.getClass() )
+            {
+                return false;
+            }
+
+            CacheKey other = (CacheKey) obj;
+            if ( graph != other.graph || parameters.length != other.parameters.length )
+            {
+                return false;
+            }
+
+            for ( int i = 0; i < parameters.length; i++ )
+            {
+                if ( !eq( parameters[i], other.parameters[i] ) )
+                {
+                    return false;
+                }
+            }
+
+            return eq( source, other.source ) && eq( target, other.target ) && eq( algorithm, other.algorithm );
+        }
+
+    }
+
+    /**
+     * Drops the cached paths of a graph as soon as it is modified.
+     */
+    private final class InvalidatingListener<V, E>
+        implements GraphListener<V, E>
+    {
+
+        private final BaseMutableGraph<V, E> graph;
+
+        /**
+         * The number of cached paths computed on the graph.
+         */
+        private int entries;
+
+        /**
+         * The number of paths being computed on the graph.
+         */
+        private int pending;
+
+        public InvalidatingListener( BaseMutableGraph<V, E> graph )
+        {
+            this.graph = graph;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void edgeAdded( V head, E e, V tail )
+        {
+            invalidate( graph );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void edgeRemoved( V head, E e, V tail )
+        {
+            invalidate( graph );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void vertexAdded( V v )
+        {
+            invalidate( graph );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void vertexRemoved( V v )
+        {
+            invalidate( graph );
+        }
+
+        public void unregister()
+        {
+            graph.removeGraphListener( this );
+        }
+
+    }
+
+}
@@ -0,0 +1,255 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.copyOf;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.collections.AddressableQueues;
+import org.apache.commons.graph.collections.FibonacciHeap;
+import org.apache.commons.graph.collections.primitive.IntEpochSet;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * The state of point-to-point shortest path searches, to be reused across searches via
+ * {@link ShortestPathAlgorithmSelector#usingWorkspace(ShortestPathWorkspace)}.
+ *
+ * A workspace remembers the ids of the vertices of the last searched graph and keeps distances, predecessors and
+ * queue handles in arrays indexed by id; reached vertices are marked with the current search epoch rather than
+ * cleared, and the queue of unsettled vertices is kept as long as the same queue factory is used, so that repeated
+ * searches on the same graph don't allocate per visited vertex.
+ *
+ * The workspace belongs to its caller: it keeps the vertices of the last searched graph until it is
+ * {@link #clear() cleared}, or used to search a different graph.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe, and a workspace can't be shared by nested searches.</p>
+ *
+ * @param <V> The Graph vertices type
+ */
+public final class ShortestPathWorkspace<V>
+{
+
+    /**
+     * The predecessor of the source vertex.
+     */
+    static final int NO_PREDECESSOR = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The graph the ids have been assigned for, compared by identity.
+     */
+    private Graph<?, ?> graph;
+
+    private final Map<V, Integer> ids = new HashMap<V, Integer>();
+
+    private final List<V> vertices = new ArrayList<V>();
+
+    /**
+     * The vertices reached by the current search, whose distance, predecessor and handle are meaningful.
+     */
+    private final IntEpochSet reached = new IntEpochSet();
+
+    /**
+     * The reached vertices already removed from the queue: their handles may have been recycled by a pooling queue.
+     */
+    private final IntEpochSet settled = new IntEpochSet();
+
+    private Object[] distances = new Object[DEFAULT_CAPACITY];
+
+    private int[] predecessors = new int[DEFAULT_CAPACITY];
+
+    private Handle<Integer>[] handles = newHandles( DEFAULT_CAPACITY );
+
+    /**
+     * The weight operations of the current search, read by the queue comparator.
+     */
+    private OrderedMonoid<Object> weightOperations;
+
+    private AddressableQueueFactory queueFactory;
+
+    private AddressableQueue<Integer> unsettled;
+
+    @SuppressWarnings( "unchecked" ) // generic array creation
+    private static Handle<Integer>[] newHandles( int capacity )
+    {
+        return (Handle<Integer>[]) new Handle<?>[capacity];
+    }
+
+    /**
+     * Drops the ids of the last searched graph and the queue, so that they can be garbage collected.
+     */
+    public void clear()
+    {
+        graph = null;
+        ids.clear();
+        vertices.clear();
+        reached.clear();
+        settled.clear();
+        distances = new Object[DEFAULT_CAPACITY];
+        handles = newHandles( DEFAULT_CAPACITY );
+        weightOperations = null;
+        queueFactory = null;
+        unsettled = null;
+    }
+
+    /**
+     * Prepares the workspace for a new search on the input graph.
+     *
+     * @param graph The graph to be searched
+     * @param queueFactory The factory of the queue of unsettled vertices
+     * @param weightOperations The weight operations the distances are compared with
+     */
+    @SuppressWarnings( "unchecked" ) // distances are stored as the weight type of the current search only
+    void startSearch( Graph<?, ?> graph, AddressableQueueFactory queueFactory, OrderedMonoid<?> weightOperations )
+    {
+        if ( this.graph != graph )
+        {
+            clear();
+            this.graph = graph;
+        }
+        reached.clear();
+        settled.clear();
+
+        this.weightOperations = (OrderedMonoid<Object>) weightOperations;
+        if ( this.queueFactory != queueFactory )
+        {
+            this.queueFactory = queueFactory;
+            Comparator<Integer> comparator = new Comparator<Integer>()
+            {
+
+                public int compare( Integer left, Integer right )
+                {
+                    return ShortestPathWorkspace.this.weightOperations.compare( distances[left], distances[right] );
+                }
+
+            };
+
+            // handles are never used once removed, so the default heap can reuse its nodes across searches
+            if ( queueFactory == AddressableQueues.fibonacciHeaps() )
+            {
+                unsettled = new FibonacciHeap<Integer>( comparator, true );
+            }
+            else
+            {
+                unsettled = queueFactory.newQueue( comparator );
+            }
+        }
+        else
+        {
+            unsettled.clear();
+        }
+    }
+
+    /**
+     * Returns the id of the input vertex, interning it if met for the first time.
+     */
+    int idOf( V vertex )
+    {
+        Integer id = ids.get( vertex );
+        if ( id == null )
+        {
+            id = vertices.size();
+            ids.put( vertex, id );
+            vertices.add( vertex );
+
+            if ( id == distances.length )
+            {
+                int capacity = id << 1;
+                distances = copyOf( distances, capacity );
+                predecessors = copyOf( predecessors, capacity );
+                handles = copyOf( handles, capacity );
+            }
+        }
+        return id;
+    }
+
+    V getVertex( int id )
+    {
+        return vertices.get( id );
+    }
+
+    boolean isReached( int id )
+    {
+        return reached.contains( id );
+    }
+
+    /**
+     * Checks if the input reached vertex has already been removed from the queue.
+     */
+    boolean isSettled( int id )
+    {
+        return settled.contains( id );
+    }
+
+    @SuppressWarnings( "unchecked" ) // distances are stored as W only
+    <W> W getDistance( int id )
+    {
+        return (W) distances[id];
+    }
+
+    int getPredecessor( int id )
+    {
+        return predecessors[id];
+    }
+
+    /**
+     * Sets the distance and the predecessor of the input vertex, then queues it or moves it forward in the queue.
+     */
+    <W> void relax( int id, W distance, int predecessor )
+    {
+        distances[id] = distance;
+        predecessors[id] = predecessor;
+
+        if ( reached.add( id ) )
+        {
+            handles[id] = unsettled.insert( id );
+        }
+        else
+        {
+            unsettled.decreaseKey( handles[id] );
+        }
+    }
+
+    boolean isQueueEmpty()
+    {
+        return unsettled.isEmpty();
+    }
+
+    /**
+     * Removes the queued vertex with the shortest distance.
+     */
+    int poll()
+    {
+        int id = unsettled.remove();
+        settled.add( id );
+        return id;
+    }
+
+}
@@ -0,0 +1,340 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Collections.reverse;
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.ImplicitGraph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.collections.BucketQueue;
+import org.apache.commons.graph.collections.MonotonePriorityQueue;
+import org.apache.commons.graph.collections.RadixHeap;
+import org.apache.commons.graph.model.ArrayWeightedPath;
+import org.apache.commons.graph.weight.OrderedMonoid;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.LongWeightBaseOperations;
+
+/**
+ * The point-to-point searches that only follow the successors of the expanded vertices: Dijkstra's algorithm,
+ * its integer variant and A*. They are shared by the searches on explicit graphs, through a
+ * {@link org.apache.commons.graph.model.GraphSuccessors} view, and by the searches on implicit graphs.
+ *
+ * The caller gives the search the set tracking the expanded vertices, and the maximum number of vertices
+ * the search can expand before failing with a {@link GraphException}.
+ *
+ * @param <V> The Graph vertices type
+ * @param <WE> The Graph weighted edges type
+ * @param <W> The weight type
+ */
+final class SuccessorSearch<V, WE, W>
+{
+
+    /**
+     * The maximum number of buckets of the bucket queue, larger edge weights are handled by a radix heap.
+     */
+    private static final int MAXIMUM_BUCKETS = 1 << 12;
+
+    /**
+     * The searched graph, as reported when no path is found.
+     */
+    private final Object graph;
+
+    private final ImplicitGraph<V, WE> successors;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final V source;
+
+    private final V target;
+
+    private final AddressableQueueFactory queueFactory;
+
+    /**
+     * The expanded vertices, cleared when a search starts.
+     */
+    private final Set<V> closedSet;
+
+    private final int maximumExpansions;
+
+    public SuccessorSearch( Object graph, ImplicitGraph<V, WE> successors, Mapper<WE, W> weightedEdges, V source, V target,
+                            AddressableQueueFactory queueFactory, Set<V> closedSet, int maximumExpansions )
+    {
+        this.graph = graph;
+        this.successors = successors;
+        this.weightedEdges = weightedEdges;
+        this.source = source;
+        this.target = target;
+        this.queueFactory = queueFactory;
+        this.closedSet = closedSet;
+        this.maximumExpansions = maximumExpansions;
+    }
+
+    /**
+     * Calculates the shortest path using Dijkstra's algorithm.
+     *
+     * @param weightOperations The class responsible for operations on weights
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    public WeightedPath<V, WE, W> dijkstra( OrderedMonoid<W> weightOperations )
+    {
+        closedSet.clear();
+
+        final ShortestDistances<V, W> shortestDistances = new ShortestDistances<V, W>( weightOperations );
+        shortestDistances.setWeight( source, weightOperations.identity() );
+
+        final AddressableQueue<V> unsettledNodes = queueFactory.newQueue( shortestDistances );
+        final Map<V, Handle<V>> handles = new HashMap<V, Handle<V>>();
+        handles.put( source, unsettledNodes.insert( source ) );
+
+        final Map<V, V> predecessors = new HashMap<V, V>();
+
+        // extract the node with the shortest distance
+        while ( !unsettledNodes.isEmpty() )
+        {
+            V vertex = unsettledNodes.remove();
+
+            // destination reached, stop and build the path
+            if ( target.equals( vertex ) )
+            {
+                return buildPath( predecessors, weightOperations );
+            }
+
+            expand( vertex );
+
+            W distance = shortestDistances.getWeight( vertex );
+            for ( V v : successors.getSuccessors( vertex ) )
+            {
+                // skip node already settled
+                if ( !closedSet.contains( v ) )
+                {
+                    W shortDist = weightOperations.append( distance, weightedEdges.map( successors.getEdge( vertex, v ) ) );
+
+                    if ( !shortestDistances.alreadyVisited( v )
+                            || weightOperations.compare( shortDist, shortestDistances.getWeight( v ) ) < 0 )
+                    {
+                        // assign new shortest distance and mark unsettled
+                        shortestDistances.setWeight( v, shortDist );
+                        DefaultShortestPathAlgorithmSelector.enqueue( unsettledNodes, handles, v );
+
+                        // assign predecessor in shortest path
+                        predecessors.put( v, vertex );
+                    }
+                }
+            }
+        }
+
+        throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", source, target, graph );
+    }
+
+    /**
+     * Calculates the shortest path using Dijkstra's algorithm, backed by a bucket queue when the maximum weight
+     * is small, by a radix heap otherwise; any weight type other than integers and longs, or a negative edge weight
+     * met while searching, falls back to {@link #dijkstra(OrderedMonoid)}.
+     *
+     * @param weightOperations The class responsible for operations on weights
+     * @param maximumWeight The maximum edge weight
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    public WeightedPath<V, WE, W> integerDijkstra( OrderedMonoid<W> weightOperations, long maximumWeight )
+    {
+        if ( !( weightOperations instanceof IntegerWeightBaseOperations || weightOperations instanceof LongWeightBaseOperations ) )
+        {
+            return dijkstra( weightOperations );
+        }
+
+        closedSet.clear();
+
+        final MonotonePriorityQueue<V> unsettledNodes = maximumWeight < MAXIMUM_BUCKETS
+                        ? new BucketQueue<V>( (int) maximumWeight + 1 )
+                        : new RadixHeap<V>();
+        unsettledNodes.add( source, 0 );
+
+        final Map<V, Long> shortestDistances = new HashMap<V, Long>();
+        shortestDistances.put( source, 0L );
+
+        final Map<V, V> predecessors = new HashMap<V, V>();
+
+        while ( !unsettledNodes.isEmpty() )
+        {
+            long distance = unsettledNodes.getMinimumKey();
+            V vertex = unsettledNodes.remove();
+
+            // the vertex was queued again with a shorter distance, and already settled
+            if ( closedSet.contains( vertex ) )
+            {
+                continue;
+            }
+
+            // destination reached, stop and build the path
+            if ( target.equals( vertex ) )
+            {
+                return buildPath( predecessors, weightOperations );
+            }
+
+            expand( vertex );
+
+            for ( V v : successors.getSuccessors( vertex ) )
+            {
+                if ( !closedSet.contains( v ) )
+                {
+                    long weight = ( (Number) weightedEdges.map( successors.getEdge( vertex, v ) ) ).longValue();
+                    if ( weight < 0 )
+                    {
+                        // integer queues are monotone, restart with a comparison based one
+                        return dijkstra( weightOperations );
+                    }
+                    checkArgument( weight <= maximumWeight, "Edge weight %s exceeds the maximum weight %s", weight, maximumWeight );
+
+                    long shortDist = distance + weight;
+
+                    Long known = shortestDistances.get( v );
+                    if ( known == null || shortDist < known )
+                    {
+                        shortestDistances.put( v, shortDist );
+                        unsettledNodes.add( v, shortDist );
+                        predecessors.put( v, vertex );
+                    }
+                }
+            }
+        }
+
+        throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", source, target, graph );
+    }
+
+    /**
+     * Calculates the shortest path using the A* algorithm.
+     *
+     * @param weightOperations The class responsible for operations on weights
+     * @param heuristic The estimate of the distance from any vertex to the target
+     * @return A path which describes the shortest path, if any, otherwise a {@link PathNotFoundException} will be thrown
+     */
+    public WeightedPath<V, WE, W> aStar( OrderedMonoid<W> weightOperations, Heuristic<V, W> heuristic )
+    {
+        closedSet.clear();
+
+        // Cost from start along best known path.
+        final ShortestDistances<V, W> gScores = new ShortestDistances<V, W>( weightOperations );
+        gScores.setWeight( source, weightOperations.identity() );
+
+        // Estimated total cost from start to goal through y.
+        final ShortestDistances<V, W> fScores = new ShortestDistances<V, W>( weightOperations );
+        W hScore = heuristic.applyHeuristic( source, target );
+        fScores.setWeight( source, hScore );
+
+        // The set of tentative nodes to be evaluated.
+        final AddressableQueue<V> openSet = queueFactory.newQueue( fScores );
+        final Map<V, Handle<V>> handles = new HashMap<V, Handle<V>>();
+        handles.put( source, openSet.insert( source ) );
+
+        // The of navigated nodes
+        final Map<V, V> predecessors = new HashMap<V, V>();
+
+        // extract the node in openset having the lowest f_score[] value
+        while ( !openSet.isEmpty() )
+        {
+            V current = openSet.remove();
+
+            // destination reached, stop and build the path
+            if ( target.equals( current ) )
+            {
+                return buildPath( predecessors, weightOperations );
+            }
+
+            expand( current );
+
+            for ( V v : successors.getSuccessors( current ) )
+            {
+                if ( !closedSet.contains( v ) )
+                {
+                    WE edge = successors.getEdge( current, v );
+                    // note that the weight of current can never be undefined
+                    W tentativeGScore = weightOperations.append( gScores.getWeight( current ), weightedEdges.map( edge ) );
+
+                    // h(v) doesn't change, so f(v) decreases only when g(v) does
+                    if ( !gScores.alreadyVisited( v ) || weightOperations.compare( tentativeGScore, gScores.getWeight( v ) ) < 0 )
+                    {
+                        predecessors.put( v, current );
+                        gScores.setWeight( v, tentativeGScore );
+                        hScore = heuristic.applyHeuristic( v, target );
+                        fScores.setWeight( v, weightOperations.append( tentativeGScore, hScore ) );
+
+                        // the f score is updated before the queue sees it
+                        DefaultShortestPathAlgorithmSelector.enqueue( openSet, handles, v );
+                    }
+                }
+            }
+        }
+
+        throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", source, target, graph );
+    }
+
+    /**
+     * Adds the input vertex to the closed set, failing once the search expanded too many vertices.
+     */
+    private void expand( V vertex )
+    {
+        if ( closedSet.add( vertex ) && closedSet.size() > maximumExpansions )
+        {
+            throw new GraphException( "Search expanded more than %s vertices", maximumExpansions );
+        }
+    }
+
+    /**
+     * Walks the predecessors backwards, from the target to the source.
+     */
+    private WeightedPath<V, WE, W> buildPath( Map<V, V> predecessors, OrderedMonoid<W> weightOperations )
+    {
+        List<V> vertices = new ArrayList<V>();
+        List<WE> edges = new ArrayList<WE>();
+
+        V vertex = target;
+        while ( !source.equals( vertex ) )
+        {
+            V predecessor = predecessors.get( vertex );
+
+            if ( vertices.isEmpty() )
+            {
+                vertices.add( vertex );
+            }
+            vertices.add( predecessor );
+            edges.add( successors.getEdge( predecessor, vertex ) );
+
+            vertex = predecessor;
+        }
+
+        reverse( vertices );
+        reverse( edges );
+
+        return new ArrayWeightedPath<V, WE, W>( source, target, vertices, edges, weightOperations, weightedEdges );
+    }
+
+}
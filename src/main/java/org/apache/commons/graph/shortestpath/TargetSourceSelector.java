@@ -19,6 +19,7 @@ package org.apache.commons.graph.shortestpath;
  * under the License.
  */
 
+import org.apache.commons.graph.collections.AddressableQueueFactory;
 import org.apache.commons.graph.weight.OrderedMonoid;
 
 /**
@@ -40,6 +41,70 @@ public interface TargetSourceSelector<V, WE, W>
      */
     <WO extends OrderedMonoid<W>> AllVertexPairsShortestPath<V, WE, W> applyingBelmannFord( WO weightOperations );
 
+    /**
+     * Calculates the shortest path using the queue-based variant of BellmannFord's algorithm,
+     * also known as Shortest Path Faster Algorithm: only the edges leaving vertices whose distance
+     * has just changed are relaxed, and the search stops as soon as no distance changes.
+     *
+     * When a negative-weighted cycle is reachable from the source, the thrown
+     * {@link NegativeWeightedCycleException} carries the cycle itself.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The weight operations needed for the algorithm
+     * @return A data structure which contains all vertex pairs shortest path.
+     */
+    <WO extends OrderedMonoid<W>> AllVertexPairsShortestPath<V, WE, W> applyingShortestPathFaster( WO weightOperations );
+
+    /**
+     * Calculates the shortest path using the BellmannFord's algorithm, relaxing the edges
+     * in parallel on the common fork-join pool.
+     *
+     * The weight operations are invoked concurrently, so they have to be thread safe.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The weight operations needed for the algorithm
+     * @return A data structure which contains all vertex pairs shortest path.
+     */
+    <WO extends OrderedMonoid<W>> AllVertexPairsShortestPath<V, WE, W> applyingParallelBelmannFord( WO weightOperations );
+
+    /**
+     * Builds a shortest path tree rooted in the source which is kept up to date while the graph changes,
+     * repairing only the region affected by each change.
+     *
+     * @param <WO> the type of weight operations
+     * @param weightOperations The weight operations needed for the algorithm
+     * @return The shortest path tree rooted in the source
+     */
+    <WO extends OrderedMonoid<W>> DynamicShortestPathTree<V, WE, W> applyingDynamicDijkstra( WO weightOperations );
+
+    /**
+     * Limits the search to paths made of at most {@code hops} edges, computing the shortest paths
+     * to all the vertices within the bounds.
+     *
+     * @param hops The maximum number of edges of the computed paths
+     * @return The bounded search selector
+     */
+    BoundedSearchSelector<V, WE, W> maxHops( int hops );
+
+    /**
+     * Limits the search to the vertices whose shortest distance is not greater than {@code maxWeight},
+     * computing the shortest paths to all the vertices within the bounds.
+     *
+     * @param maxWeight The maximum weight of the computed paths
+     * @return The bounded search selector
+     */
+    BoundedSearchSelector<V, WE, W> within( W maxWeight );
+
+    /**
+     * Selects the priority queue used by {@link #applyingDynamicDijkstra(OrderedMonoid)}, by the bounded searches
+     * and by the algorithms selected once the target is specified; the Bellmann-Ford variants don't use any queue.
+     * {@link org.apache.commons.graph.collections.AddressableQueues#fibonacciHeaps()} are used by default.
+     *
+     * @param queueFactory The factory of the priority queues used by the algorithms
+     * @return The target selector, using the queues created by the input factory
+     */
+    TargetSourceSelector<V, WE, W> usingQueue( AddressableQueueFactory queueFactory );
+
     /**
      * Specifies the shortest path source.
      *
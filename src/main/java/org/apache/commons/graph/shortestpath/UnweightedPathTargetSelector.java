@@ -0,0 +1,43 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.graph.WeightedPath;
+
+/**
+ * Specifies the target of an unweighted shortest path query.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <E> the Graph edges type
+ */
+public interface UnweightedPathTargetSelector<V, E>
+{
+
+    /**
+     * Calculates the path with the fewest edges from the source to the input target,
+     * running a breadth-first search from both ends which always expands the smaller frontier.
+     *
+     * @param <T> The vertex type
+     * @param target The shortest path target
+     * @return The path with the fewest edges, weighted with its number of edges
+     */
+    <T extends V> WeightedPath<V, E, Integer> to( T target );
+
+}
@@ -0,0 +1,370 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.InMemoryWeightedPath;
+import org.apache.commons.graph.weight.OrderedMonoid;
+
+/**
+ * Yen's algorithm for the {@code k} shortest loopless paths between two vertices.
+ *
+ * The graph is never copied: spur searches run on the input graph, ignoring the masked vertices and edges.
+ * The reverse shortest path tree rooted in the target is computed only once and reused by every spur search
+ * as an exact A* heuristic: masking vertices and edges can only make distances longer, so it stays admissible
+ * and consistent, and vertices that can't reach the target at all are never expanded.
+ *
+ * @param <V> The Graph vertices type.
+ * @param <WE> the Graph weighted edges type
+ * @param <W> The weight type
+ */
+final class YenKShortestPaths<V, WE, W>
+{
+
+    private final Graph<V, WE> graph;
+
+    private final Mapper<WE, W> weightedEdges;
+
+    private final OrderedMonoid<W> weightOperations;
+
+    private final AddressableQueueFactory queueFactory;
+
+    private final V source;
+
+    private final V target;
+
+    /**
+     * Distances to the target, computed on the whole graph.
+     */
+    private final ShortestDistances<V, W> distancesToTarget;
+
+    public YenKShortestPaths( Graph<V, WE> graph, Mapper<WE, W> weightedEdges, OrderedMonoid<W> weightOperations,
+                              AddressableQueueFactory queueFactory, V source, V target )
+    {
+        this.graph = graph;
+        this.weightedEdges = weightedEdges;
+        this.weightOperations = weightOperations;
+        this.queueFactory = queueFactory;
+        this.source = source;
+        this.target = target;
+        this.distancesToTarget = reverseShortestPathTree();
+    }
+
+    /**
+     * Computes the shortest loopless paths, sorted by increasing weight.
+     *
+     * @param k The maximum number of paths to compute
+     * @return At most {@code k} shortest loopless paths
+     */
+    public List<WeightedPath<V, WE, W>> findShortestPaths( int k )
+    {
+        final Set<V> noVertices = Collections.emptySet();
+        final Set<WE> noEdges = Collections.emptySet();
+
+        SimplePath first = spurSearch( source, noVertices, noEdges );
+        if ( first == null )
+        {
+            throw new PathNotFoundException( "Path from '%s' to '%s' doesn't exist in Graph '%s'", source, target, graph );
+        }
+
+        final List<SimplePath> accepted = new ArrayList<SimplePath>( k );
+        accepted.add( first );
+
+        final Queue<SimplePath> candidates = queueFactory.newQueue( new Comparator<SimplePath>()
+        {
+
+            public int compare( SimplePath left, SimplePath right )
+            {
+                return weightOperations.compare( left.weight, right.weight );
+            }
+
+        } );
+
+        final Set<List<V>> known = new HashSet<List<V>>();
+        known.add( first.vertices );
+
+        while ( accepted.size() < k )
+        {
+            SimplePath previous = accepted.get( accepted.size() - 1 );
+
+            W rootWeight = weightOperations.identity();
+            for ( int i = 0; i < previous.edges.size(); i++ )
+            {
+                V spur = previous.vertices.get( i );
+                List<V> rootVertices = previous.vertices.subList( 0, i + 1 );
+
+                // mask the next edge of every accepted path sharing the same root
+                Set<WE> maskedEdges = new HashSet<WE>();
+                for ( SimplePath path : accepted )
+                {
+                    if ( path.edges.size() > i && path.vertices.subList( 0, i + 1 ).equals( rootVertices ) )
+                    {
+                        maskedEdges.add( path.edges.get( i ) );
+                    }
+                }
+
+                // mask the root, so that the spur path can't loop back in it
+                Set<V> maskedVertices = new HashSet<V>( previous.vertices.subList( 0, i ) );
+
+                SimplePath spurPath = spurSearch( spur, maskedVertices, maskedEdges );
+                if ( spurPath != null )
+                {
+                    SimplePath candidate = new SimplePath( previous, i, rootWeight, spurPath );
+                    if ( known.add( candidate.vertices ) )
+                    {
+                        candidates.add( candidate );
+                    }
+                }
+
+                rootWeight = weightOperations.append( rootWeight, weightedEdges.map( previous.edges.get( i ) ) );
+            }
+
+            if ( candidates.isEmpty() )
+            {
+                break;
+            }
+
+            accepted.add( candidates.remove() );
+        }
+
+        List<WeightedPath<V, WE, W>> paths = new ArrayList<WeightedPath<V, WE, W>>( accepted.size() );
+        for ( SimplePath path : accepted )
+        {
+            paths.add( path.toWeightedPath() );
+        }
+        return paths;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the target, along reversed edges.
+     *
+     * @return The distance from each vertex to the target
+     */
+    private ShortestDistances<V, W> reverseShortestPathTree()
+    {
+        final ShortestDistances<V, W> shortestDistances = new ShortestDistances<V, W>( weightOperations );
+        shortestDistances.setWeight( target, weightOperations.identity() );
+
+        final AddressableQueue<V> unsettledNodes = queueFactory.newQueue( shortestDistances );
+        final Map<V, Handle<V>> handles = new HashMap<V, Handle<V>>();
+        handles.put( target, unsettledNodes.insert( target ) );
+
+        final Set<V> settledNodes = new HashSet<V>();
+
+        while ( !unsettledNodes.isEmpty() )
+        {
+            V vertex = unsettledNodes.remove();
+
+            if ( !settledNodes.add( vertex ) )
+            {
+                continue;
+            }
+
+            Iterable<V> parents = ( graph instanceof DirectedGraph ) ? ( (DirectedGraph<V, WE>) graph ).getInbound( vertex )
+                                                                     : graph.getConnectedVertices( vertex );
+            for ( V v : parents )
+            {
+                if ( !settledNodes.contains( v ) )
+                {
+                    W shortDist = weightOperations.append( shortestDistances.getWeight( vertex ),
+                                                           weightedEdges.map( graph.getEdge( v, vertex ) ) );
+
+                    if ( !shortestDistances.alreadyVisited( v )
+                                    || weightOperations.compare( shortDist, shortestDistances.getWeight( v ) ) < 0 )
+                    {
+                        shortestDistances.setWeight( v, shortDist );
+                        enqueue( unsettledNodes, handles, v );
+                    }
+                }
+            }
+        }
+
+        return shortestDistances;
+    }
+
+    /**
+     * Runs A* from the spur vertex to the target, ignoring the masked vertices and edges.
+     *
+     * @param spur The spur vertex
+     * @param maskedVertices The vertices the path can't traverse
+     * @param maskedEdges The edges the path can't traverse
+     * @return The shortest path from spur to target, null if it doesn't exist
+     */
+    private SimplePath spurSearch( V spur, Set<V> maskedVertices, Set<WE> maskedEdges )
+    {
+        if ( !distancesToTarget.alreadyVisited( spur ) )
+        {
+            return null;
+        }
+
+        final Map<V, W> gScores = new HashMap<V, W>();
+        gScores.put( spur, weightOperations.identity() );
+
+        final ShortestDistances<V, W> fScores = new ShortestDistances<V, W>( weightOperations );
+        fScores.setWeight( spur, distancesToTarget.getWeight( spur ) );
+
+        final AddressableQueue<V> openSet = queueFactory.newQueue( fScores );
+        final Map<V, Handle<V>> handles = new HashMap<V, Handle<V>>();
+        handles.put( spur, openSet.insert( spur ) );
+
+        final Set<V> closedSet = new HashSet<V>();
+
+        final Map<V, V> predecessors = new HashMap<V, V>();
+
+        while ( !openSet.isEmpty() )
+        {
+            V current = openSet.remove();
+
+            if ( !closedSet.add( current ) )
+            {
+                continue;
+            }
+
+            if ( target.equals( current ) )
+            {
+                return new SimplePath( spur, predecessors, gScores.get( target ) );
+            }
+
+            for ( V v : graph.getConnectedVertices( current ) )
+            {
+                // vertices unable to reach the target on the whole graph can't reach it on the masked one
+                if ( closedSet.contains( v ) || maskedVertices.contains( v ) || !distancesToTarget.alreadyVisited( v ) )
+                {
+                    continue;
+                }
+
+                WE edge = graph.getEdge( current, v );
+                if ( maskedEdges.contains( edge ) )
+                {
+                    continue;
+                }
+
+                W tentativeGScore = weightOperations.append( gScores.get( current ), weightedEdges.map( edge ) );
+                W gScore = gScores.get( v );
+                if ( gScore == null || weightOperations.compare( tentativeGScore, gScore ) < 0 )
+                {
+                    gScores.put( v, tentativeGScore );
+                    fScores.setWeight( v, weightOperations.append( tentativeGScore, distancesToTarget.getWeight( v ) ) );
+                    predecessors.put( v, current );
+                    enqueue( openSet, handles, v );
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Queues the input vertex, or moves it forward if already queued, once its score decreased.
+     *
+     * @param queue The queue of open vertices
+     * @param handles The handles of the vertices already queued
+     * @param vertex The vertex whose score decreased
+     */
+    private static <V> void enqueue( AddressableQueue<V> queue, Map<V, Handle<V>> handles, V vertex )
+    {
+        Handle<V> handle = handles.get( vertex );
+        if ( handle != null && handle.isQueued() )
+        {
+            queue.decreaseKey( handle );
+        }
+        else
+        {
+            handles.put( vertex, queue.insert( vertex ) );
+        }
+    }
+
+    /**
+     * Lightweight path representation, used while candidate paths are computed.
+     */
+    private final class SimplePath
+    {
+
+        private final List<V> vertices;
+
+        private final List<WE> edges;
+
+        private final W weight;
+
+        /**
+         * Builds the path from the spur vertex to the target, walking the predecessors backwards.
+         */
+        public SimplePath( V spur, Map<V, V> predecessors, W weight )
+        {
+            vertices = new ArrayList<V>();
+            edges = new ArrayList<WE>();
+            this.weight = weight;
+
+            V vertex = target;
+            vertices.add( vertex );
+            while ( !spur.equals( vertex ) )
+            {
+                V predecessor = predecessors.get( vertex );
+                edges.add( graph.getEdge( predecessor, vertex ) );
+                vertices.add( predecessor );
+                vertex = predecessor;
+            }
+
+            Collections.reverse( vertices );
+            Collections.reverse( edges );
+        }
+
+        /**
+         * Joins the root of a path, up to the spur vertex, with a spur path.
+         */
+        public SimplePath( SimplePath rootPath, int spurIndex, W rootWeight, SimplePath spurPath )
+        {
+            vertices = new ArrayList<V>( rootPath.vertices.subList( 0, spurIndex ) );
+            vertices.addAll( spurPath.vertices );
+            edges = new ArrayList<WE>( rootPath.edges.subList( 0, spurIndex ) );
+            edges.addAll( spurPath.edges );
+            weight = weightOperations.append( rootWeight, spurPath.weight );
+        }
+
+        public WeightedPath<V, WE, W> toWeightedPath()
+        {
+            InMemoryWeightedPath<V, WE, W> path =
+                new InMemoryWeightedPath<V, WE, W>( source, target, weightOperations, weightedEdges );
+            for ( int i = 0; i < edges.size(); i++ )
+            {
+                path.addConnectionInTail( vertices.get( i ), edges.get( i ), vertices.get( i + 1 ) );
+            }
+            return path;
+        }
+
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.graph.spanning;
  * under the License.
  */
 
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
 import static org.apache.commons.graph.utils.Assertions.checkState;
 
@@ -34,8 +35,10 @@ import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.Mapper;
 import org.apache.commons.graph.SpanningTree;
 import org.apache.commons.graph.VertexPair;
-import org.apache.commons.graph.collections.DisjointSet;
-import org.apache.commons.graph.collections.FibonacciHeap;
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.collections.IntDisjointSet;
 import org.apache.commons.graph.model.MutableSpanningTree;
 import org.apache.commons.graph.weight.OrderedMonoid;
 
@@ -58,6 +61,9 @@ final class DefaultSpanningTreeAlgorithmSelector<V, W, WE>
     /** The start vertex. */
     private final V source;
 
+    /** The factory of the priority queues. */
+    private final AddressableQueueFactory queueFactory;
+
     /**
      * Creates a default {@link SpanningTreeAlgorithmSelector} for the given {@link Graph} and
      * start vertex.
@@ -66,10 +72,24 @@ final class DefaultSpanningTreeAlgorithmSelector<V, W, WE>
      * @param source The start vertex.
      */
     public DefaultSpanningTreeAlgorithmSelector( final Graph<V, WE> graph, Mapper<WE, W> weightedEdges, final V source )
+    {
+        this( graph, weightedEdges, source, fibonacciHeaps() );
+    }
+
+    private DefaultSpanningTreeAlgorithmSelector( final Graph<V, WE> graph, Mapper<WE, W> weightedEdges, final V source,
+                                                  AddressableQueueFactory queueFactory )
     {
         this.graph = graph;
         this.weightedEdges = weightedEdges;
         this.source = source;
+        this.queueFactory = queueFactory;
+    }
+
+    /** {@inheritDoc} */
+    public SpanningTreeAlgorithmSelector<V, W, WE> usingQueue( AddressableQueueFactory queueFactory )
+    {
+        queueFactory = checkNotNull( queueFactory, "The spanning tree cannot be calculated using a null queue factory" );
+        return new DefaultSpanningTreeAlgorithmSelector<V, W, WE>( graph, weightedEdges, source, queueFactory );
     }
 
     /** {@inheritDoc} */
@@ -171,39 +191,38 @@ final class DefaultSpanningTreeAlgorithmSelector<V, W, WE>
     public <WO extends OrderedMonoid<W>> SpanningTree<V, WE, W> applyingKruskalAlgorithm( WO weightOperations )
     {
         checkNotNull( weightOperations, "The Kruskal algorithm cannot be calculated with null weight operations" );
-        final Set<V> settledNodes = new HashSet<V>();
 
         final Queue<WE> orderedEdges =
-                        new FibonacciHeap<WE>( new WeightedEdgesComparator<W, WE>( weightOperations, weightedEdges ) );
+                        queueFactory.newQueue( new WeightedEdgesComparator<W, WE>( weightOperations, weightedEdges ) );
 
         for ( WE edge : graph.getEdges() )
         {
             orderedEdges.add( edge );
         }
 
-        final DisjointSet<V> disjointSet = new DisjointSet<V>();
-
         final MutableSpanningTree<V, WE, W> spanningTree = new MutableSpanningTree<V, WE, W>( weightOperations, weightedEdges );
 
-        // fill the spanning tree with vertices.
+        // fill the spanning tree with vertices, numbering them densely for the disjoint set.
+        final Map<V, Integer> indexes = new HashMap<V, Integer>( 2 * graph.getOrder() );
         for ( V v : graph.getVertices() )
         {
             spanningTree.addVertex( v );
+            indexes.put( v, indexes.size() );
         }
 
-        while ( !orderedEdges.isEmpty() && settledNodes.size() < graph.getOrder() )
+        final IntDisjointSet disjointSet = new IntDisjointSet( indexes.size() );
+
+        // the spanning tree is complete once all the vertices are in the same set
+        while ( !orderedEdges.isEmpty() && disjointSet.getSetCount() > 1 )
         {
             WE edge = orderedEdges.remove();
 
             VertexPair<V> vertices = graph.getVertices( edge );
             V head = vertices.getHead();
             V tail = vertices.getTail();
-            settledNodes.add( head );
-            settledNodes.add( tail );
 
-            if ( !disjointSet.find( head ).equals( disjointSet.find( tail ) ) )
+            if ( disjointSet.union( indexes.get( head ), indexes.get( tail ) ) )
             {
-                disjointSet.union( head, tail );
                 spanningTree.addEdge( head, edge, tail );
             }
         }
@@ -220,8 +239,9 @@ final class DefaultSpanningTreeAlgorithmSelector<V, W, WE>
 
         final ShortestEdges<V, WE, W> shortestEdges = new ShortestEdges<V, WE, W>( graph, source, weightOperations, weightedEdges );
 
-        final Queue<V> unsettledNodes = new FibonacciHeap<V>( shortestEdges );
-        unsettledNodes.add( source );
+        final AddressableQueue<V> unsettledNodes = queueFactory.newQueue( shortestEdges );
+        final Map<V, Handle<V>> handles = new HashMap<V, Handle<V>>();
+        handles.put( source, unsettledNodes.insert( source ) );
 
         final Set<WE> settledEdges = new HashSet<WE>();
 
@@ -240,12 +260,18 @@ final class DefaultSpanningTreeAlgorithmSelector<V, W, WE>
                         || weightOperations.compare( weightedEdges.map( edge ), shortestEdges.getWeight( v ) ) < 0;
                 if ( settledEdges.add( edge ) && weightLessThanCurrent )
                 {
-                    if ( !unsettledNodes.contains( v ) )
+                    shortestEdges.addPredecessor( v, edge );
+
+                    // the weight of v decreased, move it forward if still queued
+                    Handle<V> handle = handles.get( v );
+                    if ( handle != null && handle.isQueued() )
                     {
-                        unsettledNodes.add( v );
+                        unsettledNodes.decreaseKey( handle );
+                    }
+                    else
+                    {
+                        handles.put( v, unsettledNodes.insert( v ) );
                     }
-
-                    shortestEdges.addPredecessor( v, edge );
                 }
             }
         }
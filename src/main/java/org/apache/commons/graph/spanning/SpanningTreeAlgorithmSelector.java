@@ -20,6 +20,7 @@ package org.apache.commons.graph.spanning;
  */
 
 import org.apache.commons.graph.SpanningTree;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
 import org.apache.commons.graph.weight.OrderedMonoid;
 
 /**
@@ -59,4 +60,13 @@ public interface SpanningTreeAlgorithmSelector<V, W, WE>
      */
     <WO extends OrderedMonoid<W>> SpanningTree<V, WE, W> applyingPrimAlgorithm( WO weightOperations );
 
+    /**
+     * Selects the priority queue used by the Kruskal's and Prim's algorithms;
+     * {@link org.apache.commons.graph.collections.AddressableQueues#fibonacciHeaps()} are used by default.
+     *
+     * @param queueFactory The factory of the priority queues used by the algorithms
+     * @return The algorithm selector, using the queues created by the input factory
+     */
+    SpanningTreeAlgorithmSelector<V, W, WE> usingQueue( AddressableQueueFactory queueFactory );
+
 }
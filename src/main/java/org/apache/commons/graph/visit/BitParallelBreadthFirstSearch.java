@@ -0,0 +1,161 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.fill;
+import static java.util.Collections.unmodifiableList;
+import static org.apache.commons.graph.visit.BreadthFirstDistances.NONE;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apache.commons.graph.Graph;
+
+/**
+ * Bit-parallel multi-source breadth-first search (MS-BFS): up to 64 searches run together, each one owning
+ * a bit of a {@code long} word per vertex, so that a single scan of the adjacencies of a vertex advances all the
+ * searches that reached it at the same level. More than 64 sources are processed in batches of 64.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+final class BitParallelBreadthFirstSearch<V, E>
+{
+
+    /**
+     * The number of searches sharing a word.
+     */
+    private static final int BATCH_SIZE = Long.SIZE;
+
+    private final CompressedGraph<V, E> graph;
+
+    public BitParallelBreadthFirstSearch( Graph<V, E> graph )
+    {
+        this.graph = new CompressedGraph<V, E>( graph );
+    }
+
+    /**
+     * Computes the distances from the input sources, up to the input depth.
+     *
+     * @param sources The search sources
+     * @param maxDepth The distance of the farthest vertices to be visited
+     * @return The distances from each source
+     */
+    public BreadthFirstDistances<V> search( List<V> sources, int maxDepth )
+    {
+        List<V> distinctSources = new ArrayList<V>( new LinkedHashSet<V>( sources ) );
+        int[] sourceIndexes = new int[distinctSources.size()];
+        for ( int i = 0; i < sourceIndexes.length; i++ )
+        {
+            sourceIndexes[i] = graph.indexOf( distinctSources.get( i ) );
+        }
+
+        final int order = graph.getOrder();
+        final int[][] distances = new int[sourceIndexes.length][order];
+
+        // the searches bits: reached so far, reached at the current level, reached at the next level
+        final long[] seen = new long[order];
+        long[] visit = new long[order];
+        long[] visitNext = new long[order];
+
+        for ( int batch = 0; batch < sourceIndexes.length; batch += BATCH_SIZE )
+        {
+            int batchSize = Math.min( BATCH_SIZE, sourceIndexes.length - batch );
+            fill( seen, 0L );
+            fill( visit, 0L );
+
+            for ( int i = 0; i < batchSize; i++ )
+            {
+                int source = sourceIndexes[batch + i];
+                fill( distances[batch + i], NONE );
+                distances[batch + i][source] = 0;
+                seen[source] |= 1L << i;
+                visit[source] |= 1L << i;
+            }
+
+            boolean visiting = true;
+            for ( int level = 1; visiting && level <= maxDepth; level++ )
+            {
+                expand( seen, visit, visitNext );
+                visiting = assignLevel( visitNext, distances, batch, level );
+
+                long[] swap = visit;
+                visit = visitNext;
+                visitNext = swap;
+                fill( visitNext, 0L );
+            }
+        }
+
+        return new BreadthFirstDistances<V>( graph.getVertices(), graph.getIndexes(),
+                                             unmodifiableList( distinctSources ), distances );
+    }
+
+    /**
+     * Advances all the searches by one level, scanning once the adjacencies of every vertex reached
+     * by at least one search at the current level.
+     */
+    private void expand( long[] seen, long[] visit, long[] visitNext )
+    {
+        final int[] offsets = graph.getOutOffsets();
+        final int[] targets = graph.getOutTargets();
+
+        for ( int v = 0; v < visit.length; v++ )
+        {
+            long searches = visit[v];
+            if ( searches == 0 )
+            {
+                continue;
+            }
+
+            for ( int j = offsets[v]; j < offsets[v + 1]; j++ )
+            {
+                int w = targets[j];
+                // the searches reaching w for the first time
+                long discovered = searches & ~seen[w];
+                if ( discovered != 0 )
+                {
+                    visitNext[w] |= discovered;
+                    seen[w] |= discovered;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the distance of the vertices reached at the input level, by each search of the batch.
+     *
+     * @return true if at least a vertex has been reached, false otherwise
+     */
+    private static boolean assignLevel( long[] visitNext, int[][] distances, int batch, int level )
+    {
+        boolean reached = false;
+        for ( int w = 0; w < visitNext.length; w++ )
+        {
+            for ( long searches = visitNext[w]; searches != 0; searches &= searches - 1 )
+            {
+                distances[batch + Long.numberOfTrailingZeros( searches )][w] = level;
+                reached = true;
+            }
+        }
+        return reached;
+    }
+
+}
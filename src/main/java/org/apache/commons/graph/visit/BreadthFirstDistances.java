@@ -0,0 +1,145 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.graph.GraphException;
+
+/**
+ * The unweighted distances from a set of sources to every vertex of the graph.
+ *
+ * Vertices are identified by dense indexes, from {@code 0} to {@code getOrder() - 1}, so that the distances
+ * from each source can be returned as a primitive array.
+ *
+ * @param <V> The Graph vertices type
+ */
+public final class BreadthFirstDistances<V>
+{
+
+    /**
+     * The distance of the vertices not reachable from a source.
+     */
+    public static final int NONE = -1;
+
+    private final Object[] vertices;
+
+    private final Map<V, Integer> indexes;
+
+    private final List<V> sources;
+
+    /**
+     * The distances from each source, in the same order of {@link #sources}.
+     */
+    private final int[][] distances;
+
+    BreadthFirstDistances( Object[] vertices, Map<V, Integer> indexes, List<V> sources, int[][] distances )
+    {
+        this.vertices = vertices;
+        this.indexes = indexes;
+        this.sources = sources;
+        this.distances = distances;
+    }
+
+    /**
+     * Returns the number of vertices in the searched graph.
+     *
+     * @return The number of vertices in the searched graph
+     */
+    public int getOrder()
+    {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the index of the input vertex.
+     *
+     * @param vertex The vertex whose index has to be returned
+     * @return The index of the input vertex
+     */
+    public int getIndex( V vertex )
+    {
+        vertex = checkNotNull( vertex, "Vertex can not be null" );
+        Integer index = indexes.get( vertex );
+        if ( index == null )
+        {
+            throw new GraphException( "Vertex %s does not exist in the Graph", vertex );
+        }
+        return index;
+    }
+
+    /**
+     * Returns the vertex with the input index.
+     *
+     * @param index The vertex index
+     * @return The vertex with the input index
+     */
+    @SuppressWarnings( "unchecked" ) // vertices are stored as V only
+    public V getVertex( int index )
+    {
+        return (V) vertices[index];
+    }
+
+    /**
+     * Returns the sources the distances have been computed from, without duplicates.
+     *
+     * @return The sources the distances have been computed from
+     */
+    public List<V> getSources()
+    {
+        return sources;
+    }
+
+    /**
+     * Returns the number of edges separating the target from the source.
+     *
+     * @param source One of the search sources
+     * @param target The target vertex
+     * @return The distance from the source to the target, {@link #NONE} if the target is not reachable
+     */
+    public int getDistance( V source, V target )
+    {
+        return getDistances( source )[getIndex( target )];
+    }
+
+    /**
+     * Returns the distances from the input source to all the vertices, indexed by vertex index,
+     * {@link #NONE} for the vertices not reachable from it.
+     *
+     * The array is not copied, so it must not be modified.
+     *
+     * @param source One of the search sources
+     * @return The distances from the input source to all the vertices
+     */
+    public int[] getDistances( V source )
+    {
+        source = checkNotNull( source, "Source can not be null" );
+        int index = sources.indexOf( source );
+        if ( index < 0 )
+        {
+            throw new GraphException( "Vertex %s is not a source of the search", source );
+        }
+        return distances[index];
+    }
+
+}
@@ -0,0 +1,160 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.Map;
+
+import org.apache.commons.graph.GraphException;
+
+/**
+ * The result of a breadth-first search over the whole graph: the level of each vertex, that is the number of edges
+ * separating it from the nearest source, and the parent it has been reached from.
+ *
+ * Vertices are identified by dense indexes, from {@code 0} to {@code getOrder() - 1}, so that levels and parents
+ * can be returned as primitive arrays.
+ *
+ * @param <V> The Graph vertices type
+ */
+public final class BreadthFirstTree<V>
+{
+
+    /**
+     * The level of the vertices not reachable from the sources, and the parent of the sources.
+     */
+    public static final int NONE = -1;
+
+    private final Object[] vertices;
+
+    private final Map<V, Integer> indexes;
+
+    private final int[] levels;
+
+    private final int[] parents;
+
+    BreadthFirstTree( Object[] vertices, Map<V, Integer> indexes, int[] levels, int[] parents )
+    {
+        this.vertices = vertices;
+        this.indexes = indexes;
+        this.levels = levels;
+        this.parents = parents;
+    }
+
+    /**
+     * Returns the number of vertices in the searched graph.
+     *
+     * @return The number of vertices in the searched graph
+     */
+    public int getOrder()
+    {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the index of the input vertex.
+     *
+     * @param vertex The vertex whose index has to be returned
+     * @return The index of the input vertex
+     */
+    public int getIndex( V vertex )
+    {
+        vertex = checkNotNull( vertex, "Vertex can not be null" );
+        Integer index = indexes.get( vertex );
+        if ( index == null )
+        {
+            throw new GraphException( "Vertex %s does not exist in the Graph", vertex );
+        }
+        return index;
+    }
+
+    /**
+     * Returns the vertex with the input index.
+     *
+     * @param index The vertex index
+     * @return The vertex with the input index
+     */
+    @SuppressWarnings( "unchecked" ) // vertices are stored as V only
+    public V getVertex( int index )
+    {
+        return (V) vertices[index];
+    }
+
+    /**
+     * Checks if the input vertex is reachable from the sources.
+     *
+     * @param vertex The vertex to check
+     * @return true if the vertex is reachable from the sources, false otherwise
+     */
+    public boolean isReached( V vertex )
+    {
+        return levels[getIndex( vertex )] != NONE;
+    }
+
+    /**
+     * Returns the number of edges separating the input vertex from the nearest source.
+     *
+     * @param vertex The vertex whose level has to be returned
+     * @return The level of the input vertex, {@link #NONE} if it is not reachable from the sources
+     */
+    public int getLevel( V vertex )
+    {
+        return levels[getIndex( vertex )];
+    }
+
+    /**
+     * Returns the vertex the input one has been reached from.
+     *
+     * @param vertex The vertex whose parent has to be returned
+     * @return The parent of the input vertex, null for the sources and for the vertices not reachable from them
+     */
+    public V getParent( V vertex )
+    {
+        int parent = parents[getIndex( vertex )];
+        return parent == NONE ? null : getVertex( parent );
+    }
+
+    /**
+     * Returns the levels of all the vertices, indexed by vertex index, {@link #NONE} for the vertices
+     * not reachable from the sources.
+     *
+     * The array is not copied, so it must not be modified.
+     *
+     * @return The levels of all the vertices
+     */
+    public int[] getLevels()
+    {
+        return levels;
+    }
+
+    /**
+     * Returns the parent indexes of all the vertices, indexed by vertex index, {@link #NONE} for the sources
+     * and for the vertices not reachable from it.
+     *
+     * The array is not copied, so it must not be modified.
+     *
+     * @return The parent indexes of all the vertices
+     */
+    public int[] getParents()
+    {
+        return parents;
+    }
+
+}
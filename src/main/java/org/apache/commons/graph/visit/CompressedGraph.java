@@ -0,0 +1,161 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.graph.DirectedGraph;
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.collections.primitive.IntArrayList;
+
+/**
+ * A read-only copy of the graph adjacencies, where vertices are replaced by dense indexes and
+ * adjacent vertices are stored in compressed arrays: the ones of the vertex {@code i} are stored
+ * from {@code offsets[i]} to {@code offsets[i + 1]}.
+ *
+ * Inbound adjacencies are the outbound ones, for undirected graphs.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+final class CompressedGraph<V, E>
+{
+
+    private final Object[] vertices;
+
+    private final Map<V, Integer> indexes = new HashMap<V, Integer>();
+
+    private final int[] outOffsets;
+
+    private final int[] outTargets;
+
+    private final int[] inOffsets;
+
+    private final int[] inTargets;
+
+    public CompressedGraph( Graph<V, E> graph )
+    {
+        vertices = new Object[graph.getOrder()];
+        for ( V vertex : graph.getVertices() )
+        {
+            vertices[indexes.size()] = vertex;
+            indexes.put( vertex, indexes.size() );
+        }
+
+        outOffsets = new int[vertices.length + 1];
+        if ( graph instanceof DirectedGraph )
+        {
+            outTargets = adjacencies( graph, true, outOffsets );
+            inOffsets = new int[vertices.length + 1];
+            inTargets = adjacencies( graph, false, inOffsets );
+        }
+        else
+        {
+            outTargets = adjacencies( graph, true, outOffsets );
+            inOffsets = outOffsets;
+            inTargets = outTargets;
+        }
+    }
+
+    private int[] adjacencies( Graph<V, E> graph, boolean outbound, int[] offsets )
+    {
+        IntArrayList targets = new IntArrayList( vertices.length );
+        for ( int i = 0; i < vertices.length; i++ )
+        {
+            offsets[i] = targets.size();
+            for ( V adjacent : adjacentVertices( graph, getVertex( i ), outbound ) )
+            {
+                targets.add( indexes.get( adjacent ) );
+            }
+        }
+        offsets[vertices.length] = targets.size();
+        return targets.toArray();
+    }
+
+    private Iterable<V> adjacentVertices( Graph<V, E> graph, V vertex, boolean outbound )
+    {
+        if ( graph instanceof DirectedGraph )
+        {
+            DirectedGraph<V, E> directed = (DirectedGraph<V, E>) graph;
+            return outbound ? directed.getOutbound( vertex ) : directed.getInbound( vertex );
+        }
+        return graph.getConnectedVertices( vertex );
+    }
+
+    public int getOrder()
+    {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the index of the input vertex.
+     *
+     * @param vertex The vertex whose index has to be returned
+     * @return The index of the input vertex
+     */
+    public int indexOf( V vertex )
+    {
+        Integer index = indexes.get( vertex );
+        if ( index == null )
+        {
+            throw new GraphException( "Vertex %s does not exist in the Graph", vertex );
+        }
+        return index;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public V getVertex( int index )
+    {
+        return (V) vertices[index];
+    }
+
+    public Object[] getVertices()
+    {
+        return vertices;
+    }
+
+    public Map<V, Integer> getIndexes()
+    {
+        return indexes;
+    }
+
+    public int[] getOutOffsets()
+    {
+        return outOffsets;
+    }
+
+    public int[] getOutTargets()
+    {
+        return outTargets;
+    }
+
+    public int[] getInOffsets()
+    {
+        return inOffsets;
+    }
+
+    public int[] getInTargets()
+    {
+        return inTargets;
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.commons.graph.ImplicitGraph;
+
+/**
+ * {@link ImplicitVisitAlgorithmsSelector} implementation.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+final class DefaultImplicitVisitAlgorithmsSelector<V, E>
+    implements ImplicitVisitAlgorithmsSelector<V, E>
+{
+
+    /** The graph. */
+    private final ImplicitGraph<V, E> graph;
+
+    /** The start vertices for the search. */
+    private final List<V> sources;
+
+    /** The depth of the farthest vertices to be visited. */
+    private final int maxDepth;
+
+    /** The maximum number of vertices to be visited. */
+    private final int maximumExpansions;
+
+    /**
+     * Create a default {@link ImplicitVisitAlgorithmsSelector} for the given {@link ImplicitGraph} and start vertices.
+     *
+     * @param graph The {@link ImplicitGraph} to be used.
+     * @param sources The start vertices.
+     */
+    public DefaultImplicitVisitAlgorithmsSelector( final ImplicitGraph<V, E> graph, final List<V> sources )
+    {
+        this( graph, sources, Integer.MAX_VALUE, Integer.MAX_VALUE );
+    }
+
+    private DefaultImplicitVisitAlgorithmsSelector( final ImplicitGraph<V, E> graph, final List<V> sources, final int maxDepth,
+                                                    final int maximumExpansions )
+    {
+        this.graph = graph;
+        this.sources = sources;
+        this.maxDepth = maxDepth;
+        this.maximumExpansions = maximumExpansions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ImplicitVisitAlgorithmsSelector<V, E> maxDepth( int maxDepth )
+    {
+        checkArgument( maxDepth >= 0, "Maximum depth can not be negative, was %s", maxDepth );
+        return new DefaultImplicitVisitAlgorithmsSelector<V, E>( graph, sources, maxDepth, maximumExpansions );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ImplicitVisitAlgorithmsSelector<V, E> maxExpansions( int maximumExpansions )
+    {
+        checkArgument( maximumExpansions > 0, "Maximum expansions must be positive, was %s", maximumExpansions );
+        return new DefaultImplicitVisitAlgorithmsSelector<V, E>( graph, sources, maxDepth, maximumExpansions );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<V> breadthFirstIterator()
+    {
+        return newSearchEngine().iterator( sources, true );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Stream<V> breadthFirstStream()
+    {
+        return DefaultVisitAlgorithmsSelector.stream( breadthFirstIterator() );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<V> depthFirstIterator()
+    {
+        return newSearchEngine().iterator( sources, false );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Stream<V> depthFirstStream()
+    {
+        return DefaultVisitAlgorithmsSelector.stream( depthFirstIterator() );
+    }
+
+    private SearchEngine<V, E> newSearchEngine()
+    {
+        return new SearchEngine<V, E>( graph, graph, maxDepth, maximumExpansions, new VisitWorkspace<V>() );
+    }
+
+}
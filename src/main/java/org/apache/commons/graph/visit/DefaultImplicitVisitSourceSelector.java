@@ -0,0 +1,72 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.utils.Assertions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.graph.ImplicitGraph;
+
+/**
+ * {@link ImplicitVisitSourceSelector} implementation.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+public final class DefaultImplicitVisitSourceSelector<V, E>
+    implements ImplicitVisitSourceSelector<V, E>
+{
+
+    private final ImplicitGraph<V, E> graph;
+
+    public DefaultImplicitVisitSourceSelector( ImplicitGraph<V, E> graph )
+    {
+        this.graph = graph;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public <S extends V> ImplicitVisitAlgorithmsSelector<V, E> from( S source )
+    {
+        source = checkNotNull( source, "Impossible to visit input graph %s with null source", graph );
+        return new DefaultImplicitVisitAlgorithmsSelector<V, E>( graph, Collections.<V>singletonList( source ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ImplicitVisitAlgorithmsSelector<V, E> from( Collection<? extends V> sources )
+    {
+        sources = checkNotNull( sources, "Impossible to visit input graph %s with null sources", graph );
+        List<V> sourcesList = new ArrayList<V>( sources.size() );
+        for ( V source : sources )
+        {
+            source = checkNotNull( source, "Impossible to visit input graph %s with null source", graph );
+            sourcesList.add( source );
+        }
+        return new DefaultImplicitVisitAlgorithmsSelector<V, E>( graph, sourcesList );
+    }
+
+}
@@ -19,18 +19,21 @@ package org.apache.commons.graph.visit;
  * under the License.
  */
 
+import static java.util.Spliterator.DISTINCT;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static org.apache.commons.graph.utils.Assertions.checkArgument;
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
-import static org.apache.commons.graph.visit.VisitState.ABORT;
-import static org.apache.commons.graph.visit.VisitState.CONTINUE;
 
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Set;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import org.apache.commons.graph.DirectedGraph;
 import org.apache.commons.graph.Graph;
-import org.apache.commons.graph.VertexPair;
+import org.apache.commons.graph.model.GraphSuccessors;
 
 /**
  * {@link VisitAlgorithmsSelector} implementation.
@@ -46,19 +49,51 @@ final class DefaultVisitAlgorithmsSelector<V, E, G extends Graph<V, E>>
     /** The graph. */
     private final G graph;
 
-    /** The start vertex for the search. */
-    private final V source;
+    /** The start vertices for the search. */
+    private final List<V> sources;
+
+    /** The depth of the farthest vertices to be visited. */
+    private final int maxDepth;
+
+    /** The workspace reused across searches, null to allocate a new one per search. */
+    private final VisitWorkspace<V> workspace;
 
     /**
-     * Create a default {@link VisitAlgorithmsSelector} for the given {@link Graph} and start vertex.
+     * Create a default {@link VisitAlgorithmsSelector} for the given {@link Graph} and start vertices.
      *
      * @param graph The {@link Graph} to be used.
-     * @param source The start vertex.
+     * @param sources The start vertices.
      */
-    public DefaultVisitAlgorithmsSelector( final G graph, final V source )
+    public DefaultVisitAlgorithmsSelector( final G graph, final List<V> sources )
+    {
+        this( graph, sources, Integer.MAX_VALUE, null );
+    }
+
+    private DefaultVisitAlgorithmsSelector( final G graph, final List<V> sources, final int maxDepth,
+                                            final VisitWorkspace<V> workspace )
     {
         this.graph = graph;
-        this.source = source;
+        this.sources = sources;
+        this.maxDepth = maxDepth;
+        this.workspace = workspace;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public VisitAlgorithmsSelector<V, E, G> maxDepth( int maxDepth )
+    {
+        checkArgument( maxDepth >= 0, "Maximum depth can not be negative, was %s", maxDepth );
+        return new DefaultVisitAlgorithmsSelector<V, E, G>( graph, sources, maxDepth, workspace );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public VisitAlgorithmsSelector<V, E, G> usingWorkspace( VisitWorkspace<V> workspace )
+    {
+        workspace = checkNotNull( workspace, "Visit workspace can not be null" );
+        return new DefaultVisitAlgorithmsSelector<V, E, G>( graph, sources, maxDepth, workspace );
     }
 
     /**
@@ -93,6 +128,68 @@ final class DefaultVisitAlgorithmsSelector<V, E, G extends Graph<V, E>>
         return applyingSearch( handler, false );
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public BreadthFirstTree<V> applyingParallelBreadthFirstSearch()
+    {
+        return new ParallelBreadthFirstSearch<V, E>( graph, ForkJoinPool.commonPool() ).search( sources, maxDepth );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BreadthFirstDistances<V> applyingBitParallelBreadthFirstSearch()
+    {
+        return new BitParallelBreadthFirstSearch<V, E>( graph ).search( sources, maxDepth );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<V> breadthFirstIterator()
+    {
+        return newSearchEngine().iterator( sources, true );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Stream<V> breadthFirstStream()
+    {
+        return stream( breadthFirstIterator() );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<V> depthFirstIterator()
+    {
+        return newSearchEngine().iterator( sources, false );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Stream<V> depthFirstStream()
+    {
+        return stream( depthFirstIterator() );
+    }
+
+    /**
+     * Wraps a search iterator in a sequential stream, so that vertices are visited only when consumed.
+     */
+    static <V> Stream<V> stream( Iterator<V> vertices )
+    {
+        return StreamSupport.stream( Spliterators.spliteratorUnknownSize( vertices, ORDERED | DISTINCT | NONNULL ), false );
+    }
+
+    private SearchEngine<V, E> newSearchEngine()
+    {
+        return new SearchEngine<V, E>( graph, new GraphSuccessors<V, E>( graph ), maxDepth, Integer.MAX_VALUE,
+                                       workspace == null ? new VisitWorkspace<V>() : workspace );
+    }
+
     /**
      * A generalized graph search algorithm to be used to implement depth-first and breadth-first searches. Depending on
      * the used collection, the algorithm traverses the graph in a different way:
@@ -108,99 +205,7 @@ final class DefaultVisitAlgorithmsSelector<V, E, G extends Graph<V, E>>
     private <O> O applyingSearch( GraphVisitHandler<V, E, G, O> handler, boolean enqueue )
     {
         handler = checkNotNull( handler, "Graph visitor handler can not be null." );
-
-        handler.discoverGraph( graph );
-
-        final LinkedList<VertexPair<V>> vertexList = new LinkedList<VertexPair<V>>();
-
-        vertexList.addLast( new VertexPair<V>( source, source ) );
-
-        final Set<V> visitedVertices = new HashSet<V>();
-        visitedVertices.add( source );
-
-        boolean visitingGraph = true;
-
-        while ( visitingGraph && !vertexList.isEmpty() )
-        {
-            // if dequeue, remove the first element, otherwise the last
-            final VertexPair<V> pair = enqueue ? vertexList.removeFirst() : vertexList.removeLast();
-            final V v = pair.getHead();
-            final V prevHead = pair.getTail();
-            final E e = prevHead.equals( v ) ? null : graph.getEdge( prevHead, v );
-
-            boolean skipVertex = false;
-
-            if ( e != null )
-            {
-                // if the vertex was already visited, do not discover
-                // another edge leading to the same vertex
-                if ( visitedVertices.contains( v ) )
-                {
-                    skipVertex = true;
-                }
-                else
-                {
-                    VisitState stateAfterEdgeDiscovery = handler.discoverEdge( prevHead, e, v );
-                    if ( CONTINUE != stateAfterEdgeDiscovery )
-                    {
-                        skipVertex = true;
-                        if ( ABORT == stateAfterEdgeDiscovery )
-                        {
-                            visitingGraph = false;
-                        }
-                    }
-
-                    if ( ABORT == handler.finishEdge( prevHead, e, v ) )
-                    {
-                        skipVertex = true;
-                        visitingGraph = false;
-                    }
-                }
-            }
-
-            // only mark the current vertex as visited, if the
-            // edge leading to it should be expanded
-            boolean vertexWasDiscovered = false;
-            if ( !skipVertex )
-            {
-                visitedVertices.add( v );
-                VisitState stateAfterVertexDiscovery = handler.discoverVertex( v );
-                vertexWasDiscovered = true;
-                if ( CONTINUE != stateAfterVertexDiscovery )
-                {
-                    skipVertex = true;
-                    if ( ABORT == stateAfterVertexDiscovery )
-                    {
-                        visitingGraph = false;
-                    }
-                }
-            }
-
-            if ( !skipVertex )
-            {
-                Iterator<V> connected =
-                    ( graph instanceof DirectedGraph ) ? ( (DirectedGraph<V, E>) graph ).getOutbound( v ).iterator()
-                                    : graph.getConnectedVertices( v ).iterator();
-
-                while ( connected.hasNext() )
-                {
-                    V w = connected.next();
-                    if ( !visitedVertices.contains( w ) )
-                    {
-                        vertexList.addLast( new VertexPair<V>( w, v ) );
-                    }
-                }
-            }
-
-            if ( vertexWasDiscovered && ABORT == handler.finishVertex( v ) )
-            {
-                visitingGraph = false;
-            }
-        }
-
-        handler.finishGraph( graph );
-
-        return handler.onCompleted();
+        return newSearchEngine().search( graph, sources, handler, enqueue );
     }
 
 }
@@ -22,6 +22,11 @@ package org.apache.commons.graph.visit;
 import static org.apache.commons.graph.utils.Assertions.checkNotNull;
 import static org.apache.commons.graph.utils.Assertions.checkState;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.commons.graph.Graph;
 
 /**
@@ -49,7 +54,23 @@ public final class DefaultVisitSourceSelector<V, E, G extends Graph<V, E>>
     {
         source = checkNotNull( source, "Impossible to visit input graph %s with null source", graph );
         checkState( graph.containsVertex( source ), "Vertex %s does not exist in the Graph", source );
-        return new DefaultVisitAlgorithmsSelector<V, E, G>( graph, source );
+        return new DefaultVisitAlgorithmsSelector<V, E, G>( graph, Collections.<V>singletonList( source ) );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public VisitAlgorithmsSelector<V, E, G> from( Collection<? extends V> sources )
+    {
+        sources = checkNotNull( sources, "Impossible to visit input graph %s with null sources", graph );
+        List<V> sourcesList = new ArrayList<V>( sources.size() );
+        for ( V source : sources )
+        {
+            source = checkNotNull( source, "Impossible to visit input graph %s with null source", graph );
+            checkState( graph.containsVertex( source ), "Vertex %s does not exist in the Graph", source );
+            sourcesList.add( source );
+        }
+        return new DefaultVisitAlgorithmsSelector<V, E, G>( graph, sourcesList );
     }
 
 }
@@ -0,0 +1,48 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.commons.graph.Graph;
+
+/**
+ * A {@link GraphVisitHandler} that is told, for each discovered vertex, how far it lies from the sources
+ * and which source it has been reached from.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ * @param <G> The Graph type
+ * @param <O> The type returned by {@link #onCompleted()}
+ */
+public interface DepthAwareGraphVisitHandler<V, E, G extends Graph<V, E>, O>
+    extends GraphVisitHandler<V, E, G, O>
+{
+
+    /**
+     * Invoked, in place of {@link #discoverVertex(Object)}, the first time a vertex is found.
+     *
+     * @param vertex The discovered vertex
+     * @param depth The number of edges separating the vertex from its source, {@code 0} for the sources;
+     *        breadth-first searches reach each vertex at its minimum depth
+     * @param source The source the vertex has been reached from
+     * @return The state of the visit after operations on the vertex
+     */
+    VisitState discoverVertex( V vertex, int depth, V source );
+
+}
@@ -0,0 +1,81 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Applies the lazy visits of an {@link org.apache.commons.graph.ImplicitGraph}, the only ones that
+ * don't need to enumerate its vertices: the vertices are generated only as they are pulled.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+public interface ImplicitVisitAlgorithmsSelector<V, E>
+{
+
+    /**
+     * Bounds the search to the vertices lying at most {@code maxDepth} edges away from the sources:
+     * the vertices at that depth are visited, but not expanded.
+     *
+     * @param maxDepth The depth of the farthest vertices to be visited, {@code 0} to visit only the sources
+     * @return The search visit algorithm selector, bounded to the input depth
+     */
+    ImplicitVisitAlgorithmsSelector<V, E> maxDepth( int maxDepth );
+
+    /**
+     * Bounds the search to the input number of visited vertices: pulling more vertices
+     * fails with a {@link org.apache.commons.graph.GraphException}; searches are unbounded by default.
+     *
+     * @param maximumExpansions The maximum number of vertices visited by a search
+     * @return The search visit algorithm selector, bounded to the input number of expansions
+     */
+    ImplicitVisitAlgorithmsSelector<V, E> maxExpansions( int maximumExpansions );
+
+    /**
+     * Lazy breadth-first search: vertices are visited only as they are pulled from the returned iterator.
+     *
+     * @return The vertices reachable from the source, in breadth-first order
+     */
+    Iterator<V> breadthFirstIterator();
+
+    /**
+     * Lazy breadth-first search: vertices are visited only as they are pulled from the returned stream.
+     *
+     * @return The vertices reachable from the source, in breadth-first order
+     */
+    Stream<V> breadthFirstStream();
+
+    /**
+     * Lazy depth-first search: vertices are visited only as they are pulled from the returned iterator.
+     *
+     * @return The vertices reachable from the source, in depth-first order
+     */
+    Iterator<V> depthFirstIterator();
+
+    /**
+     * Lazy depth-first search: vertices are visited only as they are pulled from the returned stream.
+     *
+     * @return The vertices reachable from the source, in depth-first order
+     */
+    Stream<V> depthFirstStream();
+
+}
@@ -0,0 +1,49 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Collection;
+
+/**
+ * Search root node selector, for the visits of an {@link org.apache.commons.graph.ImplicitGraph}.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+public interface ImplicitVisitSourceSelector<V, E>
+{
+
+    /**
+     * Select the root node the search begins from.
+     *
+     * @param source The root node the search begins from
+     * @return The search visit algorithm selector
+     */
+    <S extends V> ImplicitVisitAlgorithmsSelector<V, E> from( S source );
+
+    /**
+     * Select the root nodes the search begins from: every vertex is visited at most once across all of them.
+     *
+     * @param sources The root nodes the search begins from
+     * @return The search visit algorithm selector
+     */
+    ImplicitVisitAlgorithmsSelector<V, E> from( Collection<? extends V> sources );
+
+}
@@ -0,0 +1,322 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.fill;
+import static org.apache.commons.graph.visit.BreadthFirstTree.NONE;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.collections.primitive.IntArrayList;
+
+/**
+ * Level-synchronous breadth-first search, expanding every level in parallel across the tasks of a
+ * {@link ForkJoinPool}, with Beamer's direction-optimizing switch between top-down and bottom-up steps.
+ *
+ * Adjacencies are copied once in compressed arrays of vertex indexes. A top-down step scans the outbound
+ * vertices of the frontier, and claims the unvisited ones by compare-and-set in an atomic bit set;
+ * a bottom-up step scans the inbound vertices of every unvisited vertex, until one of them is found in the frontier.
+ * Bottom-up steps pay off once the frontier is large, since most of the edges leaving it lead to
+ * already visited vertices, while every unvisited vertex can stop at its first parent.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+final class ParallelBreadthFirstSearch<V, E>
+{
+
+    /**
+     * The minimum number of vertices scanned by a single task.
+     */
+    private static final int MINIMUM_PARTITION_SIZE = 256;
+
+    /**
+     * Switch to bottom-up once the frontier edges exceed the unexplored edges divided by this factor.
+     */
+    private static final int ALPHA = 14;
+
+    /**
+     * Switch back to top-down once the frontier shrinks below the vertices divided by this factor.
+     */
+    private static final int BETA = 24;
+
+    private final ForkJoinPool pool;
+
+    private final CompressedGraph<V, E> graph;
+
+    private final int order;
+
+    private final int[] outOffsets;
+
+    private final int[] outTargets;
+
+    private final int[] inOffsets;
+
+    private final int[] inTargets;
+
+    private final int partitionSize;
+
+    private int[] levels;
+
+    private int[] parents;
+
+    private AtomicLongArray visited;
+
+    public ParallelBreadthFirstSearch( Graph<V, E> graph, ForkJoinPool pool )
+    {
+        this.pool = pool;
+        this.graph = new CompressedGraph<V, E>( graph );
+
+        order = this.graph.getOrder();
+        outOffsets = this.graph.getOutOffsets();
+        outTargets = this.graph.getOutTargets();
+        inOffsets = this.graph.getInOffsets();
+        inTargets = this.graph.getInTargets();
+
+        partitionSize = Math.max( MINIMUM_PARTITION_SIZE, order / ( 4 * pool.getParallelism() ) + 1 );
+    }
+
+    /**
+     * Visits the whole graph from the input sources, up to the input depth.
+     *
+     * @param sources The search sources
+     * @param maxDepth The level of the farthest vertices to be visited
+     * @return The levels and parents of the vertices reachable from the sources
+     */
+    public BreadthFirstTree<V> search( List<V> sources, int maxDepth )
+    {
+        levels = new int[order];
+        fill( levels, NONE );
+        parents = new int[order];
+        fill( parents, NONE );
+        visited = new AtomicLongArray( ( order + Long.SIZE - 1 ) / Long.SIZE );
+
+        IntArrayList frontier = new IntArrayList( sources.size() );
+        long frontierEdges = 0;
+        for ( V source : sources )
+        {
+            int sourceIndex = graph.indexOf( source );
+            if ( markVisited( sourceIndex ) )
+            {
+                levels[sourceIndex] = 0;
+                frontier.add( sourceIndex );
+                frontierEdges += outDegree( sourceIndex );
+            }
+        }
+
+        long unexploredEdges = outTargets.length - frontierEdges;
+        boolean bottomUp = false;
+
+        for ( int level = 0; !frontier.isEmpty() && level < maxDepth; level++ )
+        {
+            if ( !bottomUp && frontierEdges > unexploredEdges / ALPHA )
+            {
+                bottomUp = true;
+            }
+            else if ( bottomUp && frontier.size() < order / BETA )
+            {
+                bottomUp = false;
+            }
+
+            IntArrayList next;
+            if ( bottomUp )
+            {
+                next = pool.invoke( new BottomUpTask( level, 0, order ) );
+            }
+            else
+            {
+                next = pool.invoke( new TopDownTask( level, frontier.toArray(), 0, frontier.size() ) );
+            }
+
+            frontierEdges = 0;
+            for ( int i = 0; i < next.size(); i++ )
+            {
+                frontierEdges += outDegree( next.get( i ) );
+            }
+            unexploredEdges -= frontierEdges;
+            frontier = next;
+        }
+
+        return new BreadthFirstTree<V>( graph.getVertices(), graph.getIndexes(), levels, parents );
+    }
+
+    private int outDegree( int vertex )
+    {
+        return outOffsets[vertex + 1] - outOffsets[vertex];
+    }
+
+    private boolean isVisited( int vertex )
+    {
+        return ( visited.get( vertex >>> 6 ) & ( 1L << vertex ) ) != 0;
+    }
+
+    /**
+     * Sets the visited bit of the input vertex.
+     *
+     * @return true if the bit has been set by this invocation, false if it was already set
+     */
+    private boolean markVisited( int vertex )
+    {
+        int word = vertex >>> 6;
+        long mask = 1L << vertex;
+        for ( ;; )
+        {
+            long current = visited.get( word );
+            if ( ( current & mask ) != 0 )
+            {
+                return false;
+            }
+            if ( visited.compareAndSet( word, current, current | mask ) )
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Expands a range of the frontier, splitting it when too large.
+     * Returns the vertices of the next level discovered by the range.
+     */
+    private final class TopDownTask
+        extends RecursiveTask<IntArrayList>
+    {
+
+        private static final long serialVersionUID = 3406545513374963727L;
+
+        private final int level;
+
+        private final int[] frontier;
+
+        private final int from;
+
+        private final int to;
+
+        public TopDownTask( int level, int[] frontier, int from, int to )
+        {
+            this.level = level;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntArrayList compute()
+        {
+            if ( to - from > partitionSize )
+            {
+                int middle = ( from + to ) >>> 1;
+                TopDownTask left = new TopDownTask( level, frontier, from, middle );
+                left.fork();
+                IntArrayList right = new TopDownTask( level, frontier, middle, to ).compute();
+                IntArrayList next = left.join();
+                next.addAll( right );
+                return next;
+            }
+
+            IntArrayList next = new IntArrayList();
+            for ( int i = from; i < to; i++ )
+            {
+                int u = frontier[i];
+                for ( int j = outOffsets[u]; j < outOffsets[u + 1]; j++ )
+                {
+                    int v = outTargets[j];
+                    // only the task that claims the vertex writes its level and parent
+                    if ( !isVisited( v ) && markVisited( v ) )
+                    {
+                        levels[v] = level + 1;
+                        parents[v] = u;
+                        next.add( v );
+                    }
+                }
+            }
+            return next;
+        }
+
+    }
+
+    /**
+     * Looks for a parent in the frontier for every unvisited vertex of a range, splitting it when too large.
+     * Returns the vertices of the next level found by the range.
+     */
+    private final class BottomUpTask
+        extends RecursiveTask<IntArrayList>
+    {
+
+        private static final long serialVersionUID = -3850338153431946018L;
+
+        private final int level;
+
+        private final int from;
+
+        private final int to;
+
+        public BottomUpTask( int level, int from, int to )
+        {
+            this.level = level;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntArrayList compute()
+        {
+            if ( to - from > partitionSize )
+            {
+                int middle = ( from + to ) >>> 1;
+                BottomUpTask left = new BottomUpTask( level, from, middle );
+                left.fork();
+                IntArrayList right = new BottomUpTask( level, middle, to ).compute();
+                IntArrayList next = left.join();
+                next.addAll( right );
+                return next;
+            }
+
+            IntArrayList next = new IntArrayList();
+            for ( int v = from; v < to; v++ )
+            {
+                if ( isVisited( v ) )
+                {
+                    continue;
+                }
+
+                // vertices discovered by this step are at level + 1, so they can't be mistaken for the frontier
+                for ( int j = inOffsets[v]; j < inOffsets[v + 1]; j++ )
+                {
+                    int u = inTargets[j];
+                    if ( levels[u] == level )
+                    {
+                        markVisited( v );
+                        levels[v] = level + 1;
+                        parents[v] = u;
+                        next.add( v );
+                        break;
+                    }
+                }
+            }
+            return next;
+        }
+
+    }
+
+}
@@ -0,0 +1,395 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.visit.VisitState.ABORT;
+import static org.apache.commons.graph.visit.VisitState.CONTINUE;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.ImplicitGraph;
+import org.apache.commons.graph.collections.primitive.IntArrayDeque;
+import org.apache.commons.graph.collections.primitive.IntArrayList;
+import org.apache.commons.graph.collections.primitive.IntEpochSet;
+
+/**
+ * The breadth-first and depth-first search core, working on vertex ids rather than on vertices.
+ *
+ * The search only follows the successors of the expanded vertices, and vertices are interned the first time they are
+ * met, so that implicit graphs, whose vertices can't be enumerated, are supported as well; from then on, pending
+ * vertices are kept in an {@code int} deque, as pairs of vertex and predecessor ids, and visited vertices in an epoch
+ * stamped set, so that no object is allocated per traversed edge.
+ * The whole state is kept in a {@link VisitWorkspace}, which can be reused by later searches on the same graph.
+ *
+ * A search can start from several sources at once, visiting each vertex at most once across all of them,
+ * and can be bounded to a maximum depth: the vertices at that depth are visited but not expanded.
+ * A search visiting more vertices than the maximum number of expansions fails with a {@link GraphException}.
+ *
+ * Searches can be driven by a {@link GraphVisitHandler}, or pulled through an {@link Iterator}.
+ *
+ * @param <V> The Graph vertices type
+ * @param <E> The Graph edges type
+ */
+final class SearchEngine<V, E>
+{
+
+    /**
+     * The predecessor id of the sources, which are reached through no edge, and the depth of unvisited vertices.
+     */
+    private static final int NONE = -1;
+
+    private final ImplicitGraph<V, E> successors;
+
+    private final int maxDepth;
+
+    private final int maximumExpansions;
+
+    private final Map<V, Integer> ids;
+
+    private final List<V> vertices;
+
+    private final IntArrayDeque pending;
+
+    private final IntEpochSet visited;
+
+    /**
+     * The depth of each vertex, indexed by vertex id.
+     */
+    private final IntArrayList depths;
+
+    /**
+     * The id of the source each vertex has been reached from, indexed by vertex id.
+     */
+    private final IntArrayList seeds;
+
+    /**
+     * Creates a new search engine on the input graph, that doesn't expand the vertices at the input depth.
+     *
+     * @param graph The graph to be searched, identifying the vertex ids kept by the workspace
+     * @param successors The successors of the graph vertices
+     * @param maxDepth The depth of the farthest vertices to be visited
+     * @param maximumExpansions The maximum number of vertices to be visited
+     * @param workspace The workspace holding the search state
+     */
+    public SearchEngine( Object graph, ImplicitGraph<V, E> successors, int maxDepth, int maximumExpansions,
+                         VisitWorkspace<V> workspace )
+    {
+        this.successors = successors;
+        this.maxDepth = maxDepth;
+        this.maximumExpansions = maximumExpansions;
+
+        workspace.startSearch( graph );
+        ids = workspace.ids;
+        vertices = workspace.vertices;
+        pending = workspace.pending;
+        visited = workspace.visited;
+        depths = workspace.depths;
+        seeds = workspace.seeds;
+    }
+
+    /**
+     * Visits the graph starting from the input sources.
+     *
+     * @param graph The graph to be searched, as seen by the handler
+     * @param sources The start vertices
+     * @param handler The handler intercepts visits
+     * @param breadthFirst true to visit breadth-first, false to visit depth-first
+     * @return The result of {@link GraphVisitHandler#onCompleted()}
+     */
+    public <G extends Graph<V, E>, O> O search( G graph, List<V> sources, GraphVisitHandler<V, E, G, O> handler,
+                                               boolean breadthFirst )
+    {
+        handler.discoverGraph( graph );
+
+        start( sources, breadthFirst );
+
+        DepthAwareGraphVisitHandler<V, E, G, O> depthAwareHandler = ( handler instanceof DepthAwareGraphVisitHandler )
+                        ? (DepthAwareGraphVisitHandler<V, E, G, O>) handler
+                        : null;
+
+        boolean visitingGraph = true;
+
+        while ( visitingGraph && !pending.isEmpty() )
+        {
+            // breadth-first takes the first pair, depth-first the last one
+            final int v;
+            final int predecessor;
+            if ( breadthFirst )
+            {
+                v = pending.removeFirst();
+                predecessor = pending.removeFirst();
+            }
+            else
+            {
+                predecessor = pending.removeLast();
+                v = pending.removeLast();
+            }
+
+            boolean skipVertex = false;
+
+            if ( predecessor != NONE )
+            {
+                // if the vertex was already visited, do not discover
+                // another edge leading to the same vertex
+                if ( visited.contains( v ) )
+                {
+                    continue;
+                }
+
+                V head = vertices.get( predecessor );
+                V tail = vertices.get( v );
+                E e = successors.getEdge( head, tail );
+
+                VisitState stateAfterEdgeDiscovery = handler.discoverEdge( head, e, tail );
+                if ( CONTINUE != stateAfterEdgeDiscovery )
+                {
+                    skipVertex = true;
+                    if ( ABORT == stateAfterEdgeDiscovery )
+                    {
+                        visitingGraph = false;
+                    }
+                }
+
+                if ( ABORT == handler.finishEdge( head, e, tail ) )
+                {
+                    skipVertex = true;
+                    visitingGraph = false;
+                }
+
+                if ( skipVertex )
+                {
+                    continue;
+                }
+
+                // only mark the current vertex as visited, if the
+                // edge leading to it should be expanded
+                markVisited( v, predecessor );
+            }
+
+            V vertex = vertices.get( v );
+            VisitState stateAfterVertexDiscovery = ( depthAwareHandler == null )
+                            ? handler.discoverVertex( vertex )
+                            : depthAwareHandler.discoverVertex( vertex, depths.get( v ), vertices.get( seeds.get( v ) ) );
+            if ( CONTINUE == stateAfterVertexDiscovery )
+            {
+                expand( v, vertex );
+            }
+            else if ( ABORT == stateAfterVertexDiscovery )
+            {
+                visitingGraph = false;
+            }
+
+            if ( ABORT == handler.finishVertex( vertex ) )
+            {
+                visitingGraph = false;
+            }
+        }
+
+        handler.finishGraph( graph );
+
+        return handler.onCompleted();
+    }
+
+    /**
+     * Returns the vertices reachable from the input sources, in the order they are visited.
+     *
+     * The search advances lazily: the vertices adjacent to the last returned one are not even fetched
+     * until the next one is requested.
+     *
+     * @param sources The start vertices
+     * @param breadthFirst true to visit breadth-first, false to visit depth-first
+     * @return The vertices reachable from the input sources
+     */
+    public Iterator<V> iterator( List<V> sources, boolean breadthFirst )
+    {
+        start( sources, breadthFirst );
+        return new SearchIterator( breadthFirst );
+    }
+
+    /**
+     * Pushes and marks as visited the sources, so that they are not reached from each other;
+     * depth-first searches push them backwards, so that they are popped in the input order.
+     */
+    private void start( List<V> sources, boolean breadthFirst )
+    {
+        for ( int i = 0; i < sources.size(); i++ )
+        {
+            int source = idOf( sources.get( breadthFirst ? i : sources.size() - 1 - i ) );
+            if ( !visited.contains( source ) )
+            {
+                markVisited( source, NONE );
+                pending.addLast( source );
+                pending.addLast( NONE );
+            }
+        }
+    }
+
+    /**
+     * Pushes the successors of the input vertex that have not been visited yet,
+     * unless the input one lies at the maximum depth.
+     */
+    private void expand( int v, V vertex )
+    {
+        if ( depths.get( v ) >= maxDepth )
+        {
+            return;
+        }
+
+        for ( V w : successors.getSuccessors( vertex ) )
+        {
+            int wId = idOf( w );
+            if ( !visited.contains( wId ) )
+            {
+                pending.addLast( wId );
+                pending.addLast( v );
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the input vertex, interning it if met for the first time.
+     */
+    private int idOf( V vertex )
+    {
+        Integer id = ids.get( vertex );
+        if ( id == null )
+        {
+            id = vertices.size();
+            ids.put( vertex, id );
+            vertices.add( vertex );
+            depths.add( NONE );
+            seeds.add( NONE );
+        }
+        return id;
+    }
+
+    /**
+     * Marks the input vertex as visited, inheriting the depth and the source of its predecessor.
+     */
+    private void markVisited( int v, int predecessor )
+    {
+        if ( visited.add( v ) && visited.size() > maximumExpansions )
+        {
+            throw new GraphException( "Search expanded more than %s vertices", maximumExpansions );
+        }
+
+        if ( predecessor == NONE )
+        {
+            depths.set( v, 0 );
+            seeds.set( v, v );
+        }
+        else
+        {
+            depths.set( v, depths.get( predecessor ) + 1 );
+            seeds.set( v, seeds.get( predecessor ) );
+        }
+    }
+
+    /**
+     * Visits one more vertex per {@link #next()} invocation.
+     */
+    private final class SearchIterator
+        implements Iterator<V>
+    {
+
+        private final boolean breadthFirst;
+
+        /**
+         * The last returned vertex, whose adjacent vertices are still to be pushed, -1 if none.
+         */
+        private int toExpand = NONE;
+
+        /**
+         * The vertex to be returned next, -1 if not yet found.
+         */
+        private int next = NONE;
+
+        public SearchIterator( boolean breadthFirst )
+        {
+            this.breadthFirst = breadthFirst;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext()
+        {
+            if ( next != NONE )
+            {
+                return true;
+            }
+
+            if ( toExpand != NONE )
+            {
+                expand( toExpand, vertices.get( toExpand ) );
+                toExpand = NONE;
+            }
+
+            while ( !pending.isEmpty() )
+            {
+                final int v;
+                final int predecessor;
+                if ( breadthFirst )
+                {
+                    v = pending.removeFirst();
+                    predecessor = pending.removeFirst();
+                }
+                else
+                {
+                    predecessor = pending.removeLast();
+                    v = pending.removeLast();
+                }
+
+                // sources are marked as visited when pushed
+                if ( predecessor == NONE || !visited.contains( v ) )
+                {
+                    if ( predecessor != NONE )
+                    {
+                        markVisited( v, predecessor );
+                    }
+                    next = v;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public V next()
+        {
+            if ( !hasNext() )
+            {
+                throw new NoSuchElementException();
+            }
+            toExpand = next;
+            next = NONE;
+            return vertices.get( toExpand );
+        }
+
+    }
+
+}
@@ -19,6 +19,9 @@ package org.apache.commons.graph.visit;
  * under the License.
  */
 
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 import org.apache.commons.graph.Graph;
 
 /**
@@ -31,6 +34,24 @@ import org.apache.commons.graph.Graph;
 public interface VisitAlgorithmsSelector<V, E, G extends Graph<V, E>>
 {
 
+    /**
+     * Bounds the search to the vertices lying at most {@code maxDepth} edges away from the sources:
+     * the vertices at that depth are visited, but not expanded.
+     *
+     * @param maxDepth The depth of the farthest vertices to be visited, {@code 0} to visit only the sources
+     * @return The search visit algorithm selector, bounded to the input depth
+     */
+    VisitAlgorithmsSelector<V, E, G> maxDepth( int maxDepth );
+
+    /**
+     * Runs the breadth-first and depth-first searches, and the lazy ones, in the input workspace,
+     * so that repeated searches on the same graph don't allocate their state.
+     *
+     * @param workspace The workspace holding the search state
+     * @return The search visit algorithm selector, using the input workspace
+     */
+    VisitAlgorithmsSelector<V, E, G> usingWorkspace( VisitWorkspace<V> workspace );
+
     /**
      * Breadth-first search algorithm implementation.
      *
@@ -59,4 +80,47 @@ public interface VisitAlgorithmsSelector<V, E, G extends Graph<V, E>>
      */
     <O> O applyingDepthFirstSearch( GraphVisitHandler<V, E, G, O> handler );
 
+    /**
+     * Breadth-first search algorithm implementation, expanding every level of the whole graph in parallel.
+     *
+     * @return The level and the parent of every vertex reachable from the sources
+     */
+    BreadthFirstTree<V> applyingParallelBreadthFirstSearch();
+
+    /**
+     * Breadth-first search algorithm implementation, computing the distances from every source at once:
+     * searches are run in batches of 64, sharing each adjacency scan.
+     *
+     * @return The distances from each source to every vertex
+     */
+    BreadthFirstDistances<V> applyingBitParallelBreadthFirstSearch();
+
+    /**
+     * Lazy breadth-first search: vertices are visited only as they are pulled from the returned iterator.
+     *
+     * @return The vertices reachable from the source, in breadth-first order
+     */
+    Iterator<V> breadthFirstIterator();
+
+    /**
+     * Lazy breadth-first search: vertices are visited only as they are pulled from the returned stream.
+     *
+     * @return The vertices reachable from the source, in breadth-first order
+     */
+    Stream<V> breadthFirstStream();
+
+    /**
+     * Lazy depth-first search: vertices are visited only as they are pulled from the returned iterator.
+     *
+     * @return The vertices reachable from the source, in depth-first order
+     */
+    Iterator<V> depthFirstIterator();
+
+    /**
+     * Lazy depth-first search: vertices are visited only as they are pulled from the returned stream.
+     *
+     * @return The vertices reachable from the source, in depth-first order
+     */
+    Stream<V> depthFirstStream();
+
 }
@@ -19,6 +19,8 @@ package org.apache.commons.graph.visit;
  * under the License.
  */
 
+import java.util.Collection;
+
 import org.apache.commons.graph.Graph;
 
 /**
@@ -39,4 +41,12 @@ public interface VisitSourceSelector<V, E, G extends Graph<V, E>>
      */
     <S extends V> VisitAlgorithmsSelector<V, E, G> from( S source );
 
+    /**
+     * Select the root nodes the search begins from: every vertex is visited at most once across all of them.
+     *
+     * @param sources The root nodes the search begins from
+     * @return The search visit algorithm selector
+     */
+    VisitAlgorithmsSelector<V, E, G> from( Collection<? extends V> sources );
+
 }
@@ -0,0 +1,97 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.graph.collections.primitive.IntArrayDeque;
+import org.apache.commons.graph.collections.primitive.IntArrayList;
+import org.apache.commons.graph.collections.primitive.IntEpochSet;
+
+/**
+ * The state of breadth-first and depth-first searches, to be reused across searches via
+ * {@link VisitAlgorithmsSelector#usingWorkspace(VisitWorkspace)}.
+ *
+ * A workspace remembers the ids of the vertices of the last searched graph, and marks visited vertices with
+ * the current search epoch rather than clearing them, so that repeated searches on the same graph don't allocate
+ * per visited vertex; searching a different graph drops the ids of the previous one.
+ *
+ * The workspace belongs to its caller: it keeps the vertices of the last searched graph until it is
+ * {@link #clear() cleared}, or used to search a different graph.
+ *
+ * <p><b>Note</b>: this class is NOT thread safe, and a workspace can't be shared by nested searches, nor by
+ * lazy iterators still being consumed.</p>
+ *
+ * @param <V> The Graph vertices type
+ */
+public final class VisitWorkspace<V>
+{
+
+    /**
+     * The graph the ids have been assigned for, compared by identity.
+     */
+    private Object graph;
+
+    final Map<V, Integer> ids = new HashMap<V, Integer>();
+
+    final List<V> vertices = new ArrayList<V>();
+
+    final IntArrayDeque pending = new IntArrayDeque();
+
+    final IntEpochSet visited = new IntEpochSet();
+
+    final IntArrayList depths = new IntArrayList();
+
+    final IntArrayList seeds = new IntArrayList();
+
+    /**
+     * Drops the ids of the last searched graph, so that it can be garbage collected.
+     */
+    public void clear()
+    {
+        graph = null;
+        ids.clear();
+        vertices.clear();
+        depths.clear();
+        seeds.clear();
+        pending.clear();
+        visited.clear();
+    }
+
+    /**
+     * Prepares the workspace for a new search on the input graph.
+     *
+     * @param graph The graph to be searched
+     */
+    void startSearch( Object graph )
+    {
+        if ( this.graph != graph )
+        {
+            clear();
+            this.graph = graph;
+        }
+        pending.clear();
+        visited.clear();
+    }
+
+}
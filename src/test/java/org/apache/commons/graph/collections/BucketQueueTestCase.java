@@ -0,0 +1,137 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public final class BucketQueueTestCase
+{
+
+    private MonotonePriorityQueue<Integer> queue;
+
+    @Before
+    public void setUp()
+    {
+        queue = new BucketQueue<Integer>( 101 );
+    }
+
+    @Test( expected = NoSuchElementException.class )
+    public void removeThrowsExceptionWhenEmpty()
+    {
+        queue.remove();
+    }
+
+    @Test( expected = NoSuchElementException.class )
+    public void minimumKeyThrowsExceptionWhenEmpty()
+    {
+        queue.getMinimumKey();
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void addSmallerThanLastRemovedKeyThrowsException()
+    {
+        queue.add( 10, 10 );
+        queue.remove();
+        queue.add( 9, 9 );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void addNullThrowsException()
+    {
+        queue.add( null, 0 );
+    }
+
+    @Test
+    public void removesInKeyOrder()
+    {
+        queue.add( 50, 50 );
+        queue.add( 20, 20 );
+        queue.add( 100, 100 );
+        queue.add( 21, 21 );
+
+        assertThat( queue.size(), is( 4 ) );
+        assertThat( queue.getMinimumKey(), is( 20L ) );
+        assertThat( queue.remove(), is( 20 ) );
+        assertThat( queue.remove(), is( 21 ) );
+        assertThat( queue.remove(), is( 50 ) );
+        assertThat( queue.remove(), is( 100 ) );
+        assertThat( queue.isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void clearEmptiesQueue()
+    {
+        queue.add( 1, 1 );
+        queue.add( 2, 2 );
+        queue.clear();
+
+        assertThat( queue.isEmpty(), is( true ) );
+        assertThat( queue.size(), is( 0 ) );
+    }
+
+    @Test
+    public void clearAcceptsSmallerKeysAgain()
+    {
+        queue.add( 50, 50 );
+        queue.remove();
+        queue.clear();
+
+        queue.add( 1, 1 );
+        queue.add( 3, 3 );
+
+        assertThat( queue.getMinimumKey(), is( 1L ) );
+        assertThat( queue.remove(), is( 1 ) );
+        assertThat( queue.remove(), is( 3 ) );
+    }
+
+    /**
+     * Simulates Dijkstra's algorithm usage: added keys are the last removed key plus a bounded increment.
+     */
+    @Test
+    public void removesInKeyOrderWithMonotoneInsertions()
+    {
+        Random random = new Random( 3 );
+        long lastKey = 0;
+        queue.add( 0, 0 );
+
+        for ( int i = 0; i < 10000; i++ )
+        {
+            long key = queue.getMinimumKey();
+            assertThat( key >= lastKey, is( true ) );
+            assertThat( queue.remove().longValue(), is( key ) );
+            lastKey = key;
+
+            int additions = queue.isEmpty() ? 1 + random.nextInt( 3 ) : random.nextInt( 3 );
+            for ( int j = 0; j < additions; j++ )
+            {
+                int newKey = (int) lastKey + random.nextInt( 101 );
+                queue.add( newKey, newKey );
+            }
+        }
+    }
+
+}
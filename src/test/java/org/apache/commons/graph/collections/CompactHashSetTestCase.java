@@ -0,0 +1,78 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public final class CompactHashSetTestCase
+{
+
+    @Test
+    public void behavesLikeHashSet()
+    {
+        Random random = new Random( 19 );
+        Set<Integer> expected = new HashSet<Integer>();
+        Set<Integer> actual = new CompactHashSet<Integer>();
+
+        for ( int i = 0; i < 20000; i++ )
+        {
+            Integer element = random.nextInt( 2000 );
+            switch ( random.nextInt( 3 ) )
+            {
+                case 0:
+                    assertThat( actual.remove( element ), is( expected.remove( element ) ) );
+                    break;
+
+                default:
+                    assertThat( actual.add( element ), is( expected.add( element ) ) );
+            }
+            assertThat( actual.contains( element ), is( expected.contains( element ) ) );
+            assertThat( actual.size(), is( expected.size() ) );
+        }
+
+        assertThat( new HashSet<Integer>( actual ), is( expected ) );
+    }
+
+    @Test
+    public void clearEmptiesSet()
+    {
+        Set<String> set = new CompactHashSet<String>( 100 );
+        set.add( "a" );
+        set.add( "b" );
+        set.clear();
+
+        assertThat( set.isEmpty(), is( true ) );
+        assertThat( set.contains( "a" ), is( false ) );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void addNullThrowsException()
+    {
+        new CompactHashSet<String>().add( null );
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.graph.utils.MultiThreadedTestRunner;
+import org.apache.commons.graph.utils.TestRunner;
+import org.junit.Test;
+
+public final class ConcurrentIntDisjointSetTestCase
+{
+
+    private static final int THREADS = 4;
+
+    // Utility class.
+    private static final class Unions
+        extends TestRunner
+    {
+
+        private final ConcurrentIntDisjointSet disjointSet;
+
+        private final int[] heads;
+
+        private final int[] tails;
+
+        private final int start;
+
+        private final AtomicInteger merges;
+
+        private Unions( ConcurrentIntDisjointSet disjointSet, int[] heads, int[] tails, int start, AtomicInteger merges )
+        {
+            this.disjointSet = disjointSet;
+            this.heads = heads;
+            this.tails = tails;
+            this.start = start;
+            this.merges = merges;
+        }
+
+        @Override
+        public void runTest()
+        {
+            // threads interleave over the same edges, so that they contend on the same roots
+            for ( int i = start; i < heads.length; i += THREADS )
+            {
+                if ( disjointSet.union( heads[i], tails[i] ) )
+                {
+                    merges.incrementAndGet();
+                }
+                disjointSet.connected( heads[i], tails[( i + 1 ) % tails.length] );
+            }
+        }
+
+    }
+
+    @Test
+    public void testUnion()
+    {
+        ConcurrentIntDisjointSet disjointSet = new ConcurrentIntDisjointSet( 5 );
+
+        assertThat( disjointSet.size(), is( 5 ) );
+        assertThat( disjointSet.union( 0, 1 ), is( true ) );
+        assertThat( disjointSet.union( 2, 3 ), is( true ) );
+        assertThat( disjointSet.union( 1, 0 ), is( false ) );
+        assertThat( disjointSet.getSetCount(), is( 3 ) );
+
+        assertThat( disjointSet.connected( 0, 1 ), is( true ) );
+        assertThat( disjointSet.connected( 1, 2 ), is( false ) );
+
+        assertThat( disjointSet.union( 0, 3 ), is( true ) );
+        assertThat( disjointSet.connected( 1, 2 ), is( true ) );
+        assertThat( disjointSet.find( 1 ), is( disjointSet.find( 2 ) ) );
+        assertThat( disjointSet.connected( 4, 2 ), is( false ) );
+        assertThat( disjointSet.getSetCount(), is( 2 ) );
+    }
+
+    @Test
+    public void testLongChain()
+    {
+        final int size = 1000000;
+        ConcurrentIntDisjointSet disjointSet = new ConcurrentIntDisjointSet( size );
+
+        for ( int i = 1; i < size; i++ )
+        {
+            disjointSet.union( i - 1, i );
+        }
+
+        assertThat( disjointSet.getSetCount(), is( 1 ) );
+        assertThat( disjointSet.connected( 0, size - 1 ), is( true ) );
+    }
+
+    @Test
+    public void testConcurrentUnionsMatchSequentialOnes()
+        throws Throwable
+    {
+        final int size = 20000;
+        final int edges = 15000;
+
+        Random random = new Random( 42 );
+        int[] heads = new int[edges];
+        int[] tails = new int[edges];
+        for ( int i = 0; i < edges; i++ )
+        {
+            heads[i] = random.nextInt( size );
+            tails[i] = random.nextInt( size );
+        }
+
+        for ( int round = 0; round < 10; round++ )
+        {
+            ConcurrentIntDisjointSet actual = new ConcurrentIntDisjointSet( size );
+            AtomicInteger merges = new AtomicInteger();
+
+            TestRunner[] trs = new TestRunner[THREADS];
+            for ( int i = 0; i < THREADS; i++ )
+            {
+                trs[i] = new Unions( actual, heads, tails, i, merges );
+            }
+            new MultiThreadedTestRunner( trs ).runRunnables();
+
+            IntDisjointSet expected = new IntDisjointSet( size );
+            for ( int i = 0; i < edges; i++ )
+            {
+                expected.union( heads[i], tails[i] );
+            }
+
+            // every merge has been reported by exactly one thread
+            assertThat( actual.getSetCount(), is( expected.getSetCount() ) );
+            assertThat( merges.get(), is( size - expected.getSetCount() ) );
+
+            for ( int i = 0; i < 1000; i++ )
+            {
+                int e1 = random.nextInt( size );
+                int e2 = random.nextInt( size );
+                assertThat( actual.connected( e1, e2 ), is( expected.connected( e1, e2 ) ) );
+            }
+        }
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNegativeSize()
+    {
+        new ConcurrentIntDisjointSet( -1 );
+    }
+
+}
@@ -0,0 +1,149 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class DaryHeapTestCase
+{
+
+    private AddressableQueue<Integer> queue;
+
+    @Before
+    public void setUp()
+    {
+        queue = new DaryHeap<Integer>( 4 );
+    }
+
+    @Test
+    public void testEmptyWhenCreated()
+    {
+        assertThat( queue.isEmpty(), is( true ) );
+        assertThat( queue.poll(), nullValue() );
+    }
+
+    @Test
+    public void testInsertSameValuesAndReturnsOrderedItems()
+    {
+        queue.add( 50 );
+        queue.add( 100 );
+        queue.add( 50 );
+
+        assertThat( queue.size(), is( 3 ) );
+        assertThat( queue.contains( 100 ), is( true ) );
+        assertThat( queue.poll(), is( 50 ) );
+        assertThat( queue.poll(), is( 50 ) );
+        assertThat( queue.poll(), is( 100 ) );
+        assertThat( queue.isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void testDecreaseKeyReplacingItems()
+    {
+        queue.add( 30 );
+        Handle<Integer> handle = queue.insert( 100 );
+        queue.add( 20 );
+
+        queue.decreaseKey( handle, 10 );
+
+        assertThat( queue.contains( 100 ), is( false ) );
+        assertThat( queue.poll(), is( 10 ) );
+        assertThat( handle.isQueued(), is( false ) );
+        assertThat( queue.poll(), is( 20 ) );
+        assertThat( queue.poll(), is( 30 ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testDecreaseKeyRejectsGreaterItems()
+    {
+        queue.decreaseKey( queue.insert( 10 ), 20 );
+    }
+
+    @Test
+    public void testClearDetachesHandles()
+    {
+        Handle<Integer> handle = queue.insert( 10 );
+        queue.add( 20 );
+
+        queue.clear();
+
+        assertThat( queue.isEmpty(), is( true ) );
+        assertThat( handle.isQueued(), is( false ) );
+    }
+
+    @Test
+    public void testReturnsOrderedItemsFromRandomDecreaseKey()
+    {
+        final Random r = new Random( 42 );
+        final int size = 1000;
+        final int[] keys = new int[size];
+        Comparator<Integer> comparator = new Comparator<Integer>()
+        {
+
+            public int compare( Integer o1, Integer o2 )
+            {
+                return keys[o1] < keys[o2] ? -1 : ( keys[o1] == keys[o2] ? 0 : 1 );
+            }
+
+        };
+        AddressableQueue<Integer> heap = new DaryHeap<Integer>( 3, comparator );
+
+        List<Handle<Integer>> handles = new ArrayList<Handle<Integer>>();
+        for ( int i = 0; i < size; i++ )
+        {
+            keys[i] = r.nextInt( 10000 );
+            handles.add( heap.insert( i ) );
+        }
+
+        int previous = 0;
+        int removed = 0;
+        while ( !heap.isEmpty() )
+        {
+            for ( int j = 0; j < 5; j++ )
+            {
+                Handle<Integer> handle = handles.get( r.nextInt( size ) );
+                if ( handle.isQueued() && keys[handle.getElement()] > previous )
+                {
+                    keys[handle.getElement()] = previous + r.nextInt( keys[handle.getElement()] - previous + 1 );
+                    heap.decreaseKey( handle );
+                }
+            }
+
+            int minimum = heap.poll();
+            assertThat( keys[minimum] >= previous, is( true ) );
+            previous = keys[minimum];
+            removed++;
+        }
+
+        assertThat( removed, is( size ) );
+    }
+
+}
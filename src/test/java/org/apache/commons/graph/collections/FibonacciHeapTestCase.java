@@ -21,16 +21,19 @@ package org.apache.commons.graph.collections;
 
 import static java.util.Collections.sort;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Random;
 
+import org.apache.commons.graph.collections.AddressableQueue.Handle;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -200,4 +203,144 @@ public final class FibonacciHeapTestCase
 
         assertThat( queue.poll(), is( 50 ) );
     }
+
+    @Test
+    public void testDecreaseKeyReordersItems()
+    {
+        final int[] keys = { 50, 100, 20, 21 };
+        FibonacciHeap<Integer> heap = new FibonacciHeap<Integer>( new Comparator<Integer>()
+        {
+
+            public int compare( Integer o1, Integer o2 )
+            {
+                return keys[o1] - keys[o2];
+            }
+
+        } );
+
+        List<Handle<Integer>> handles = new ArrayList<Handle<Integer>>();
+        for ( int i = 0; i < keys.length; i++ )
+        {
+            handles.add( heap.insert( i ) );
+        }
+
+        keys[1] = 10;
+        heap.decreaseKey( handles.get( 1 ) );
+
+        assertThat( heap.poll(), is( 1 ) );
+        assertThat( handles.get( 1 ).isQueued(), is( false ) );
+        assertThat( handles.get( 2 ).isQueued(), is( true ) );
+        assertThat( heap.poll(), is( 2 ) );
+        assertThat( heap.poll(), is( 3 ) );
+        assertThat( heap.poll(), is( 0 ) );
+        assertThat( heap.isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void testDecreaseKeyReplacingItems()
+    {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<Integer>();
+
+        heap.add( 30 );
+        Handle<Integer> handle = heap.insert( 100 );
+        heap.add( 20 );
+
+        heap.decreaseKey( handle, 10 );
+
+        assertThat( handle.getElement(), is( 10 ) );
+        assertThat( heap.contains( 100 ), is( false ) );
+        assertThat( heap.poll(), is( 10 ) );
+        assertThat( heap.poll(), is( 20 ) );
+        assertThat( heap.poll(), is( 30 ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testDecreaseKeyRejectsGreaterItems()
+    {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<Integer>();
+
+        heap.decreaseKey( heap.insert( 10 ), 20 );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testDecreaseKeyRejectsRemovedItems()
+    {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<Integer>();
+
+        Handle<Integer> handle = heap.insert( 10 );
+        heap.poll();
+        heap.decreaseKey( handle, 5 );
+    }
+
+    @Test
+    public void testReturnsOrderedItemsFromRandomDecreaseKey()
+    {
+        final Random r = new Random( 42 );
+        final int size = 1000;
+        final int[] keys = new int[size];
+        FibonacciHeap<Integer> heap = new FibonacciHeap<Integer>( new Comparator<Integer>()
+        {
+
+            public int compare( Integer o1, Integer o2 )
+            {
+                return keys[o1] < keys[o2] ? -1 : ( keys[o1] == keys[o2] ? 0 : 1 );
+            }
+
+        } );
+
+        List<Handle<Integer>> handles = new ArrayList<Handle<Integer>>();
+        for ( int i = 0; i < size; i++ )
+        {
+            keys[i] = r.nextInt( 10000 );
+            handles.add( heap.insert( i ) );
+        }
+
+        // interleave removals, to build deep trees, and decreases, to cut them
+        int previous = 0;
+        int removed = 0;
+        while ( !heap.isEmpty() )
+        {
+            for ( int j = 0; j < 5; j++ )
+            {
+                Handle<Integer> handle = handles.get( r.nextInt( size ) );
+                if ( handle.isQueued() && keys[handle.getElement()] > previous )
+                {
+                    keys[handle.getElement()] = previous + r.nextInt( keys[handle.getElement()] - previous + 1 );
+                    heap.decreaseKey( handle );
+                }
+            }
+
+            int minimum = heap.poll();
+            assertThat( keys[minimum] >= previous, is( true ) );
+            previous = keys[minimum];
+            removed++;
+        }
+
+        assertThat( removed, is( size ) );
+    }
+
+    @Test
+    public void testPoolingReusesNodes()
+    {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<Integer>( null, true );
+
+        Handle<Integer> first = heap.insert( 50 );
+        heap.add( 100 );
+        assertThat( heap.poll(), is( 50 ) );
+        assertThat( first.isQueued(), is( false ) );
+
+        Handle<Integer> second = heap.insert( 20 );
+        assertThat( second == first, is( true ) );
+        assertThat( second.getElement(), is( 20 ) );
+
+        heap.clear();
+        assertThat( heap.isEmpty(), is( true ) );
+        assertThat( second.isQueued(), is( false ) );
+
+        Handle<Integer> third = heap.insert( 30 );
+        assertThat( third.isQueued(), is( true ) );
+        assertThat( heap.poll(), is( 30 ) );
+        assertThat( heap.contains( 100 ), is( not( true ) ) );
+    }
+
 }
@@ -0,0 +1,122 @@
+package org.apache.commons.graph.collections;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public final class IntDisjointSetTestCase
+{
+
+    @Test
+    public void testSingletonsWhenCreated()
+    {
+        IntDisjointSet disjointSet = new IntDisjointSet( 5 );
+
+        assertThat( disjointSet.size(), is( 5 ) );
+        assertThat( disjointSet.getSetCount(), is( 5 ) );
+        for ( int i = 0; i < 5; i++ )
+        {
+            assertThat( disjointSet.find( i ), is( i ) );
+        }
+    }
+
+    @Test
+    public void testUnion()
+    {
+        IntDisjointSet disjointSet = new IntDisjointSet( 5 );
+
+        assertThat( disjointSet.union( 0, 1 ), is( true ) );
+        assertThat( disjointSet.union( 2, 3 ), is( true ) );
+        assertThat( disjointSet.union( 1, 0 ), is( false ) );
+        assertThat( disjointSet.getSetCount(), is( 3 ) );
+
+        assertThat( disjointSet.connected( 0, 1 ), is( true ) );
+        assertThat( disjointSet.connected( 1, 2 ), is( false ) );
+
+        assertThat( disjointSet.union( 0, 3 ), is( true ) );
+        assertThat( disjointSet.connected( 1, 2 ), is( true ) );
+        assertThat( disjointSet.connected( 4, 2 ), is( false ) );
+        assertThat( disjointSet.getSetCount(), is( 2 ) );
+    }
+
+    @Test
+    public void testLongChainDoesNotRecurse()
+    {
+        final int size = 1000000;
+        IntDisjointSet disjointSet = new IntDisjointSet( size );
+
+        for ( int i = 1; i < size; i++ )
+        {
+            disjointSet.union( i - 1, i );
+        }
+
+        assertThat( disjointSet.getSetCount(), is( 1 ) );
+        assertThat( disjointSet.connected( 0, size - 1 ), is( true ) );
+    }
+
+    @Test
+    public void testMatchesNaiveLabelsOnRandomUnions()
+    {
+        final int size = 500;
+        Random random = new Random( 42 );
+        IntDisjointSet disjointSet = new IntDisjointSet( size );
+        int[] labels = new int[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            labels[i] = i;
+        }
+
+        for ( int k = 0; k < 400; k++ )
+        {
+            int e1 = random.nextInt( size );
+            int e2 = random.nextInt( size );
+
+            boolean merged = labels[e1] != labels[e2];
+            assertThat( disjointSet.union( e1, e2 ), is( merged ) );
+            if ( merged )
+            {
+                int replaced = labels[e2];
+                for ( int i = 0; i < size; i++ )
+                {
+                    if ( labels[i] == replaced )
+                    {
+                        labels[i] = labels[e1];
+                    }
+                }
+            }
+
+            int e3 = random.nextInt( size );
+            assertThat( disjointSet.connected( e1, e3 ), is( labels[e1] == labels[e3] ) );
+        }
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNegativeSize()
+    {
+        new IntDisjointSet( -1 );
+    }
+
+}
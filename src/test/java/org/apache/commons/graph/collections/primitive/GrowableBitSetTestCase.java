@@ -0,0 +1,82 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public final class GrowableBitSetTestCase
+{
+
+    @Test
+    public void testAddGrowsAndCounts()
+    {
+        GrowableBitSet set = new GrowableBitSet();
+
+        assertThat( set.add( 3 ), is( true ) );
+        assertThat( set.add( 1000 ), is( true ) );
+        assertThat( set.add( 3 ), is( false ) );
+
+        assertThat( set.size(), is( 2 ) );
+        assertThat( set.contains( 3 ), is( true ) );
+        assertThat( set.contains( 4 ), is( false ) );
+        assertThat( set.contains( 100000 ), is( false ) );
+    }
+
+    @Test
+    public void testRemoveAndClear()
+    {
+        GrowableBitSet set = new GrowableBitSet( 10 );
+        set.add( 64 );
+        set.add( 65 );
+
+        assertThat( set.remove( 64 ), is( true ) );
+        assertThat( set.remove( 64 ), is( false ) );
+        assertThat( set.size(), is( 1 ) );
+
+        set.clear();
+        assertThat( set.isEmpty(), is( true ) );
+        assertThat( set.contains( 65 ), is( false ) );
+    }
+
+    @Test
+    public void testNextSetBit()
+    {
+        GrowableBitSet set = new GrowableBitSet();
+        set.add( 5 );
+        set.add( 63 );
+        set.add( 200 );
+
+        assertThat( set.nextSetBit( 0 ), is( 5 ) );
+        assertThat( set.nextSetBit( 6 ), is( 63 ) );
+        assertThat( set.nextSetBit( 64 ), is( 200 ) );
+        assertThat( set.nextSetBit( 201 ), is( -1 ) );
+        assertThat( set.nextSetBit( 10000 ), is( -1 ) );
+    }
+
+    @Test( expected = IndexOutOfBoundsException.class )
+    public void testNegativeElement()
+    {
+        new GrowableBitSet().add( -1 );
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+public final class IntArrayDequeTestCase
+{
+
+    @Test
+    public void testFifo()
+    {
+        IntArrayDeque deque = new IntArrayDeque();
+        for ( int i = 0; i < 50; i++ )
+        {
+            deque.addLast( i );
+        }
+
+        for ( int i = 0; i < 50; i++ )
+        {
+            assertThat( deque.removeFirst(), is( i ) );
+        }
+        assertThat( deque.isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void testWrapsAroundWhileGrowing()
+    {
+        IntArrayDeque deque = new IntArrayDeque( 4 );
+        deque.addLast( 1 );
+        deque.addLast( 2 );
+        deque.addFirst( 0 );
+        deque.addFirst( -1 );
+        deque.addLast( 3 );
+
+        assertThat( deque.size(), is( 5 ) );
+        assertThat( deque.getFirst(), is( -1 ) );
+        assertThat( deque.getLast(), is( 3 ) );
+        for ( int i = -1; i <= 3; i++ )
+        {
+            assertThat( deque.removeFirst(), is( i ) );
+        }
+    }
+
+    @Test
+    public void testMatchesArrayDeque()
+    {
+        Random random = new Random( 42 );
+        IntArrayDeque actual = new IntArrayDeque( 2 );
+        Deque<Integer> expected = new ArrayDeque<Integer>();
+
+        for ( int i = 0; i < 10000; i++ )
+        {
+            int value = random.nextInt();
+            switch ( expected.isEmpty() ? random.nextInt( 2 ) : random.nextInt( 4 ) )
+            {
+                case 0:
+                    actual.addFirst( value );
+                    expected.addFirst( value );
+                    break;
+                case 1:
+                    actual.addLast( value );
+                    expected.addLast( value );
+                    break;
+                case 2:
+                    assertThat( actual.removeFirst(), is( expected.removeFirst() ) );
+                    break;
+                default:
+                    assertThat( actual.removeLast(), is( expected.removeLast() ) );
+                    break;
+            }
+            assertThat( actual.size(), is( expected.size() ) );
+        }
+    }
+
+    @Test( expected = NoSuchElementException.class )
+    public void testRemoveFirstWhenEmpty()
+    {
+        new IntArrayDeque().removeFirst();
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public final class IntArrayListTestCase
+{
+
+    @Test
+    public void testGrowsBeyondInitialCapacity()
+    {
+        IntArrayList list = new IntArrayList( 2 );
+        for ( int i = 0; i < 100; i++ )
+        {
+            list.add( i * 3 );
+        }
+
+        assertThat( list.size(), is( 100 ) );
+        for ( int i = 0; i < 100; i++ )
+        {
+            assertThat( list.get( i ), is( i * 3 ) );
+        }
+        assertThat( list.toArray().length, is( 100 ) );
+    }
+
+    @Test
+    public void testAddAll()
+    {
+        IntArrayList list = new IntArrayList( 1 );
+        list.add( 1 );
+        IntArrayList other = new IntArrayList();
+        for ( int i = 2; i < 40; i++ )
+        {
+            other.add( i );
+        }
+
+        list.addAll( other );
+        list.addAll( new IntArrayList() );
+
+        assertThat( list.size(), is( 39 ) );
+        for ( int i = 0; i < 39; i++ )
+        {
+            assertThat( list.get( i ), is( i + 1 ) );
+        }
+    }
+
+    @Test
+    public void testStackOperations()
+    {
+        IntArrayList list = new IntArrayList();
+        list.add( 1 );
+        list.add( 2 );
+
+        assertThat( list.getLast(), is( 2 ) );
+        assertThat( list.removeLast(), is( 2 ) );
+        assertThat( list.removeLast(), is( 1 ) );
+        assertThat( list.isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void testSetAndClear()
+    {
+        IntArrayList list = new IntArrayList();
+        list.add( 1 );
+
+        assertThat( list.set( 0, 5 ), is( 1 ) );
+        assertThat( list.get( 0 ), is( 5 ) );
+
+        list.clear();
+        assertThat( list.size(), is( 0 ) );
+    }
+
+    @Test( expected = IndexOutOfBoundsException.class )
+    public void testGetOutOfBounds()
+    {
+        IntArrayList list = new IntArrayList();
+        list.add( 1 );
+        list.get( 1 );
+    }
+
+    @Test( expected = NoSuchElementException.class )
+    public void testRemoveLastWhenEmpty()
+    {
+        new IntArrayList().removeLast();
+    }
+
+}
@@ -0,0 +1,75 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public final class IntDoubleHashMapTestCase
+{
+
+    @Test
+    public void testPutGetAndRemove()
+    {
+        IntDoubleHashMap map = new IntDoubleHashMap( 0 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            map.put( i * 31, i / 2D );
+        }
+
+        assertThat( map.size(), is( 1000 ) );
+        for ( int i = 0; i < 1000; i += 2 )
+        {
+            assertThat( map.remove( i * 31 ), is( true ) );
+        }
+
+        assertThat( map.size(), is( 500 ) );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            double expected = i % 2 == 0 ? Double.NaN : i / 2D;
+            assertThat( map.get( i * 31, Double.NaN ), is( expected ) );
+        }
+    }
+
+    @Test
+    public void testReplace()
+    {
+        IntDoubleHashMap map = new IntDoubleHashMap();
+
+        assertThat( map.put( 3, 1.5D ), is( true ) );
+        assertThat( map.put( 3, 0.5D ), is( false ) );
+        assertThat( map.get( 3, 0D ), is( 0.5D ) );
+        assertThat( map.remove( 4 ), is( false ) );
+    }
+
+    @Test
+    public void testAddTo()
+    {
+        IntDoubleHashMap map = new IntDoubleHashMap();
+
+        assertThat( map.addTo( 5, 1.5D ), is( 1.5D ) );
+        assertThat( map.addTo( 5, 2D ), is( 3.5D ) );
+        assertThat( map.get( 5, 0D ), is( 3.5D ) );
+        assertThat( map.size(), is( 1 ) );
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public final class IntEpochSetTestCase
+{
+
+    @Test
+    public void testAddAndGrow()
+    {
+        IntEpochSet set = new IntEpochSet( 2 );
+
+        assertThat( set.add( 0 ), is( true ) );
+        assertThat( set.add( 100 ), is( true ) );
+        assertThat( set.add( 100 ), is( false ) );
+
+        assertThat( set.size(), is( 2 ) );
+        assertThat( set.contains( 100 ), is( true ) );
+        assertThat( set.contains( 99 ), is( false ) );
+        assertThat( set.contains( 1000 ), is( false ) );
+    }
+
+    @Test
+    public void testClearStartsAnEmptyEpoch()
+    {
+        IntEpochSet set = new IntEpochSet();
+        for ( int epoch = 0; epoch < 1000; epoch++ )
+        {
+            assertThat( set.isEmpty(), is( true ) );
+            assertThat( set.contains( epoch % 10 ), is( false ) );
+            assertThat( set.add( epoch % 10 ), is( true ) );
+            assertThat( set.add( 10 ), is( true ) );
+            assertThat( set.size(), is( 2 ) );
+            set.clear();
+        }
+    }
+
+}
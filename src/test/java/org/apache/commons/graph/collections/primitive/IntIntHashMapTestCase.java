@@ -0,0 +1,98 @@
+package org.apache.commons.graph.collections.primitive;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public final class IntIntHashMapTestCase
+{
+
+    @Test
+    public void testPutAndGet()
+    {
+        IntIntHashMap map = new IntIntHashMap();
+
+        assertThat( map.put( 1, 10 ), is( true ) );
+        assertThat( map.put( -7, 70 ), is( true ) );
+        assertThat( map.put( 1, 11 ), is( false ) );
+
+        assertThat( map.size(), is( 2 ) );
+        assertThat( map.get( 1, -1 ), is( 11 ) );
+        assertThat( map.get( -7, -1 ), is( 70 ) );
+        assertThat( map.get( 2, -1 ), is( -1 ) );
+        assertThat( map.containsKey( 2 ), is( false ) );
+    }
+
+    @Test
+    public void testMatchesHashMap()
+    {
+        Random random = new Random( 42 );
+        IntIntHashMap actual = new IntIntHashMap( 0 );
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+
+        for ( int i = 0; i < 20000; i++ )
+        {
+            int key = random.nextInt( 500 );
+            if ( random.nextBoolean() )
+            {
+                assertThat( actual.put( key, i ), is( expected.put( key, i ) == null ) );
+            }
+            else
+            {
+                assertThat( actual.remove( key ), is( expected.remove( key ) != null ) );
+            }
+            assertThat( actual.size(), is( expected.size() ) );
+        }
+
+        for ( int key = 0; key < 500; key++ )
+        {
+            assertThat( actual.containsKey( key ), is( expected.containsKey( key ) ) );
+            if ( expected.containsKey( key ) )
+            {
+                assertThat( actual.get( key, -1 ), is( expected.get( key ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void testClear()
+    {
+        IntIntHashMap map = new IntIntHashMap();
+        map.put( 1, 1 );
+        map.clear();
+
+        assertThat( map.isEmpty(), is( true ) );
+        assertThat( map.containsKey( 1 ), is( false ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNegativeExpectedSize()
+    {
+        new IntIntHashMap( -1 );
+    }
+
+}
@@ -0,0 +1,144 @@
+package org.apache.commons.graph.model;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.graph.VertexPair;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class ArrayWeightedPathTestCase
+{
+
+    private final BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+
+    private final BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+
+    private final BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+
+    private final BaseLabeledVertex d = new BaseLabeledVertex( "d" );
+
+    private final BaseLabeledWeightedEdge<Double> ab = new BaseLabeledWeightedEdge<Double>( "a -> b", 1D );
+
+    private final BaseLabeledWeightedEdge<Double> bc = new BaseLabeledWeightedEdge<Double>( "b -> c", 2D );
+
+    private final BaseLabeledWeightedEdge<Double> cd = new BaseLabeledWeightedEdge<Double>( "c -> d", 4D );
+
+    private ArrayWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> path;
+
+    @Before
+    public void setUp()
+    {
+        path = new ArrayWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( a, d,
+                                             asList( a, b, c, d ),
+                                             asList( ab, bc, cd ),
+                                             new DoubleWeightBaseOperations(),
+                                             new BaseWeightedEdge<Double>() );
+    }
+
+    @Test
+    public void testLookups()
+    {
+        assertEquals( 7D, path.getWeight(), 0D );
+        assertEquals( 4, path.getOrder() );
+        assertEquals( 3, path.getSize() );
+
+        assertTrue( path.containsVertex( c ) );
+        assertFalse( path.containsVertex( new BaseLabeledVertex( "e" ) ) );
+        assertTrue( path.containsEdge( bc ) );
+
+        assertEquals( bc, path.getEdge( b, c ) );
+        assertNull( path.getEdge( c, b ) );
+        assertNull( path.getEdge( a, c ) );
+        assertNull( path.getEdge( d, a ) );
+
+        assertEquals( new VertexPair<BaseLabeledVertex>( c, d ), path.getVertices( cd ) );
+        assertEquals( asList( c ), path.getConnectedVertices( b ) );
+        assertNull( path.getConnectedVertices( d ) );
+        assertEquals( 1, path.getDegree( a ) );
+        assertEquals( 2, path.getDegree( b ) );
+    }
+
+    @Test
+    public void testEqualsInMemoryPath()
+    {
+        InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> expected =
+            new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( a, d, new DoubleWeightBaseOperations(),
+                                                                                                  new BaseWeightedEdge<Double>() );
+        expected.addConnectionInTail( a, ab, b );
+        expected.addConnectionInTail( b, bc, c );
+        expected.addConnectionInTail( c, cd, d );
+
+        assertEquals( expected, path );
+        assertEquals( path, expected );
+        assertEquals( expected.hashCode(), path.hashCode() );
+
+        InMemoryPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> unweighted =
+            new InMemoryPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>( a, d );
+        unweighted.addConnectionInTail( a, ab, b );
+        unweighted.addConnectionInTail( b, bc, c );
+        unweighted.addConnectionInTail( c, cd, d );
+
+        assertFalse( unweighted.equals( path ) );
+        assertFalse( path.equals( unweighted ) );
+    }
+
+    @Test
+    public void testEmptyPath()
+    {
+        List<BaseLabeledVertex> noVertices = Collections.emptyList();
+        List<BaseLabeledWeightedEdge<Double>> noEdges = Collections.emptyList();
+
+        ArrayWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> empty =
+            new ArrayWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( a, a, noVertices, noEdges,
+                                                                                               new DoubleWeightBaseOperations(),
+                                                                                               new BaseWeightedEdge<Double>() );
+
+        assertEquals( 0D, empty.getWeight(), 0D );
+        assertEquals( 0, empty.getOrder() );
+        assertFalse( empty.containsVertex( a ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNotMatchingTarget()
+    {
+        new ArrayWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( a, c,
+                                             asList( a, b, c, d ),
+                                             asList( ab, bc, cd ),
+                                             new DoubleWeightBaseOperations(),
+                                             new BaseWeightedEdge<Double>() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testDegreeOfUnknownVertex()
+    {
+        path.getDegree( new BaseLabeledVertex( "e" ) );
+    }
+
+}
@@ -19,18 +19,27 @@ package org.apache.commons.graph.shortestpath;
  * under the License.
  */
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.apache.commons.graph.collections.AddressableQueues.daryHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.pairingHeaps;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.Path;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
 import org.apache.commons.graph.model.BaseLabeledVertex;
 import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
 import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
 import org.apache.commons.graph.model.InMemoryWeightedPath;
 import org.apache.commons.graph.model.UndirectedMutableGraph;
 import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
@@ -102,10 +111,9 @@ public final class AStarTestCase
         InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> expected =
             new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( start, goal, new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
 
-        expected.addConnectionInTail( start, new BaseLabeledWeightedEdge<Double>( "start <-> a", 1.5D ), a );
-        expected.addConnectionInTail( a, new BaseLabeledWeightedEdge<Double>( "a <-> b", 2D ), b );
-        expected.addConnectionInTail( b, new BaseLabeledWeightedEdge<Double>( "b <-> c", 3D ), c );
-        expected.addConnectionInTail( c, new BaseLabeledWeightedEdge<Double>( "c <-> goal", 3D ), goal );
+        expected.addConnectionInTail( start, new BaseLabeledWeightedEdge<Double>( "start <-> d", 2D ), d );
+        expected.addConnectionInTail( d, new BaseLabeledWeightedEdge<Double>( "d <-> e", 3D ), e );
+        expected.addConnectionInTail( e, new BaseLabeledWeightedEdge<Double>( "e <-> goal", 2D ), goal );
 
         // actual path
 
@@ -122,6 +130,88 @@ public final class AStarTestCase
         assertEquals( expected, actual );
     }
 
+    /**
+     * With a zero heuristic A* is Dijkstra's algorithm, so both must find paths of the same weight.
+     */
+    @Test
+    public void testZeroHeuristicMatchesDijkstra()
+    {
+        Heuristic<BaseLabeledVertex, Double> zero = new Heuristic<BaseLabeledVertex, Double>()
+        {
+
+            public Double applyHeuristic( BaseLabeledVertex current, BaseLabeledVertex goal )
+            {
+                return 0D;
+            }
+
+        };
+
+        Random random = new Random( 42 );
+        for ( int i = 0; i < 200; i++ )
+        {
+            DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+                new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+            List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+            for ( int j = 0; j < 40; j++ )
+            {
+                BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( j ) );
+                graph.addVertex( vertex );
+                vertices.add( vertex );
+            }
+
+            for ( int j = 0; j < 160; j++ )
+            {
+                BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+                BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+                if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+                {
+                    graph.addEdge( head, new BaseLabeledWeightedEdge<Double>( head + " -> " + tail, 1D + random.nextInt( 20 ) ), tail );
+                }
+            }
+
+            BaseLabeledVertex source = vertices.get( 0 );
+            BaseLabeledVertex target = vertices.get( 1 + random.nextInt( vertices.size() - 1 ) );
+
+            Double expected;
+            try
+            {
+                expected = findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                    .from( source )
+                    .to( target )
+                    .applyingDijkstra( new DoubleWeightBaseOperations() )
+                    .getWeight();
+            }
+            catch ( PathNotFoundException e )
+            {
+                expected = null;
+            }
+
+            for ( AddressableQueueFactory queueFactory : asList( fibonacciHeaps(), pairingHeaps(), daryHeaps( 2 ), daryHeaps( 4 ) ) )
+            {
+                Double actual;
+                try
+                {
+                    actual = findShortestPath( graph )
+                        .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                        .from( source )
+                        .to( target )
+                        .usingQueue( queueFactory )
+                        .applyingAStar( new DoubleWeightBaseOperations() )
+                        .withHeuristic( zero )
+                        .getWeight();
+                }
+                catch ( PathNotFoundException e )
+                {
+                    actual = null;
+                }
+
+                assertEquals( expected, actual );
+            }
+        }
+    }
+
     @Test( expected = PathNotFoundException.class )
     public void testNotConnectGraph()
     {
@@ -0,0 +1,221 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class BidirectionalAStarTestCase
+{
+
+    private static final int SIDE = 12;
+
+    /**
+     * Manhattan distance between grid cells, consistent since every edge weighs at least 1.
+     */
+    private static final Heuristic<BaseLabeledVertex, Integer> MANHATTAN = new Heuristic<BaseLabeledVertex, Integer>()
+    {
+
+        public Integer applyHeuristic( BaseLabeledVertex current, BaseLabeledVertex goal )
+        {
+            int from = Integer.parseInt( current.getLabel() );
+            int to = Integer.parseInt( goal.getLabel() );
+            return Math.abs( from / SIDE - to / SIDE ) + Math.abs( from % SIDE - to % SIDE );
+        }
+
+    };
+
+    private static BaseLabeledVertex[] buildGrid( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph,
+                                                  Random random, boolean bothWays )
+    {
+        BaseLabeledVertex[] cells = new BaseLabeledVertex[SIDE * SIDE];
+        for ( int i = 0; i < cells.length; i++ )
+        {
+            cells[i] = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( cells[i] );
+        }
+
+        for ( int i = 0; i < cells.length; i++ )
+        {
+            if ( i % SIDE < SIDE - 1 )
+            {
+                connect( graph, random, cells[i], cells[i + 1], bothWays );
+            }
+            if ( i / SIDE < SIDE - 1 )
+            {
+                connect( graph, random, cells[i], cells[i + SIDE], bothWays );
+            }
+        }
+        return cells;
+    }
+
+    private static void connect( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph, Random random,
+                                 BaseLabeledVertex head, BaseLabeledVertex tail, boolean bothWays )
+    {
+        graph.addEdge( head, new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, 1 + random.nextInt( 5 ) ), tail );
+        if ( bothWays )
+        {
+            graph.addEdge( tail, new BaseLabeledWeightedEdge<Integer>( tail + " -> " + head, 1 + random.nextInt( 5 ) ), head );
+        }
+    }
+
+    @Test
+    public void testMatchesDijkstraOnUndirectedGrid()
+    {
+        Random random = new Random( 5 );
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+        verifyAgainstDijkstra( graph, buildGrid( graph, random, false ), random );
+    }
+
+    @Test
+    public void testMatchesDijkstraOnDirectedGrid()
+    {
+        Random random = new Random( 11 );
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+        verifyAgainstDijkstra( graph, buildGrid( graph, random, true ), random );
+    }
+
+    private void verifyAgainstDijkstra( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph,
+                                        BaseLabeledVertex[] cells, Random random )
+    {
+        for ( int i = 0; i < 50; i++ )
+        {
+            BaseLabeledVertex source = cells[random.nextInt( cells.length )];
+            BaseLabeledVertex target = cells[random.nextInt( cells.length )];
+
+            WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expected =
+                findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                    .from( source )
+                    .to( target )
+                    .applyingDijkstra( new IntegerWeightBaseOperations() );
+
+            WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> actual =
+                findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                    .from( source )
+                    .to( target )
+                    .applyingAStar( new IntegerWeightBaseOperations() )
+                    .bidirectional()
+                    .withHeuristic( MANHATTAN );
+
+            assertEquals( expected.getWeight(), actual.getWeight() );
+            assertEquals( source, actual.getSource() );
+            assertEquals( target, actual.getTarget() );
+        }
+    }
+
+    @Test
+    public void testSameSourceAndTarget()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+        BaseLabeledVertex[] cells = buildGrid( graph, new Random( 1 ), false );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> path =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .from( cells[7] )
+                .to( cells[7] )
+                .applyingAStar( new IntegerWeightBaseOperations() )
+                .bidirectional()
+                .withHeuristic( MANHATTAN );
+
+        assertEquals( 0, path.getSize() );
+        assertEquals( Integer.valueOf( 0 ), path.getWeight() );
+    }
+
+    @Test
+    public void testCachedSearch()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+        BaseLabeledVertex[] cells = buildGrid( graph, new Random( 2 ), false );
+
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+        BaseWeightedEdge<Integer> weightedEdges = new BaseWeightedEdge<Integer>();
+        IntegerWeightBaseOperations weightOperations = new IntegerWeightBaseOperations();
+
+        for ( int i = 0; i < 2; i++ )
+        {
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( weightedEdges )
+                .usingCache( cache )
+                .from( cells[0] )
+                .to( cells[cells.length - 1] )
+                .applyingAStar( weightOperations )
+                .bidirectional()
+                .withHeuristic( MANHATTAN );
+        }
+
+        assertEquals( 1, cache.getHitCount() );
+        assertEquals( 1, cache.getMissCount() );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "0" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "1" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+            .from( a )
+            .to( b )
+            .applyingAStar( new IntegerWeightBaseOperations() )
+            .bidirectional()
+            .withHeuristic( MANHATTAN );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullHeuristic()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+            .from( new BaseLabeledVertex( "0" ) )
+            .to( new BaseLabeledVertex( "1" ) )
+            .applyingAStar( new IntegerWeightBaseOperations() )
+            .bidirectional()
+            .withHeuristic( null );
+    }
+
+}
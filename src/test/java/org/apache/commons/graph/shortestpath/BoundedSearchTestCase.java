@@ -0,0 +1,247 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.apache.commons.graph.collections.AddressableQueues.daryHeaps;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.InMemoryWeightedPath;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class BoundedSearchTestCase
+{
+
+    private DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph;
+
+    private BaseLabeledVertex one, two, three, four, five, six;
+
+    /**
+     * Test Graph can be seen on
+     * <a href="http://en.wikipedia.org/wiki/Dijkstra's_algorithm>Wikipedia</a>
+     */
+    @Before
+    public void setUp()
+    {
+        graph = new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        one = new BaseLabeledVertex( "1" );
+        two = new BaseLabeledVertex( "2" );
+        three = new BaseLabeledVertex( "3" );
+        four = new BaseLabeledVertex( "4" );
+        five = new BaseLabeledVertex( "5" );
+        six = new BaseLabeledVertex( "6" );
+
+        graph.addVertex( one );
+        graph.addVertex( two );
+        graph.addVertex( three );
+        graph.addVertex( four );
+        graph.addVertex( five );
+        graph.addVertex( six );
+
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 6", 14D ), six );
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 3", 9D ), three );
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 2", 7D ), two );
+
+        graph.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 3", 10D ), three );
+        graph.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 4", 15D ), four );
+
+        graph.addEdge( three, new BaseLabeledWeightedEdge<Double>( "3 -> 6", 2D ), six );
+        graph.addEdge( three, new BaseLabeledWeightedEdge<Double>( "3 -> 4", 11D ), four );
+
+        graph.addEdge( four, new BaseLabeledWeightedEdge<Double>( "4 -> 5", 6D ), five );
+        graph.addEdge( six, new BaseLabeledWeightedEdge<Double>( "6 -> 5", 9D ), five );
+    }
+
+    @Test
+    public void testWithinMaxWeight()
+    {
+        BoundedShortestPaths<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .within( 11D )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+        assertEquals( 4, actual.size() );
+        assertEquals( 0D, actual.getShortestDistance( one ), 0D );
+        assertEquals( 7D, actual.getShortestDistance( two ), 0D );
+        assertEquals( 9D, actual.getShortestDistance( three ), 0D );
+        assertEquals( 11D, actual.getShortestDistance( six ), 0D );
+        assertFalse( actual.hasShortestDistance( four ) );
+        assertFalse( actual.hasShortestDistance( five ) );
+
+        InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> expected =
+            new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( one, six, new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
+        expected.addConnectionInTail( one, new BaseLabeledWeightedEdge<Double>( "1 -> 3", 9D ), three );
+        expected.addConnectionInTail( three, new BaseLabeledWeightedEdge<Double>( "3 -> 6", 2D ), six );
+
+        assertEquals( expected, actual.findShortestPath( six ) );
+    }
+
+    @Test
+    public void testMaxHops()
+    {
+        BoundedShortestPaths<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .maxHops( 2 )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+        assertEquals( 6, actual.size() );
+        assertEquals( 11D, actual.getShortestDistance( six ), 0D );
+        assertEquals( 20D, actual.getShortestDistance( four ), 0D );
+        // 1 -> 3 -> 6 -> 5 weights 20, but needs 3 hops
+        assertEquals( 23D, actual.getShortestDistance( five ), 0D );
+        assertEquals( 2, actual.getHops( five ) );
+        assertEquals( 2, actual.findShortestPath( five ).getSize() );
+    }
+
+    @Test
+    public void testMaxHopsAndWeight()
+    {
+        BoundedShortestPaths<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .maxHops( 1 )
+                .within( 10D )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+        assertEquals( 3, actual.size() );
+        assertTrue( actual.hasShortestDistance( three ) );
+        assertFalse( actual.hasShortestDistance( six ) );
+    }
+
+    @Test
+    public void testUnboundedSearchMatchesDijkstra()
+    {
+        BoundedShortestPaths<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .within( Double.MAX_VALUE )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+        for ( BaseLabeledVertex target : graph.getVertices() )
+        {
+            if ( !one.equals( target ) )
+            {
+                assertEquals( findShortestPath( graph )
+                                  .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                                  .from( one )
+                                  .to( target )
+                                  .applyingDijkstra( new DoubleWeightBaseOperations() ),
+                              actual.findShortestPath( target ) );
+            }
+        }
+    }
+
+    @Test
+    public void testUsesSelectedQueue()
+    {
+        final List<AddressableQueue<?>> queues = new ArrayList<AddressableQueue<?>>();
+        AddressableQueueFactory queueFactory = new AddressableQueueFactory()
+        {
+
+            public <E> AddressableQueue<E> newQueue( Comparator<? super E> comparator )
+            {
+                AddressableQueue<E> queue = daryHeaps( 2 ).newQueue( comparator );
+                queues.add( queue );
+                return queue;
+            }
+
+        };
+
+        BoundedShortestPaths<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> selectedFirst =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .usingQueue( queueFactory )
+                .maxHops( 2 )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+        BoundedShortestPaths<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> selectedLast =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .within( 11D )
+                .usingQueue( queueFactory )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+        assertEquals( 2, queues.size() );
+        assertEquals( 23D, selectedFirst.getShortestDistance( five ), 0D );
+        assertEquals( 11D, selectedLast.getShortestDistance( six ), 0D );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullQueue()
+    {
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( one )
+            .maxHops( 2 )
+            .usingQueue( null );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testOutOfBounds()
+    {
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( one )
+            .maxHops( 0 )
+            .applyingDijkstra( new DoubleWeightBaseOperations() )
+            .getShortestDistance( two );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNegativeHops()
+    {
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( one )
+            .maxHops( -1 );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMaxWeight()
+    {
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( one )
+            .within( null );
+    }
+
+}
@@ -21,9 +21,18 @@ package org.apache.commons.graph.shortestpath;
 
 import static org.junit.Assert.assertEquals;
 import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.apache.commons.graph.collections.AddressableQueues.daryHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.pairingHeaps;
+import static java.util.Arrays.asList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.Path;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
 import org.apache.commons.graph.model.BaseLabeledVertex;
 import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
 import org.apache.commons.graph.model.BaseWeightedEdge;
@@ -36,6 +45,19 @@ import org.junit.Test;
 public final class DijkstraTestCase
 {
 
+    /**
+     * Turns A* into Dijkstra's algorithm.
+     */
+    private static final Heuristic<BaseLabeledVertex, Double> ZERO = new Heuristic<BaseLabeledVertex, Double>()
+    {
+
+        public Double applyHeuristic( BaseLabeledVertex current, BaseLabeledVertex goal )
+        {
+            return 0D;
+        }
+
+    };
+
     /**
      * Test Graph and Dijkstra's solution can be seen on
      * <a href="http://en.wikipedia.org/wiki/Dijkstra's_algorithm>Wikipedia</a>
@@ -98,6 +120,68 @@ public final class DijkstraTestCase
         assertEquals( expected, actual );
     }
 
+    @Test
+    public void testSameWeightsUsingAnyQueue()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        Random random = new Random( 42 );
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 200; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        // a ring keeps the graph strongly connected
+        for ( int i = 0; i < vertices.size(); i++ )
+        {
+            BaseLabeledVertex head = vertices.get( i );
+            BaseLabeledVertex tail = vertices.get( ( i + 1 ) % vertices.size() );
+            graph.addEdge( head, new BaseLabeledWeightedEdge<Double>( head + " -> " + tail, 10D * random.nextDouble() ), tail );
+        }
+        for ( int i = 0; i < 1000; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledWeightedEdge<Double>( head + " -> " + tail, 10D * random.nextDouble() ), tail );
+            }
+        }
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            BaseLabeledVertex source = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex target = vertices.get( random.nextInt( vertices.size() ) );
+
+            double expected = findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( source )
+                .to( target )
+                .applyingDijkstra( new DoubleWeightBaseOperations() )
+                .getWeight();
+
+            for ( AddressableQueueFactory queueFactory : asList( fibonacciHeaps(), pairingHeaps(), daryHeaps( 2 ), daryHeaps( 4 ) ) )
+            {
+                ShortestPathAlgorithmSelector<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> selector =
+                    findShortestPath( graph )
+                        .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                        .from( source )
+                        .to( target )
+                        .usingQueue( queueFactory );
+
+                assertEquals( expected, selector.applyingDijkstra( new DoubleWeightBaseOperations() ).getWeight(), 1E-9 );
+                assertEquals( expected, selector.applyingBidirectionalDijkstra( new DoubleWeightBaseOperations() ).getWeight(), 1E-9 );
+                assertEquals( expected, selector.applyingYen( 1, new DoubleWeightBaseOperations() ).get( 0 ).getWeight(), 1E-9 );
+                assertEquals( expected, selector.applyingAStar( new DoubleWeightBaseOperations() ).withHeuristic( ZERO ).getWeight(), 1E-9 );
+                assertEquals( expected, selector.applyingAStar( new DoubleWeightBaseOperations() ).bidirectional().withHeuristic( ZERO ).getWeight(), 1E-9 );
+            }
+        }
+    }
+
     @Test( expected = PathNotFoundException.class )
     public void testNotConnectGraph()
     {
@@ -0,0 +1,180 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class DistanceMatrixTestCase
+{
+
+    @Test
+    public void testMatchesFloydWarshallOnRandomGraphs()
+    {
+        Random random = new Random( 13 );
+
+        verifyAgainstFloydWarshall( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random );
+        verifyAgainstFloydWarshall( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random );
+    }
+
+    private void verifyAgainstFloydWarshall( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph,
+                                             Random random )
+    {
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 60; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        for ( int i = 0; i < 150; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, 1 + random.nextInt( 10 ) ), tail );
+            }
+        }
+
+        // duplicated sources and targets are searched once
+        List<BaseLabeledVertex> sources = new ArrayList<BaseLabeledVertex>( vertices.subList( 0, 40 ) );
+        sources.addAll( vertices.subList( 10, 20 ) );
+        List<BaseLabeledVertex> targets = new ArrayList<BaseLabeledVertex>( vertices.subList( 20, 60 ) );
+        targets.add( vertices.get( 0 ) );
+        targets.add( vertices.get( 30 ) );
+
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expected =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .applyingFloydWarshall( new IntegerWeightBaseOperations() );
+
+        DistanceMatrix<BaseLabeledVertex, Integer> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .fromAll( sources )
+                .toAll( targets )
+                .applyingDijkstra( new IntegerWeightBaseOperations() );
+
+        assertEquals( vertices.subList( 0, 40 ), actual.getSources() );
+        assertEquals( 41, actual.getTargets().size() );
+
+        for ( BaseLabeledVertex source : sources )
+        {
+            for ( BaseLabeledVertex target : targets )
+            {
+                assertEquals( expected.hasShortestDistance( source, target ), actual.hasShortestDistance( source, target ) );
+                if ( expected.hasShortestDistance( source, target ) )
+                {
+                    assertEquals( expected.getShortestDistance( source, target ), actual.getShortestDistance( source, target ) );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        DistanceMatrix<BaseLabeledVertex, Double> matrix =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .fromAll( asList( a ) )
+                .toAll( asList( a, b ) )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+        assertEquals( 0D, matrix.getShortestDistance( a, a ), 0D );
+        assertFalse( matrix.hasShortestDistance( a, b ) );
+        assertNull( matrix.getDistance( 0, 1 ) );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testUnreachableTarget()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .fromAll( asList( a ) )
+            .toAll( asList( b ) )
+            .applyingDijkstra( new DoubleWeightBaseOperations() )
+            .getShortestDistance( a, b );
+    }
+
+    @Test( expected = GraphException.class )
+    public void testUnknownSource()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .fromAll( asList( new BaseLabeledVertex( "a" ) ) );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .fromAll( asList( a ) )
+            .toAll( asList( a ) )
+            .applyingDijkstra( null );
+    }
+
+}
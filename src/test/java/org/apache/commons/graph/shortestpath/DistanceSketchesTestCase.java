@@ -0,0 +1,203 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.UndirectedGraph;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class DistanceSketchesTestCase
+{
+
+    @Test
+    public void testPathGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addVertex( c );
+
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> b", 2D ), b );
+        graph.addEdge( b, new BaseLabeledWeightedEdge<Double>( "b <-> c", 3D ), c );
+
+        DistanceSketches<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> oracle =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .applyingDistanceSketches( 4, new DoubleWeightBaseOperations() );
+
+        assertEquals( 0D, oracle.getApproximateDistance( a, a ), 0D );
+        // every vertex of a path graph is on the shortest path between its ends
+        assertEquals( 5D, oracle.getApproximateDistance( a, c ), 0D );
+        assertEquals( 5D, oracle.getApproximateDistance( c, a ), 0D );
+        assertTrue( oracle.getApproximateDistance( a, b ) >= 2D );
+        assertTrue( oracle.getSketchesSize() >= graph.getOrder() );
+    }
+
+    @Test
+    public void testBoundedStretchOnRandomGraphs()
+    {
+        Random random = new Random( 42 );
+
+        verifyAgainstFloydWarshall( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random );
+        verifyAgainstFloydWarshall( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random );
+    }
+
+    private void verifyAgainstFloydWarshall( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph,
+                                             Random random )
+    {
+        final int order = 64;
+
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < order; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        // a ring keeps the graph strongly connected, random chords make it interesting
+        for ( int i = 0; i < order; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( i );
+            BaseLabeledVertex tail = vertices.get( ( i + 1 ) % order );
+            graph.addEdge( head, new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, 1 + random.nextInt( 10 ) ), tail );
+        }
+        for ( int i = 0; i < 2 * order; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( order ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( order ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, 1 + random.nextInt( 10 ) ), tail );
+            }
+        }
+
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expected =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .applyingFloydWarshall( new IntegerWeightBaseOperations() );
+
+        DistanceSketches<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .applyingDistanceSketches( 3, new IntegerWeightBaseOperations() );
+
+        // 2 log2(n) - 1
+        final int stretch = 11;
+
+        for ( BaseLabeledVertex source : vertices )
+        {
+            for ( BaseLabeledVertex target : vertices )
+            {
+                if ( !actual.hasApproximateDistance( source, target ) )
+                {
+                    assertFalse( graph instanceof UndirectedGraph );
+                    continue;
+                }
+
+                int exact = expected.getShortestDistance( source, target );
+                int estimate = actual.getApproximateDistance( source, target );
+                assertTrue( estimate >= exact );
+                if ( graph instanceof UndirectedGraph )
+                {
+                    assertTrue( estimate <= stretch * exact );
+                }
+            }
+        }
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        final BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        final BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .applyingDistanceSketches( 2, new DoubleWeightBaseOperations() )
+            .getApproximateDistance( a, b );
+    }
+
+    @Test( expected = GraphException.class )
+    public void testUnknownVertex()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        final BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .applyingDistanceSketches( 2, new DoubleWeightBaseOperations() )
+            .getApproximateDistance( a, new BaseLabeledVertex( "b" ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNonPositiveRepetitions()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .applyingDistanceSketches( 0, new DoubleWeightBaseOperations() );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .applyingDistanceSketches( 2, null );
+    }
+
+}
@@ -0,0 +1,287 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.pairingHeaps;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseMutableGraph;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class DynamicShortestPathTreeTestCase
+{
+
+    @Test
+    public void testInsertionsAndWeightDecreases()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        final Map<BaseLabeledEdge, Integer> weights = new HashMap<BaseLabeledEdge, Integer>();
+        Mapper<BaseLabeledEdge, Integer> weightedEdges = mapper( weights );
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addVertex( c );
+
+        addEdge( graph, weights, a, 10, b );
+
+        DynamicShortestPathTree<BaseLabeledVertex, BaseLabeledEdge, Integer> tree =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( weightedEdges )
+                .from( a )
+                .applyingDynamicDijkstra( new IntegerWeightBaseOperations() );
+
+        assertEquals( Integer.valueOf( 10 ), tree.getShortestDistance( b ) );
+        assertFalse( tree.hasShortestDistance( c ) );
+
+        addEdge( graph, weights, b, 1, c );
+        assertEquals( Integer.valueOf( 11 ), tree.getShortestDistance( c ) );
+
+        BaseLabeledEdge ac = addEdge( graph, weights, a, 20, c );
+        assertEquals( Integer.valueOf( 11 ), tree.getShortestDistance( c ) );
+
+        weights.put( ac, 5 );
+        tree.edgeWeightDecreased( a, c );
+        assertEquals( Integer.valueOf( 5 ), tree.getShortestDistance( c ) );
+        assertEquals( 1, tree.findShortestPath( c ).getSize() );
+
+        weights.put( ac, 30 );
+        tree.edgeWeightIncreased( a, c );
+        assertEquals( Integer.valueOf( 11 ), tree.getShortestDistance( c ) );
+        assertEquals( 2, tree.findShortestPath( c ).getSize() );
+
+        tree.detach();
+        BaseLabeledVertex d = new BaseLabeledVertex( "d" );
+        graph.addVertex( d );
+        addEdge( graph, weights, a, 1, d );
+        assertFalse( tree.hasShortestDistance( d ) );
+    }
+
+    @Test
+    public void testMatchesRecomputationOnRandomChanges()
+    {
+        Random random = new Random( 3 );
+
+        // the selected queue is used by every repair
+        for ( AddressableQueueFactory queueFactory : asList( fibonacciHeaps(), pairingHeaps() ) )
+        {
+            verifyRandomChanges( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), random, queueFactory );
+            verifyRandomChanges( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), random, queueFactory );
+        }
+    }
+
+    private void verifyRandomChanges( BaseMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph, Random random,
+                                      AddressableQueueFactory queueFactory )
+    {
+        Map<BaseLabeledEdge, Integer> weights = new HashMap<BaseLabeledEdge, Integer>();
+        Mapper<BaseLabeledEdge, Integer> weightedEdges = mapper( weights );
+
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 30; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        BaseLabeledVertex source = vertices.get( 0 );
+
+        DynamicShortestPathTree<BaseLabeledVertex, BaseLabeledEdge, Integer> tree =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( weightedEdges )
+                .from( source )
+                .usingQueue( queueFactory )
+                .applyingDynamicDijkstra( new IntegerWeightBaseOperations() );
+
+        List<BaseLabeledEdge> edges = new ArrayList<BaseLabeledEdge>();
+        for ( int change = 0; change < 300; change++ )
+        {
+            int operation = random.nextInt( 10 );
+            if ( operation < 6 || edges.isEmpty() )
+            {
+                BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+                BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+                if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+                {
+                    edges.add( addEdge( graph, weights, head, 1 + random.nextInt( 20 ), tail ) );
+                }
+            }
+            else if ( operation < 8 )
+            {
+                BaseLabeledEdge edge = edges.get( random.nextInt( edges.size() ) );
+                weights.put( edge, Math.max( 0, weights.get( edge ) - 1 - random.nextInt( 5 ) ) );
+                tree.edgeWeightDecreased( graph.getVertices( edge ).getHead(), graph.getVertices( edge ).getTail() );
+            }
+            else
+            {
+                BaseLabeledEdge edge = edges.remove( random.nextInt( edges.size() ) );
+                graph.removeEdge( edge );
+            }
+
+            verify( graph, weightedEdges, source, vertices, tree );
+        }
+    }
+
+    private void verify( BaseMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph,
+                         Mapper<BaseLabeledEdge, Integer> weightedEdges, BaseLabeledVertex source,
+                         List<BaseLabeledVertex> vertices,
+                         DynamicShortestPathTree<BaseLabeledVertex, BaseLabeledEdge, Integer> tree )
+    {
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledEdge, Integer> expected =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( weightedEdges )
+                .from( source )
+                .applyingShortestPathFaster( new IntegerWeightBaseOperations() );
+
+        for ( BaseLabeledVertex target : vertices )
+        {
+            if ( source.equals( target ) )
+            {
+                assertEquals( Integer.valueOf( 0 ), tree.getShortestDistance( target ) );
+                continue;
+            }
+
+            try
+            {
+                Integer distance = expected.findShortestPath( source, target ).getWeight();
+                assertEquals( distance, tree.getShortestDistance( target ) );
+                assertEquals( distance, tree.findShortestPath( target ).getWeight() );
+            }
+            catch ( PathNotFoundException e )
+            {
+                assertFalse( tree.hasShortestDistance( target ) );
+            }
+        }
+    }
+
+    @Test
+    public void testVertexRemoval()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        Map<BaseLabeledEdge, Integer> weights = new HashMap<BaseLabeledEdge, Integer>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+        BaseLabeledVertex d = new BaseLabeledVertex( "d" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addVertex( c );
+        graph.addVertex( d );
+
+        addEdge( graph, weights, a, 1, b );
+        addEdge( graph, weights, b, 1, c );
+        addEdge( graph, weights, a, 5, d );
+        addEdge( graph, weights, d, 5, c );
+
+        DynamicShortestPathTree<BaseLabeledVertex, BaseLabeledEdge, Integer> tree =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( mapper( weights ) )
+                .from( a )
+                .applyingDynamicDijkstra( new IntegerWeightBaseOperations() );
+
+        assertEquals( Integer.valueOf( 2 ), tree.getShortestDistance( c ) );
+
+        graph.removeVertex( b );
+        assertFalse( tree.hasShortestDistance( b ) );
+        assertTrue( tree.hasShortestDistance( c ) );
+        assertEquals( Integer.valueOf( 10 ), tree.getShortestDistance( c ) );
+        assertEquals( 3, tree.size() );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( mapper( new HashMap<BaseLabeledEdge, Integer>() ) )
+            .from( a )
+            .applyingDynamicDijkstra( new IntegerWeightBaseOperations() )
+            .findShortestPath( b );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( mapper( new HashMap<BaseLabeledEdge, Integer>() ) )
+            .from( a )
+            .applyingDynamicDijkstra( null );
+    }
+
+    private static Mapper<BaseLabeledEdge, Integer> mapper( final Map<BaseLabeledEdge, Integer> weights )
+    {
+        return new Mapper<BaseLabeledEdge, Integer>()
+        {
+
+            public Integer map( BaseLabeledEdge input )
+            {
+                return weights.get( input );
+            }
+
+        };
+    }
+
+    private static BaseLabeledEdge addEdge( BaseMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph,
+                                            Map<BaseLabeledEdge, Integer> weights,
+                                            BaseLabeledVertex head, int weight, BaseLabeledVertex tail )
+    {
+        BaseLabeledEdge edge = new BaseLabeledEdge( head.getLabel() + " -> " + tail.getLabel() );
+        weights.put( edge, weight );
+        graph.addEdge( head, edge, tail );
+        return edge;
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.ImplicitGraph;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class ImplicitGraphTestCase
+{
+
+    /**
+     * An unbounded grid, where each cell is connected to its four neighbors and the column {@code x = 3}
+     * is a wall, except for the cell {@code ( 3, 10 )}.
+     */
+    private static final ImplicitGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> GRID =
+        new ImplicitGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>()
+    {
+
+        public Iterable<BaseLabeledVertex> getSuccessors( BaseLabeledVertex v )
+        {
+            int x = x( v );
+            int y = y( v );
+            List<BaseLabeledVertex> successors = new ArrayList<BaseLabeledVertex>( 4 );
+            addIfFree( successors, x + 1, y );
+            addIfFree( successors, x - 1, y );
+            addIfFree( successors, x, y + 1 );
+            addIfFree( successors, x, y - 1 );
+            return successors;
+        }
+
+        private void addIfFree( List<BaseLabeledVertex> successors, int x, int y )
+        {
+            if ( x != 3 || y == 10 )
+            {
+                successors.add( cell( x, y ) );
+            }
+        }
+
+        public BaseLabeledWeightedEdge<Integer> getEdge( BaseLabeledVertex head, BaseLabeledVertex tail )
+        {
+            return new BaseLabeledWeightedEdge<Integer>( head.getLabel() + " -> " + tail.getLabel(), 1 );
+        }
+
+    };
+
+    private static final Heuristic<BaseLabeledVertex, Integer> MANHATTAN = new Heuristic<BaseLabeledVertex, Integer>()
+    {
+
+        public Integer applyHeuristic( BaseLabeledVertex current, BaseLabeledVertex goal )
+        {
+            return Math.abs( x( current ) - x( goal ) ) + Math.abs( y( current ) - y( goal ) );
+        }
+
+    };
+
+    private static BaseLabeledVertex cell( int x, int y )
+    {
+        return new BaseLabeledVertex( x + "," + y );
+    }
+
+    private static int x( BaseLabeledVertex v )
+    {
+        return Integer.parseInt( v.getLabel().split( "," )[0] );
+    }
+
+    private static int y( BaseLabeledVertex v )
+    {
+        return Integer.parseInt( v.getLabel().split( "," )[1] );
+    }
+
+    @Test
+    public void testAStarDijkstraAndIntegerDijkstraAgree()
+    {
+        // around the wall: 5 steps up to the gap, 6 steps right, 10 steps down
+        Integer expected = 21;
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> aStar =
+            findShortestPath( GRID )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .from( cell( 0, 5 ) )
+                .to( cell( 6, 0 ) )
+                .applyingAStar( new IntegerWeightBaseOperations() )
+                .withHeuristic( MANHATTAN );
+        assertEquals( expected, aStar.getWeight() );
+        assertTrue( aStar.containsVertex( cell( 3, 10 ) ) );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> dijkstra =
+            findShortestPath( GRID )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .from( cell( 0, 5 ) )
+                .to( cell( 6, 0 ) )
+                .applyingDijkstra( new IntegerWeightBaseOperations() );
+        assertEquals( expected, dijkstra.getWeight() );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> integerDijkstra =
+            findShortestPath( GRID )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .from( cell( 0, 5 ) )
+                .to( cell( 6, 0 ) )
+                .applyingIntegerDijkstra( new IntegerWeightBaseOperations() );
+        assertEquals( expected, integerDijkstra.getWeight() );
+    }
+
+    @Test( expected = GraphException.class )
+    public void testExpansionsLimit()
+    {
+        findShortestPath( GRID )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+            .from( cell( 0, 0 ) )
+            .to( cell( 100, 100 ) )
+            .maxExpansions( 50 )
+            .applyingDijkstra( new IntegerWeightBaseOperations() );
+    }
+
+    @Test( expected = GraphException.class )
+    public void testExpansionsLimitOfAStar()
+    {
+        // the 21 vertices along the shortest path, but the target, are expanded at least
+        findShortestPath( GRID )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+            .from( cell( 0, 5 ) )
+            .to( cell( 6, 0 ) )
+            .maxExpansions( 20 )
+            .applyingAStar( new IntegerWeightBaseOperations() )
+            .withHeuristic( MANHATTAN );
+    }
+
+}
@@ -0,0 +1,230 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.LongWeightBaseOperations;
+import org.junit.Test;
+
+public final class IntegerDijkstraTestCase
+{
+
+    @Test
+    public void testBucketQueueMatchesDijkstra()
+    {
+        Random random = new Random( 13 );
+        verifyAgainstDijkstra( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random, 100, true );
+        verifyAgainstDijkstra( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random, 100, true );
+    }
+
+    @Test
+    public void testRadixHeapMatchesDijkstra()
+    {
+        Random random = new Random( 17 );
+        verifyAgainstDijkstra( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random, 1000000, false );
+        verifyAgainstDijkstra( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random, 1000000, false );
+        verifyAgainstDijkstra( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random, 1000000, true );
+    }
+
+    private void verifyAgainstDijkstra( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph,
+                                        Random random, int maximumWeight, boolean bounded )
+    {
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 50; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        for ( int i = 0; i < 200; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, 1 + random.nextInt( maximumWeight ) ), tail );
+            }
+        }
+
+        for ( BaseLabeledVertex source : vertices )
+        {
+            BaseLabeledVertex target = vertices.get( random.nextInt( vertices.size() ) );
+
+            WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expected = null;
+            try
+            {
+                expected = findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                    .from( source )
+                    .to( target )
+                    .applyingDijkstra( new IntegerWeightBaseOperations() );
+            }
+            catch ( PathNotFoundException e )
+            {
+                // verified below
+            }
+
+            try
+            {
+                ShortestPathAlgorithmSelector<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> selector =
+                    findShortestPath( graph )
+                        .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                        .from( source )
+                        .to( target );
+                WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> actual = bounded
+                                ? selector.applyingIntegerDijkstra( new IntegerWeightBaseOperations(), maximumWeight )
+                                : selector.applyingIntegerDijkstra( new IntegerWeightBaseOperations() );
+
+                assertEquals( expected.getWeight(), actual.getWeight() );
+            }
+            catch ( PathNotFoundException e )
+            {
+                assertNull( expected );
+            }
+        }
+    }
+
+    @Test
+    public void testLongWeights()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Long>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Long>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addVertex( c );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Long>( "a -> b", 3000000000L ), b );
+        graph.addEdge( b, new BaseLabeledWeightedEdge<Long>( "b -> c", 3000000000L ), c );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Long>( "a -> c", 7000000000L ), c );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Long>, Long> path =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Long>() )
+                .from( a )
+                .to( c )
+                .applyingIntegerDijkstra( new LongWeightBaseOperations() );
+
+        assertEquals( Long.valueOf( 6000000000L ), path.getWeight() );
+        assertEquals( 2, path.getSize() );
+    }
+
+    @Test
+    public void testFallsBackOnOtherWeights()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addVertex( c );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> b", 0.5D ), b );
+        graph.addEdge( b, new BaseLabeledWeightedEdge<Double>( "b <-> c", 0.25D ), c );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> c", 1D ), c );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> path =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( a )
+                .to( c )
+                .applyingIntegerDijkstra( new DoubleWeightBaseOperations() );
+
+        assertEquals( 0.75D, path.getWeight(), 0D );
+    }
+
+    private static DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> newTriangle( int weight )
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addVertex( c );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Integer>( "a -> b", 1 ), b );
+        graph.addEdge( b, new BaseLabeledWeightedEdge<Integer>( "b -> c", weight ), c );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Integer>( "a -> c", 4 ), c );
+        return graph;
+    }
+
+    @Test
+    public void testFallsBackOnNegativeWeights()
+    {
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> path =
+            findShortestPath( newTriangle( -3 ) )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .from( new BaseLabeledVertex( "a" ) )
+                .to( new BaseLabeledVertex( "c" ) )
+                .applyingIntegerDijkstra( new IntegerWeightBaseOperations() );
+
+        assertEquals( Integer.valueOf( -2 ), path.getWeight() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testEdgeHeavierThanMaximumWeight()
+    {
+        findShortestPath( newTriangle( 20 ) )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+            .from( new BaseLabeledVertex( "a" ) )
+            .to( new BaseLabeledVertex( "c" ) )
+            .applyingIntegerDijkstra( new IntegerWeightBaseOperations(), 10 );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+            .from( a )
+            .to( a )
+            .applyingIntegerDijkstra( null );
+    }
+
+}
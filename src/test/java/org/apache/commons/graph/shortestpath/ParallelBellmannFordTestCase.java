@@ -0,0 +1,227 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.InMemoryWeightedPath;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class ParallelBellmannFordTestCase
+{
+
+    @Test
+    public void testFindShortestPathAndVerify()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex one = new BaseLabeledVertex( "1" );
+        BaseLabeledVertex two = new BaseLabeledVertex( "2" );
+        BaseLabeledVertex three = new BaseLabeledVertex( "3" );
+        BaseLabeledVertex four = new BaseLabeledVertex( "4" );
+        BaseLabeledVertex five = new BaseLabeledVertex( "5" );
+
+        graph.addVertex( one );
+        graph.addVertex( two );
+        graph.addVertex( three );
+        graph.addVertex( four );
+        graph.addVertex( five );
+
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 2", 6D ), two );
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 4", 7D ), four );
+
+        graph.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 3", 5D ), three );
+        graph.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 5", -4D ), five );
+        graph.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 4", 8D ), four );
+
+        graph.addEdge( three, new BaseLabeledWeightedEdge<Double>( "3 -> 2", -2D ), two );
+
+        graph.addEdge( four, new BaseLabeledWeightedEdge<Double>( "4 -> 3", -3D ), three );
+        graph.addEdge( four, new BaseLabeledWeightedEdge<Double>( "4 -> 5", 9D ), five );
+
+        graph.addEdge( five, new BaseLabeledWeightedEdge<Double>( "5 -> 3", 7D ), three );
+        graph.addEdge( five, new BaseLabeledWeightedEdge<Double>( "5 -> 1", 2D ), one );
+
+        // the expected weighted path
+        InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> expected =
+            new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( one, three, new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
+        expected.addConnectionInTail( one, new BaseLabeledWeightedEdge<Double>( "1 -> 4", 7D ), four );
+        expected.addConnectionInTail( four, new BaseLabeledWeightedEdge<Double>( "4 -> 3", -3D ), three );
+
+        // the actual weighted path
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> allVertexPairsShortestPath =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .applyingParallelBelmannFord( new DoubleWeightBaseOperations() );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+            allVertexPairsShortestPath.findShortestPath( one, three );
+        assertEquals( expected, actual );
+    }
+
+    @Test
+    public void testMatchesBellmannFordOnRandomGraphs()
+    {
+        Random random = new Random( 7 );
+
+        for ( int round = 0; round < 3; round++ )
+        {
+            DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+                new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+
+            List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+            int[] potentials = new int[300];
+            for ( int i = 0; i < potentials.length; i++ )
+            {
+                BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+                graph.addVertex( vertex );
+                vertices.add( vertex );
+                // a few high potential vertices, so that a few edges get negative weights
+                potentials[i] = random.nextInt( 10 ) == 0 ? 20 : 0;
+            }
+
+            // enough edges to be relaxed by several tasks
+            for ( int i = 0; i < 5000; i++ )
+            {
+                int head = random.nextInt( potentials.length );
+                int tail = random.nextInt( potentials.length );
+                if ( head != tail && graph.getEdge( vertices.get( head ), vertices.get( tail ) ) == null )
+                {
+                    // reweighting by potentials changes no cycle weight, so no negative-weighted cycle can arise
+                    int weight = 1 + random.nextInt( 10 ) + potentials[head] - potentials[tail];
+                    graph.addEdge( vertices.get( head ),
+                                   new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, weight ),
+                                   vertices.get( tail ) );
+                }
+            }
+
+            BaseLabeledVertex source = vertices.get( 0 );
+
+            AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expected =
+                findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                    .from( source )
+                    .applyingBelmannFord( new IntegerWeightBaseOperations() );
+
+            AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> actual =
+                findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                    .from( source )
+                    .applyingParallelBelmannFord( new IntegerWeightBaseOperations() );
+
+            for ( BaseLabeledVertex target : vertices )
+            {
+                if ( !source.equals( target ) )
+                {
+                    assertEquals( expected.findShortestPath( source, target ).getWeight(),
+                                  actual.findShortestPath( source, target ).getWeight() );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeWeightedCycle()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+        BaseLabeledVertex d = new BaseLabeledVertex( "d" );
+
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addVertex( c );
+        graph.addVertex( d );
+
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a -> b", 1D ), b );
+        graph.addEdge( b, new BaseLabeledWeightedEdge<Double>( "b -> c", 2D ), c );
+        graph.addEdge( c, new BaseLabeledWeightedEdge<Double>( "c -> b", -3D ), b );
+        graph.addEdge( c, new BaseLabeledWeightedEdge<Double>( "c -> d", 1D ), d );
+
+        try
+        {
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( a )
+                .applyingParallelBelmannFord( new DoubleWeightBaseOperations() );
+            fail( "Negative-weighted cycle not detected" );
+        }
+        catch ( NegativeWeightedCycleException e )
+        {
+            assertNotNull( e.getCycle() );
+            assertEquals( 2, e.getCycle().getSize() );
+            assertEquals( -1D, (Double) e.getCycle().getWeight(), 0D );
+        }
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( a )
+            .applyingParallelBelmannFord( new DoubleWeightBaseOperations() )
+            .findShortestPath( a, b );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( a )
+            .applyingParallelBelmannFord( null );
+    }
+
+}
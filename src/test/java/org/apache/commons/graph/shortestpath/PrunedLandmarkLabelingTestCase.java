@@ -0,0 +1,197 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.Graph;
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.UndirectedGraph;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class PrunedLandmarkLabelingTestCase
+{
+
+    private void findShortestDistanceAndVerify( Graph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> weighted )
+    {
+        MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> mutable =
+            (MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>) weighted;
+
+        // building Graph
+
+        BaseLabeledVertex one = new BaseLabeledVertex( "1" );
+        BaseLabeledVertex two = new BaseLabeledVertex( "2" );
+        BaseLabeledVertex three = new BaseLabeledVertex( "3" );
+        BaseLabeledVertex four = new BaseLabeledVertex( "4" );
+        BaseLabeledVertex five = new BaseLabeledVertex( "5" );
+        BaseLabeledVertex six = new BaseLabeledVertex( "6" );
+
+        mutable.addVertex( one );
+        mutable.addVertex( two );
+        mutable.addVertex( three );
+        mutable.addVertex( four );
+        mutable.addVertex( five );
+        mutable.addVertex( six );
+
+        mutable.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 6", 14D ), six );
+        mutable.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 3", 9D ), three );
+        mutable.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 2", 7D ), two );
+
+        mutable.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 3", 10D ), three );
+        mutable.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 4", 15D ), four );
+
+        mutable.addEdge( three, new BaseLabeledWeightedEdge<Double>( "3 -> 6", 2D ), six );
+        mutable.addEdge( three, new BaseLabeledWeightedEdge<Double>( "3 -> 4", 11D ), four );
+
+        mutable.addEdge( four, new BaseLabeledWeightedEdge<Double>( "4 -> 5", 6D ), five );
+        mutable.addEdge( six, new BaseLabeledWeightedEdge<Double>( "6 -> 5", 9D ), five );
+
+        PrunedLandmarkLabeling<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> index =
+            findShortestPath( weighted )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .applyingPrunedLandmarkLabeling( new DoubleWeightBaseOperations() );
+
+        assertEquals( 0D, index.getShortestDistance( one, one ), 0D );
+        assertEquals( 11D, index.getShortestDistance( one, six ), 0D );
+        assertEquals( 6D, index.getShortestDistance( four, five ), 0D );
+        assertEquals( 20D, index.getShortestDistance( one, five ), 0D );
+
+        if ( weighted instanceof UndirectedGraph )
+        {
+            assertEquals( 11D, index.getShortestDistance( six, one ), 0D );
+            assertEquals( 6D, index.getShortestDistance( five, four ), 0D );
+            assertEquals( 20D, index.getShortestDistance( five, one ), 0D );
+        }
+        else
+        {
+            assertFalse( index.hasShortestDistance( five, one ) );
+        }
+    }
+
+    @Test
+    public void testDirectedShortestDistance()
+    {
+        findShortestDistanceAndVerify( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>() );
+    }
+
+    @Test
+    public void testUndirectedShortestDistance()
+    {
+        findShortestDistanceAndVerify( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>() );
+    }
+
+    @Test
+    public void testMatchesFloydWarshallOnRandomGraphs()
+    {
+        Random random = new Random( 42 );
+
+        verifyAgainstFloydWarshall( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random );
+        verifyAgainstFloydWarshall( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>(), random );
+    }
+
+    private void verifyAgainstFloydWarshall( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph,
+                                             Random random )
+    {
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 40; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        for ( int i = 0; i < 120; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, 1 + random.nextInt( 10 ) ), tail );
+            }
+        }
+
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expected =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .applyingFloydWarshall( new IntegerWeightBaseOperations() );
+
+        PrunedLandmarkLabeling<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .applyingPrunedLandmarkLabeling( new IntegerWeightBaseOperations() );
+
+        for ( BaseLabeledVertex source : vertices )
+        {
+            for ( BaseLabeledVertex target : vertices )
+            {
+                assertEquals( expected.hasShortestDistance( source, target ), actual.hasShortestDistance( source, target ) );
+                if ( expected.hasShortestDistance( source, target ) )
+                {
+                    assertEquals( expected.getShortestDistance( source, target ), actual.getShortestDistance( source, target ) );
+                }
+            }
+        }
+
+        assertTrue( actual.getLabelsSize() >= graph.getOrder() );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        final BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        final BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .applyingPrunedLandmarkLabeling( new DoubleWeightBaseOperations() )
+            .getShortestDistance( a, b );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .applyingPrunedLandmarkLabeling( null );
+    }
+
+}
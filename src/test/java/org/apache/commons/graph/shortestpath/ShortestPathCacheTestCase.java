@@ -0,0 +1,279 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class ShortestPathCacheTestCase
+{
+
+    private final BaseWeightedEdge<Double> weightedEdges = new BaseWeightedEdge<Double>();
+
+    private final DoubleWeightBaseOperations weightOperations = new DoubleWeightBaseOperations();
+
+    private DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph;
+
+    private BaseLabeledVertex one;
+
+    private BaseLabeledVertex two;
+
+    private BaseLabeledVertex three;
+
+    @Before
+    public void setUp()
+    {
+        graph = new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        one = new BaseLabeledVertex( "1" );
+        two = new BaseLabeledVertex( "2" );
+        three = new BaseLabeledVertex( "3" );
+
+        graph.addVertex( one );
+        graph.addVertex( two );
+        graph.addVertex( three );
+
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 2", 1D ), two );
+        graph.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 3", 1D ), three );
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 3", 5D ), three );
+    }
+
+    private WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> dijkstra( ShortestPathCache cache,
+                                                                                                BaseLabeledVertex source,
+                                                                                                BaseLabeledVertex target )
+    {
+        return findShortestPath( graph )
+                    .whereEdgesHaveWeights( weightedEdges )
+                    .usingCache( cache )
+                    .from( source )
+                    .to( target )
+                    .applyingDijkstra( weightOperations );
+    }
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> first = dijkstra( cache, one, three );
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> second = dijkstra( cache, one, three );
+
+        assertSame( first, second );
+        assertEquals( 2D, second.getWeight(), 0D );
+        assertEquals( 1, cache.getHitCount() );
+        assertEquals( 1, cache.getMissCount() );
+        assertEquals( 1, cache.size() );
+
+        // a different algorithm is a different entry
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( weightedEdges )
+            .usingCache( cache )
+            .from( one )
+            .to( three )
+            .applyingBidirectionalDijkstra( weightOperations );
+
+        assertEquals( 2, cache.getMissCount() );
+        assertEquals( 2, cache.size() );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 2 );
+
+        dijkstra( cache, one, two );
+        dijkstra( cache, one, three );
+        // touch 1 -> 2, so 1 -> 3 becomes the eldest entry
+        dijkstra( cache, one, two );
+        dijkstra( cache, two, three );
+
+        assertEquals( 2, cache.size() );
+        assertEquals( 1, cache.getEvictionCount() );
+
+        dijkstra( cache, one, two );
+        assertEquals( 2, cache.getHitCount() );
+
+        dijkstra( cache, one, three );
+        assertEquals( 4, cache.getMissCount() );
+    }
+
+    @Test
+    public void testInvalidationOnGraphModification()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+
+        assertEquals( 2D, dijkstra( cache, one, three ).getWeight(), 0D );
+
+        BaseLabeledWeightedEdge<Double> shortcut = new BaseLabeledWeightedEdge<Double>( "3 -> 1", 1D );
+        graph.addEdge( three, shortcut, one );
+
+        assertEquals( 0, cache.size() );
+        assertEquals( 1, cache.getInvalidationCount() );
+
+        graph.removeEdge( graph.getEdge( two, three ) );
+
+        assertEquals( 5D, dijkstra( cache, one, three ).getWeight(), 0D );
+        assertEquals( 2, cache.getMissCount() );
+    }
+
+    @Test
+    public void testClear()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+
+        dijkstra( cache, one, three );
+        cache.clear();
+
+        assertEquals( 0, cache.size() );
+
+        // modifications are not tracked anymore
+        graph.addEdge( three, new BaseLabeledWeightedEdge<Double>( "3 -> 1", 1D ), one );
+        assertEquals( 0, cache.getInvalidationCount() );
+    }
+
+    private DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> newIntegerGraph()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> integerGraph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+        integerGraph.addVertex( one );
+        integerGraph.addVertex( two );
+        integerGraph.addEdge( one, new BaseLabeledWeightedEdge<Integer>( "1 -> 2", 3 ), two );
+        return integerGraph;
+    }
+
+    private WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> integerDijkstra(
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> integerGraph, ShortestPathCache cache,
+        Long maximumWeight )
+    {
+        ShortestPathAlgorithmSelector<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> selector =
+            findShortestPath( integerGraph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                .usingCache( cache )
+                .from( one )
+                .to( two );
+        return maximumWeight == null ? selector.applyingIntegerDijkstra( new IntegerWeightBaseOperations() )
+                                     : selector.applyingIntegerDijkstra( new IntegerWeightBaseOperations(), maximumWeight );
+    }
+
+    @Test
+    public void testBoundedIntegerDijkstraKeepsItsChecks()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> integerGraph = newIntegerGraph();
+
+        assertEquals( Integer.valueOf( 3 ), integerDijkstra( integerGraph, cache, null ).getWeight() );
+        assertEquals( Integer.valueOf( 3 ), integerDijkstra( integerGraph, cache, 3L ).getWeight() );
+        // each bound is a different entry
+        assertEquals( 2, cache.getMissCount() );
+
+        try
+        {
+            integerDijkstra( integerGraph, cache, 2L );
+            fail( "An edge heavier than the bound must fail, even if the path is cached for other bounds" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // expected
+        }
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNegativeBoundOfCachedIntegerDijkstra()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> integerGraph = newIntegerGraph();
+
+        integerDijkstra( integerGraph, cache, null );
+        integerDijkstra( integerGraph, cache, -1L );
+    }
+
+    @Test
+    public void testGraphsAreReleasedOnEviction()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 1 );
+
+        dijkstra( cache, one, three );
+        assertEquals( 1, cache.getTrackedGraphCount() );
+
+        // evicts the only path of the first graph
+        integerDijkstra( newIntegerGraph(), cache, null );
+        assertEquals( 1, cache.getTrackedGraphCount() );
+
+        integerDijkstra( newIntegerGraph(), cache, null );
+        assertEquals( 1, cache.getTrackedGraphCount() );
+    }
+
+    @Test
+    public void testGraphsAreReleasedOnInvalidation()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+
+        dijkstra( cache, one, two );
+        dijkstra( cache, one, three );
+        assertEquals( 1, cache.getTrackedGraphCount() );
+
+        graph.addVertex( new BaseLabeledVertex( "4" ) );
+        assertEquals( 0, cache.getTrackedGraphCount() );
+    }
+
+    @Test
+    public void testGraphsAreReleasedWhenNoPathIsFound()
+    {
+        ShortestPathCache cache = new ShortestPathCache( 10 );
+
+        try
+        {
+            dijkstra( cache, three, one );
+            fail( "No path leads back to the first vertex" );
+        }
+        catch ( PathNotFoundException e )
+        {
+            // expected
+        }
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.getTrackedGraphCount() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNonPositiveSize()
+    {
+        new ShortestPathCache( 0 );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullCache()
+    {
+        findShortestPath( graph ).whereEdgesHaveWeights( weightedEdges ).usingCache( null );
+    }
+
+}
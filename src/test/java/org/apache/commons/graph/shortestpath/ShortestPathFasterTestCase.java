@@ -0,0 +1,313 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.InMemoryWeightedPath;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class ShortestPathFasterTestCase
+{
+
+    private static DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> newGraph( BaseLabeledVertex...vertices )
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        for ( BaseLabeledVertex vertex : vertices )
+        {
+            graph.addVertex( vertex );
+        }
+
+        return graph;
+    }
+
+    private static void addEdge( DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph,
+                                 BaseLabeledVertex head, double weight, BaseLabeledVertex tail )
+    {
+        graph.addEdge( head, new BaseLabeledWeightedEdge<Double>( head.getLabel() + " -> " + tail.getLabel(), weight ), tail );
+    }
+
+    @Test
+    public void testFindShortestPathAndVerify()
+    {
+        BaseLabeledVertex one = new BaseLabeledVertex( "1" );
+        BaseLabeledVertex two = new BaseLabeledVertex( "2" );
+        BaseLabeledVertex three = new BaseLabeledVertex( "3" );
+        BaseLabeledVertex four = new BaseLabeledVertex( "4" );
+        BaseLabeledVertex five = new BaseLabeledVertex( "5" );
+
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            newGraph( one, two, three, four, five );
+
+        addEdge( graph, one, 6D, two );
+        addEdge( graph, one, 7D, four );
+        addEdge( graph, two, 5D, three );
+        addEdge( graph, two, -4D, five );
+        addEdge( graph, two, 8D, four );
+        addEdge( graph, three, -2D, two );
+        addEdge( graph, four, -3D, three );
+        addEdge( graph, four, 9D, five );
+        addEdge( graph, five, 7D, three );
+        addEdge( graph, five, 2D, one );
+
+        // the expected weighted path
+        InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> expected =
+            new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( one, five, new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
+        expected.addConnectionInTail( one, new BaseLabeledWeightedEdge<Double>( "1 -> 4", 7D ), four );
+        expected.addConnectionInTail( four, new BaseLabeledWeightedEdge<Double>( "4 -> 3", -3D ), three );
+        expected.addConnectionInTail( three, new BaseLabeledWeightedEdge<Double>( "3 -> 2", -2D ), two );
+        expected.addConnectionInTail( two, new BaseLabeledWeightedEdge<Double>( "2 -> 5", -4D ), five );
+
+        // the actual weighted path
+        AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> allVertexPairsShortestPath =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .applyingShortestPathFaster( new DoubleWeightBaseOperations() );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+            allVertexPairsShortestPath.findShortestPath( one, five );
+        assertEquals( expected, actual );
+        assertEquals( -2D, actual.getWeight(), 0D );
+    }
+
+    @Test
+    public void testMatchesBellmannFordOnRandomGraphs()
+    {
+        Random random = new Random( 42 );
+
+        for ( int round = 0; round < 5; round++ )
+        {
+            DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>> graph =
+                new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>>();
+
+            List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+            int[] potentials = new int[50];
+            for ( int i = 0; i < potentials.length; i++ )
+            {
+                BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+                graph.addVertex( vertex );
+                vertices.add( vertex );
+                // a few high potential vertices, so that a few edges get negative weights
+                potentials[i] = random.nextInt( 10 ) == 0 ? 20 : 0;
+            }
+
+            for ( int i = 0; i < 200; i++ )
+            {
+                int head = random.nextInt( potentials.length );
+                int tail = random.nextInt( potentials.length );
+                if ( head != tail && graph.getEdge( vertices.get( head ), vertices.get( tail ) ) == null )
+                {
+                    // reweighting by potentials changes no cycle weight, so no negative-weighted cycle can arise
+                    int weight = 1 + random.nextInt( 10 ) + potentials[head] - potentials[tail];
+                    graph.addEdge( vertices.get( head ),
+                                   new BaseLabeledWeightedEdge<Integer>( head + " -> " + tail, weight ),
+                                   vertices.get( tail ) );
+                }
+            }
+
+            BaseLabeledVertex source = vertices.get( 0 );
+
+            AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expected =
+                findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                    .from( source )
+                    .applyingBelmannFord( new IntegerWeightBaseOperations() );
+
+            AllVertexPairsShortestPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> actual =
+                findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Integer>() )
+                    .from( source )
+                    .applyingShortestPathFaster( new IntegerWeightBaseOperations() );
+
+            for ( BaseLabeledVertex target : vertices )
+            {
+                if ( !source.equals( target ) )
+                {
+                    boolean reachable = true;
+                    WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Integer>, Integer> expectedPath = null;
+                    try
+                    {
+                        expectedPath = expected.findShortestPath( source, target );
+                    }
+                    catch ( PathNotFoundException e )
+                    {
+                        reachable = false;
+                    }
+
+                    if ( reachable )
+                    {
+                        assertEquals( expectedPath.getWeight(), actual.findShortestPath( source, target ).getWeight() );
+                    }
+                    else
+                    {
+                        try
+                        {
+                            actual.findShortestPath( source, target );
+                            fail( "No path expected to " + target );
+                        }
+                        catch ( PathNotFoundException e )
+                        {
+                            // expected
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeWeightedCycle()
+    {
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "c" );
+        BaseLabeledVertex d = new BaseLabeledVertex( "d" );
+        BaseLabeledVertex e = new BaseLabeledVertex( "e" );
+
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph = newGraph( a, b, c, d, e );
+
+        addEdge( graph, a, 1D, b );
+        addEdge( graph, b, 2D, c );
+        addEdge( graph, c, 1D, d );
+        addEdge( graph, d, -4D, b );
+        addEdge( graph, d, 1D, e );
+
+        try
+        {
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( a )
+                .applyingShortestPathFaster( new DoubleWeightBaseOperations() );
+            fail( "Negative-weighted cycle not detected" );
+        }
+        catch ( NegativeWeightedCycleException ex )
+        {
+            verifyCycle( ex, b, c, d );
+        }
+
+        try
+        {
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( a )
+                .applyingBelmannFord( new DoubleWeightBaseOperations() );
+            fail( "Negative-weighted cycle not detected" );
+        }
+        catch ( NegativeWeightedCycleException ex )
+        {
+            verifyCycle( ex, b, c, d );
+        }
+    }
+
+    private static void verifyCycle( NegativeWeightedCycleException ex, BaseLabeledVertex...vertices )
+    {
+        @SuppressWarnings( "unchecked" )
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> cycle =
+            (WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>) ex.getCycle();
+
+        assertNotNull( cycle );
+        assertEquals( cycle.getSource(), cycle.getTarget() );
+        assertEquals( vertices.length, cycle.getSize() );
+        assertEquals( -1D, cycle.getWeight(), 0D );
+        for ( BaseLabeledVertex vertex : vertices )
+        {
+            assertTrue( cycle.containsVertex( vertex ) );
+        }
+    }
+
+    @Test
+    public void testNegativeWeightedUndirectedEdge()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> b", -1D ), b );
+
+        try
+        {
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( a )
+                .applyingShortestPathFaster( new DoubleWeightBaseOperations() );
+            fail( "Negative-weighted cycle not detected" );
+        }
+        catch ( NegativeWeightedCycleException ex )
+        {
+            assertEquals( -2D, (Double) ex.getCycle().getWeight(), 0D );
+        }
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( a )
+            .applyingShortestPathFaster( new DoubleWeightBaseOperations() )
+            .findShortestPath( a, b );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( a )
+            .applyingShortestPathFaster( null );
+    }
+
+}
@@ -0,0 +1,275 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.apache.commons.graph.collections.AddressableQueues.daryHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.fibonacciHeaps;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.collections.AddressableQueue;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.junit.Test;
+
+public final class ShortestPathWorkspaceTestCase
+{
+
+    @Test
+    public void testFindShortestPathAndVerify()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex one = new BaseLabeledVertex( "1" );
+        BaseLabeledVertex two = new BaseLabeledVertex( "2" );
+        BaseLabeledVertex three = new BaseLabeledVertex( "3" );
+        BaseLabeledVertex five = new BaseLabeledVertex( "5" );
+        BaseLabeledVertex six = new BaseLabeledVertex( "6" );
+
+        graph.addVertex( one );
+        graph.addVertex( two );
+        graph.addVertex( three );
+        graph.addVertex( five );
+        graph.addVertex( six );
+
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 6", 14D ), six );
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 3", 9D ), three );
+        graph.addEdge( one, new BaseLabeledWeightedEdge<Double>( "1 -> 2", 7D ), two );
+        graph.addEdge( two, new BaseLabeledWeightedEdge<Double>( "2 -> 3", 10D ), three );
+        graph.addEdge( three, new BaseLabeledWeightedEdge<Double>( "3 -> 6", 2D ), six );
+        graph.addEdge( six, new BaseLabeledWeightedEdge<Double>( "6 -> 5", 9D ), five );
+
+        ShortestPathWorkspace<BaseLabeledVertex> workspace = new ShortestPathWorkspace<BaseLabeledVertex>();
+
+        // the same query twice, the second one runs on the marks left by the first one
+        for ( int i = 0; i < 2; i++ )
+        {
+            WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+                findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                    .from( one )
+                    .to( five )
+                    .usingWorkspace( workspace )
+                    .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+            assertEquals( 20D, actual.getWeight(), 0D );
+            assertEquals( 3, actual.getSize() );
+            assertSame( one, actual.getSource() );
+            assertSame( five, actual.getTarget() );
+        }
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> empty =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( one )
+                .to( one )
+                .usingWorkspace( workspace )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+
+        assertEquals( 0D, empty.getWeight(), 0D );
+        assertEquals( 0, empty.getSize() );
+    }
+
+    @Test
+    public void testMatchesDijkstraOnRandomGraphs()
+    {
+        Random random = new Random( 42 );
+        ShortestPathWorkspace<BaseLabeledVertex> workspace = new ShortestPathWorkspace<BaseLabeledVertex>();
+
+        // alternating graphs rebinds the workspace
+        for ( int i = 0; i < 4; i++ )
+        {
+            // switching queues replaces the one kept by the workspace
+            List<AddressableQueueFactory> queueFactories = asList( fibonacciHeaps(), daryHeaps( 4 ) );
+            verifyAgainstDijkstra( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>(), random,
+                                   workspace, queueFactories );
+            verifyAgainstDijkstra( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>(), random,
+                                   workspace, queueFactories );
+        }
+
+        workspace.clear();
+    }
+
+    @Test
+    public void testReusesDefaultQueueAcrossSearches()
+    {
+        // the default queue recycles the nodes of settled vertices, within and across searches
+        verifyAgainstDijkstra( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>(), new Random( 7 ),
+                               new ShortestPathWorkspace<BaseLabeledVertex>(), asList( fibonacciHeaps() ) );
+    }
+
+    private void verifyAgainstDijkstra( MutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph, Random random,
+                                        ShortestPathWorkspace<BaseLabeledVertex> workspace,
+                                        List<AddressableQueueFactory> queueFactories )
+    {
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 60; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        for ( int i = 0; i < 200; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledWeightedEdge<Double>( head + " -> " + tail, 1D + random.nextInt( 20 ) ), tail );
+            }
+        }
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            BaseLabeledVertex source = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex target = vertices.get( random.nextInt( vertices.size() ) );
+
+            Double expected;
+            try
+            {
+                expected = findShortestPath( graph )
+                    .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                    .from( source )
+                    .to( target )
+                    .applyingDijkstra( new DoubleWeightBaseOperations() )
+                    .getWeight();
+            }
+            catch ( PathNotFoundException e )
+            {
+                expected = null;
+            }
+
+            for ( AddressableQueueFactory queueFactory : queueFactories )
+            {
+                Double actual;
+                try
+                {
+                    actual = findShortestPath( graph )
+                        .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                        .from( source )
+                        .to( target )
+                        .usingQueue( queueFactory )
+                        .usingWorkspace( workspace )
+                        .applyingDijkstra( new DoubleWeightBaseOperations() )
+                        .getWeight();
+                }
+                catch ( PathNotFoundException e )
+                {
+                    actual = null;
+                }
+
+                assertEquals( expected, actual );
+            }
+        }
+    }
+
+    @Test
+    public void testUsesSelectedQueue()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        final BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        final BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> b", 1D ), b );
+
+        final List<AddressableQueue<?>> queues = new ArrayList<AddressableQueue<?>>();
+        AddressableQueueFactory queueFactory = new AddressableQueueFactory()
+        {
+
+            public <E> AddressableQueue<E> newQueue( Comparator<? super E> comparator )
+            {
+                AddressableQueue<E> queue = daryHeaps( 2 ).newQueue( comparator );
+                queues.add( queue );
+                return queue;
+            }
+
+        };
+
+        ShortestPathWorkspace<BaseLabeledVertex> workspace = new ShortestPathWorkspace<BaseLabeledVertex>();
+        for ( int i = 0; i < 3; i++ )
+        {
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( a )
+                .to( b )
+                .usingQueue( queueFactory )
+                .usingWorkspace( workspace )
+                .applyingDijkstra( new DoubleWeightBaseOperations() );
+        }
+
+        // the queue is created once, then kept by the workspace
+        assertEquals( 1, queues.size() );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        final BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        final BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( a )
+            .to( b )
+            .usingWorkspace( new ShortestPathWorkspace<BaseLabeledVertex>() )
+            .applyingDijkstra( new DoubleWeightBaseOperations() );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullWorkspace()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        final BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( a )
+            .to( a )
+            .usingWorkspace( null );
+    }
+
+}
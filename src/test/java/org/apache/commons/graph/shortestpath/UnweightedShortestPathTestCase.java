@@ -0,0 +1,180 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.Mapper;
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.IntegerWeightBaseOperations;
+import org.junit.Test;
+
+public final class UnweightedShortestPathTestCase
+{
+
+    private static final Mapper<BaseLabeledEdge, Integer> UNIT = new Mapper<BaseLabeledEdge, Integer>()
+    {
+
+        public Integer map( BaseLabeledEdge input )
+        {
+            return 1;
+        }
+
+    };
+
+    @Test
+    public void testMatchesDijkstraOnRandomGraphs()
+    {
+        Random random = new Random( 7 );
+
+        verifyAgainstDijkstra( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), random );
+        verifyAgainstDijkstra( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), random );
+    }
+
+    private void verifyAgainstDijkstra( MutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph, Random random )
+    {
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 60; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        for ( int i = 0; i < 120; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( vertices.size() ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( vertices.size() ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledEdge( head + " -> " + tail ), tail );
+            }
+        }
+
+        for ( BaseLabeledVertex source : vertices )
+        {
+            for ( int i = 0; i < 10; i++ )
+            {
+                BaseLabeledVertex target = vertices.get( random.nextInt( vertices.size() ) );
+
+                WeightedPath<BaseLabeledVertex, BaseLabeledEdge, Integer> expected = null;
+                try
+                {
+                    expected = findShortestPath( graph )
+                        .whereEdgesHaveWeights( UNIT )
+                        .from( source )
+                        .to( target )
+                        .applyingDijkstra( new IntegerWeightBaseOperations() );
+                }
+                catch ( PathNotFoundException e )
+                {
+                    // verified below
+                }
+
+                WeightedPath<BaseLabeledVertex, BaseLabeledEdge, Integer> actual = null;
+                try
+                {
+                    actual = findShortestPath( graph ).unweighted().from( source ).to( target );
+                }
+                catch ( PathNotFoundException e )
+                {
+                    assertEquals( null, expected );
+                    continue;
+                }
+
+                assertNotNull( expected );
+                assertEquals( expected.getWeight(), actual.getWeight() );
+                assertEquals( actual.getSize(), actual.getWeight().intValue() );
+                verifyPath( graph, actual );
+            }
+        }
+    }
+
+    private void verifyPath( MutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph,
+                             WeightedPath<BaseLabeledVertex, BaseLabeledEdge, Integer> path )
+    {
+        Iterator<BaseLabeledVertex> vertices = path.getVertices().iterator();
+        if ( !vertices.hasNext() )
+        {
+            return;
+        }
+
+        BaseLabeledVertex head = vertices.next();
+        assertEquals( path.getSource(), head );
+        for ( BaseLabeledEdge edge : path.getEdges() )
+        {
+            BaseLabeledVertex tail = vertices.next();
+            assertEquals( graph.getEdge( head, tail ), edge );
+            head = tail;
+        }
+        assertEquals( path.getTarget(), head );
+    }
+
+    @Test
+    public void testSameSourceAndTarget()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        graph.addVertex( a );
+
+        WeightedPath<BaseLabeledVertex, BaseLabeledEdge, Integer> path = findShortestPath( graph ).unweighted().from( a ).to( a );
+
+        assertEquals( 0, path.getSize() );
+        assertEquals( Integer.valueOf( 0 ), path.getWeight() );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        graph.addVertex( a );
+        graph.addVertex( b );
+        graph.addEdge( b, new BaseLabeledEdge( "b -> a" ), a );
+
+        findShortestPath( graph ).unweighted().from( a ).to( b );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullTarget()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+
+        findShortestPath( graph ).unweighted().from( new BaseLabeledVertex( "a" ) ).to( null );
+    }
+
+}
@@ -0,0 +1,194 @@
+package org.apache.commons.graph.shortestpath;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.findShortestPath;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.apache.commons.graph.WeightedPath;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
+import org.apache.commons.graph.model.BaseWeightedEdge;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.InMemoryWeightedPath;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.apache.commons.graph.weight.primitive.DoubleWeightBaseOperations;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class YenTestCase
+{
+
+    private DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> graph;
+
+    private BaseLabeledVertex c, d, e, f, g, h;
+
+    /**
+     * Test Graph and Yen's solution can be seen on
+     * <a href="http://en.wikipedia.org/wiki/Yen's_algorithm">Wikipedia</a>
+     */
+    @Before
+    public void setUp()
+    {
+        graph = new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        c = new BaseLabeledVertex( "C" );
+        d = new BaseLabeledVertex( "D" );
+        e = new BaseLabeledVertex( "E" );
+        f = new BaseLabeledVertex( "F" );
+        g = new BaseLabeledVertex( "G" );
+        h = new BaseLabeledVertex( "H" );
+
+        graph.addVertex( c );
+        graph.addVertex( d );
+        graph.addVertex( e );
+        graph.addVertex( f );
+        graph.addVertex( g );
+        graph.addVertex( h );
+
+        graph.addEdge( c, new BaseLabeledWeightedEdge<Double>( "C -> D", 3D ), d );
+        graph.addEdge( c, new BaseLabeledWeightedEdge<Double>( "C -> E", 2D ), e );
+        graph.addEdge( d, new BaseLabeledWeightedEdge<Double>( "D -> F", 4D ), f );
+        graph.addEdge( e, new BaseLabeledWeightedEdge<Double>( "E -> D", 1D ), d );
+        graph.addEdge( e, new BaseLabeledWeightedEdge<Double>( "E -> F", 2D ), f );
+        graph.addEdge( e, new BaseLabeledWeightedEdge<Double>( "E -> G", 3D ), g );
+        graph.addEdge( f, new BaseLabeledWeightedEdge<Double>( "F -> G", 2D ), g );
+        graph.addEdge( f, new BaseLabeledWeightedEdge<Double>( "F -> H", 1D ), h );
+        graph.addEdge( g, new BaseLabeledWeightedEdge<Double>( "G -> H", 2D ), h );
+    }
+
+    @Test
+    public void testFindKShortestPathsAndVerify()
+    {
+        List<WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( c )
+                .to( h )
+                .applyingYen( 3, new DoubleWeightBaseOperations() );
+
+        assertEquals( 3, actual.size() );
+
+        InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> first =
+            new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( c, h, new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
+        first.addConnectionInTail( c, new BaseLabeledWeightedEdge<Double>( "C -> E", 2D ), e );
+        first.addConnectionInTail( e, new BaseLabeledWeightedEdge<Double>( "E -> F", 2D ), f );
+        first.addConnectionInTail( f, new BaseLabeledWeightedEdge<Double>( "F -> H", 1D ), h );
+
+        InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> second =
+            new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( c, h, new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
+        second.addConnectionInTail( c, new BaseLabeledWeightedEdge<Double>( "C -> E", 2D ), e );
+        second.addConnectionInTail( e, new BaseLabeledWeightedEdge<Double>( "E -> G", 3D ), g );
+        second.addConnectionInTail( g, new BaseLabeledWeightedEdge<Double>( "G -> H", 2D ), h );
+
+        InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> third =
+            new InMemoryWeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( c, h, new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
+        third.addConnectionInTail( c, new BaseLabeledWeightedEdge<Double>( "C -> D", 3D ), d );
+        third.addConnectionInTail( d, new BaseLabeledWeightedEdge<Double>( "D -> F", 4D ), f );
+        third.addConnectionInTail( f, new BaseLabeledWeightedEdge<Double>( "F -> H", 1D ), h );
+
+        assertEquals( first, actual.get( 0 ) );
+        assertEquals( second, actual.get( 1 ) );
+        assertEquals( 8D, actual.get( 2 ).getWeight(), 0D );
+        assertEquals( 3, actual.get( 2 ).getSize() );
+    }
+
+    @Test
+    public void testFewerPathsThanRequested()
+    {
+        List<WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>> actual =
+            findShortestPath( graph )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( c )
+                .to( h )
+                .applyingYen( 100, new DoubleWeightBaseOperations() );
+
+        // C-D-F-H, C-D-F-G-H, C-E-D-F-H, C-E-D-F-G-H, C-E-F-H, C-E-F-G-H, C-E-G-H
+        assertEquals( 7, actual.size() );
+
+        for ( int i = 1; i < actual.size(); i++ )
+        {
+            assertEquals( true, actual.get( i - 1 ).getWeight() <= actual.get( i ).getWeight() );
+        }
+    }
+
+    @Test
+    public void testUndirectedGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> undirected =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "a" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "b" );
+        BaseLabeledVertex x = new BaseLabeledVertex( "x" );
+
+        undirected.addVertex( a );
+        undirected.addVertex( b );
+        undirected.addVertex( x );
+
+        undirected.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a - b", 5D ), b );
+        undirected.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a - x", 1D ), x );
+        undirected.addEdge( b, new BaseLabeledWeightedEdge<Double>( "b - x", 1D ), x );
+
+        List<WeightedPath<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>> actual =
+            findShortestPath( undirected )
+                .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                .from( a )
+                .to( b )
+                .applyingYen( 5, new DoubleWeightBaseOperations() );
+
+        assertEquals( 2, actual.size() );
+        assertEquals( 2D, actual.get( 0 ).getWeight(), 0D );
+        assertEquals( 5D, actual.get( 1 ).getWeight(), 0D );
+    }
+
+    @Test( expected = PathNotFoundException.class )
+    public void testNotConnectGraph()
+    {
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( h )
+            .to( c )
+            .applyingYen( 3, new DoubleWeightBaseOperations() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNonPositiveK()
+    {
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( c )
+            .to( h )
+            .applyingYen( 0, new DoubleWeightBaseOperations() );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullMonoid()
+    {
+        findShortestPath( graph )
+            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+            .from( c )
+            .to( h )
+            .applyingYen( 3, null );
+    }
+
+}
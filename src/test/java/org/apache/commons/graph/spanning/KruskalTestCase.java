@@ -86,6 +86,53 @@ public final class KruskalTestCase
         assertEquals( expected, actual );
     }
 
+    /**
+     * Every vertex is touched by the two lightest edges, but the tree needs the third one as well.
+     */
+    @Test
+    public void testDoesNotStopWhenAllVerticesAreTouched()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>> input
+            = new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>>();
+
+        BaseLabeledVertex a = new BaseLabeledVertex( "A" );
+        BaseLabeledVertex b = new BaseLabeledVertex( "B" );
+        BaseLabeledVertex c = new BaseLabeledVertex( "C" );
+        BaseLabeledVertex d = new BaseLabeledVertex( "D" );
+
+        input.addVertex( a );
+        input.addVertex( b );
+        input.addVertex( c );
+        input.addVertex( d );
+
+        input.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> b", 1D ), b );
+        input.addEdge( c, new BaseLabeledWeightedEdge<Double>( "c <-> d", 2D ), d );
+        input.addEdge( b, new BaseLabeledWeightedEdge<Double>( "b <-> c", 3D ), c );
+        input.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> d", 4D ), d );
+
+        // Expected
+        MutableSpanningTree<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> expected =
+            new MutableSpanningTree<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double>( new DoubleWeightBaseOperations(), new BaseWeightedEdge<Double>() );
+
+        for ( BaseLabeledVertex vertex : input.getVertices() )
+        {
+            expected.addVertex( vertex );
+        }
+        expected.addEdge( a, new BaseLabeledWeightedEdge<Double>( "a <-> b", 1D ), b );
+        expected.addEdge( c, new BaseLabeledWeightedEdge<Double>( "c <-> d", 2D ), d );
+        expected.addEdge( b, new BaseLabeledWeightedEdge<Double>( "b <-> c", 3D ), c );
+
+        // Actual
+        SpanningTree<BaseLabeledVertex, BaseLabeledWeightedEdge<Double>, Double> actual =
+                        minimumSpanningTree( input )
+                            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                            .fromArbitrarySource()
+                            .applyingKruskalAlgorithm( new DoubleWeightBaseOperations() );
+
+        // assert!
+        assertEquals( expected, actual );
+    }
+
     @Test( expected = IllegalStateException.class )
     public void testEmptyGraph()
     {
@@ -22,9 +22,13 @@ package org.apache.commons.graph.spanning;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.apache.commons.graph.CommonsGraph.minimumSpanningTree;
+import static org.apache.commons.graph.collections.AddressableQueues.daryHeaps;
+import static org.apache.commons.graph.collections.AddressableQueues.pairingHeaps;
+import static java.util.Arrays.asList;
 
 import org.apache.commons.graph.Graph;
 import org.apache.commons.graph.SpanningTree;
+import org.apache.commons.graph.collections.AddressableQueueFactory;
 import org.apache.commons.graph.model.BaseLabeledVertex;
 import org.apache.commons.graph.model.BaseLabeledWeightedEdge;
 import org.apache.commons.graph.model.BaseWeightedEdge;
@@ -50,6 +54,17 @@ public final class PrimTestCase
         // assert!
 
         assertEquals( expected, actual );
+
+        for ( AddressableQueueFactory queueFactory : asList( pairingHeaps(), daryHeaps( 2 ), daryHeaps( 4 ) ) )
+        {
+            actual = minimumSpanningTree( input )
+                            .whereEdgesHaveWeights( new BaseWeightedEdge<Double>() )
+                            .fromSource( source )
+                            .usingQueue( queueFactory )
+                            .applyingPrimAlgorithm( new DoubleWeightBaseOperations() );
+
+            assertEquals( expected, actual );
+        }
     }
 
     @Test( expected = IllegalStateException.class )
@@ -0,0 +1,137 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.graph.CommonsGraph.visit;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.junit.Test;
+
+public final class BitParallelBreadthFirstSearchTestCase
+{
+
+    private static BaseLabeledVertex vertex( int i )
+    {
+        return new BaseLabeledVertex( String.valueOf( i ) );
+    }
+
+    private static <G extends MutableGraph<BaseLabeledVertex, BaseLabeledEdge>> G populate( G graph, int order, int size,
+                                                                                          Random random )
+    {
+        for ( int i = 0; i < order; i++ )
+        {
+            graph.addVertex( vertex( i ) );
+        }
+        for ( int i = 0; i < size; i++ )
+        {
+            BaseLabeledVertex head = vertex( random.nextInt( order ) );
+            BaseLabeledVertex tail = vertex( random.nextInt( order ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledEdge( head + " -> " + tail ), tail );
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    public void testPathDistances()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        for ( int i = 0; i < 5; i++ )
+        {
+            graph.addVertex( vertex( i ) );
+        }
+        for ( int i = 1; i < 4; i++ )
+        {
+            graph.addEdge( vertex( i - 1 ), new BaseLabeledEdge( i - 1 + " -- " + i ), vertex( i ) );
+        }
+
+        BreadthFirstDistances<BaseLabeledVertex> distances =
+            visit( graph ).from( asList( vertex( 0 ), vertex( 2 ), vertex( 0 ) ) ).applyingBitParallelBreadthFirstSearch();
+
+        assertThat( distances.getSources(), is( asList( vertex( 0 ), vertex( 2 ) ) ) );
+        assertThat( distances.getDistance( vertex( 0 ), vertex( 3 ) ), is( 3 ) );
+        assertThat( distances.getDistance( vertex( 2 ), vertex( 0 ) ), is( 2 ) );
+        assertThat( distances.getDistance( vertex( 2 ), vertex( 2 ) ), is( 0 ) );
+        assertThat( distances.getDistance( vertex( 0 ), vertex( 4 ) ), is( BreadthFirstDistances.NONE ) );
+        assertThat( distances.getDistances( vertex( 2 ) )[distances.getIndex( vertex( 3 ) )], is( 1 ) );
+    }
+
+    /**
+     * 100 sources need two batches of searches.
+     */
+    @Test
+    public void testMatchesSingleSourceSearches()
+    {
+        Random random = new Random( 42 );
+        verifyAgainstSingleSourceSearches( populate( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 500, 1500, random ),
+                                           Integer.MAX_VALUE );
+        verifyAgainstSingleSourceSearches( populate( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 500, 700, random ),
+                                           Integer.MAX_VALUE );
+        verifyAgainstSingleSourceSearches( populate( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 500, 1500, random ),
+                                           2 );
+    }
+
+    private static void verifyAgainstSingleSourceSearches( MutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph, int maxDepth )
+    {
+        List<BaseLabeledVertex> sources = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            sources.add( vertex( i * 5 ) );
+        }
+
+        BreadthFirstDistances<BaseLabeledVertex> actual =
+            visit( graph ).from( sources ).maxDepth( maxDepth ).applyingBitParallelBreadthFirstSearch();
+
+        for ( BaseLabeledVertex source : sources )
+        {
+            BreadthFirstTree<BaseLabeledVertex> expected =
+                visit( graph ).from( source ).maxDepth( maxDepth ).applyingParallelBreadthFirstSearch();
+            for ( int i = 0; i < 500; i++ )
+            {
+                assertThat( actual.getDistance( source, vertex( i ) ), is( expected.getLevel( vertex( i ) ) ) );
+            }
+        }
+    }
+
+    @Test( expected = GraphException.class )
+    public void testNotASource()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            populate( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 3, 0, new Random() );
+
+        visit( graph ).from( vertex( 0 ) ).applyingBitParallelBreadthFirstSearch().getDistances( vertex( 1 ) );
+    }
+
+}
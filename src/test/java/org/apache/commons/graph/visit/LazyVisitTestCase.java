@@ -0,0 +1,189 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.visit;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.ImplicitGraph;
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.junit.Test;
+
+public final class LazyVisitTestCase
+{
+
+    /**
+     * An unbounded binary tree, where the vertex {@code i} is connected to {@code 2i + 1} and {@code 2i + 2},
+     * counting the expanded vertices.
+     */
+    private static final class BinaryTree
+        implements ImplicitGraph<BaseLabeledVertex, BaseLabeledEdge>
+    {
+
+        private int expansions;
+
+        public Iterable<BaseLabeledVertex> getSuccessors( BaseLabeledVertex v )
+        {
+            expansions++;
+            int i = Integer.parseInt( v.getLabel() );
+            return Arrays.asList( vertex( 2 * i + 1 ), vertex( 2 * i + 2 ) );
+        }
+
+        public BaseLabeledEdge getEdge( BaseLabeledVertex head, BaseLabeledVertex tail )
+        {
+            return new BaseLabeledEdge( head + " -> " + tail );
+        }
+
+    }
+
+    private static BaseLabeledVertex vertex( int i )
+    {
+        return new BaseLabeledVertex( String.valueOf( i ) );
+    }
+
+    private static UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> newRandomGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < 200; i++ )
+        {
+            vertices.add( vertex( i ) );
+            graph.addVertex( vertices.get( i ) );
+        }
+
+        Random random = new Random( 42 );
+        for ( int i = 0; i < 400; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( 200 ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( 200 ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledEdge( head + " -- " + tail ), tail );
+            }
+        }
+        return graph;
+    }
+
+    @Test
+    public void testIteratorsFollowTheHandlersOrder()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph = newRandomGraph();
+        BaseLabeledVertex source = vertex( 0 );
+
+        List<BaseLabeledVertex> expected = visit( graph ).from( source ).applyingBreadthFirstSearch( new NodeSequenceVisitor() );
+        List<BaseLabeledVertex> actual = new ArrayList<BaseLabeledVertex>();
+        for ( Iterator<BaseLabeledVertex> vertices = visit( graph ).from( source ).breadthFirstIterator(); vertices.hasNext(); )
+        {
+            actual.add( vertices.next() );
+        }
+        assertThat( actual, is( expected ) );
+
+        expected = visit( graph ).from( source ).applyingDepthFirstSearch( new NodeSequenceVisitor() );
+        actual = visit( graph ).from( source ).depthFirstStream().collect( Collectors.<BaseLabeledVertex>toList() );
+        assertThat( actual, is( expected ) );
+    }
+
+    @Test
+    public void testTraversalStopsWhenTheConsumerStops()
+    {
+        BinaryTree tree = new BinaryTree();
+        Iterator<BaseLabeledVertex> vertices = visit( tree ).from( vertex( 0 ) ).breadthFirstIterator();
+        assertThat( vertices.next(), is( vertex( 0 ) ) );
+        assertThat( tree.expansions, is( 0 ) );
+        assertThat( vertices.next(), is( vertex( 1 ) ) );
+        assertThat( vertices.next(), is( vertex( 2 ) ) );
+        assertThat( vertices.next(), is( vertex( 3 ) ) );
+        // returning a vertex expands only the vertices returned before it
+        assertThat( tree.expansions, is( 3 ) );
+
+        tree.expansions = 0;
+        assertThat( visit( tree ).from( vertex( 0 ) ).breadthFirstStream().limit( 100 ).count(), is( 100L ) );
+        assertThat( tree.expansions, is( 99 ) );
+    }
+
+    @Test
+    public void testStreamsCompose()
+    {
+        BaseLabeledVertex firstMultiple = visit( new BinaryTree() ).from( vertex( 0 ) ).depthFirstStream()
+            .filter( new Predicate<BaseLabeledVertex>()
+            {
+
+                public boolean test( BaseLabeledVertex v )
+                {
+                    int i = Integer.parseInt( v.getLabel() );
+                    return i > 0 && i % 10 == 0;
+                }
+
+            } )
+            .findFirst()
+            .get();
+
+        // the depth-first search follows the rightmost branch first: 0, 2, 6, 14, 30
+        assertThat( firstMultiple, is( vertex( 30 ) ) );
+    }
+
+    @Test
+    public void testMaxDepth()
+    {
+        BinaryTree tree = new BinaryTree();
+
+        assertThat( visit( tree ).from( vertex( 0 ) ).maxDepth( 2 ).breadthFirstStream().count(), is( 7L ) );
+        // the vertices at the maximum depth are not expanded
+        assertThat( tree.expansions, is( 3 ) );
+    }
+
+    @Test( expected = GraphException.class )
+    public void testExpansionsLimit()
+    {
+        Iterator<BaseLabeledVertex> vertices = visit( new BinaryTree() ).from( vertex( 0 ) ).maxExpansions( 10 ).breadthFirstIterator();
+        for ( int i = 0; i < 11; i++ )
+        {
+            vertices.next();
+        }
+    }
+
+    @Test( expected = NoSuchElementException.class )
+    public void testExhaustedIterator()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        graph.addVertex( vertex( 0 ) );
+
+        Iterator<BaseLabeledVertex> vertices = visit( graph ).from( vertex( 0 ) ).depthFirstIterator();
+        assertThat( vertices.next(), is( vertex( 0 ) ) );
+        assertThat( vertices.hasNext(), is( false ) );
+        vertices.next();
+    }
+
+}
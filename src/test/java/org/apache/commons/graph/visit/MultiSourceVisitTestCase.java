@@ -0,0 +1,201 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.graph.CommonsGraph.visit;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.junit.Test;
+
+public final class MultiSourceVisitTestCase
+{
+
+    /**
+     * Records depth and source of every discovered vertex.
+     */
+    private static final class DepthRecorder
+        extends BaseGraphVisitHandler<BaseLabeledVertex, BaseLabeledEdge, UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>, Map<BaseLabeledVertex, Integer>>
+        implements DepthAwareGraphVisitHandler<BaseLabeledVertex, BaseLabeledEdge, UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>, Map<BaseLabeledVertex, Integer>>
+    {
+
+        private final Map<BaseLabeledVertex, Integer> depths = new HashMap<BaseLabeledVertex, Integer>();
+
+        private final Map<BaseLabeledVertex, BaseLabeledVertex> sources = new HashMap<BaseLabeledVertex, BaseLabeledVertex>();
+
+        public VisitState discoverVertex( BaseLabeledVertex vertex, int depth, BaseLabeledVertex source )
+        {
+            assertThat( depths.put( vertex, depth ) == null, is( true ) );
+            sources.put( vertex, source );
+            return VisitState.CONTINUE;
+        }
+
+        @Override
+        public Map<BaseLabeledVertex, Integer> onCompleted()
+        {
+            return depths;
+        }
+
+    }
+
+    private static BaseLabeledVertex vertex( int i )
+    {
+        return new BaseLabeledVertex( String.valueOf( i ) );
+    }
+
+    /**
+     * The path 0 - 1 - ... - (order - 1).
+     */
+    private static UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> newPath( int order )
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        graph.addVertex( vertex( 0 ) );
+        for ( int i = 1; i < order; i++ )
+        {
+            graph.addVertex( vertex( i ) );
+            graph.addEdge( vertex( i - 1 ), new BaseLabeledEdge( i - 1 + " -- " + i ), vertex( i ) );
+        }
+        return graph;
+    }
+
+    @Test
+    public void testNeighborhoodsOfSeeds()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph = newPath( 10 );
+
+        DepthRecorder recorder = new DepthRecorder();
+        Map<BaseLabeledVertex, Integer> depths =
+            visit( graph ).from( asList( vertex( 0 ), vertex( 9 ) ) ).maxDepth( 2 ).applyingBreadthFirstSearch( recorder );
+
+        assertThat( depths.keySet(), is( (Set<BaseLabeledVertex>) new HashSet<BaseLabeledVertex>(
+            asList( vertex( 0 ), vertex( 1 ), vertex( 2 ), vertex( 7 ), vertex( 8 ), vertex( 9 ) ) ) ) );
+        assertThat( depths.get( vertex( 2 ) ), is( 2 ) );
+        assertThat( depths.get( vertex( 8 ) ), is( 1 ) );
+        assertThat( recorder.sources.get( vertex( 2 ) ), is( vertex( 0 ) ) );
+        assertThat( recorder.sources.get( vertex( 7 ) ), is( vertex( 9 ) ) );
+    }
+
+    @Test
+    public void testDepthLimitedIteratorsAndDepthFirstSearch()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph = newPath( 10 );
+
+        List<BaseLabeledVertex> actual = new ArrayList<BaseLabeledVertex>();
+        for ( Iterator<BaseLabeledVertex> vertices = visit( graph ).from( vertex( 5 ) ).maxDepth( 1 ).breadthFirstIterator();
+              vertices.hasNext(); )
+        {
+            actual.add( vertices.next() );
+        }
+        assertThat( actual.size(), is( 3 ) );
+
+        DepthRecorder recorder = new DepthRecorder();
+        Map<BaseLabeledVertex, Integer> depths = visit( graph ).from( vertex( 0 ) ).maxDepth( 3 ).applyingDepthFirstSearch( recorder );
+        assertThat( depths.size(), is( 4 ) );
+        assertThat( depths.get( vertex( 3 ) ), is( 3 ) );
+
+        assertThat( visit( graph ).from( asList( vertex( 1 ), vertex( 4 ), vertex( 1 ) ) ).maxDepth( 0 ).depthFirstStream().count(), is( 2L ) );
+    }
+
+    @Test
+    public void testEachVertexIsVisitedOnceAtItsMinimumDepth()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        Random random = new Random( 42 );
+        for ( int i = 0; i < 300; i++ )
+        {
+            graph.addVertex( vertex( i ) );
+        }
+        for ( int i = 0; i < 450; i++ )
+        {
+            BaseLabeledVertex head = vertex( random.nextInt( 300 ) );
+            BaseLabeledVertex tail = vertex( random.nextInt( 300 ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledEdge( head + " -- " + tail ), tail );
+            }
+        }
+
+        List<BaseLabeledVertex> seeds = asList( vertex( 0 ), vertex( 100 ), vertex( 200 ) );
+        List<Map<BaseLabeledVertex, Integer>> distances = new ArrayList<Map<BaseLabeledVertex, Integer>>();
+        for ( BaseLabeledVertex seed : seeds )
+        {
+            distances.add( visit( graph ).from( seed ).applyingBreadthFirstSearch( new DepthRecorder() ) );
+        }
+
+        DepthRecorder recorder = new DepthRecorder();
+        Map<BaseLabeledVertex, Integer> depths = visit( graph ).from( seeds ).applyingBreadthFirstSearch( recorder );
+        BreadthFirstTree<BaseLabeledVertex> tree = visit( graph ).from( seeds ).applyingParallelBreadthFirstSearch();
+
+        for ( int i = 0; i < 300; i++ )
+        {
+            Integer expected = null;
+            for ( Map<BaseLabeledVertex, Integer> distance : distances )
+            {
+                Integer d = distance.get( vertex( i ) );
+                if ( d != null && ( expected == null || d < expected ) )
+                {
+                    expected = d;
+                }
+            }
+
+            assertThat( depths.get( vertex( i ) ), is( expected ) );
+            assertThat( tree.getLevel( vertex( i ) ), is( expected == null ? BreadthFirstTree.NONE : expected ) );
+            if ( expected != null )
+            {
+                BaseLabeledVertex source = recorder.sources.get( vertex( i ) );
+                assertThat( distances.get( seeds.indexOf( source ) ).get( vertex( i ) ), is( expected ) );
+            }
+        }
+
+        tree = visit( graph ).from( seeds ).maxDepth( 1 ).applyingParallelBreadthFirstSearch();
+        for ( int i = 0; i < 300; i++ )
+        {
+            assertThat( tree.isReached( vertex( i ) ), is( depths.containsKey( vertex( i ) ) && depths.get( vertex( i ) ) <= 1 ) );
+        }
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testNegativeMaxDepth()
+    {
+        visit( newPath( 2 ) ).from( vertex( 0 ) ).maxDepth( -1 );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullSource()
+    {
+        visit( newPath( 2 ) ).from( asList( vertex( 0 ), null ) );
+    }
+
+}
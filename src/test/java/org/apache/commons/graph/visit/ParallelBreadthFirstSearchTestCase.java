@@ -0,0 +1,181 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.visit;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.graph.GraphException;
+import org.apache.commons.graph.MutableGraph;
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.DirectedMutableGraph;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public final class ParallelBreadthFirstSearchTestCase
+{
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        pool = new ForkJoinPool( 4 );
+    }
+
+    @AfterClass
+    public static void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testPathGraph()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        List<BaseLabeledVertex> vertices = addVertices( graph, 4 );
+        BaseLabeledVertex isolated = new BaseLabeledVertex( "isolated" );
+        graph.addVertex( isolated );
+        for ( int i = 1; i < vertices.size(); i++ )
+        {
+            graph.addEdge( vertices.get( i - 1 ), new BaseLabeledEdge( i - 1 + " -- " + i ), vertices.get( i ) );
+        }
+
+        BreadthFirstTree<BaseLabeledVertex> tree = visit( graph ).from( vertices.get( 0 ) ).applyingParallelBreadthFirstSearch();
+
+        assertThat( tree.getOrder(), is( 5 ) );
+        for ( int i = 0; i < vertices.size(); i++ )
+        {
+            assertThat( tree.getLevel( vertices.get( i ) ), is( i ) );
+        }
+        assertThat( tree.getParent( vertices.get( 0 ) ), nullValue() );
+        assertThat( tree.getParent( vertices.get( 3 ) ), is( vertices.get( 2 ) ) );
+        assertThat( tree.isReached( isolated ), is( false ) );
+        assertThat( tree.getLevel( isolated ), is( BreadthFirstTree.NONE ) );
+        assertThat( tree.getLevels()[tree.getIndex( isolated )], is( BreadthFirstTree.NONE ) );
+    }
+
+    @Test
+    public void testMatchesSequentialSearchOnSparseGraphs()
+    {
+        Random random = new Random( 42 );
+        verifyAgainstSequentialSearch( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 3000, 6000, random );
+        verifyAgainstSequentialSearch( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 3000, 4000, random );
+    }
+
+    /**
+     * Dense graphs make the search switch to bottom-up steps.
+     */
+    @Test
+    public void testMatchesSequentialSearchOnDenseGraphs()
+    {
+        Random random = new Random( 42 );
+        verifyAgainstSequentialSearch( new DirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 2000, 60000, random );
+        verifyAgainstSequentialSearch( new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>(), 2000, 60000, random );
+    }
+
+    @Test( expected = GraphException.class )
+    public void testUnknownVertex()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        addVertices( graph, 2 );
+
+        new ParallelBreadthFirstSearch<BaseLabeledVertex, BaseLabeledEdge>( graph, pool ).search( Collections.singletonList( new BaseLabeledVertex( "unknown" ) ), Integer.MAX_VALUE );
+    }
+
+    private static List<BaseLabeledVertex> addVertices( MutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph, int order )
+    {
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < order; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+        return vertices;
+    }
+
+    private static void verifyAgainstSequentialSearch( MutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph,
+                                                       int order, int size, Random random )
+    {
+        List<BaseLabeledVertex> vertices = addVertices( graph, order );
+        for ( int i = 0; i < size; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( order ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( order ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledEdge( head + " -> " + tail ), tail );
+            }
+        }
+
+        BaseLabeledVertex source = vertices.get( 0 );
+        final Map<BaseLabeledVertex, Integer> expected = new HashMap<BaseLabeledVertex, Integer>();
+        expected.put( source, 0 );
+        visit( graph ).from( source ).applyingBreadthFirstSearch( new BaseGraphVisitHandler<BaseLabeledVertex, BaseLabeledEdge, MutableGraph<BaseLabeledVertex, BaseLabeledEdge>, Void>()
+        {
+
+            @Override
+            public VisitState discoverEdge( BaseLabeledVertex head, BaseLabeledEdge edge, BaseLabeledVertex tail )
+            {
+                expected.put( tail, expected.get( head ) + 1 );
+                return VisitState.CONTINUE;
+            }
+
+        } );
+
+        BreadthFirstTree<BaseLabeledVertex> tree =
+            new ParallelBreadthFirstSearch<BaseLabeledVertex, BaseLabeledEdge>( graph, pool ).search( Collections.singletonList( source ), Integer.MAX_VALUE );
+
+        for ( BaseLabeledVertex vertex : vertices )
+        {
+            Integer level = expected.get( vertex );
+            assertThat( tree.getLevel( vertex ), is( level == null ? BreadthFirstTree.NONE : level ) );
+
+            BaseLabeledVertex parent = tree.getParent( vertex );
+            if ( level == null || level == 0 )
+            {
+                assertThat( parent, nullValue() );
+            }
+            else
+            {
+                assertThat( tree.getLevel( parent ), is( level - 1 ) );
+                assertThat( graph.getEdge( parent, vertex ), notNullValue() );
+            }
+        }
+    }
+
+}
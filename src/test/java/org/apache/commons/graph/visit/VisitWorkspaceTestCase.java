@@ -0,0 +1,118 @@
+package org.apache.commons.graph.visit;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.apache.commons.graph.CommonsGraph.visit;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.graph.model.BaseLabeledEdge;
+import org.apache.commons.graph.model.BaseLabeledVertex;
+import org.apache.commons.graph.model.UndirectedMutableGraph;
+import org.junit.Test;
+
+public final class VisitWorkspaceTestCase
+{
+
+    private static UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> newRandomGraph( Random random, int order, int size )
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+
+        List<BaseLabeledVertex> vertices = new ArrayList<BaseLabeledVertex>();
+        for ( int i = 0; i < order; i++ )
+        {
+            BaseLabeledVertex vertex = new BaseLabeledVertex( String.valueOf( i ) );
+            graph.addVertex( vertex );
+            vertices.add( vertex );
+        }
+
+        for ( int i = 0; i < size; i++ )
+        {
+            BaseLabeledVertex head = vertices.get( random.nextInt( order ) );
+            BaseLabeledVertex tail = vertices.get( random.nextInt( order ) );
+            if ( !head.equals( tail ) && graph.getEdge( head, tail ) == null )
+            {
+                graph.addEdge( head, new BaseLabeledEdge( head + " -- " + tail ), tail );
+            }
+        }
+
+        return graph;
+    }
+
+    @Test
+    public void testReusedWorkspaceVisitsLikeAFreshSearch()
+    {
+        Random random = new Random( 42 );
+        VisitWorkspace<BaseLabeledVertex> workspace = new VisitWorkspace<BaseLabeledVertex>();
+
+        // alternating graphs rebinds the workspace, repeating sources exercises the epoch marks
+        for ( int i = 0; i < 10; i++ )
+        {
+            UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph = newRandomGraph( random, 50, 60 );
+
+            for ( int j = 0; j < 5; j++ )
+            {
+                BaseLabeledVertex source = new BaseLabeledVertex( String.valueOf( random.nextInt( 50 ) ) );
+
+                List<BaseLabeledVertex> expected = visit( graph ).from( source ).applyingBreadthFirstSearch( new NodeSequenceVisitor() );
+                List<BaseLabeledVertex> actual =
+                    visit( graph ).from( source ).usingWorkspace( workspace ).applyingBreadthFirstSearch( new NodeSequenceVisitor() );
+                assertThat( actual, is( expected ) );
+
+                expected = visit( graph ).from( source ).applyingDepthFirstSearch( new NodeSequenceVisitor() );
+                actual = visit( graph ).from( source ).usingWorkspace( workspace ).applyingDepthFirstSearch( new NodeSequenceVisitor() );
+                assertThat( actual, is( expected ) );
+            }
+        }
+    }
+
+    @Test
+    public void testClearedWorkspaceCanBeReused()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph = newRandomGraph( new Random( 7 ), 20, 30 );
+        BaseLabeledVertex source = new BaseLabeledVertex( "0" );
+        VisitWorkspace<BaseLabeledVertex> workspace = new VisitWorkspace<BaseLabeledVertex>();
+
+        List<BaseLabeledVertex> expected =
+            visit( graph ).from( source ).usingWorkspace( workspace ).applyingBreadthFirstSearch( new NodeSequenceVisitor() );
+        workspace.clear();
+        List<BaseLabeledVertex> actual =
+            visit( graph ).from( source ).usingWorkspace( workspace ).applyingBreadthFirstSearch( new NodeSequenceVisitor() );
+
+        assertThat( actual, is( expected ) );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void testNullWorkspace()
+    {
+        UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge> graph =
+            new UndirectedMutableGraph<BaseLabeledVertex, BaseLabeledEdge>();
+        BaseLabeledVertex source = new BaseLabeledVertex( "0" );
+        graph.addVertex( source );
+
+        visit( graph ).from( source ).usingWorkspace( null );
+    }
+
+}